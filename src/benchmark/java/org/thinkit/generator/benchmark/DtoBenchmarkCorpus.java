@@ -0,0 +1,345 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellCopyPolicy;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 定義書のテンプレートを基に、ベンチマークで使用する合成の定義書を生成する処理を定義したクラスです。
+ * <p>
+ * テンプレートの定義表に記載された行を1つのブロックとし、指定された行数に達するまでブロックを定義表の末尾へ複製します。<br>
+ * 複製した行の変数名には複製の番号を付与するため、同じクラス内で変数名が重複することはありません。<br>
+ * 行の複製はスタイルと結合範囲を含めて行うため、罫線による定義表の終端の判定はテンプレートと同様に機能します。
+ * <p>
+ * 一括処理で出力ファイルが衝突しないように、定義書ごとに異なる物理名を設定します。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+final class DtoBenchmarkCorpus {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 定義書シートの名前
+     */
+    private static final String DEFINITION_SHEET_NAME = "定義書";
+
+    /**
+     * 定義表の見出しの基準となるセル項目名
+     */
+    private static final String TABLE_HEADER_ITEM = "論理削除";
+
+    /**
+     * 変数名の見出し
+     */
+    private static final String VARIABLE_NAME_ITEM = "変数名";
+
+    /**
+     * 複製した行の変数名と複製の番号の区切り文字
+     */
+    private static final String VARIABLE_NAME_SEPARATOR = "_";
+
+    /**
+     * 物理名のセル項目名
+     */
+    private static final String PHYSICAL_NAME_ITEM = "物理名";
+
+    /**
+     * 定義書のファイル名の書式
+     */
+    private static final String WORKBOOK_FILE_FORMAT = "benchmark-%06d.xlsx";
+
+    /**
+     * 物理名の書式
+     */
+    private static final String PHYSICAL_NAME_FORMAT = "BenchmarkRows%dNo%d";
+
+    /**
+     * 定義書のテンプレート
+     */
+    private final Path templateFile;
+
+    /**
+     * 生成した定義書を格納するディレクトリ
+     */
+    private final Path corpusDirectory;
+
+    /**
+     * コンストラクタ
+     *
+     * @param templateFile    定義書のテンプレート
+     * @param corpusDirectory 生成した定義書を格納するディレクトリ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private DtoBenchmarkCorpus(@NonNull Path templateFile, @NonNull Path corpusDirectory) {
+        this.templateFile = templateFile;
+        this.corpusDirectory = corpusDirectory;
+    }
+
+    /**
+     * 引数として渡された情報を基に {@link DtoBenchmarkCorpus} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param templateFile    定義書のテンプレート
+     * @param corpusDirectory 生成した定義書を格納するディレクトリ
+     * @return {@link DtoBenchmarkCorpus} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static DtoBenchmarkCorpus of(@NonNull Path templateFile, @NonNull Path corpusDirectory) {
+        return new DtoBenchmarkCorpus(templateFile, corpusDirectory);
+    }
+
+    /**
+     * 定義表の行数が指定された行数以上となる定義書を指定された数だけ生成し、生成した定義書を格納したディレクトリを返却します。
+     * <p>
+     * ディレクトリに既存の定義書が存在する場合は削除してから生成します。
+     *
+     * @param rows      定義表の行数の下限
+     * @param workbooks 生成する定義書の数
+     * @return 生成した定義書を格納したディレクトリ
+     *
+     * @throws IllegalArgumentException 行数または定義書の数が正の値ではない場合
+     * @throws IllegalStateException    テンプレートに定義表が存在しない場合
+     * @throws UncheckedIOException     定義書の読み込みまたは書き込みに失敗した場合
+     */
+    Path generate(int rows, int workbooks) {
+
+        if (rows < 1 || workbooks < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "wrong parameter was given. Positive rows and workbooks were expected but %s and %s were given.",
+                    rows, workbooks));
+        }
+
+        final Path directory = this.corpusDirectory.resolve(String.format("rows-%d", rows));
+
+        try (InputStream inputStream = Files.newInputStream(this.templateFile);
+                XSSFWorkbook workbook = new XSSFWorkbook(inputStream)) {
+
+            DtoBenchmarkFiles.deleteRecursively(directory);
+            Files.createDirectories(directory);
+
+            final XSSFSheet sheet = workbook.getSheet(DEFINITION_SHEET_NAME);
+            final int generatedRows = this.expandTable(sheet, rows);
+            final Cell physicalNameCell = this.findValueCell(sheet, PHYSICAL_NAME_ITEM);
+
+            for (int i = 0; i < workbooks; i++) {
+                physicalNameCell.setCellValue(String.format(PHYSICAL_NAME_FORMAT, rows, i));
+
+                try (OutputStream outputStream = Files
+                        .newOutputStream(directory.resolve(String.format(WORKBOOK_FILE_FORMAT, i)))) {
+                    workbook.write(outputStream);
+                }
+            }
+
+            logger.atInfo().log("合成の定義書を生成しました。ディレクトリ = (%s)、定義書の数 = (%s)、定義表の行数 = (%s)", directory, workbooks,
+                    generatedRows);
+            return directory;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 定義表の行をブロックとして複製し、定義表の行数を指定された行数以上に拡張します。
+     *
+     * @param sheet 定義書シート
+     * @param rows  定義表の行数の下限
+     * @return 拡張後の定義表の行数
+     *
+     * @throws IllegalStateException テンプレートに定義表が存在しない場合
+     */
+    private int expandTable(XSSFSheet sheet, int rows) {
+
+        final Row headerRow = this.findCell(sheet, TABLE_HEADER_ITEM).getRow();
+        final int variableNameOrdinal = this.getHeaderOrdinal(headerRow, VARIABLE_NAME_ITEM);
+        final int firstRow = headerRow.getRowNum() + 1;
+
+        int lastRow = firstRow - 1;
+
+        while (this.findRecordCell(sheet.getRow(lastRow + 1), variableNameOrdinal) != null) {
+            lastRow++;
+        }
+
+        final int blockSize = lastRow - firstRow + 1;
+
+        if (blockSize < 1) {
+            throw new IllegalStateException("Definition table of the template has no rows.");
+        }
+
+        final int copies = (rows + blockSize - 1) / blockSize - 1;
+
+        if (copies < 1) {
+            return blockSize;
+        }
+
+        if (lastRow < sheet.getLastRowNum()) {
+            sheet.shiftRows(lastRow + 1, sheet.getLastRowNum(), blockSize * copies, true, false);
+        }
+
+        final CellCopyPolicy cellCopyPolicy = new CellCopyPolicy.Builder().cellStyle(true).cellValue(true)
+                .mergedRegions(true).rowHeight(true).build();
+
+        for (int copy = 1; copy <= copies; copy++) {
+            final int destinationRow = firstRow + blockSize * copy;
+            sheet.copyRows(firstRow, lastRow, destinationRow, cellCopyPolicy);
+
+            for (int offset = 0; offset < blockSize; offset++) {
+                final Cell variableName = this.findRecordCell(sheet.getRow(destinationRow + offset),
+                        variableNameOrdinal);
+                variableName.setCellValue(variableName.getStringCellValue() + VARIABLE_NAME_SEPARATOR + copy);
+            }
+        }
+
+        return blockSize * (copies + 1);
+    }
+
+    /**
+     * 見出し行で指定された見出しが何番目の見出しであるかを返却します。
+     *
+     * @param headerRow  見出し行
+     * @param headerName 見出し
+     * @return 見出しの順序
+     *
+     * @throws IllegalStateException 見出しが存在しない場合
+     */
+    private int getHeaderOrdinal(Row headerRow, String headerName) {
+
+        int ordinal = 0;
+
+        for (Cell cell : headerRow) {
+            if (cell.getCellType() != CellType.BLANK) {
+                if (cell.getCellType() == CellType.STRING && headerName.equals(cell.getStringCellValue().trim())) {
+                    return ordinal;
+                }
+
+                ordinal++;
+            }
+        }
+
+        throw new IllegalStateException(String.format("%s was not found in the header.", headerName));
+    }
+
+    /**
+     * 引数として渡された行から、指定された順序の見出しと対応する文字列のセルを返却します。
+     * <p>
+     * セルと見出しの対応付けは定義表の読み取りと同じ規則に従います。<br>
+     * 値が入力されたセルは次の見出しへ進み、空白のセルは右罫線を持ち、かつ、直前のセルに値が入力されていない場合に限り次の見出しへ進みます。
+     *
+     * @param row     定義表の行
+     * @param ordinal 見出しの順序
+     * @return 見出しと対応する文字列のセル、または、セルが存在しない場合は {@code null}
+     */
+    private Cell findRecordCell(Row row, int ordinal) {
+
+        if (row == null) {
+            return null;
+        }
+
+        boolean previousHasValue = false;
+        int headerIndex = 0;
+
+        for (Cell cell : row) {
+            if (cell.getCellType() != CellType.BLANK) {
+                if (headerIndex == ordinal) {
+                    return cell.getCellType() == CellType.STRING && !cell.getStringCellValue().isBlank() ? cell
+                            : null;
+                }
+
+                previousHasValue = true;
+                headerIndex++;
+            } else if (cell.getCellStyle().getBorderRight() != BorderStyle.NONE) {
+                if (previousHasValue) {
+                    previousHasValue = false;
+                } else {
+                    headerIndex++;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 指定された項目名の右側に記載された値のセルを返却します。
+     * <p>
+     * 値のセルは項目名のセルと同じ行で、項目名のセルより右側にある最初の空でない文字列のセルです。
+     *
+     * @param sheet    定義書シート
+     * @param itemName 項目名
+     * @return 値のセル
+     *
+     * @throws IllegalStateException 値のセルが存在しない場合
+     */
+    private Cell findValueCell(XSSFSheet sheet, String itemName) {
+
+        final Cell itemCell = this.findCell(sheet, itemName);
+
+        for (Cell cell : itemCell.getRow()) {
+            if (cell.getColumnIndex() > itemCell.getColumnIndex() && cell.getCellType() == CellType.STRING
+                    && !cell.getStringCellValue().isBlank()) {
+                return cell;
+            }
+        }
+
+        throw new IllegalStateException(String.format("Value of %s was not found in the template.", itemName));
+    }
+
+    /**
+     * 指定された文字列が記載されたセルを返却します。
+     *
+     * @param sheet    定義書シート
+     * @param sequence 検索する文字列
+     * @return 文字列が記載されたセル
+     *
+     * @throws IllegalStateException セルが存在しない場合
+     */
+    private Cell findCell(XSSFSheet sheet, String sequence) {
+
+        for (Row row : sheet) {
+            for (Cell cell : row) {
+                if (cell.getCellType() == CellType.STRING && sequence.equals(cell.getStringCellValue().trim())) {
+                    return cell;
+                }
+            }
+        }
+
+        throw new IllegalStateException(String.format("%s was not found in the template.", sequence));
+    }
+}
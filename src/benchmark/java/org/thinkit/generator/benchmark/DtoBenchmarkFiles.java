@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * ベンチマークで使用するファイル操作を定義したクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoBenchmarkFiles {
+
+    /**
+     * 生成器が出力先に作成する管理用のディレクトリの名前
+     */
+    private static final String MANAGEMENT_DIRECTORY = ".dto-generator";
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoBenchmarkFiles() {
+    }
+
+    /**
+     * 引数として渡されたディレクトリを配下のファイルとともに削除します。
+     * <p>
+     * ディレクトリが存在しない場合は何もしません。
+     *
+     * @param directory 削除するディレクトリ
+     *
+     * @throws IOException 削除に失敗した場合
+     */
+    static void deleteRecursively(Path directory) throws IOException {
+
+        if (!Files.exists(directory)) {
+            return;
+        }
+
+        final List<Path> paths;
+
+        try (Stream<Path> walk = Files.walk(directory)) {
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * 引数として渡されたディレクトリ配下の出力ファイルの数を返却します。
+     * <p>
+     * 生成器が作成する管理用のディレクトリ配下のファイルは数えません。
+     *
+     * @param directory 出力先のディレクトリ
+     * @return 出力ファイルの数
+     *
+     * @throws IOException ディレクトリの走査に失敗した場合
+     */
+    static long countOutputFiles(Path directory) throws IOException {
+
+        if (!Files.exists(directory)) {
+            return 0L;
+        }
+
+        try (Stream<Path> walk = Files.walk(directory)) {
+            return walk.filter(Files::isRegularFile)
+                    .filter(path -> !directory.relativize(path).toString().startsWith(MANAGEMENT_DIRECTORY)).count();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.benchmark;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 生成器のプロセスの実行で計測した値を保持するクラスです。
+ * <p>
+ * 複数のプロセスの計測値は {@link #plus(DtoBenchmarkMeasurement)} で合算します。<br>
+ * 経過時間、ガベージコレクションの回数と停止時間は合計し、最大常駐メモリと最大停止時間は最大値を採用します。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+final class DtoBenchmarkMeasurement {
+
+    /**
+     * 計測できなかったことを示す値
+     */
+    static final long UNKNOWN = -1L;
+
+    /**
+     * 経過時間（ミリ秒）
+     */
+    private final long wallMillis;
+
+    /**
+     * 最大常駐メモリ（キロバイト）、計測できなかった場合は {@link #UNKNOWN}
+     */
+    private final long peakRssKilobytes;
+
+    /**
+     * ガベージコレクションの回数
+     */
+    private final long gcCount;
+
+    /**
+     * ガベージコレクションによる停止時間の合計（ミリ秒）
+     */
+    private final double gcPauseMillis;
+
+    /**
+     * ガベージコレクションによる停止時間の最大値（ミリ秒）
+     */
+    private final double gcMaxPauseMillis;
+
+    /**
+     * 全てのプロセスが正常に終了したか否か
+     */
+    private final boolean succeeded;
+
+    /**
+     * コンストラクタ
+     *
+     * @param wallMillis       経過時間（ミリ秒）
+     * @param peakRssKilobytes 最大常駐メモリ（キロバイト）
+     * @param gcCount          ガベージコレクションの回数
+     * @param gcPauseMillis    ガベージコレクションによる停止時間の合計（ミリ秒）
+     * @param gcMaxPauseMillis ガベージコレクションによる停止時間の最大値（ミリ秒）
+     * @param succeeded        全てのプロセスが正常に終了したか否か
+     */
+    private DtoBenchmarkMeasurement(long wallMillis, long peakRssKilobytes, long gcCount, double gcPauseMillis,
+            double gcMaxPauseMillis, boolean succeeded) {
+        this.wallMillis = wallMillis;
+        this.peakRssKilobytes = peakRssKilobytes;
+        this.gcCount = gcCount;
+        this.gcPauseMillis = gcPauseMillis;
+        this.gcMaxPauseMillis = gcMaxPauseMillis;
+        this.succeeded = succeeded;
+    }
+
+    /**
+     * 引数として渡された計測値を基に {@link DtoBenchmarkMeasurement} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param wallMillis       経過時間（ミリ秒）
+     * @param peakRssKilobytes 最大常駐メモリ（キロバイト）
+     * @param gcCount          ガベージコレクションの回数
+     * @param gcPauseMillis    ガベージコレクションによる停止時間の合計（ミリ秒）
+     * @param gcMaxPauseMillis ガベージコレクションによる停止時間の最大値（ミリ秒）
+     * @param succeeded        プロセスが正常に終了したか否か
+     * @return {@link DtoBenchmarkMeasurement} クラスの新しいインスタンス
+     */
+    static DtoBenchmarkMeasurement of(long wallMillis, long peakRssKilobytes, long gcCount, double gcPauseMillis,
+            double gcMaxPauseMillis, boolean succeeded) {
+        return new DtoBenchmarkMeasurement(wallMillis, peakRssKilobytes, gcCount, gcPauseMillis, gcMaxPauseMillis,
+                succeeded);
+    }
+
+    /**
+     * 引数として渡された計測値を合算した新しいインスタンスを返却します。
+     *
+     * @param other 合算する計測値
+     * @return 合算した計測値
+     */
+    DtoBenchmarkMeasurement plus(DtoBenchmarkMeasurement other) {
+        return new DtoBenchmarkMeasurement(this.wallMillis + other.wallMillis,
+                Math.max(this.peakRssKilobytes, other.peakRssKilobytes), this.gcCount + other.gcCount,
+                this.gcPauseMillis + other.gcPauseMillis, Math.max(this.gcMaxPauseMillis, other.gcMaxPauseMillis),
+                this.succeeded && other.succeeded);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.benchmark;
+
+import java.util.List;
+
+/**
+ * ベンチマークで生成器を実行する方法を定義した列挙型です。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+enum DtoBenchmarkMode {
+
+    /**
+     * 定義書ごとに生成器のプロセスを起動する方法
+     */
+    SINGLE("single", List.of()),
+
+    /**
+     * 1つのプロセスでディレクトリ配下の定義書を一括処理する方法
+     */
+    BATCH("batch", List.of()),
+
+    /**
+     * 1つのプロセスでディレクトリ配下の定義書を並列解析と並列整形を有効にして一括処理する方法
+     */
+    PARALLEL("parallel", List.of("--parallel-collect", "--parallel-format"));
+
+    /**
+     * 実行方法の名前
+     */
+    private final String name;
+
+    /**
+     * 生成器へ追加で渡すオプション引数
+     */
+    private final List<String> options;
+
+    /**
+     * コンストラクタ
+     *
+     * @param name    実行方法の名前
+     * @param options 生成器へ追加で渡すオプション引数
+     */
+    DtoBenchmarkMode(String name, List<String> options) {
+        this.name = name;
+        this.options = options;
+    }
+
+    /**
+     * 実行方法の名前を返却します。
+     *
+     * @return 実行方法の名前
+     */
+    public String getString() {
+        return this.name;
+    }
+
+    /**
+     * 生成器へ追加で渡すオプション引数を返却します。
+     *
+     * @return 生成器へ追加で渡すオプション引数
+     */
+    List<String> getOptions() {
+        return this.options;
+    }
+
+    /**
+     * 引数として渡された名前と一致する実行方法を返却します。
+     *
+     * @param name 実行方法の名前
+     * @return 実行方法
+     *
+     * @throws IllegalArgumentException 名前と一致する実行方法が存在しない場合
+     */
+    static DtoBenchmarkMode fromString(String name) {
+
+        for (DtoBenchmarkMode mode : values()) {
+            if (mode.name.equals(name.trim())) {
+                return mode;
+            }
+        }
+
+        throw new IllegalArgumentException(
+                String.format("wrong parameter was given. Unknown benchmark mode %s was given.", name));
+    }
+}
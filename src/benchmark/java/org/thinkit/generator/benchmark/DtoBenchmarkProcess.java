@@ -0,0 +1,233 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.flogger.FluentLogger;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 配布物の起動スクリプトで生成器を実行し、プロセスの経過時間、最大常駐メモリ、ガベージコレクションの活動を計測する処理を定義したクラスです。
+ * <p>
+ * ガベージコレクションの活動は起動スクリプトの {@code JAVA_OPTS} へ指定した {@code -Xlog:gc} の出力から集計します。<br>
+ * 最大常駐メモリはプロセスの実行中に {@code /proc/<pid>/status} の {@code VmHWM} を定期的に読み取った最後の値です。<br>
+ * {@code /proc} が存在しない環境では最大常駐メモリは {@link DtoBenchmarkMeasurement#UNKNOWN} になります。
+ * <p>
+ * Unix系の起動スクリプトは {@code exec} で仮想マシンを起動するため、計測の対象は生成器の仮想マシンそのものです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+final class DtoBenchmarkProcess {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 配布物の起動スクリプトの名前
+     */
+    private static final String LAUNCHER_NAME = "dto-generator";
+
+    /**
+     * Windowsの起動スクリプトの拡張子
+     */
+    private static final String WINDOWS_LAUNCHER_EXTENSION = ".bat";
+
+    /**
+     * ガベージコレクションのログのファイル名
+     */
+    private static final String GC_LOG_FILE = "gc.log";
+
+    /**
+     * 生成器の標準出力と標準エラー出力を記録するファイル名
+     */
+    private static final String GENERATOR_LOG_FILE = "generator.log";
+
+    /**
+     * 常駐メモリを読み取る間隔（ミリ秒）
+     */
+    private static final long SAMPLING_INTERVAL_MILLIS = 20L;
+
+    /**
+     * 最大常駐メモリの行のパターン
+     */
+    private static final Pattern PEAK_RSS_PATTERN = Pattern.compile("^VmHWM:\\s+(\\d+)\\s+kB", Pattern.MULTILINE);
+
+    /**
+     * ガベージコレクションによる停止の行のパターン
+     */
+    private static final Pattern GC_PAUSE_PATTERN = Pattern.compile("GC\\((\\d+)\\) Pause .* (\\d+(?:\\.\\d+)?)ms$",
+            Pattern.MULTILINE);
+
+    /**
+     * 配布物の起動スクリプト
+     */
+    private final Path launcher;
+
+    /**
+     * 生成器の仮想マシンへ追加で指定する引数
+     */
+    private final String jvmArgs;
+
+    /**
+     * コンストラクタ
+     *
+     * @param distributionDirectory 配布物のディレクトリ
+     * @param jvmArgs               生成器の仮想マシンへ追加で指定する引数
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private DtoBenchmarkProcess(@NonNull Path distributionDirectory, @NonNull String jvmArgs) {
+        final boolean windows = System.getProperty("os.name").startsWith("Windows");
+        this.launcher = distributionDirectory.resolve("bin")
+                .resolve(windows ? LAUNCHER_NAME + WINDOWS_LAUNCHER_EXTENSION : LAUNCHER_NAME);
+        this.jvmArgs = jvmArgs;
+    }
+
+    /**
+     * 引数として渡された情報を基に {@link DtoBenchmarkProcess} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param distributionDirectory 配布物のディレクトリ
+     * @param jvmArgs               生成器の仮想マシンへ追加で指定する引数
+     * @return {@link DtoBenchmarkProcess} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static DtoBenchmarkProcess of(@NonNull Path distributionDirectory, @NonNull String jvmArgs) {
+        return new DtoBenchmarkProcess(distributionDirectory, jvmArgs);
+    }
+
+    /**
+     * 引数として渡された引数で生成器を実行し、計測値を返却します。
+     * <p>
+     * ガベージコレクションのログと生成器の出力はログディレクトリへ出力します。
+     *
+     * @param arguments    生成器へ渡す引数
+     * @param logDirectory ログを出力するディレクトリ
+     * @return 計測値
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws UncheckedIOException プロセスの起動またはログの読み込みに失敗した場合
+     */
+    DtoBenchmarkMeasurement run(@NonNull List<String> arguments, @NonNull Path logDirectory) {
+
+        final Path gcLogFile = logDirectory.resolve(GC_LOG_FILE).toAbsolutePath();
+        final List<String> command = new ArrayList<>();
+        command.add(this.launcher.toString());
+        command.addAll(arguments);
+
+        final ProcessBuilder processBuilder = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(logDirectory.resolve(GENERATOR_LOG_FILE).toFile()));
+        processBuilder.environment().put("JAVA_OPTS",
+                String.format("-Xlog:gc:file=\"%s\" %s", gcLogFile, this.jvmArgs).trim());
+
+        try {
+            Files.createDirectories(logDirectory);
+            Files.deleteIfExists(gcLogFile);
+
+            final long start = System.nanoTime();
+            final Process process = processBuilder.start();
+            final Path status = Paths.get("/proc", String.valueOf(process.pid()), "status");
+
+            long peakRssKilobytes = DtoBenchmarkMeasurement.UNKNOWN;
+
+            while (!process.waitFor(SAMPLING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                peakRssKilobytes = Math.max(peakRssKilobytes, this.readPeakRss(status));
+            }
+
+            final long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            if (process.exitValue() != 0) {
+                logger.atWarning().log("生成器が異常終了しました。終了コード = (%s)、引数 = (%s)", process.exitValue(), arguments);
+            }
+
+            return this.collectGcActivity(gcLogFile, wallMillis, peakRssKilobytes, process.exitValue() == 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Benchmark was interrupted.", e);
+        }
+    }
+
+    /**
+     * 引数として渡されたプロセスの状態ファイルから最大常駐メモリを読み取ります。
+     *
+     * @param status プロセスの状態ファイル
+     * @return 最大常駐メモリ（キロバイト）、または、読み取れなかった場合は {@link DtoBenchmarkMeasurement#UNKNOWN}
+     */
+    private long readPeakRss(Path status) {
+        try {
+            final Matcher matcher = PEAK_RSS_PATTERN.matcher(Files.readString(status, StandardCharsets.US_ASCII));
+            return matcher.find() ? Long.parseLong(matcher.group(1)) : DtoBenchmarkMeasurement.UNKNOWN;
+        } catch (IOException e) {
+            return DtoBenchmarkMeasurement.UNKNOWN;
+        }
+    }
+
+    /**
+     * ガベージコレクションのログから停止の回数と時間を集計し、計測値を生成します。
+     *
+     * @param gcLogFile        ガベージコレクションのログ
+     * @param wallMillis       経過時間（ミリ秒）
+     * @param peakRssKilobytes 最大常駐メモリ（キロバイト）
+     * @param succeeded        プロセスが正常に終了したか否か
+     * @return 計測値
+     *
+     * @throws IOException ログの読み込みに失敗した場合
+     */
+    private DtoBenchmarkMeasurement collectGcActivity(Path gcLogFile, long wallMillis, long peakRssKilobytes,
+            boolean succeeded) throws IOException {
+
+        if (!Files.exists(gcLogFile)) {
+            return DtoBenchmarkMeasurement.of(wallMillis, peakRssKilobytes, 0L, 0.0, 0.0, succeeded);
+        }
+
+        final Set<String> collections = new HashSet<>();
+        double pauseMillis = 0.0;
+        double maxPauseMillis = 0.0;
+
+        final Matcher matcher = GC_PAUSE_PATTERN.matcher(Files.readString(gcLogFile));
+
+        while (matcher.find()) {
+            final double pause = Double.parseDouble(matcher.group(2));
+            collections.add(matcher.group(1));
+            pauseMillis += pause;
+            maxPauseMillis = Math.max(maxPauseMillis, pause);
+        }
+
+        return DtoBenchmarkMeasurement.of(wallMillis, peakRssKilobytes, collections.size(), pauseMillis,
+                maxPauseMillis, succeeded);
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.google.common.flogger.FluentLogger;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * ベンチマークの計測結果をCSV形式とJSON形式で出力する処理を定義したクラスです。
+ * <p>
+ * CSV形式は計測ごとに1行を出力し、JSON形式は計測結果に加えて生成器のバージョン、仮想マシン、OS、プロセッサ数を出力します。<br>
+ * 異なるバージョンの生成器の計測結果は、実行方法、行数、定義書の数が一致する行同士で比較してください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+final class DtoBenchmarkReport {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * CSV形式の計測結果のファイル名
+     */
+    private static final String CSV_REPORT_FILE = "report.csv";
+
+    /**
+     * JSON形式の計測結果のファイル名
+     */
+    private static final String JSON_REPORT_FILE = "report.json";
+
+    /**
+     * 計測結果の項目名
+     */
+    private static final List<String> COLUMNS = List.of("mode", "rows", "workbooks", "iteration", "wall_ms",
+            "peak_rss_kb", "gc_count", "gc_pause_ms", "gc_max_pause_ms", "output_files", "files_per_second",
+            "succeeded");
+
+    /**
+     * 生成器のバージョン
+     */
+    private final String generatorVersion;
+
+    /**
+     * 計測結果
+     */
+    @ToString.Exclude
+    private final List<DtoBenchmarkResult> results;
+
+    /**
+     * コンストラクタ
+     *
+     * @param generatorVersion 生成器のバージョン
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private DtoBenchmarkReport(@NonNull String generatorVersion) {
+        this.generatorVersion = generatorVersion;
+        this.results = new ArrayList<>();
+    }
+
+    /**
+     * 引数として渡された生成器のバージョンを基に {@link DtoBenchmarkReport} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param generatorVersion 生成器のバージョン
+     * @return {@link DtoBenchmarkReport} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static DtoBenchmarkReport of(@NonNull String generatorVersion) {
+        return new DtoBenchmarkReport(generatorVersion);
+    }
+
+    /**
+     * 計測結果を追加します。
+     *
+     * @param result 計測結果
+     * @return 自分自身のインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    DtoBenchmarkReport add(@NonNull DtoBenchmarkResult result) {
+        this.results.add(result);
+        logger.atInfo().log("%s", this.toRecord(result));
+        return this;
+    }
+
+    /**
+     * 計測結果をCSV形式とJSON形式で指定されたディレクトリへ出力します。
+     *
+     * @param reportDirectory 出力先のディレクトリ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws UncheckedIOException 出力に失敗した場合
+     */
+    void write(@NonNull Path reportDirectory) {
+        try {
+            Files.createDirectories(reportDirectory);
+            Files.writeString(reportDirectory.resolve(CSV_REPORT_FILE), this.toCsv(), StandardCharsets.UTF_8);
+            Files.writeString(reportDirectory.resolve(JSON_REPORT_FILE), this.toJson(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        logger.atInfo().log("計測結果を出力しました。(%s)", reportDirectory);
+    }
+
+    /**
+     * 計測結果をCSV形式へ変換します。
+     *
+     * @return CSV形式の計測結果
+     */
+    private String toCsv() {
+
+        final StringBuilder csv = new StringBuilder(String.join(",", COLUMNS)).append('\n');
+
+        for (DtoBenchmarkResult result : this.results) {
+            csv.append(String.join(",", this.toRecord(result).values())).append('\n');
+        }
+
+        return csv.toString();
+    }
+
+    /**
+     * 計測結果を実行環境の情報とともにJSON形式へ変換します。
+     *
+     * @return JSON形式の計測結果
+     */
+    private String toJson() {
+
+        final Map<String, String> environment = new LinkedHashMap<>();
+        environment.put("generator_version", quote(this.generatorVersion));
+        environment.put("timestamp", quote(OffsetDateTime.now().toString()));
+        environment.put("java_version", quote(System.getProperty("java.version")));
+        environment.put("java_vm", quote(System.getProperty("java.vm.name")));
+        environment.put("os", quote(System.getProperty("os.name") + " " + System.getProperty("os.version")));
+        environment.put("processors", String.valueOf(Runtime.getRuntime().availableProcessors()));
+
+        final String results = this.results.stream().map(result -> toJsonObject(this.toRecord(result), "    "))
+                .collect(Collectors.joining(",\n"));
+
+        return "{\n" + environment.entrySet().stream()
+                .map(entry -> String.format("  \"%s\": %s,", entry.getKey(), entry.getValue()))
+                .collect(Collectors.joining("\n")) + "\n  \"results\": [\n" + results + "\n  ]\n}\n";
+    }
+
+    /**
+     * 引数として渡された計測結果を項目名と値の対応へ変換します。
+     * <p>
+     * 値は数値と真偽値以外を含まないため、CSV形式とJSON形式のどちらにもそのまま出力できます。
+     *
+     * @param result 計測結果
+     * @return 項目名と値の対応
+     */
+    private Map<String, String> toRecord(DtoBenchmarkResult result) {
+
+        final DtoBenchmarkMeasurement measurement = result.getMeasurement();
+        final Map<String, String> record = new LinkedHashMap<>();
+
+        record.put("mode", result.getMode().getString());
+        record.put("rows", String.valueOf(result.getRows()));
+        record.put("workbooks", String.valueOf(result.getWorkbooks()));
+        record.put("iteration", String.valueOf(result.getIteration()));
+        record.put("wall_ms", String.valueOf(measurement.getWallMillis()));
+        record.put("peak_rss_kb", String.valueOf(measurement.getPeakRssKilobytes()));
+        record.put("gc_count", String.valueOf(measurement.getGcCount()));
+        record.put("gc_pause_ms", String.format(Locale.ROOT, "%.3f", measurement.getGcPauseMillis()));
+        record.put("gc_max_pause_ms", String.format(Locale.ROOT, "%.3f", measurement.getGcMaxPauseMillis()));
+        record.put("output_files", String.valueOf(result.getOutputFiles()));
+        record.put("files_per_second", String.format(Locale.ROOT, "%.3f", result.getFilesPerSecond()));
+        record.put("succeeded", String.valueOf(measurement.isSucceeded()));
+
+        return record;
+    }
+
+    /**
+     * 引数として渡された項目名と値の対応をJSON形式のオブジェクトへ変換します。
+     * <p>
+     * 実行方法の値のみ文字列として出力します。
+     *
+     * @param record 項目名と値の対応
+     * @param indent 字下げ
+     * @return JSON形式のオブジェクト
+     */
+    private static String toJsonObject(Map<String, String> record, String indent) {
+        return indent + "{ " + record.entrySet().stream()
+                .map(entry -> String.format("\"%s\": %s", entry.getKey(),
+                        "mode".equals(entry.getKey()) ? quote(entry.getValue()) : entry.getValue()))
+                .collect(Collectors.joining(", ")) + " }";
+    }
+
+    /**
+     * 引数として渡された文字列をJSON形式の文字列へ変換します。
+     *
+     * @param value 文字列
+     * @return JSON形式の文字列
+     */
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
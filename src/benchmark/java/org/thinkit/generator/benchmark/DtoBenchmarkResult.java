@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.benchmark;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * ベンチマークの1回の計測結果を保持するクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+final class DtoBenchmarkResult {
+
+    /**
+     * 実行方法
+     */
+    private final DtoBenchmarkMode mode;
+
+    /**
+     * 定義書ごとの定義表の行数
+     */
+    private final int rows;
+
+    /**
+     * 定義書の数
+     */
+    private final int workbooks;
+
+    /**
+     * 計測の番号
+     */
+    private final int iteration;
+
+    /**
+     * 出力ファイルの数
+     */
+    private final long outputFiles;
+
+    /**
+     * 計測値
+     */
+    private final DtoBenchmarkMeasurement measurement;
+
+    /**
+     * コンストラクタ
+     *
+     * @param mode        実行方法
+     * @param rows        定義書ごとの定義表の行数
+     * @param workbooks   定義書の数
+     * @param iteration   計測の番号
+     * @param outputFiles 出力ファイルの数
+     * @param measurement 計測値
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private DtoBenchmarkResult(@NonNull DtoBenchmarkMode mode, int rows, int workbooks, int iteration,
+            long outputFiles, @NonNull DtoBenchmarkMeasurement measurement) {
+        this.mode = mode;
+        this.rows = rows;
+        this.workbooks = workbooks;
+        this.iteration = iteration;
+        this.outputFiles = outputFiles;
+        this.measurement = measurement;
+    }
+
+    /**
+     * 引数として渡された情報を基に {@link DtoBenchmarkResult} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param mode        実行方法
+     * @param rows        定義書ごとの定義表の行数
+     * @param workbooks   定義書の数
+     * @param iteration   計測の番号
+     * @param outputFiles 出力ファイルの数
+     * @param measurement 計測値
+     * @return {@link DtoBenchmarkResult} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static DtoBenchmarkResult of(@NonNull DtoBenchmarkMode mode, int rows, int workbooks, int iteration,
+            long outputFiles, @NonNull DtoBenchmarkMeasurement measurement) {
+        return new DtoBenchmarkResult(mode, rows, workbooks, iteration, outputFiles, measurement);
+    }
+
+    /**
+     * 1秒あたりの出力ファイルの数を返却します。
+     *
+     * @return 1秒あたりの出力ファイルの数
+     */
+    double getFilesPerSecond() {
+        final long wallMillis = Math.max(1L, this.measurement.getWallMillis());
+        return this.outputFiles * 1000.0 / wallMillis;
+    }
+}
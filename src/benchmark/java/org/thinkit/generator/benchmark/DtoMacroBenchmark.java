@@ -0,0 +1,411 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * 配布物の起動スクリプトを合成の定義書に対して実行し、生成器全体の性能を計測するベンチマークのエントリポイントです。
+ * <p>
+ * 定義表の行数ごとに合成の定義書を生成し、実行方法ごとに経過時間、最大常駐メモリ、ガベージコレクションの活動、1秒あたりの出力ファイルの数を計測します。<br>
+ * ウォームアップの計測は集計から除外し、計測結果は {@code report.csv} と {@code report.json} へ出力します。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class DtoMacroBenchmark {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * オプション引数の接頭辞
+     */
+    private static final String OPTION_PREFIX = "--";
+
+    /**
+     * オプション引数の名前と値の区切り文字
+     */
+    private static final String OPTION_DELIMITER = "=";
+
+    /**
+     * 複数の値を指定するオプション引数の区切り文字
+     */
+    private static final String VALUE_DELIMITER = ",";
+
+    /**
+     * 定義表の行数の既定値
+     */
+    private static final String DEFAULT_SIZES = "100,1000,10000";
+
+    /**
+     * 定義書の数の既定値
+     */
+    private static final String DEFAULT_WORKBOOKS = "20";
+
+    /**
+     * 実行方法の既定値
+     */
+    private static final String DEFAULT_MODES = "single,batch,parallel";
+
+    /**
+     * 計測の回数の既定値
+     */
+    private static final String DEFAULT_ITERATIONS = "3";
+
+    /**
+     * ウォームアップの回数の既定値
+     */
+    private static final String DEFAULT_WARMUPS = "1";
+
+    /**
+     * オプション引数の名前を定義した列挙型です。
+     */
+    private enum OptionName {
+
+        /**
+         * 配布物のディレクトリ
+         */
+        DISTRIBUTION("distribution"),
+
+        /**
+         * 合成の定義書の基になるテンプレート
+         */
+        TEMPLATE("template"),
+
+        /**
+         * 合成の定義書と出力ファイルを格納する作業ディレクトリ
+         */
+        WORK_DIR("work-dir"),
+
+        /**
+         * 計測結果を出力するディレクトリ
+         */
+        REPORT_DIR("report-dir"),
+
+        /**
+         * 計測対象の生成器のバージョン
+         */
+        GENERATOR_VERSION("generator-version"),
+
+        /**
+         * 定義表の行数
+         */
+        SIZES("sizes"),
+
+        /**
+         * 定義書の数
+         */
+        WORKBOOKS("workbooks"),
+
+        /**
+         * 実行方法
+         */
+        MODES("modes"),
+
+        /**
+         * 計測の回数
+         */
+        ITERATIONS("iterations"),
+
+        /**
+         * ウォームアップの回数
+         */
+        WARMUPS("warmups"),
+
+        /**
+         * 生成器の仮想マシンへ追加で指定する引数
+         */
+        JVM_ARGS("jvm-args");
+
+        /**
+         * オプション引数の名前
+         */
+        private final String name;
+
+        /**
+         * コンストラクタ
+         *
+         * @param name オプション引数の名前
+         */
+        OptionName(String name) {
+            this.name = name;
+        }
+
+        /**
+         * オプション引数の名前を返却します。
+         *
+         * @return オプション引数の名前
+         */
+        public String getString() {
+            return this.name;
+        }
+    }
+
+    /**
+     * 作業ディレクトリ
+     */
+    private final Path workDirectory;
+
+    /**
+     * 生成器のプロセス
+     */
+    private final DtoBenchmarkProcess process;
+
+    /**
+     * 実行方法
+     */
+    private final List<DtoBenchmarkMode> modes;
+
+    /**
+     * 計測の回数
+     */
+    private final int iterations;
+
+    /**
+     * ウォームアップの回数
+     */
+    private final int warmups;
+
+    /**
+     * コンストラクタ
+     *
+     * @param workDirectory 作業ディレクトリ
+     * @param process       生成器のプロセス
+     * @param modes         実行方法
+     * @param iterations    計測の回数
+     * @param warmups       ウォームアップの回数
+     */
+    private DtoMacroBenchmark(Path workDirectory, DtoBenchmarkProcess process, List<DtoBenchmarkMode> modes,
+            int iterations, int warmups) {
+        this.workDirectory = workDirectory;
+        this.process = process;
+        this.modes = modes;
+        this.iterations = iterations;
+        this.warmups = warmups;
+    }
+
+    /**
+     * ベンチマークのエントリポイントです。
+     * <p>
+     * 以下のオプション引数を指定します。通常は {@code gradle macroBenchmark} から起動します。
+     *
+     * <pre>
+     * --distribution=ディレクトリ → installDist で作成した配布物のディレクトリです。(必須)
+     * --template=ファイル → 合成の定義書の基になるテンプレートです。(必須)
+     * --work-dir=ディレクトリ → 合成の定義書と出力ファイルを格納する作業ディレクトリです。(必須)
+     * --report-dir=ディレクトリ → 計測結果を出力するディレクトリです。(必須)
+     * --generator-version=文字列 → 計測結果に記録する生成器のバージョンです。(任意)
+     * --sizes=行数,... → 定義表の行数です。既定値は 100,1000,10000 です。(任意)
+     * --workbooks=数 → 行数ごとに生成する定義書の数です。既定値は 20 です。(任意)
+     * --modes=single|batch|parallel,... → 実行方法です。既定値は全ての実行方法です。(任意)
+     * --iterations=回数 → 集計の対象となる計測の回数です。既定値は 3 です。(任意)
+     * --warmups=回数 → 集計から除外する計測の回数です。既定値は 1 です。(任意)
+     * --jvm-args=文字列 → 生成器の仮想マシンへ追加で指定する引数です。(任意)
+     * </pre>
+     *
+     * @param args コマンドライン引数
+     *
+     * @throws IllegalArgumentException 必須のオプション引数が指定されていない場合
+     * @throws IllegalStateException    計測中に生成器が異常終了した場合
+     */
+    public static void main(String[] args) {
+
+        final Map<String, String> options = parseArguments(args);
+
+        final Path workDirectory = Paths.get(requiredOption(options, OptionName.WORK_DIR));
+        final DtoBenchmarkCorpus corpus = DtoBenchmarkCorpus.of(Paths.get(requiredOption(options, OptionName.TEMPLATE)),
+                workDirectory.resolve("corpus"));
+        final DtoBenchmarkProcess process = DtoBenchmarkProcess.of(
+                Paths.get(requiredOption(options, OptionName.DISTRIBUTION)),
+                options.getOrDefault(OptionName.JVM_ARGS.getString(), StringUtils.EMPTY));
+        final List<DtoBenchmarkMode> modes = splitOption(options, OptionName.MODES, DEFAULT_MODES)
+                .map(DtoBenchmarkMode::fromString).collect(Collectors.toList());
+        final int workbooks = Integer.parseInt(options.getOrDefault(OptionName.WORKBOOKS.getString(), DEFAULT_WORKBOOKS));
+
+        final DtoMacroBenchmark benchmark = new DtoMacroBenchmark(workDirectory, process, modes,
+                Integer.parseInt(options.getOrDefault(OptionName.ITERATIONS.getString(), DEFAULT_ITERATIONS)),
+                Integer.parseInt(options.getOrDefault(OptionName.WARMUPS.getString(), DEFAULT_WARMUPS)));
+        final DtoBenchmarkReport report = DtoBenchmarkReport
+                .of(options.getOrDefault(OptionName.GENERATOR_VERSION.getString(), "unknown"));
+
+        splitOption(options, OptionName.SIZES, DEFAULT_SIZES).mapToInt(Integer::parseInt)
+                .forEach(rows -> benchmark.measure(corpus.generate(rows, workbooks), rows, workbooks)
+                        .forEach(report::add));
+
+        report.write(Paths.get(requiredOption(options, OptionName.REPORT_DIR)));
+    }
+
+    /**
+     * 引数として渡された定義書のディレクトリに対して全ての実行方法を計測し、ウォームアップを除いた計測結果を返却します。
+     *
+     * @param corpusDirectory 定義書のディレクトリ
+     * @param rows            定義表の行数
+     * @param workbooks       定義書の数
+     * @return 計測結果
+     *
+     * @throws IllegalStateException 生成器が異常終了した場合
+     * @throws UncheckedIOException  作業ディレクトリの操作に失敗した場合
+     */
+    private List<DtoBenchmarkResult> measure(Path corpusDirectory, int rows, int workbooks) {
+
+        final List<DtoBenchmarkResult> results = new ArrayList<>();
+
+        for (DtoBenchmarkMode mode : this.modes) {
+            for (int i = 0; i < this.warmups + this.iterations; i++) {
+                final Path runDirectory = this.workDirectory.resolve("runs")
+                        .resolve(String.format("rows-%d-%s-%d", rows, mode.getString(), i));
+
+                try {
+                    DtoBenchmarkFiles.deleteRecursively(runDirectory);
+                    Files.createDirectories(runDirectory);
+
+                    final Path outputDirectory = runDirectory.resolve("output");
+                    final DtoBenchmarkMeasurement measurement = this.run(mode, corpusDirectory, outputDirectory,
+                            runDirectory);
+
+                    if (!measurement.isSucceeded()) {
+                        throw new IllegalStateException(String.format(
+                                "Generator failed during the benchmark. See the logs in %s.", runDirectory));
+                    }
+
+                    if (i < this.warmups) {
+                        logger.atInfo().log("ウォームアップを完了しました。実行方法 = (%s)、行数 = (%s)", mode.getString(), rows);
+                        continue;
+                    }
+
+                    results.add(DtoBenchmarkResult.of(mode, rows, workbooks, i - this.warmups + 1,
+                            DtoBenchmarkFiles.countOutputFiles(outputDirectory), measurement));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * 引数として渡された実行方法で生成器を実行し、計測値を返却します。
+     * <p>
+     * 一括処理のチェックポイントは実行ごとのディレクトリへ出力し、定義書のディレクトリを実行間で変更しないようにします。
+     *
+     * @param mode            実行方法
+     * @param corpusDirectory 定義書のディレクトリ
+     * @param outputDirectory 出力先のディレクトリ
+     * @param runDirectory    実行ごとのディレクトリ
+     * @return 計測値
+     *
+     * @throws IOException 定義書のディレクトリの走査に失敗した場合
+     */
+    private DtoBenchmarkMeasurement run(DtoBenchmarkMode mode, Path corpusDirectory, Path outputDirectory,
+            Path runDirectory) throws IOException {
+
+        if (mode != DtoBenchmarkMode.SINGLE) {
+            final List<String> arguments = new ArrayList<>(
+                    List.of(corpusDirectory.toString(), outputDirectory.toString(),
+                            String.format("--checkpoint=%s", runDirectory.resolve("checkpoint"))));
+            arguments.addAll(mode.getOptions());
+            return this.process.run(arguments, runDirectory);
+        }
+
+        try (Stream<Path> workbooks = Files.list(corpusDirectory)) {
+            return workbooks.sorted().map(workbook -> this.process
+                    .run(List.of(workbook.toString(), outputDirectory.toString()), runDirectory))
+                    .reduce(DtoBenchmarkMeasurement::plus)
+                    .orElseThrow(() -> new IllegalStateException("No workbook was found in the corpus."));
+        }
+    }
+
+    /**
+     * コマンドライン引数を {@code --名前=値} 形式のオプション引数として解析します。
+     *
+     * @param args コマンドライン引数
+     * @return オプション引数
+     */
+    private static Map<String, String> parseArguments(String[] args) {
+
+        final Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith(OPTION_PREFIX)) {
+                continue;
+            }
+
+            final String option = arg.substring(OPTION_PREFIX.length());
+            final int delimiterIndex = option.indexOf(OPTION_DELIMITER);
+
+            if (delimiterIndex < 0) {
+                options.put(option, Boolean.TRUE.toString());
+            } else {
+                options.put(option.substring(0, delimiterIndex), option.substring(delimiterIndex + 1));
+            }
+        }
+
+        return options;
+    }
+
+    /**
+     * 必須のオプション引数の値を返却します。
+     *
+     * @param options    オプション引数
+     * @param optionName オプション引数の名前
+     * @return オプション引数の値
+     *
+     * @throws IllegalArgumentException オプション引数が指定されていない場合
+     */
+    private static String requiredOption(Map<String, String> options, OptionName optionName) {
+
+        final String value = options.get(optionName.getString());
+
+        if (StringUtils.isBlank(value)) {
+            throw new IllegalArgumentException(String.format(
+                    "wrong parameter was given. Option %s%s is required.", OPTION_PREFIX, optionName.getString()));
+        }
+
+        return value;
+    }
+
+    /**
+     * 複数の値を指定するオプション引数の値を分割して返却します。
+     *
+     * @param options      オプション引数
+     * @param optionName   オプション引数の名前
+     * @param defaultValue オプション引数が指定されていない場合の値
+     * @return 分割したオプション引数の値
+     */
+    private static Stream<String> splitOption(Map<String, String> options, OptionName optionName,
+            String defaultValue) {
+        return Stream.of(options.getOrDefault(optionName.getString(), defaultValue).split(VALUE_DELIMITER))
+                .map(String::trim).filter(StringUtils::isNotEmpty);
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import java.io.Serializable;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 複数の定義書を一括で処理する際の動作オプションを管理するデータクラスです。
+ * <p>
+ * このクラスはFluentインターフェースの概念を応用し設計されています。<br>
+ * そのため、以下のようなメソッドチェーンでの操作が可能です。
+ *
+ * <pre>
+ * <code>
+ * DtoBatchOption dtoBatchOption = DtoBatchOption.of()
+ *                                  .parseParallelism(2)
+ *                                  .formatParallelism(4);
+ * </code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+final class DtoBatchOption implements Serializable {
+
+    /**
+     * シリアルバージョンUID
+     */
+    private static final long serialVersionUID = 2838146170466325019L;
+
+    /**
+     * 解析段階の並列数
+     */
+    private int parseParallelism;
+
+    /**
+     * 整形段階の並列数
+     */
+    private int formatParallelism;
+
+    /**
+     * 書き込み段階の並列数
+     */
+    private int writeParallelism;
+
+    /**
+     * 段階間のキューに保持できる定義書の最大数
+     */
+    private int queueCapacity;
+
+    /**
+     * 仮想スレッドで処理するモード
+     */
+    private boolean virtualThreads;
+
+    /**
+     * 同時に解析する定義書に割り当てるヒープの予算（バイト）
+     */
+    private long heapBudget;
+
+    /**
+     * チェックポイントジャーナルのファイルパス
+     */
+    private String checkpointFile;
+
+    /**
+     * チェックポイントジャーナルから処理を再開するモード
+     */
+    private boolean resume;
+
+    /**
+     * 構造が同一の子クラスを定義書を跨いで共有するモード
+     */
+    private boolean shareChildren;
+
+    /**
+     * 進捗を出力する間隔（秒）、進捗を出力しない場合は {@code 0}
+     */
+    private int progressInterval;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoBatchOption() {
+        this.parseParallelism = 1;
+        this.formatParallelism = Runtime.getRuntime().availableProcessors();
+        this.writeParallelism = 1;
+        this.queueCapacity = 4;
+        this.virtualThreads = false;
+        this.heapBudget = 0L;
+        this.checkpointFile = StringUtils.EMPTY;
+        this.resume = false;
+        this.shareChildren = false;
+        this.progressInterval = 0;
+    }
+
+    /**
+     * 既定値で初期化された {@link DtoBatchOption} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @return {@link DtoBatchOption} クラスの新しいインスタンス
+     */
+    public static DtoBatchOption of() {
+        return new DtoBatchOption();
+    }
+
+    /**
+     * 解析段階の並列数を設定します。
+     *
+     * @param parseParallelism 解析段階の並列数
+     * @return 自分自身のインスタンス
+     *
+     * @throws IllegalArgumentException 並列数が1未満の場合
+     */
+    public DtoBatchOption parseParallelism(int parseParallelism) {
+        this.parseParallelism = requirePositive(parseParallelism);
+        return this;
+    }
+
+    /**
+     * 整形段階の並列数を設定します。
+     *
+     * @param formatParallelism 整形段階の並列数
+     * @return 自分自身のインスタンス
+     *
+     * @throws IllegalArgumentException 並列数が1未満の場合
+     */
+    public DtoBatchOption formatParallelism(int formatParallelism) {
+        this.formatParallelism = requirePositive(formatParallelism);
+        return this;
+    }
+
+    /**
+     * 書き込み段階の並列数を設定します。
+     *
+     * @param writeParallelism 書き込み段階の並列数
+     * @return 自分自身のインスタンス
+     *
+     * @throws IllegalArgumentException 並列数が1未満の場合
+     */
+    public DtoBatchOption writeParallelism(int writeParallelism) {
+        this.writeParallelism = requirePositive(writeParallelism);
+        return this;
+    }
+
+    /**
+     * 段階間のキューに保持できる定義書の最大数を設定します。
+     * <p>
+     * キューが満杯になった場合、前段の処理は後段が処理を取り出すまで待機します。
+     *
+     * @param queueCapacity 段階間のキューに保持できる定義書の最大数
+     * @return 自分自身のインスタンス
+     *
+     * @throws IllegalArgumentException 最大数が1未満の場合
+     */
+    public DtoBatchOption queueCapacity(int queueCapacity) {
+        this.queueCapacity = requirePositive(queueCapacity);
+        return this;
+    }
+
+    /**
+     * 仮想スレッドで処理するモードを設定します。
+     * <p>
+     * このモードでは定義書ごと、および、出力ファイルごとに仮想スレッドを生成し、各段階の並列数はセマフォで制限します。<br>
+     * 実行環境のJDKが仮想スレッドに対応していない場合は、スレッドプールを使用するパイプラインで処理します。
+     *
+     * @param virtualThreads 仮想スレッドで処理する場合は {@code true} 、それ以外は {@code false}
+     * @return 自分自身のインスタンス
+     */
+    public DtoBatchOption virtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    /**
+     * 同時に解析する定義書に割り当てるヒープの予算を設定します。
+     * <p>
+     * 予算が設定された場合、定義書ごとに推定したヒープの大きさの合計が予算を超えない範囲で解析を開始します。<br>
+     * そのため、解析段階の並列数は同時に解析する定義書の数の上限として扱われます。{@code 0} が渡された場合は予算を制限しません。
+     *
+     * @param heapBudget ヒープの予算（バイト）
+     * @return 自分自身のインスタンス
+     *
+     * @throws IllegalArgumentException 負数が渡された場合
+     */
+    public DtoBatchOption heapBudget(long heapBudget) {
+
+        if (heapBudget < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "wrong parameter was given. Zero or positive number was expected but %s was given.", heapBudget));
+        }
+
+        this.heapBudget = heapBudget;
+        return this;
+    }
+
+    /**
+     * チェックポイントジャーナルのファイルパスを設定します。
+     * <p>
+     * 空文字列が渡された場合は、一括処理の対象ディレクトリ直下の既定のファイルを使用します。
+     *
+     * @param checkpointFile チェックポイントジャーナルのファイルパス
+     * @return 自分自身のインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public DtoBatchOption checkpointFile(@NonNull String checkpointFile) {
+        this.checkpointFile = checkpointFile;
+        return this;
+    }
+
+    /**
+     * チェックポイントジャーナルから処理を再開するモードを設定します。
+     * <p>
+     * このモードではジャーナルに記録された定義書のうち、定義書の内容が変更されておらず、かつ、出力ファイルが全て存在する定義書の処理を省略します。<br>
+     * このモードが無効な場合、既存のジャーナルは破棄されます。
+     *
+     * @param resume 処理を再開する場合は {@code true} 、それ以外は {@code false}
+     * @return 自分自身のインスタンス
+     */
+    public DtoBatchOption resume(boolean resume) {
+        this.resume = resume;
+        return this;
+    }
+
+    /**
+     * 構造が同一の子クラスを定義書を跨いで共有するモードを設定します。
+     * <p>
+     * このモードでは全ての定義書が1つの定義プールを使用するため、先に解析された定義書の子クラスと構造が同一の子クラスは同じインスタンスを共有します。<br>
+     * 異なる定義書から同じ出力ファイルへ同じ内容の子クラスが生成された場合、書き込みは1度だけ行われます。
+     *
+     * @param shareChildren 子クラスを定義書を跨いで共有する場合は {@code true} 、それ以外は {@code false}
+     * @return 自分自身のインスタンス
+     */
+    public DtoBatchOption shareChildren(boolean shareChildren) {
+        this.shareChildren = shareChildren;
+        return this;
+    }
+
+    /**
+     * 一括処理の進捗を出力する間隔を秒単位で設定します。
+     * <p>
+     * {@code 0} を指定した場合は進捗を出力しません。
+     *
+     * @param progressInterval 進捗を出力する間隔（秒）
+     * @return 自分自身のインスタンス
+     *
+     * @throws IllegalArgumentException 間隔が負の値の場合
+     */
+    public DtoBatchOption progressInterval(int progressInterval) {
+        this.progressInterval = progressInterval == 0 ? 0 : requirePositive(progressInterval);
+        return this;
+    }
+
+    /**
+     * 引数として渡された数値が正の数であることを検証します。
+     *
+     * @param number 検証対象の数値
+     * @return 引数として渡された数値
+     *
+     * @throws IllegalArgumentException 数値が1未満の場合
+     */
+    private static int requirePositive(int number) {
+
+        if (number < 1) {
+            throw new IllegalArgumentException(
+                    String.format("wrong parameter was given. Positive number was expected but %s was given.", number));
+        }
+
+        return number;
+    }
+}
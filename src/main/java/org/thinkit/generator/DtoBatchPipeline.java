@@ -0,0 +1,729 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.thinkit.generator.DtoPipelineMetrics.Stage;
+import org.thinkit.generator.DtoPipelineMetrics.StageMetrics;
+import org.thinkit.generator.common.vo.dto.DtoMatrix;
+import org.thinkit.generator.common.vo.dto.DtoResource;
+import org.thinkit.generator.common.vo.dto.DtoResourceGroup;
+import org.thinkit.generator.content.dto.rule.DtoRunMetrics;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 複数の定義書を解析、整形、書き込みの3段階に分けて並行処理するパイプラインを定義したクラスです。
+ * <p>
+ * 各段階は容量制限付きのキューで接続されており、後段の処理が追い付かない場合は前段の処理が待機します。<br>
+ * そのため、ある定義書の書き込み中に次の定義書の解析を進めつつ、処理中の定義書の数はキューの容量で制限されます。
+ * <p>
+ * 仮想スレッドで処理するモードが有効な場合は、定義書ごと、および、出力ファイルごとに仮想スレッドを生成し、
+ * 各段階の並列数をセマフォで制限します。<br>
+ * 定義書の読み込みと出力ファイルの書き込みの待機中はキャリアスレッドを占有しないため、
+ * ネットワークストレージ上の定義書を処理する場合のように入出力の待機が支配的な一括処理に適しています。<br>
+ * 実行環境のJDKが仮想スレッドに対応していない場合はスレッドプールを使用するパイプラインで処理します。
+ * <p>
+ * ヒープの予算が指定された場合は、定義書ごとに推定したヒープの大きさの合計が予算を超えない範囲で解析を開始します。<br>
+ * 確保した予算は定義書の書き込みが完了するまで、または、処理に失敗するまで保持されます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DtoBatchOption
+ * @see DtoPipelineMetrics
+ * @see DtoMemoryBudget
+ */
+@ToString
+final class DtoBatchPipeline {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * キューの深さを標本化する間隔（ミリ秒）
+     */
+    private static final long SAMPLING_INTERVAL_MILLIS = 100L;
+
+    /**
+     * 一括処理オプション
+     */
+    private final DtoBatchOption dtoBatchOption;
+
+    /**
+     * 定義書の解析を開始する直前に通知される消費者
+     */
+    @ToString.Exclude
+    private final Consumer<DtoGenerator> parseListener;
+
+    /**
+     * 定義書の書き込みが完了した時点で通知される消費者
+     */
+    @ToString.Exclude
+    private final Consumer<DtoGenerator> completionListener;
+
+    /**
+     * ヒープの予算
+     */
+    private final DtoMemoryBudget dtoMemoryBudget;
+
+    /**
+     * パイプラインの集計値
+     */
+    @Getter
+    private final DtoPipelineMetrics dtoPipelineMetrics;
+
+    /**
+     * 処理に失敗した定義書の数
+     */
+    private final LongAdder failures;
+
+    /**
+     * コンストラクタ
+     *
+     * @param dtoBatchOption     一括処理オプション
+     * @param parseListener      定義書の解析を開始する直前に通知される消費者
+     * @param completionListener 定義書の書き込みが完了した時点で通知される消費者
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private DtoBatchPipeline(@NonNull DtoBatchOption dtoBatchOption, @NonNull Consumer<DtoGenerator> parseListener,
+            @NonNull Consumer<DtoGenerator> completionListener) {
+        this.dtoBatchOption = dtoBatchOption;
+        this.parseListener = parseListener;
+        this.completionListener = completionListener;
+        this.dtoMemoryBudget = DtoMemoryBudget.of(dtoBatchOption.getHeapBudget());
+        this.dtoPipelineMetrics = DtoPipelineMetrics.of();
+        this.failures = new LongAdder();
+    }
+
+    /**
+     * 引数として渡された {@code dtoBatchOption} を基に {@link DtoBatchPipeline} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param dtoBatchOption 一括処理オプション
+     * @return {@link DtoBatchPipeline} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static DtoBatchPipeline of(@NonNull DtoBatchOption dtoBatchOption) {
+        return new DtoBatchPipeline(dtoBatchOption, dtoGenerator -> {
+        }, dtoGenerator -> {
+        });
+    }
+
+    /**
+     * 引数として渡された情報を基に {@link DtoBatchPipeline} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * {@code completionListener} は定義書の全ての出力ファイルの書き込みが完了した時点で、書き込みを行ったスレッドから呼び出されます。<br>
+     * 消費者が例外を送出した場合、その定義書の処理は失敗として扱われます。
+     *
+     * @param dtoBatchOption     一括処理オプション
+     * @param completionListener 定義書の書き込みが完了した時点で通知される消費者
+     * @return {@link DtoBatchPipeline} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static DtoBatchPipeline of(@NonNull DtoBatchOption dtoBatchOption,
+            @NonNull Consumer<DtoGenerator> completionListener) {
+        return new DtoBatchPipeline(dtoBatchOption, dtoGenerator -> {
+        }, completionListener);
+    }
+
+    /**
+     * 引数として渡された情報を基に {@link DtoBatchPipeline} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * {@code parseListener} は定義書の解析を開始する直前に、解析を行うスレッドから呼び出されます。<br>
+     * {@code completionListener} は定義書の全ての出力ファイルの書き込みが完了した時点で、書き込みを行ったスレッドから呼び出されます。<br>
+     * いずれかの消費者が例外を送出した場合、その定義書の処理は失敗として扱われます。
+     *
+     * @param dtoBatchOption     一括処理オプション
+     * @param parseListener      定義書の解析を開始する直前に通知される消費者
+     * @param completionListener 定義書の書き込みが完了した時点で通知される消費者
+     * @return {@link DtoBatchPipeline} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static DtoBatchPipeline of(@NonNull DtoBatchOption dtoBatchOption, @NonNull Consumer<DtoGenerator> parseListener,
+            @NonNull Consumer<DtoGenerator> completionListener) {
+        return new DtoBatchPipeline(dtoBatchOption, parseListener, completionListener);
+    }
+
+    /**
+     * 引数として渡された生成器をパイプラインで処理します。
+     * <p>
+     * 一部の定義書の処理に失敗した場合でも残りの定義書の処理は継続します。
+     *
+     * @param dtoGenerators 処理対象の生成器リスト
+     * @return 全ての定義書の処理に成功した場合は {@code true} 、それ以外は {@code false}
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    boolean execute(@NonNull List<DtoGenerator> dtoGenerators) {
+
+        if (this.dtoBatchOption.isVirtualThreads()) {
+            final ExecutorService virtualThreadExecutor = DtoExecutors.newVirtualThreadPerTaskExecutor();
+
+            if (virtualThreadExecutor != null) {
+                logger.atInfo().log("仮想スレッドで一括処理を実行します。");
+                this.executeOnVirtualThreads(dtoGenerators, virtualThreadExecutor);
+            } else {
+                logger.atWarning().log("仮想スレッドを使用できないため、スレッドプールで一括処理を実行します。");
+                this.executeOnThreadPool(dtoGenerators);
+            }
+        } else {
+            this.executeOnThreadPool(dtoGenerators);
+        }
+
+        this.logMetrics();
+
+        return this.failures.sum() == 0;
+    }
+
+    /**
+     * 引数として渡された生成器を固定数のスレッドで構成されたパイプラインで処理します。
+     *
+     * @param dtoGenerators 処理対象の生成器リスト
+     */
+    private void executeOnThreadPool(List<DtoGenerator> dtoGenerators) {
+
+        final int parseParallelism = this.dtoBatchOption.getParseParallelism();
+        final int formatParallelism = this.dtoBatchOption.getFormatParallelism();
+        final int writeParallelism = this.dtoBatchOption.getWriteParallelism();
+
+        final BlockingQueue<PipelineItem> parseQueue = new LinkedBlockingQueue<>();
+        final BlockingQueue<PipelineItem> formatQueue = new ArrayBlockingQueue<>(this.dtoBatchOption.getQueueCapacity());
+        final BlockingQueue<PipelineItem> writeQueue = new ArrayBlockingQueue<>(this.dtoBatchOption.getQueueCapacity());
+
+        dtoGenerators.forEach(dtoGenerator -> parseQueue.add(PipelineItem.of(dtoGenerator)));
+
+        for (int i = 0; i < parseParallelism; i++) {
+            parseQueue.add(PipelineItem.END);
+        }
+
+        final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            this.dtoPipelineMetrics.sample(Stage.PARSE, parseQueue);
+            this.dtoPipelineMetrics.sample(Stage.FORMAT, formatQueue);
+            this.dtoPipelineMetrics.sample(Stage.WRITE, writeQueue);
+        }, 0L, SAMPLING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+        final ExecutorService executor = Executors
+                .newFixedThreadPool(parseParallelism + formatParallelism + writeParallelism);
+
+        final AtomicInteger parseWorkers = new AtomicInteger(parseParallelism);
+        final AtomicInteger formatWorkers = new AtomicInteger(formatParallelism);
+        final AtomicInteger writeWorkers = new AtomicInteger(writeParallelism);
+
+        for (int i = 0; i < parseParallelism; i++) {
+            executor.execute(() -> this.runStage(Stage.PARSE, parseQueue, formatQueue, formatParallelism, parseWorkers,
+                    this::admitAndCollect));
+        }
+
+        for (int i = 0; i < formatParallelism; i++) {
+            executor.execute(() -> this.runStage(Stage.FORMAT, formatQueue, writeQueue, writeParallelism,
+                    formatWorkers,
+                    item -> item.withDtoResourceGroup(item.getDtoGenerator().formatResource(item.getDtoMatrix()))));
+        }
+
+        for (int i = 0; i < writeParallelism; i++) {
+            executor.execute(() -> this.runStage(Stage.WRITE, writeQueue, null, 0, writeWorkers, item -> {
+                item.getDtoGenerator().writeResource(item.getDtoResourceGroup());
+                item.getDtoGenerator().complete();
+                this.completionListener.accept(item.getDtoGenerator());
+                return item;
+            }));
+        }
+
+        executor.shutdown();
+
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            sampler.shutdownNow();
+        }
+    }
+
+    /**
+     * 引数として渡された生成器を定義書ごとに生成した仮想スレッドで処理します。
+     * <p>
+     * 各段階の並列数は一括処理オプションで指定された並列数を許可数とするセマフォで制限します。<br>
+     * 書き込み段階では出力ファイルごとに仮想スレッドを生成し、全ての出力ファイルの書き込みが完了するまで待機します。<br>
+     * 一部の定義書の処理が異常終了した場合でも、全ての仮想スレッドが終了するまで待機してから返却します。
+     *
+     * @param dtoGenerators         処理対象の生成器リスト
+     * @param virtualThreadExecutor タスクごとに仮想スレッドを生成する {@link ExecutorService}
+     */
+    private void executeOnVirtualThreads(List<DtoGenerator> dtoGenerators, ExecutorService virtualThreadExecutor) {
+
+        final Semaphore parsePermits = new Semaphore(this.dtoBatchOption.getParseParallelism());
+        final Semaphore formatPermits = new Semaphore(this.dtoBatchOption.getFormatParallelism());
+        final Semaphore writePermits = new Semaphore(this.dtoBatchOption.getWriteParallelism());
+
+        final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            this.dtoPipelineMetrics.sample(Stage.PARSE, parsePermits);
+            this.dtoPipelineMetrics.sample(Stage.FORMAT, formatPermits);
+            this.dtoPipelineMetrics.sample(Stage.WRITE, writePermits);
+        }, 0L, SAMPLING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>(dtoGenerators.size());
+
+            for (DtoGenerator dtoGenerator : dtoGenerators) {
+                futures.add(virtualThreadExecutor.submit(() -> this.processOnVirtualThread(dtoGenerator,
+                        virtualThreadExecutor, parsePermits, formatPermits, writePermits)));
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    logger.atSevere().withCause(e.getCause()).log("定義書の処理が異常終了しました。");
+                    this.fail();
+                }
+            }
+
+            virtualThreadExecutor.shutdown();
+            virtualThreadExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            virtualThreadExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            sampler.shutdownNow();
+        }
+    }
+
+    /**
+     * 引数として渡された生成器の解析、整形、書き込みの各段階を仮想スレッド上で順に実行します。
+     * <p>
+     * 定義書の処理に失敗した場合は {@link Error} を含めて失敗数を加算し、例外を呼び出し元へ伝播しません。
+     *
+     * @param dtoGenerator          処理対象の生成器
+     * @param virtualThreadExecutor タスクごとに仮想スレッドを生成する {@link ExecutorService}
+     * @param parsePermits          解析段階の並列数を制限するセマフォ
+     * @param formatPermits         整形段階の並列数を制限するセマフォ
+     * @param writePermits          書き込み段階の並列数を制限するセマフォ
+     */
+    private void processOnVirtualThread(DtoGenerator dtoGenerator, ExecutorService virtualThreadExecutor,
+            Semaphore parsePermits, Semaphore formatPermits, Semaphore writePermits) {
+
+        Stage stage = Stage.PARSE;
+        int admittedUnits = 0;
+
+        try {
+            admittedUnits = this.dtoMemoryBudget.admit(Paths.get(dtoGenerator.getDefinitionFilePath()));
+            final DtoMatrix dtoMatrix = this.runWithPermit(stage, parsePermits, () -> {
+                this.parseListener.accept(dtoGenerator);
+                return dtoGenerator.collectMatrix();
+            });
+
+            stage = Stage.FORMAT;
+            final DtoResourceGroup dtoResourceGroup = this.runWithPermit(stage, formatPermits,
+                    () -> dtoGenerator.formatResource(dtoMatrix));
+
+            stage = Stage.WRITE;
+            this.writeOnVirtualThreads(dtoGenerator, dtoResourceGroup, virtualThreadExecutor, writePermits);
+            dtoGenerator.complete();
+            this.completionListener.accept(dtoGenerator);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.fail();
+        } catch (Throwable e) {
+            logger.atSevere().withCause(e).log("定義書の処理に失敗しました。段階 = (%s)、定義書 = (%s)", stage,
+                    dtoGenerator.getDefinitionFilePath());
+            this.fail();
+        } finally {
+            this.dtoMemoryBudget.release(admittedUnits);
+        }
+    }
+
+    /**
+     * 引数として渡されたDTOリソースグループを出力ファイルごとに生成した仮想スレッドで書き込みます。
+     * <p>
+     * 同時に書き込む出力ファイルの数はセマフォで制限し、全ての出力ファイルの書き込みが完了するまで待機します。
+     *
+     * @param dtoGenerator          処理対象の生成器
+     * @param dtoResourceGroup      書き込むDTOリソースグループ
+     * @param virtualThreadExecutor タスクごとに仮想スレッドを生成する {@link ExecutorService}
+     * @param writePermits          書き込み段階の並列数を制限するセマフォ
+     *
+     * @throws InterruptedException 待機中に割り込みを受けた場合
+     */
+    private void writeOnVirtualThreads(DtoGenerator dtoGenerator, DtoResourceGroup dtoResourceGroup,
+            ExecutorService virtualThreadExecutor, Semaphore writePermits) throws InterruptedException {
+
+        final long startTime = System.nanoTime();
+        final List<Future<?>> futures = new ArrayList<>(dtoResourceGroup.size());
+
+        for (DtoResource dtoResource : dtoResourceGroup) {
+            futures.add(virtualThreadExecutor.submit(() -> {
+                final long waitTime = System.nanoTime();
+                writePermits.acquire();
+
+                try {
+                    this.dtoPipelineMetrics.get(Stage.FORMAT).recordBlocked(System.nanoTime() - waitTime);
+                    dtoGenerator.writeResource(dtoResource);
+                } finally {
+                    writePermits.release();
+                }
+
+                return null;
+            }));
+        }
+
+        RuntimeException failure = null;
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                            : new IllegalStateException(e.getCause());
+                } else {
+                    failure.addSuppressed(e.getCause());
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+
+        this.dtoPipelineMetrics.get(Stage.WRITE).recordProcessed(System.nanoTime() - startTime);
+    }
+
+    /**
+     * セマフォの許可を取得してから段階の処理を実行します。
+     * <p>
+     * 許可の取得を待機した時間は、前段が後段の空きを待機した時間として前段の集計値に記録します。
+     *
+     * @param <T>     段階の処理結果の型
+     * @param stage   パイプラインの段階
+     * @param permits 段階の並列数を制限するセマフォ
+     * @param task    段階の処理
+     * @return 段階の処理結果
+     *
+     * @throws InterruptedException 許可の取得を待機中に割り込みを受けた場合
+     */
+    private <T> T runWithPermit(Stage stage, Semaphore permits, Supplier<T> task) throws InterruptedException {
+
+        final long waitTime = System.nanoTime();
+        permits.acquire();
+
+        try {
+            if (stage != Stage.PARSE) {
+                this.dtoPipelineMetrics.get(Stage.values()[stage.ordinal() - 1])
+                        .recordBlocked(System.nanoTime() - waitTime);
+            }
+
+            final long startTime = System.nanoTime();
+            final T result = task.get();
+            this.dtoPipelineMetrics.get(stage).recordProcessed(System.nanoTime() - startTime);
+
+            return result;
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * ヒープの予算を確保してから定義書を解析します。
+     * <p>
+     * 解析に失敗した場合は確保した予算を返却してから例外を送出します。
+     *
+     * @param item 処理対象
+     * @return 確保した予算とDTOマトリクスを保持する処理対象
+     *
+     * @throws IllegalStateException 予算の確保を待機中に割り込みを受けた場合
+     */
+    private PipelineItem admitAndCollect(PipelineItem item) {
+
+        final int admittedUnits;
+
+        try {
+            admittedUnits = this.dtoMemoryBudget
+                    .admit(Paths.get(item.getDtoGenerator().getDefinitionFilePath()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for heap budget.", e);
+        }
+
+        try {
+            this.parseListener.accept(item.getDtoGenerator());
+            return item.withDtoMatrix(item.getDtoGenerator().collectMatrix(), admittedUnits);
+        } catch (Throwable e) {
+            this.dtoMemoryBudget.release(admittedUnits);
+            throw e;
+        }
+    }
+
+    /**
+     * パイプラインの1段階を実行します。
+     * <p>
+     * 入力キューから終端を示す要素を取り出すまで処理を繰り返します。<br>
+     * 要素の処理で {@link Error} を含む例外が発生した場合は、その定義書を失敗として数えて次の要素の処理を継続します。<br>
+     * 同じ段階の最後の処理者が終了した時点で、入力キューに残った要素を失敗として数えて取り除き、
+     * 後段の処理者の数だけ終端を示す要素を出力キューへ追加します。
+     *
+     * @param stage           パイプラインの段階
+     * @param input           入力キュー
+     * @param output          出力キュー、または、最終段階の場合は {@code null}
+     * @param nextParallelism 後段の並列数
+     * @param workers         同じ段階で稼働中の処理者の数
+     * @param task            段階の処理
+     */
+    private void runStage(Stage stage, BlockingQueue<PipelineItem> input, BlockingQueue<PipelineItem> output,
+            int nextParallelism, AtomicInteger workers, UnaryOperator<PipelineItem> task) {
+
+        final StageMetrics stageMetrics = this.dtoPipelineMetrics.get(stage);
+
+        try {
+            for (PipelineItem item = input.take(); item != PipelineItem.END; item = input.take()) {
+
+                final long startTime = System.nanoTime();
+                final PipelineItem result;
+
+                try {
+                    result = task.apply(item);
+                } catch (Throwable e) {
+                    logger.atSevere().withCause(e).log("定義書の処理に失敗しました。段階 = (%s)、定義書 = (%s)", stage,
+                            item.getDtoGenerator().getDefinitionFilePath());
+                    this.dtoMemoryBudget.release(item.getAdmittedUnits());
+                    this.fail();
+                    continue;
+                }
+
+                stageMetrics.recordProcessed(System.nanoTime() - startTime);
+
+                if (output == null) {
+                    this.dtoMemoryBudget.release(result.getAdmittedUnits());
+                }
+
+                if (output != null) {
+                    final long blockedTime = System.nanoTime();
+                    output.put(result);
+                    stageMetrics.recordBlocked(System.nanoTime() - blockedTime);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (workers.decrementAndGet() == 0) {
+                this.drainAsFailures(stage, input);
+
+                if (output != null) {
+                    for (int i = 0; i < nextParallelism; i++) {
+                        this.putQuietly(output, PipelineItem.END);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 段階の全ての処理者が終了した後に入力キューへ残った要素を取り除き、処理に失敗した定義書として数えます。
+     * <p>
+     * 通常の終了では終端を示す要素のみが残るため、失敗として数える要素はありません。
+     *
+     * @param stage パイプラインの段階
+     * @param input 入力キュー
+     */
+    private void drainAsFailures(Stage stage, BlockingQueue<PipelineItem> input) {
+        for (PipelineItem item = input.poll(); item != null; item = input.poll()) {
+            if (item != PipelineItem.END) {
+                logger.atSevere().log("段階の処理者が終了したため定義書を処理できませんでした。段階 = (%s)、定義書 = (%s)", stage,
+                        item.getDtoGenerator().getDefinitionFilePath());
+                this.dtoMemoryBudget.release(item.getAdmittedUnits());
+                this.fail();
+            }
+        }
+    }
+
+    /**
+     * 定義書の処理の失敗を数え、{@link DtoRunMetrics} へ集計します。
+     */
+    private void fail() {
+        this.failures.increment();
+        DtoRunMetrics.addFailedWorkbook();
+    }
+
+    /**
+     * 割り込みを受けた場合でもキューへの要素の追加を完了させます。
+     * <p>
+     * 割り込みを受けた場合は要素の追加後に割り込み状態を復元します。
+     *
+     * @param queue キュー
+     * @param item  追加する要素
+     */
+    private void putQuietly(BlockingQueue<PipelineItem> queue, PipelineItem item) {
+
+        boolean interrupted = false;
+
+        while (true) {
+            try {
+                queue.put(item);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * パイプラインの集計値をログへ出力します。
+     */
+    private void logMetrics() {
+
+        for (Stage stage : Stage.values()) {
+            final StageMetrics stageMetrics = this.dtoPipelineMetrics.get(stage);
+            logger.atInfo().log("段階 = (%s)、処理数 = (%s)、処理時間 = (%sms)、待機時間 = (%sms)、キュー平均深さ = (%.2f)、キュー最大深さ = (%s)",
+                    stage, stageMetrics.getProcessed(), TimeUnit.NANOSECONDS.toMillis(stageMetrics.getBusyNanos()),
+                    TimeUnit.NANOSECONDS.toMillis(stageMetrics.getBlockedNanos()),
+                    stageMetrics.getAverageQueueDepth(), stageMetrics.getMaxQueueDepth());
+        }
+
+        logger.atInfo().log("律速段階 = (%s)、失敗数 = (%s)", this.dtoPipelineMetrics.getBottleneck(), this.failures.sum());
+
+        if (this.dtoMemoryBudget.isLimited()) {
+            logger.atInfo().log("ヒープの予算 = (%s)、確保された予算の最大値 = (%sKB)", this.dtoMemoryBudget,
+                    this.dtoMemoryBudget.getPeakBytes() / 1024);
+        }
+        logger.atInfo().log("文字列の重複排除数 = (%s)、削減したヒープの推定サイズ = (%sKB)",
+                DtoRunMetrics.getDeduplicatedStrings(), DtoRunMetrics.getDeduplicatedBytes() / 1024);
+    }
+
+    /**
+     * パイプラインの段階間で受け渡される処理対象を管理するデータクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Getter
+    @ToString
+    private static final class PipelineItem {
+
+        /**
+         * 処理の終端を示す要素
+         */
+        private static final PipelineItem END = new PipelineItem(null, null, null, 0);
+
+        /**
+         * 生成器
+         */
+        private final DtoGenerator dtoGenerator;
+
+        /**
+         * 解析段階で取得したDTOマトリクス
+         */
+        private final DtoMatrix dtoMatrix;
+
+        /**
+         * 整形段階で生成したDTOリソースグループ
+         */
+        private final DtoResourceGroup dtoResourceGroup;
+
+        /**
+         * 解析段階で確保したヒープの予算の単位数
+         */
+        private final int admittedUnits;
+
+        /**
+         * コンストラクタ
+         *
+         * @param dtoGenerator     生成器
+         * @param dtoMatrix        DTOマトリクス
+         * @param dtoResourceGroup DTOリソースグループ
+         * @param admittedUnits    確保したヒープの予算の単位数
+         */
+        private PipelineItem(DtoGenerator dtoGenerator, DtoMatrix dtoMatrix, DtoResourceGroup dtoResourceGroup,
+                int admittedUnits) {
+            this.dtoGenerator = dtoGenerator;
+            this.dtoMatrix = dtoMatrix;
+            this.dtoResourceGroup = dtoResourceGroup;
+            this.admittedUnits = admittedUnits;
+        }
+
+        /**
+         * 引数として渡された生成器を処理対象とする {@link PipelineItem} クラスの新しいインスタンスを生成し返却します。
+         *
+         * @param dtoGenerator 生成器
+         * @return {@link PipelineItem} クラスの新しいインスタンス
+         *
+         * @exception NullPointerException 引数として {@code null} が渡された場合
+         */
+        static PipelineItem of(@NonNull DtoGenerator dtoGenerator) {
+            return new PipelineItem(dtoGenerator, null, null, 0);
+        }
+
+        /**
+         * 解析段階で取得したDTOマトリクスを保持する新しいインスタンスを返却します。
+         * <p>
+         * 後段で不要になった情報を早期に解放するため、新しいインスタンスは前段の情報を保持しません。
+         *
+         * @param dtoMatrix     DTOマトリクス
+         * @param admittedUnits 確保したヒープの予算の単位数
+         * @return {@link PipelineItem} クラスの新しいインスタンス
+         */
+        PipelineItem withDtoMatrix(DtoMatrix dtoMatrix, int admittedUnits) {
+            return new PipelineItem(this.dtoGenerator, dtoMatrix, null, admittedUnits);
+        }
+
+        /**
+         * 整形段階で生成したDTOリソースグループを保持する新しいインスタンスを返却します。
+         * <p>
+         * 後段で不要になった情報を早期に解放するため、新しいインスタンスはDTOマトリクスを保持しません。
+         *
+         * @param dtoResourceGroup DTOリソースグループ
+         * @return {@link PipelineItem} クラスの新しいインスタンス
+         */
+        PipelineItem withDtoResourceGroup(DtoResourceGroup dtoResourceGroup) {
+            return new PipelineItem(this.dtoGenerator, null, dtoResourceGroup, this.admittedUnits);
+        }
+    }
+}
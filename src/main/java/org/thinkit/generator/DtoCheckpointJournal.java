@@ -0,0 +1,461 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.flogger.FluentLogger;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 一括処理の進捗を記録するチェックポイントジャーナルです。
+ * <p>
+ * 処理が完了した定義書ごとに、定義書のハッシュ値、出力先、生成結果に影響するオプションの指紋、書き込んだ出力ファイルのパスを1行ずつ追記します。<br>
+ * ジャーナルは追記のみで更新され、一定の件数または一定の時間ごとに記憶装置へ同期されます。<br>
+ * そのため、一括処理が途中で異常終了した場合でも同期済みの記録は失われず、再開時に処理済みの定義書を省略することができます。
+ * <p>
+ * ジャーナルの各行は以下の形式で、項目はタブ文字で区切られます。<br>
+ * 改行で終端されていない末尾の行は書き込み途中の記録として無視し、再開時に追記する前にジャーナルから切り詰めます。
+ *
+ * <pre>
+ * 定義書のハッシュ値	定義書の絶対パス	出力先の絶対パス	オプションの指紋	出力ファイルのパス...
+ * </pre>
+ *
+ * <p>
+ * 出力先またはオプションが異なる一括処理で記録された定義書は、処理済みとみなしません。
+ *
+ * <p>
+ * このクラスのメソッドは複数のスレッドから同時に呼び出すことができます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString(onlyExplicitlyIncluded = true)
+final class DtoCheckpointJournal implements AutoCloseable {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * ハッシュ値の算出に使用するアルゴリズム
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * 定義書を読み込む際のバッファサイズ
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * 記録の項目の区切り文字
+     */
+    private static final String FIELD_DELIMITER = "\t";
+
+    /**
+     * 記録の終端文字
+     */
+    private static final char RECORD_TERMINATOR = '\n';
+
+    /**
+     * 記憶装置へ同期するまでに追記できる記録の最大数
+     */
+    private static final int SYNC_RECORDS = 32;
+
+    /**
+     * 記憶装置へ同期する最大の間隔（ナノ秒）
+     */
+    private static final long SYNC_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1L);
+
+    /**
+     * ジャーナルファイル
+     */
+    @ToString.Include
+    private final Path journalFile;
+
+    /**
+     * 出力先の絶対パス
+     */
+    @ToString.Include
+    private final String outputRoot;
+
+    /**
+     * 生成結果に影響するオプションの指紋
+     */
+    @ToString.Include
+    private final String fingerprint;
+
+    /**
+     * 再開時に読み込んだ定義書の絶対パスと記録の対応
+     */
+    private final Map<String, Checkpoint> checkpoints;
+
+    /**
+     * ジャーナルファイルへ追記するチャネル
+     */
+    private final FileChannel fileChannel;
+
+    /**
+     * 前回の同期以降に追記した記録の数
+     */
+    private int unsyncedRecords;
+
+    /**
+     * 前回の同期時刻（ナノ秒）
+     */
+    private long lastSyncTime;
+
+    /**
+     * コンストラクタ
+     *
+     * @param journalFile ジャーナルファイル
+     * @param resume      既存の記録を読み込んで追記する場合は {@code true} 、記録を破棄して新規に作成する場合は
+     *                    {@code false}
+     * @param outputRoot  出力先パス
+     * @param options     生成結果に影響するオプションを表現した文字列
+     *
+     * @throws UncheckedIOException ジャーナルファイルの読み込みまたは作成に失敗した場合
+     */
+    private DtoCheckpointJournal(@NonNull Path journalFile, boolean resume, @NonNull String outputRoot,
+            @NonNull String options) {
+
+        this.journalFile = journalFile;
+        this.outputRoot = toKey(Paths.get(outputRoot));
+        this.fingerprint = digest(options.getBytes(StandardCharsets.UTF_8));
+        this.checkpoints = new HashMap<>();
+
+        long validLength = 0L;
+
+        try {
+            if (resume && Files.exists(journalFile)) {
+                final byte[] journal = Files.readAllBytes(journalFile);
+
+                for (int i = journal.length - 1; i >= 0; i--) {
+                    if (journal[i] == RECORD_TERMINATOR) {
+                        validLength = i + 1;
+                        break;
+                    }
+                }
+
+                this.load(new String(journal, 0, (int) validLength, StandardCharsets.UTF_8));
+            }
+
+            final Path parent = journalFile.toAbsolutePath().getParent();
+
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            this.fileChannel = resume
+                    ? FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                            StandardOpenOption.APPEND)
+                    : FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                            StandardOpenOption.TRUNCATE_EXISTING);
+
+            if (this.fileChannel.size() > validLength) {
+                logger.atWarning().log("書き込み途中の記録をジャーナルから切り詰めます。(%s)", journalFile);
+                this.fileChannel.truncate(validLength);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        this.lastSyncTime = System.nanoTime();
+        logger.atInfo().log("チェックポイントジャーナル = (%s)、読み込んだ記録の数 = (%s)", journalFile, this.checkpoints.size());
+    }
+
+    /**
+     * 引数として渡されたジャーナルファイルを開きます。
+     *
+     * @param journalFile ジャーナルファイル
+     * @param resume      既存の記録を読み込んで追記する場合は {@code true} 、記録を破棄して新規に作成する場合は
+     *                    {@code false}
+     * @param outputRoot  出力先パス
+     * @param options     生成結果に影響するオプションを表現した文字列
+     * @return {@link DtoCheckpointJournal} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws UncheckedIOException ジャーナルファイルの読み込みまたは作成に失敗した場合
+     */
+    static DtoCheckpointJournal open(@NonNull Path journalFile, boolean resume, @NonNull String outputRoot,
+            @NonNull String options) {
+        return new DtoCheckpointJournal(journalFile, resume, outputRoot, options);
+    }
+
+    /**
+     * 引数として渡された定義書のハッシュ値を算出し返却します。
+     *
+     * @param workbook 定義書のパス
+     * @return 16進数で表現された定義書のハッシュ値
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws UncheckedIOException 定義書の読み込みに失敗した場合
+     */
+    static String hash(@NonNull Path workbook) {
+
+        final MessageDigest messageDigest = getMessageDigest();
+
+        try (InputStream inputStream = Files.newInputStream(workbook)) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+
+            for (int length; (length = inputStream.read(buffer)) != -1;) {
+                messageDigest.update(buffer, 0, length);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return toHex(messageDigest.digest());
+    }
+
+    /**
+     * 引数として渡された定義書が処理済みであり、かつ、その記録が現在も有効か判定します。
+     * <p>
+     * 記録された出力先とオプションの指紋がこのジャーナルと一致し、記録された全ての出力ファイルが存在し、
+     * 記録されたハッシュ値が現在の定義書のハッシュ値と一致する場合に有効とみなします。<br>
+     * 定義書のハッシュ値は、それ以外の条件を満たす記録が存在する場合にのみ算出します。
+     *
+     * @param workbook 定義書のパス
+     * @return 処理済みの記録が有効な場合は {@code true} 、それ以外は {@code false}
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws UncheckedIOException 定義書の読み込みに失敗した場合
+     */
+    boolean isCompleted(@NonNull Path workbook) {
+
+        final Checkpoint checkpoint = this.checkpoints.get(toKey(workbook));
+
+        if (checkpoint == null || !checkpoint.outputRoot.equals(this.outputRoot)
+                || !checkpoint.fingerprint.equals(this.fingerprint)
+                || !checkpoint.outputFiles.stream().allMatch(Files::isRegularFile)) {
+            return false;
+        }
+
+        return checkpoint.hash.equals(hash(workbook));
+    }
+
+    /**
+     * 処理が完了した定義書をジャーナルへ追記します。
+     * <p>
+     * 定義書のハッシュ値は解析を開始する前に {@link #hash(Path)} で算出した値を渡してください。<br>
+     * 処理中に定義書が変更された場合でも、生成に使用した内容より新しいハッシュ値が記録されることはありません。<br>
+     * 前回の同期以降に追記した記録の数または経過時間が閾値を超えた場合は記憶装置へ同期します。
+     *
+     * @param workbook    定義書のパス
+     * @param hash        解析を開始する前に算出した定義書のハッシュ値
+     * @param outputFiles 書き込んだ出力ファイルのパス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws UncheckedIOException ジャーナルファイルへの追記に失敗した場合
+     */
+    void record(@NonNull Path workbook, @NonNull String hash, @NonNull List<Path> outputFiles) {
+
+        final StringBuilder record = new StringBuilder(hash).append(FIELD_DELIMITER).append(toKey(workbook))
+                .append(FIELD_DELIMITER).append(this.outputRoot).append(FIELD_DELIMITER).append(this.fingerprint);
+        outputFiles.forEach(outputFile -> record.append(FIELD_DELIMITER).append(outputFile));
+        record.append(RECORD_TERMINATOR);
+
+        final ByteBuffer buffer = ByteBuffer.wrap(record.toString().getBytes(StandardCharsets.UTF_8));
+
+        synchronized (this) {
+            try {
+                while (buffer.hasRemaining()) {
+                    this.fileChannel.write(buffer);
+                }
+
+                if (++this.unsyncedRecords >= SYNC_RECORDS
+                        || System.nanoTime() - this.lastSyncTime >= SYNC_INTERVAL_NANOS) {
+                    this.sync();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 未同期の記録を記憶装置へ同期し、ジャーナルファイルを閉じます。
+     *
+     * @throws UncheckedIOException 同期またはジャーナルファイルのクローズに失敗した場合
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            try {
+                this.sync();
+            } finally {
+                this.fileChannel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 追記した記録を記憶装置へ同期します。
+     *
+     * @throws IOException 同期に失敗した場合
+     */
+    private void sync() throws IOException {
+        this.fileChannel.force(false);
+        this.unsyncedRecords = 0;
+        this.lastSyncTime = System.nanoTime();
+    }
+
+    /**
+     * 引数として渡されたジャーナルの内容から記録を読み込みます。
+     * <p>
+     * 同じ定義書の記録が複数存在する場合は後に追記された記録を有効とします。
+     *
+     * @param journal ジャーナルの内容
+     */
+    private void load(String journal) {
+
+        final int end = journal.lastIndexOf(RECORD_TERMINATOR);
+
+        if (end < 0) {
+            return;
+        }
+
+        for (String line : journal.substring(0, end).split(String.valueOf(RECORD_TERMINATOR))) {
+            final String[] fields = line.split(FIELD_DELIMITER);
+
+            if (fields.length < 4) {
+                continue;
+            }
+
+            final List<Path> outputFiles = new ArrayList<>(fields.length - 4);
+
+            for (int i = 4; i < fields.length; i++) {
+                outputFiles.add(Paths.get(fields[i]));
+            }
+
+            this.checkpoints.put(fields[1], new Checkpoint(fields[0], fields[2], fields[3], outputFiles));
+        }
+    }
+
+    /**
+     * ハッシュ値の算出に使用するメッセージダイジェストを返却します。
+     *
+     * @return メッセージダイジェスト
+     *
+     * @throws IllegalStateException アルゴリズムが利用できない場合
+     */
+    private static MessageDigest getMessageDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 引数として渡されたバイト配列のハッシュ値を算出し返却します。
+     *
+     * @param bytes バイト配列
+     * @return 16進数で表現されたハッシュ値
+     */
+    private static String digest(byte[] bytes) {
+        return toHex(getMessageDigest().digest(bytes));
+    }
+
+    /**
+     * 引数として渡されたバイト配列を16進数で表現した文字列へ変換します。
+     *
+     * @param bytes バイト配列
+     * @return 16進数で表現した文字列
+     */
+    private static String toHex(byte[] bytes) {
+
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+
+        return hex.toString();
+    }
+
+    /**
+     * 引数として渡された定義書のパスを記録のキーへ変換します。
+     *
+     * @param workbook 定義書のパス
+     * @return 記録のキー
+     */
+    private static String toKey(Path workbook) {
+        return workbook.toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * ジャーナルから読み込んだ定義書1件分の記録を管理するデータクラスです。
+     */
+    private static final class Checkpoint {
+
+        /**
+         * 定義書のハッシュ値
+         */
+        private final String hash;
+
+        /**
+         * 出力先の絶対パス
+         */
+        private final String outputRoot;
+
+        /**
+         * 生成結果に影響するオプションの指紋
+         */
+        private final String fingerprint;
+
+        /**
+         * 出力ファイルのパス
+         */
+        private final List<Path> outputFiles;
+
+        /**
+         * コンストラクタ
+         *
+         * @param hash        定義書のハッシュ値
+         * @param outputRoot  出力先の絶対パス
+         * @param fingerprint 生成結果に影響するオプションの指紋
+         * @param outputFiles 出力ファイルのパス
+         */
+        private Checkpoint(String hash, String outputRoot, String fingerprint, List<Path> outputFiles) {
+            this.hash = hash;
+            this.outputRoot = outputRoot;
+            this.fingerprint = fingerprint;
+            this.outputFiles = outputFiles;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.flogger.FluentLogger;
+
+/**
+ * 実行環境のJDKに応じた {@link ExecutorService} を生成する処理を定義したクラスです。
+ * <p>
+ * 仮想スレッドはJDK 21以降で利用可能な機能のため、このプロジェクトの対象バージョンでは直接参照できません。<br>
+ * そのため、{@link Executors} の仮想スレッド用のファクトリメソッドをリフレクションで呼び出し、
+ * 利用できない実行環境では {@code null} を返却します。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoExecutors {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * タスクごとに仮想スレッドを生成する {@link ExecutorService} のファクトリメソッド名
+     */
+    private static final String NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = "newVirtualThreadPerTaskExecutor";
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoExecutors() {
+    }
+
+    /**
+     * タスクごとに仮想スレッドを生成する {@link ExecutorService} を生成し返却します。
+     * <p>
+     * 実行環境のJDKが仮想スレッドに対応していない場合、または、プレビュー機能が有効化されていない場合は {@code null}
+     * を返却します。
+     *
+     * @return タスクごとに仮想スレッドを生成する {@link ExecutorService} 、または、仮想スレッドが利用できない場合は
+     *         {@code null}
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+
+        try {
+            final Method factoryMethod = Executors.class.getMethod(NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR);
+            return (ExecutorService) factoryMethod.invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            logger.atFine().log("実行環境のJDKは仮想スレッドに対応していません。(%s)", Runtime.version());
+        } catch (InvocationTargetException e) {
+            logger.atFine().withCause(e.getCause()).log("仮想スレッドを使用できません。(%s)", Runtime.version());
+        }
+
+        return null;
+    }
+}
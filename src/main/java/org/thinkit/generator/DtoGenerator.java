@@ -14,10 +14,25 @@
 
 package org.thinkit.generator;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
 import org.thinkit.common.catalog.Extension;
-import org.thinkit.common.util.file.FluentFile;
 import org.thinkit.generator.common.Generator;
+import org.thinkit.generator.common.vo.dto.DtoMatrix;
+import org.thinkit.generator.common.vo.dto.DtoResource;
+import org.thinkit.generator.common.vo.dto.DtoResourceGroup;
+import org.thinkit.generator.content.dto.rule.DtoRebuildPlan;
 import org.thinkit.generator.content.dto.rule.DtoResourceFacade;
+import org.thinkit.generator.content.dto.rule.DtoResourceOption;
+import org.thinkit.generator.content.dto.rule.DtoResourceWriter;
+import org.thinkit.generator.content.dto.rule.DtoRunMetrics;
 import org.thinkit.generator.workbook.common.AbstractGenerator;
 import org.thinkit.generator.workbook.common.DefinitionPath;
 
@@ -32,15 +47,48 @@ import lombok.NonNull;
  */
 final class DtoGenerator extends AbstractGenerator {
 
+    /**
+     * 増分生成のマニフェストファイルを格納するディレクトリの名前
+     */
+    private static final String MANIFEST_DIRECTORY = ".dto-generator";
+
+    /**
+     * DTOリソースオプション
+     */
+    private final DtoResourceOption dtoResourceOption;
+
+    /**
+     * 出力ファイルのレジストリ
+     */
+    private final DtoOutputRegistry dtoOutputRegistry;
+
+    /**
+     * 書き込みが完了した出力ファイルのパス
+     */
+    private final List<Path> outputFiles;
+
+    /**
+     * 増分生成計画
+     * <p>
+     * 増分生成を行わない場合、または、定義書の解析前は {@code null} です。
+     */
+    private DtoRebuildPlan dtoRebuildPlan;
+
     /**
      * コンストラクタ
      *
-     * @param definitionPath 定義書のパス
+     * @param definitionPath    定義書のパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @param dtoOutputRegistry 出力ファイルのレジストリ
      *
      * @exception NullPointerException 引数として {@code null} が渡された場合
      */
-    private DtoGenerator(@NonNull DefinitionPath definitionPath) {
+    private DtoGenerator(@NonNull DefinitionPath definitionPath, @NonNull DtoResourceOption dtoResourceOption,
+            @NonNull DtoOutputRegistry dtoOutputRegistry) {
         super(definitionPath);
+        this.dtoResourceOption = dtoResourceOption;
+        this.dtoOutputRegistry = dtoOutputRegistry;
+        this.outputFiles = Collections.synchronizedList(new ArrayList<>());
     }
 
     /**
@@ -53,17 +101,205 @@ final class DtoGenerator extends AbstractGenerator {
      * @exception NullPointerException 引数として {@code null} が渡された場合
      */
     public static Generator of(@NonNull DefinitionPath definitionPath) {
-        return new DtoGenerator(definitionPath);
+        return new DtoGenerator(definitionPath, DtoResourceOption.of(), DtoOutputRegistry.of());
+    }
+
+    /**
+     * 引数として渡された情報を基に {@link DtoGenerator} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param definitionPath    定義書のパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @return {@link DtoGenerator} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static Generator of(@NonNull DefinitionPath definitionPath, @NonNull DtoResourceOption dtoResourceOption) {
+        return new DtoGenerator(definitionPath, dtoResourceOption, DtoOutputRegistry.of());
+    }
+
+    /**
+     * 引数として渡された情報を基に {@link DtoGenerator} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * このメソッドはバッチ処理のように生成処理の各段階を個別に実行する場合に使用します。
+     *
+     * @param definitionPath    定義書のパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @return {@link DtoGenerator} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static DtoGenerator from(@NonNull DefinitionPath definitionPath, @NonNull DtoResourceOption dtoResourceOption) {
+        return new DtoGenerator(definitionPath, dtoResourceOption, DtoOutputRegistry.of());
+    }
+
+    /**
+     * 引数として渡された情報を基に {@link DtoGenerator} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * 同じレジストリを渡した生成器の間では、異なる定義書から同じ出力ファイルが生成された場合に衝突として検出します。
+     *
+     * @param definitionPath    定義書のパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @param dtoOutputRegistry 出力ファイルのレジストリ
+     * @return {@link DtoGenerator} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static DtoGenerator from(@NonNull DefinitionPath definitionPath, @NonNull DtoResourceOption dtoResourceOption,
+            @NonNull DtoOutputRegistry dtoOutputRegistry) {
+        return new DtoGenerator(definitionPath, dtoResourceOption, dtoOutputRegistry);
     }
 
     @Override
     protected boolean run() {
 
-        DtoResourceFacade.createResource(super.getFilePath()).forEach(dtoResource -> {
-            FluentFile.writerOf(super.getOutputPath(dtoResource.getPackageName())).write(dtoResource.getResourceName(),
-                    Extension.java(), dtoResource.getResource());
-        });
+        if (this.dtoResourceOption.isStreaming()) {
+            DtoResourceFacade.createResource(super.getFilePath(), this.dtoResourceOption, this::writeResource);
+            this.complete();
+            return true;
+        }
+
+        this.writeResource(this.formatResource(this.collectMatrix()));
+        this.complete();
 
         return true;
     }
-}
+
+    /**
+     * 定義書を解析しDTOマトリクスを取得します。
+     * <p>
+     * 増分生成モードでは前回の生成から変更された最上位層のクラス定義のみを含むDTOマトリクスを返却し、
+     * 変更されていないクラス定義の前回の出力ファイルをレジストリへ登録し、書き込み済みの出力ファイルとして扱います。
+     *
+     * @return 定義書から取得したDTOマトリクス
+     *
+     * @throws UncheckedIOException 再利用する出力ファイルの読み込みに失敗した場合
+     * @throws IllegalStateException 別の定義書が再利用する出力ファイルと異なる内容で同じ出力ファイルを登録済みの場合
+     */
+    DtoMatrix collectMatrix() {
+
+        if (!this.dtoResourceOption.isIncremental() || this.dtoResourceOption.isStreaming()) {
+            return DtoResourceFacade.collectMatrix(super.getFilePath(), this.dtoResourceOption);
+        }
+
+        this.dtoRebuildPlan = DtoRebuildPlan.load(DtoRebuildPlan.resolveManifestFile(
+                Paths.get(super.getOutputPath(StringUtils.EMPTY)), MANIFEST_DIRECTORY, Paths.get(super.getFilePath())));
+
+        final DtoMatrix dtoMatrix = DtoResourceFacade.collectMatrix(super.getFilePath(), this.dtoResourceOption,
+                this.dtoRebuildPlan);
+
+        for (Path reusedFile : this.dtoRebuildPlan.getReusedFiles()) {
+            this.dtoOutputRegistry.claimExisting(reusedFile, super.getFilePath());
+            this.outputFiles.add(reusedFile);
+        }
+
+        return dtoMatrix;
+    }
+
+    /**
+     * 引数として渡されたDTOマトリクスを基にDTOリソースグループを生成します。
+     *
+     * @param dtoMatrix DTOマトリクス
+     * @return DTOリソースグループ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    DtoResourceGroup formatResource(@NonNull DtoMatrix dtoMatrix) {
+        return DtoResourceFacade.formatResource(dtoMatrix, this.dtoResourceOption);
+    }
+
+    /**
+     * 引数として渡されたDTOリソースグループを出力先へ書き込みます。
+     *
+     * @param dtoResourceGroup DTOリソースグループ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    void writeResource(@NonNull DtoResourceGroup dtoResourceGroup) {
+        dtoResourceGroup.forEach(this::writeResource);
+    }
+
+    /**
+     * 引数として渡されたDTOリソースを出力先へ書き込みます。
+     * <p>
+     * DTOリソースはUTF-8へ符号化しながら直接ファイルへ書き込まれるため、リソース全体のバイト配列は生成されません。<br>
+     * 書き込む前に出力ファイルをレジストリへ登録し、別の定義書が同じ内容で登録済みの場合は書き込みを省略します。<br>
+     * 生成したクラスの数と書き込んだバイト数は {@link DtoRunMetrics} へ集計します。
+     *
+     * @param dtoResource DTOリソース
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws UncheckedIOException 書き込みに失敗した場合
+     * @throws IllegalStateException 別の定義書が異なる内容で同じ出力ファイルを登録済みの場合
+     */
+    void writeResource(@NonNull DtoResource dtoResource) {
+
+        final Path filePath = this.resolveOutputFile(dtoResource.getPackageName(), dtoResource.getResourceName());
+
+        if (!this.dtoOutputRegistry.claim(filePath, super.getFilePath(), dtoResource)) {
+            this.outputFiles.add(filePath);
+            DtoRunMetrics.addGeneratedClass(0L);
+            return;
+        }
+
+        try {
+            DtoRunMetrics.addGeneratedClass(DtoResourceWriter.write(dtoResource, filePath));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        this.outputFiles.add(filePath);
+    }
+
+    /**
+     * 定義書の全ての出力ファイルの書き込みが完了した後に呼び出し、増分生成の記録を保存します。
+     * <p>
+     * 処理が完了した定義書の数を {@link DtoRunMetrics} へ集計し、増分生成を行わない場合はそれ以外に何もしません。<br>
+     * 書き込みに失敗した場合はこのメソッドを呼び出さないでください。前回の記録が維持され、次回の生成時に改めて再生成されます。
+     *
+     * @throws UncheckedIOException 記録の保存に失敗した場合
+     */
+    void complete() {
+
+        DtoRunMetrics.addCompletedWorkbook();
+
+        if (this.dtoRebuildPlan == null) {
+            return;
+        }
+
+        final String packageName = this.dtoRebuildPlan.getPackageName();
+        this.dtoRebuildPlan.save(className -> this.resolveOutputFile(packageName, className));
+    }
+
+    /**
+     * 引数として渡されたパッケージ名とクラス名に対応する出力ファイルのパスを返却します。
+     *
+     * @param packageName パッケージ名
+     * @param className   クラス名
+     * @return 出力ファイルのパス
+     */
+    private Path resolveOutputFile(String packageName, String className) {
+        return Paths.get(super.getOutputPath(packageName), className + Extension.java());
+    }
+
+    /**
+     * 書き込みが完了した出力ファイルのパスを書き込んだ順に返却します。
+     * <p>
+     * 出力ファイルを並行して書き込んだ場合、返却されるリストの順序は書き込みが完了した順序です。
+     *
+     * @return 書き込みが完了した出力ファイルのパスのリスト
+     */
+    List<Path> getOutputFiles() {
+        synchronized (this.outputFiles) {
+            return List.copyOf(this.outputFiles);
+        }
+    }
+
+    /**
+     * 解析対象の定義書へのファイルパスを返却します。
+     *
+     * @return 定義書へのファイルパス
+     */
+    String getDefinitionFilePath() {
+        return super.getFilePath();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.thinkit.generator.content.dto.rule.DtoContentCache;
+import org.thinkit.generator.content.dto.rule.DtoResourceFacade;
+import org.thinkit.generator.content.dto.rule.DtoResourceOption;
+import org.thinkit.generator.workbook.common.DefinitionPath;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 複数の定義書を同じ設定で繰り返し処理するための生成セッションを定義したクラスです。
+ * <p>
+ * セッションは定義書の解析で使用するコンテンツのキャッシュと、複数の定義書を並行処理するためのスレッドを保持します。<br>
+ * コンテンツはセッションの生成時に1度だけロードされるため、IDEのプラグインやビルドデーモンのように
+ * 長時間稼働するプロセスから定義書を繰り返し処理する場合でも初期化の処理は1度だけ実行されます。
+ * <p>
+ * このクラスのメソッドは複数のスレッドから同時に呼び出すことができます。<br>
+ * セッションが不要になった場合は {@link #close()} を呼び出し、保持している資源を解放してください。
+ *
+ * <pre>
+ * <code>
+ * try (DtoGeneratorSession session = DtoGeneratorSession.of()) {
+ *     session.execute(definitionPath1);
+ *     session.execute(definitionPath2);
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class DtoGeneratorSession implements AutoCloseable {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * セッションが保持するスレッドの名前の接頭辞
+     */
+    private static final String THREAD_NAME_PREFIX = "dto-generator-session-";
+
+    /**
+     * DTOリソースオプション
+     */
+    @ToString.Include
+    private final DtoResourceOption dtoResourceOption;
+
+    /**
+     * コンテンツのキャッシュ
+     */
+    @ToString.Include
+    private final DtoContentCache dtoContentCache;
+
+    /**
+     * 複数の定義書を並行処理する際の並列数
+     */
+    @ToString.Include
+    private final int parallelism;
+
+    /**
+     * セッションが終了しているか否か
+     */
+    @ToString.Include
+    private final AtomicBoolean closed;
+
+    /**
+     * 複数の定義書を並行処理する際に使用する実行者
+     * <p>
+     * 複数の定義書を並行処理するまでは {@code null} です。
+     */
+    private ExecutorService executor;
+
+    /**
+     * コンストラクタ
+     *
+     * @param dtoResourceOption DTOリソースオプション
+     * @param parallelism       複数の定義書を並行処理する際の並列数
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException 並列数が1未満の場合
+     */
+    private DtoGeneratorSession(@NonNull DtoResourceOption dtoResourceOption, int parallelism) {
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    String.format("wrong parameter was given. Positive number was expected but %s was given.",
+                            parallelism));
+        }
+
+        this.dtoContentCache = DtoContentCache.from(dtoResourceOption).warmUp();
+        this.dtoResourceOption = DtoResourceOption.copyOf(dtoResourceOption).contentCache(this.dtoContentCache);
+        this.parallelism = parallelism;
+        this.closed = new AtomicBoolean(false);
+    }
+
+    /**
+     * 既定のオプションで動作する {@link DtoGeneratorSession} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * 複数の定義書を並行処理する際の並列数は実行環境のプロセッサ数です。
+     *
+     * @return {@link DtoGeneratorSession} クラスの新しいインスタンス
+     */
+    public static DtoGeneratorSession of() {
+        return of(DtoResourceOption.of());
+    }
+
+    /**
+     * 引数として渡されたオプションで動作する {@link DtoGeneratorSession} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * セッションは引数として渡されたオプションの複製にコンテンツのキャッシュを設定して使用するため、引数として渡されたオプションは変更されません。<br>
+     * 複数の定義書を並行処理する際の並列数は実行環境のプロセッサ数です。
+     *
+     * @param dtoResourceOption DTOリソースオプション
+     * @return {@link DtoGeneratorSession} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static DtoGeneratorSession of(@NonNull DtoResourceOption dtoResourceOption) {
+        return of(dtoResourceOption, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 引数として渡された情報を基に {@link DtoGeneratorSession} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * セッションは引数として渡されたオプションの複製にコンテンツのキャッシュを設定して使用するため、引数として渡されたオプションは変更されません。
+     *
+     * @param dtoResourceOption DTOリソースオプション
+     * @param parallelism       複数の定義書を並行処理する際の並列数
+     * @return {@link DtoGeneratorSession} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException 並列数が1未満の場合
+     */
+    public static DtoGeneratorSession of(@NonNull DtoResourceOption dtoResourceOption, int parallelism) {
+        return new DtoGeneratorSession(dtoResourceOption, parallelism);
+    }
+
+    /**
+     * 引数として渡された定義書を解析し、DTOクラスを出力します。
+     * <p>
+     * このメソッドは呼び出し元のスレッドで処理を実行します。<br>
+     * 出力ファイルの衝突は検出しないため、以前の呼び出しで出力したファイルは上書きされます。
+     *
+     * @param definitionPath 定義書のパス
+     * @return 処理に成功した場合は {@code true} 、それ以外は {@code false}
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalStateException セッションが終了している場合
+     */
+    public boolean execute(@NonNull DefinitionPath definitionPath) {
+        this.ensureOpen();
+        return DtoGenerator.of(definitionPath, this.dtoResourceOption).execute();
+    }
+
+    /**
+     * 引数として渡された全ての定義書をセッションが保持するスレッドで並行に処理し、全ての処理が完了するまで待機します。
+     * <p>
+     * 一部の定義書の処理に失敗した場合でも残りの定義書の処理は継続します。<br>
+     * 同じ呼び出しの中で異なる定義書から同じ出力ファイルが生成された場合は、後から生成した定義書の処理を失敗とします。<br>
+     * 出力ファイルの衝突は呼び出しごとに判定するため、以前の呼び出しで出力した定義書を再び処理する場合は衝突とみなしません。
+     *
+     * @param definitionPaths 定義書のパスのコレクション
+     * @return 全ての定義書の処理に成功した場合は {@code true} 、それ以外は {@code false}
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalStateException セッションが終了している場合
+     */
+    public boolean execute(@NonNull Collection<DefinitionPath> definitionPaths) {
+
+        final ExecutorService executorService = this.getExecutor();
+        final DtoOutputRegistry dtoOutputRegistry = DtoOutputRegistry.of();
+        final List<Future<Boolean>> futures = new ArrayList<>(definitionPaths.size());
+
+        for (DefinitionPath definitionPath : definitionPaths) {
+            futures.add(executorService.submit(() -> {
+                this.ensureOpen();
+                return DtoGenerator.from(definitionPath, this.dtoResourceOption, dtoOutputRegistry).execute();
+            }));
+        }
+
+        boolean succeeded = true;
+
+        for (Future<Boolean> future : futures) {
+            try {
+                succeeded &= future.get();
+            } catch (ExecutionException e) {
+                logger.atSevere().withCause(e.getCause()).log("定義書の処理に失敗しました。");
+                succeeded = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(remaining -> remaining.cancel(true));
+                return false;
+            }
+        }
+
+        dtoOutputRegistry.getConflicts()
+                .forEach(conflict -> logger.atSevere().log("出力ファイル = (%s)、定義書 = (%s, %s)",
+                        conflict.getOutputFile(), conflict.getRegisteredWorkbook(),
+                        conflict.getConflictingWorkbook()));
+
+        return succeeded;
+    }
+
+    /**
+     * 引数として渡された入力ストリームから定義書を読み込み、完全修飾クラス名とソースコードの対応を返却します。
+     * <p>
+     * このメソッドはファイルシステムへの書き込みを行いません。
+     *
+     * @param inputStream DTO定義書の入力ストリーム
+     * @return 完全修飾クラス名とソースコードの対応
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalStateException セッションが終了している場合
+     *
+     * @see DtoResourceFacade#createResource(InputStream, DtoResourceOption)
+     */
+    public Map<String, String> createResource(@NonNull InputStream inputStream) {
+        this.ensureOpen();
+        return DtoResourceFacade.createResource(inputStream, this.dtoResourceOption);
+    }
+
+    /**
+     * セッションが終了しているか判定します。
+     *
+     * @return セッションが終了している場合は {@code true} 、それ以外は {@code false}
+     */
+    public boolean isClosed() {
+        return this.closed.get();
+    }
+
+    /**
+     * セッションを終了し、保持しているスレッドとコンテンツのキャッシュを解放します。
+     * <p>
+     * 処理中の定義書の処理が完了するまで待機してから、コンテンツのキャッシュを破棄します。<br>
+     * 待機中に割り込みを受けた場合は処理中の定義書に割り込みを行い、キャッシュを破棄せずに終了します。<br>
+     * 既に終了しているセッションに対して呼び出した場合は何もしません。
+     */
+    @Override
+    public void close() {
+
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        final ExecutorService executorService;
+
+        synchronized (this) {
+            executorService = this.executor;
+        }
+
+        if (executorService != null) {
+            executorService.shutdown();
+
+            try {
+                executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                executorService.shutdownNow();
+                Thread.currentThread().interrupt();
+                logger.atWarning().log("処理中の定義書の完了を待機中に割り込みを受けたため、生成セッションを終了します。");
+                return;
+            }
+        }
+
+        this.dtoContentCache.clear();
+        logger.atFine().log("生成セッションを終了しました。");
+    }
+
+    /**
+     * セッションが終了していないことを検証します。
+     *
+     * @throws IllegalStateException セッションが終了している場合
+     */
+    private void ensureOpen() {
+        if (this.closed.get()) {
+            throw new IllegalStateException("generator session has already been closed.");
+        }
+    }
+
+    /**
+     * 複数の定義書を並行処理する際に使用する実行者を返却します。
+     * <p>
+     * 実行者は初めて呼び出された時点で生成されます。
+     *
+     * @return 複数の定義書を並行処理する際に使用する実行者
+     *
+     * @throws IllegalStateException セッションが終了している場合
+     */
+    private synchronized ExecutorService getExecutor() {
+
+        this.ensureOpen();
+
+        if (this.executor == null) {
+            this.executor = Executors.newFixedThreadPool(this.parallelism, this.createThreadFactory());
+        }
+
+        return this.executor;
+    }
+
+    /**
+     * セッションが保持するスレッドを生成するファクトリを返却します。
+     * <p>
+     * 生成されるスレッドはデーモンスレッドのため、セッションの終了漏れによってプロセスの終了が妨げられることはありません。
+     *
+     * @return スレッドを生成するファクトリ
+     */
+    private ThreadFactory createThreadFactory() {
+
+        final AtomicInteger threadNumber = new AtomicInteger();
+
+        return runnable -> {
+            final Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
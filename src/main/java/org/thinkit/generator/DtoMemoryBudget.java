@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import java.nio.file.Path;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.flogger.FluentLogger;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 一括処理で同時に解析する定義書をヒープの予算に基づいて受け入れる処理を定義したクラスです。
+ * <p>
+ * 定義書ごとに {@link DtoWorkbookCostEstimator} で必要なヒープの大きさを推定し、推定値の合計が予算を超えない範囲で処理を開始します。<br>
+ * そのため、小さな定義書は多数を同時に処理し、大きな定義書は他の定義書の処理の完了を待ってから処理します。<br>
+ * 推定値が予算を超える定義書は予算の全てを確保して単独で処理します。
+ * <p>
+ * 予算の確保は要求順に行われるため、大きな定義書が後続の小さな定義書によって処理を待たされ続けることはありません。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DtoWorkbookCostEstimator
+ */
+@ToString(onlyExplicitlyIncluded = true)
+final class DtoMemoryBudget {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 予算を管理する単位のバイト数
+     */
+    private static final long UNIT_BYTES = 1024L;
+
+    /**
+     * 予算を制限しないインスタンス
+     */
+    private static final DtoMemoryBudget UNLIMITED = new DtoMemoryBudget(0);
+
+    /**
+     * 予算の単位数、予算を制限しない場合は {@code 0}
+     */
+    @ToString.Include
+    private final int budgetUnits;
+
+    /**
+     * 確保されていない予算を管理するセマフォ
+     */
+    private final Semaphore permits;
+
+    /**
+     * 確保されている予算の最大値
+     */
+    @ToString.Include
+    private final AtomicInteger peakUnits;
+
+    /**
+     * コンストラクタ
+     *
+     * @param budgetUnits 予算の単位数、予算を制限しない場合は {@code 0}
+     */
+    private DtoMemoryBudget(int budgetUnits) {
+        this.budgetUnits = budgetUnits;
+        this.permits = new Semaphore(budgetUnits, true);
+        this.peakUnits = new AtomicInteger();
+    }
+
+    /**
+     * 引数として渡されたバイト数を予算とする {@link DtoMemoryBudget} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * {@code 0} が渡された場合は予算を制限しないインスタンスを返却します。
+     *
+     * @param budgetBytes ヒープの予算のバイト数
+     * @return {@link DtoMemoryBudget} クラスのインスタンス
+     *
+     * @throws IllegalArgumentException 負数が渡された場合
+     */
+    static DtoMemoryBudget of(long budgetBytes) {
+
+        if (budgetBytes < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "wrong parameter was given. Zero or positive number was expected but %s was given.", budgetBytes));
+        }
+
+        if (budgetBytes == 0) {
+            return UNLIMITED;
+        }
+
+        return new DtoMemoryBudget((int) Math.min(Math.max(budgetBytes / UNIT_BYTES, 1L), Integer.MAX_VALUE));
+    }
+
+    /**
+     * 引数として渡された定義書の処理に必要な予算を確保できるまで待機し、確保した予算を返却します。
+     * <p>
+     * 予算を制限しない場合は推定を行わずに {@code 0} を返却します。<br>
+     * 確保した予算は定義書の処理の完了後に {@link #release(int)} で返却してください。
+     *
+     * @param workbook 定義書のパス
+     * @return 確保した予算の単位数
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws InterruptedException 待機中に割り込みが発生した場合
+     */
+    int admit(@NonNull Path workbook) throws InterruptedException {
+
+        if (this.budgetUnits == 0) {
+            return 0;
+        }
+
+        final long estimateUnits = DtoWorkbookCostEstimator.estimate(workbook) / UNIT_BYTES;
+        final int units = (int) Math.min(Math.max(estimateUnits, 1L), this.budgetUnits);
+
+        this.permits.acquire(units);
+
+        final int admittedUnits = this.budgetUnits - this.permits.availablePermits();
+        this.peakUnits.accumulateAndGet(admittedUnits, Math::max);
+
+        logger.atFine().log("定義書 = (%s)、確保した予算 = (%sKB)、確保済みの予算 = (%sKB / %sKB)", workbook, units,
+                admittedUnits, this.budgetUnits);
+
+        return units;
+    }
+
+    /**
+     * 確保した予算を返却します。
+     *
+     * @param units {@link #admit(Path)} で確保した予算の単位数
+     */
+    void release(int units) {
+        if (units > 0) {
+            this.permits.release(units);
+        }
+    }
+
+    /**
+     * 予算を制限しているか判定します。
+     *
+     * @return 予算を制限している場合は {@code true} 、それ以外は {@code false}
+     */
+    boolean isLimited() {
+        return this.budgetUnits > 0;
+    }
+
+    /**
+     * 確保されていた予算の最大値をバイト数で返却します。
+     *
+     * @return 確保されていた予算の最大値のバイト数
+     */
+    long getPeakBytes() {
+        return this.peakUnits.get() * UNIT_BYTES;
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.thinkit.generator.common.vo.dto.DtoResource;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 出力ファイルのパスとそのファイルを生成した定義書の対応を管理するレジストリです。
+ * <p>
+ * 生成器は出力ファイルを書き込む前にレジストリへパスを登録し、既に別の定義書が同じパスを登録していないかを確認します。<br>
+ * 登録は {@link ConcurrentMap#putIfAbsent(Object, Object)} で行われるため、複数のスレッドで並行して生成する場合でも全体のロックを必要としません。
+ * <p>
+ * 同じパスが登録された場合の扱いは以下の通りです。
+ *
+ * <pre>
+ * 同じ定義書による登録 → 従来通り書き込みます。
+ * 別の定義書による同じ内容の登録 → 先に登録した定義書の書き込み結果を共有し、書き込みを省略します。
+ * 別の定義書による異なる内容の登録 → 衝突として記録し、後から登録した定義書の処理を失敗させます。
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString(onlyExplicitlyIncluded = true)
+final class DtoOutputRegistry {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 出力ファイルの内容のハッシュ値を算出するアルゴリズム
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * 出力ファイルのパスと登録情報の対応
+     */
+    private final ConcurrentMap<Path, Registration> registrations;
+
+    /**
+     * 検出した衝突
+     */
+    @ToString.Include
+    private final List<OutputConflict> conflicts;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoOutputRegistry() {
+        this.registrations = new ConcurrentHashMap<>();
+        this.conflicts = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * {@link DtoOutputRegistry} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @return {@link DtoOutputRegistry} クラスの新しいインスタンス
+     */
+    static DtoOutputRegistry of() {
+        return new DtoOutputRegistry();
+    }
+
+    /**
+     * 引数として渡された出力ファイルのパスを登録し、書き込みが必要か判定します。
+     *
+     * @param outputFile  出力ファイルのパス
+     * @param workbook    出力ファイルを生成した定義書のパス
+     * @param dtoResource 書き込むDTOリソース
+     * @return 書き込みが必要な場合は {@code true} 、別の定義書が同じ内容を登録済みのため書き込みが不要な場合は {@code false}
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalStateException 別の定義書が異なる内容で同じパスを登録済みの場合
+     */
+    boolean claim(@NonNull Path outputFile, @NonNull String workbook, @NonNull DtoResource dtoResource) {
+        return this.claim(outputFile.toAbsolutePath().normalize(),
+                new Registration(workbook, dtoResource.getResource().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 前回の生成処理で書き込み済みの出力ファイルを再利用する場合に、出力ファイルのパスを書き込み済みの内容で登録します。
+     * <p>
+     * 再利用した出力ファイルも他の定義書が書き込む出力ファイルと同様に登録することで、
+     * 別の定義書が異なる内容で同じ出力ファイルを上書きすることを防ぎます。
+     *
+     * @param outputFile 再利用する出力ファイルのパス
+     * @param workbook   出力ファイルを生成した定義書のパス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws UncheckedIOException 出力ファイルの読み込みに失敗した場合
+     * @throws IllegalStateException 別の定義書が異なる内容で同じパスを登録済みの場合
+     */
+    void claimExisting(@NonNull Path outputFile, @NonNull String workbook) {
+
+        final Path key = outputFile.toAbsolutePath().normalize();
+
+        try {
+            this.claim(key, new Registration(workbook, Files.readAllBytes(key)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 引数として渡された登録情報で出力ファイルのパスを登録し、書き込みが必要か判定します。
+     *
+     * @param key          正規化された出力ファイルのパス
+     * @param registration 登録情報
+     * @return 書き込みが必要な場合は {@code true} 、別の定義書が同じ内容を登録済みのため書き込みが不要な場合は {@code false}
+     *
+     * @throws IllegalStateException 別の定義書が異なる内容で同じパスを登録済みの場合
+     */
+    private boolean claim(Path key, Registration registration) {
+
+        final String workbook = registration.workbook;
+        final Registration registered = this.registrations.putIfAbsent(key, registration);
+
+        if (registered == null || registered.workbook.equals(workbook)) {
+            return true;
+        }
+
+        if (registered.isSameContent(registration)) {
+            logger.atFine().log("同じ内容の出力ファイルが登録済みのため書き込みを省略します。出力ファイル = (%s)、登録済みの定義書 = (%s)、定義書 = (%s)",
+                    key, registered.workbook, workbook);
+            return false;
+        }
+
+        final OutputConflict conflict = new OutputConflict(key, registered.workbook, workbook);
+        this.conflicts.add(conflict);
+
+        logger.atSevere().log("出力ファイルが衝突しました。出力ファイル = (%s)、登録済みの定義書 = (%s)、定義書 = (%s)", key,
+                registered.workbook, workbook);
+
+        throw new IllegalStateException(
+                String.format("output file %s is generated by both %s and %s.", key, registered.workbook, workbook));
+    }
+
+    /**
+     * 検出した衝突を検出した順に返却します。
+     *
+     * @return 検出した衝突のリスト
+     */
+    List<OutputConflict> getConflicts() {
+        return List.copyOf(this.conflicts);
+    }
+
+    /**
+     * 出力ファイルの登録情報を管理するデータクラスです。
+     * <p>
+     * 登録情報は出力ファイルの数だけ保持されるため、内容そのものではなく内容の SHA-256 ハッシュ値を保持します。
+     */
+    private static final class Registration {
+
+        /**
+         * 出力ファイルを生成した定義書のパス
+         */
+        private final String workbook;
+
+        /**
+         * 出力ファイルの内容のハッシュ値
+         */
+        private final byte[] contentDigest;
+
+        /**
+         * コンストラクタ
+         *
+         * @param workbook 出力ファイルを生成した定義書のパス
+         * @param content  UTF-8で符号化した出力ファイルの内容
+         *
+         * @throws IllegalStateException ハッシュ値を算出するアルゴリズムが利用できない場合
+         */
+        private Registration(String workbook, byte[] content) {
+            this.workbook = workbook;
+
+            try {
+                this.contentDigest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(content);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * 引数として渡された登録情報と内容が同じか判定します。
+         *
+         * @param other 比較する登録情報
+         * @return 内容が同じ場合は {@code true} 、それ以外は {@code false}
+         */
+        private boolean isSameContent(Registration other) {
+            return MessageDigest.isEqual(this.contentDigest, other.contentDigest);
+        }
+    }
+
+    /**
+     * 出力ファイルの衝突を管理するデータクラスです。
+     */
+    @Getter
+    @ToString
+    static final class OutputConflict {
+
+        /**
+         * 衝突した出力ファイルのパス
+         */
+        private final Path outputFile;
+
+        /**
+         * 先に出力ファイルを登録した定義書のパス
+         */
+        private final String registeredWorkbook;
+
+        /**
+         * 後から出力ファイルを登録した定義書のパス
+         */
+        private final String conflictingWorkbook;
+
+        /**
+         * コンストラクタ
+         *
+         * @param outputFile          衝突した出力ファイルのパス
+         * @param registeredWorkbook  先に出力ファイルを登録した定義書のパス
+         * @param conflictingWorkbook 後から出力ファイルを登録した定義書のパス
+         */
+        private OutputConflict(Path outputFile, String registeredWorkbook, String conflictingWorkbook) {
+            this.outputFile = outputFile;
+            this.registeredWorkbook = registeredWorkbook;
+            this.conflictingWorkbook = conflictingWorkbook;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 一括処理のパイプラインにおける各段階の処理状況を集計するクラスです。
+ * <p>
+ * 各段階の入力キューの深さを定期的に標本化し、平均値と最大値を保持します。<br>
+ * 入力キューが満杯に近い段階、または、前段が書き込み待ちで停止している段階がパイプラインの律速段階です。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+final class DtoPipelineMetrics {
+
+    /**
+     * パイプラインの段階定数
+     */
+    enum Stage {
+
+        /**
+         * 定義書を解析しDTOマトリクスを取得する段階
+         */
+        PARSE,
+
+        /**
+         * DTOマトリクスからDTOリソースを生成する段階
+         */
+        FORMAT,
+
+        /**
+         * DTOリソースを出力先へ書き込む段階
+         */
+        WRITE;
+    }
+
+    /**
+     * 段階ごとの集計値
+     */
+    private final Map<Stage, StageMetrics> stageMetrics;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoPipelineMetrics() {
+        this.stageMetrics = new EnumMap<>(Stage.class);
+
+        for (Stage stage : Stage.values()) {
+            this.stageMetrics.put(stage, new StageMetrics());
+        }
+    }
+
+    /**
+     * {@link DtoPipelineMetrics} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @return {@link DtoPipelineMetrics} クラスの新しいインスタンス
+     */
+    static DtoPipelineMetrics of() {
+        return new DtoPipelineMetrics();
+    }
+
+    /**
+     * 指定された段階の集計値を返却します。
+     *
+     * @param stage パイプラインの段階
+     * @return 指定された段階の集計値
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    StageMetrics get(@NonNull Stage stage) {
+        return this.stageMetrics.get(stage);
+    }
+
+    /**
+     * 指定された段階の入力キューの深さを標本化します。
+     *
+     * @param stage パイプラインの段階
+     * @param queue 段階の入力キュー
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    void sample(@NonNull Stage stage, @NonNull BlockingQueue<?> queue) {
+        this.get(stage).sampleQueueDepth(queue.size());
+    }
+
+    /**
+     * 指定された段階の許可を待機している処理の数を入力キューの深さとして標本化します。
+     *
+     * @param stage   パイプラインの段階
+     * @param permits 段階の並列数を制限するセマフォ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    void sample(@NonNull Stage stage, @NonNull Semaphore permits) {
+        this.get(stage).sampleQueueDepth(permits.getQueueLength());
+    }
+
+    /**
+     * 集計値から推定した律速段階を返却します。
+     * <p>
+     * 前段が書き込み待ちで停止していた時間が最も長い段階を律速段階とします。<br>
+     * どの段階も書き込み待ちで停止していない場合は解析段階を律速段階とします。
+     *
+     * @return 律速段階
+     */
+    Stage getBottleneck() {
+
+        Stage bottleneck = Stage.PARSE;
+        long maxBlockedNanos = 0L;
+
+        for (Stage stage : Stage.values()) {
+            if (stage == Stage.PARSE) {
+                continue;
+            }
+
+            final long blockedNanos = this.get(Stage.values()[stage.ordinal() - 1]).getBlockedNanos();
+
+            if (blockedNanos > maxBlockedNanos) {
+                maxBlockedNanos = blockedNanos;
+                bottleneck = stage;
+            }
+        }
+
+        return bottleneck;
+    }
+
+    /**
+     * パイプラインの段階ごとの集計値を管理するクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @ToString
+    static final class StageMetrics {
+
+        /**
+         * 処理が完了した定義書の数
+         */
+        private final LongAdder processed = new LongAdder();
+
+        /**
+         * 処理中の時間の合計（ナノ秒）
+         */
+        private final LongAdder busyNanos = new LongAdder();
+
+        /**
+         * 後段のキューが満杯のため待機した時間の合計（ナノ秒）
+         */
+        private final LongAdder blockedNanos = new LongAdder();
+
+        /**
+         * 入力キューの深さの標本数
+         */
+        private final LongAdder sampleCount = new LongAdder();
+
+        /**
+         * 入力キューの深さの標本の合計
+         */
+        private final LongAdder queueDepthSum = new LongAdder();
+
+        /**
+         * 入力キューの深さの最大値
+         */
+        private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+        /**
+         * 処理の完了を記録します。
+         *
+         * @param elapsedNanos 処理に要した時間（ナノ秒）
+         */
+        void recordProcessed(long elapsedNanos) {
+            this.processed.increment();
+            this.busyNanos.add(elapsedNanos);
+        }
+
+        /**
+         * 後段のキューが満杯のため待機した時間を記録します。
+         *
+         * @param elapsedNanos 待機した時間（ナノ秒）
+         */
+        void recordBlocked(long elapsedNanos) {
+            this.blockedNanos.add(elapsedNanos);
+        }
+
+        /**
+         * 入力キューの深さの標本を記録します。
+         *
+         * @param queueDepth 入力キューの深さ
+         */
+        void sampleQueueDepth(int queueDepth) {
+            this.sampleCount.increment();
+            this.queueDepthSum.add(queueDepth);
+            this.maxQueueDepth.accumulateAndGet(queueDepth, Math::max);
+        }
+
+        /**
+         * 処理が完了した定義書の数を返却します。
+         *
+         * @return 処理が完了した定義書の数
+         */
+        long getProcessed() {
+            return this.processed.sum();
+        }
+
+        /**
+         * 処理中の時間の合計を返却します。
+         *
+         * @return 処理中の時間の合計（ナノ秒）
+         */
+        long getBusyNanos() {
+            return this.busyNanos.sum();
+        }
+
+        /**
+         * 後段のキューが満杯のため待機した時間の合計を返却します。
+         *
+         * @return 待機した時間の合計（ナノ秒）
+         */
+        long getBlockedNanos() {
+            return this.blockedNanos.sum();
+        }
+
+        /**
+         * 入力キューの深さの平均値を返却します。
+         *
+         * @return 入力キューの深さの平均値
+         */
+        double getAverageQueueDepth() {
+            final long count = this.sampleCount.sum();
+            return count == 0 ? 0.0 : (double) this.queueDepthSum.sum() / count;
+        }
+
+        /**
+         * 入力キューの深さの最大値を返却します。
+         *
+         * @return 入力キューの深さの最大値
+         */
+        int getMaxQueueDepth() {
+            return this.maxQueueDepth.get();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.thinkit.generator.content.dto.rule.DtoRunMetrics;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 一括処理の進捗と処理速度を一定の間隔で出力するクラスです。
+ * <p>
+ * 処理済み、失敗、残りの定義書の数、1秒あたりの行数とクラス数、書き込んだバイト数、残り時間の見込みを出力します。<br>
+ * 集計値は {@link DtoRunMetrics} の {@code LongAdder} から読み取るだけのため、生成処理を行うスレッドを待機させません。<br>
+ * 集計値はプロセス全体で共有されるため、進捗の出力を開始した時点の値を基準として差分を出力します。
+ * <p>
+ * 進捗の出力を終了する場合は {@link #close()} を呼び出してください。終了時に最終的な集計値を出力します。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+final class DtoProgressReporter implements AutoCloseable {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 進捗の出力を行うスレッドの名前
+     */
+    private static final String THREAD_NAME = "dto-generator-progress";
+
+    /**
+     * 1秒あたりのナノ秒
+     */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * 処理対象の定義書の数
+     */
+    private final long totalWorkbooks;
+
+    /**
+     * 進捗の出力を開始した時刻（ナノ秒）
+     */
+    private final long startNanos;
+
+    /**
+     * 進捗の出力を開始した時点で処理が完了していた定義書の数
+     */
+    private final long baseWorkbooks;
+
+    /**
+     * 進捗の出力を開始した時点で処理に失敗していた定義書の数
+     */
+    private final long baseFailedWorkbooks;
+
+    /**
+     * 進捗の出力を開始した時点で解析済みの行数
+     */
+    private final long baseRows;
+
+    /**
+     * 進捗の出力を開始した時点で生成済みのクラスの数
+     */
+    private final long baseClasses;
+
+    /**
+     * 進捗の出力を開始した時点で書き込み済みのバイト数
+     */
+    private final long baseBytes;
+
+    /**
+     * 進捗の出力を行うスケジューラ
+     */
+    @ToString.Exclude
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * コンストラクタ
+     *
+     * @param totalWorkbooks 処理対象の定義書の数
+     * @param interval       進捗を出力する間隔
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private DtoProgressReporter(long totalWorkbooks, @NonNull Duration interval) {
+        this.totalWorkbooks = totalWorkbooks;
+        this.startNanos = System.nanoTime();
+        this.baseWorkbooks = DtoRunMetrics.getCompletedWorkbooks();
+        this.baseFailedWorkbooks = DtoRunMetrics.getFailedWorkbooks();
+        this.baseRows = DtoRunMetrics.getCollectedRows();
+        this.baseClasses = DtoRunMetrics.getGeneratedClasses();
+        this.baseBytes = DtoRunMetrics.getWrittenBytes();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleAtFixedRate(this::report, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 引数として渡された情報を基に進捗の出力を開始し、{@link DtoProgressReporter} クラスの新しいインスタンスを返却します。
+     *
+     * @param totalWorkbooks 処理対象の定義書の数
+     * @param interval       進捗を出力する間隔
+     * @return {@link DtoProgressReporter} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException 出力する間隔が正の値ではない場合
+     */
+    static DtoProgressReporter start(long totalWorkbooks, @NonNull Duration interval) {
+
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException(String.format(
+                    "wrong parameter was given. Positive progress interval was expected but %s was given.", interval));
+        }
+
+        return new DtoProgressReporter(totalWorkbooks, interval);
+    }
+
+    /**
+     * 進捗の出力を終了し、最終的な集計値を出力します。
+     */
+    @Override
+    public void close() {
+        this.scheduler.shutdownNow();
+        this.report();
+    }
+
+    /**
+     * 進捗の出力を開始してからの集計値を出力します。
+     */
+    private void report() {
+
+        final double elapsedSeconds = Math.max(System.nanoTime() - this.startNanos, 1L) / NANOS_PER_SECOND;
+        final long workbooks = DtoRunMetrics.getCompletedWorkbooks() - this.baseWorkbooks;
+        final long failedWorkbooks = DtoRunMetrics.getFailedWorkbooks() - this.baseFailedWorkbooks;
+        final long rows = DtoRunMetrics.getCollectedRows() - this.baseRows;
+        final long classes = DtoRunMetrics.getGeneratedClasses() - this.baseClasses;
+        final long bytes = DtoRunMetrics.getWrittenBytes() - this.baseBytes;
+        final long remaining = Math.max(this.totalWorkbooks - workbooks - failedWorkbooks, 0L);
+
+        logger.atInfo().log(
+                "進捗 = (%s/%s)、失敗 = (%s)、残り = (%s)、行数/秒 = (%.1f)、クラス数/秒 = (%.1f)、書き込みバイト数 = (%s)、経過時間 = (%s)、残り時間の見込み = (%s)",
+                workbooks, this.totalWorkbooks, failedWorkbooks, remaining, rows / elapsedSeconds, classes / elapsedSeconds, bytes,
+                Duration.ofMillis((long) (elapsedSeconds * 1000)), this.estimate(elapsedSeconds, workbooks, remaining));
+    }
+
+    /**
+     * 処理が完了した定義書の平均処理時間から残り時間を見込みます。
+     *
+     * @param elapsedSeconds 経過時間（秒）
+     * @param workbooks      処理が完了した定義書の数
+     * @param remaining      残りの定義書の数
+     * @return 残り時間の見込み、または、処理が完了した定義書が存在しない場合は {@code "-"}
+     */
+    private String estimate(double elapsedSeconds, long workbooks, long remaining) {
+
+        if (workbooks == 0L) {
+            return "-";
+        }
+
+        return Duration.ofMillis((long) (elapsedSeconds * 1000 / workbooks * remaining)).toString();
+    }
+}
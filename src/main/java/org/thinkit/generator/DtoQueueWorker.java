@@ -0,0 +1,310 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.thinkit.generator.content.dto.rule.DtoResourceOption;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * ファイルベースの作業キューからタスクを取得し、定義書を処理するワーカーです。
+ * <p>
+ * ワーカーは未処理のタスクが無くなり、かつ、他のワーカーが処理中のタスクが全て完了するまでタスクの取得を繰り返します。<br>
+ * 処理中のタスクは貸出期間の3分の1の間隔で更新日時を更新し、更新が途絶えたタスクは他のワーカーによって未処理の状態へ戻されます。<br>
+ * そのため、異常終了したワーカーが処理していた定義書は残りのワーカーによって改めて処理されます。<br>
+ * 更新日時の更新に失敗し、処理中のタスクが未処理の状態へ戻されたことを検出した場合は、処理中のスレッドへ割り込みを行い処理を中止します。
+ * 出力ファイルは一時ファイルへ書き込んでから移動するため、書き込みの途中で割り込みを受けた場合でも途中まで書き込まれた出力ファイルは残りません。
+ * <p>
+ * 出力ファイルの衝突はワーカーごとに検出されるため、異なるプロセスのワーカーが処理した定義書の間の衝突は検出されません。
+ *
+ * <pre>
+ * <code>
+ * DtoQueueWorker.of(DtoWorkQueue.of(queueDirectory), dtoResourceOption, Duration.ofMinutes(5)).execute();
+ * </code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DtoWorkQueue
+ */
+@ToString
+final class DtoQueueWorker {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 更新日時を更新するスレッドの名前
+     */
+    private static final String HEARTBEAT_THREAD_NAME = "dto-queue-worker-heartbeat";
+
+    /**
+     * 貸出期間に対する更新日時の更新間隔の比率
+     */
+    private static final int HEARTBEATS_PER_LEASE = 3;
+
+    /**
+     * 作業キュー
+     */
+    private final DtoWorkQueue dtoWorkQueue;
+
+    /**
+     * DTOリソースオプション
+     */
+    private final DtoResourceOption dtoResourceOption;
+
+    /**
+     * 処理中のタスクの更新が途絶えたとみなす期間
+     */
+    private final Duration leaseTimeout;
+
+    /**
+     * このワーカーが生成した出力ファイルのレジストリ
+     */
+    private final DtoOutputRegistry dtoOutputRegistry;
+
+    /**
+     * コンストラクタ
+     *
+     * @param dtoWorkQueue      作業キュー
+     * @param dtoResourceOption DTOリソースオプション
+     * @param leaseTimeout      処理中のタスクの更新が途絶えたとみなす期間
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException 期間が正の値ではない場合
+     */
+    private DtoQueueWorker(@NonNull DtoWorkQueue dtoWorkQueue, @NonNull DtoResourceOption dtoResourceOption,
+            @NonNull Duration leaseTimeout) {
+
+        if (leaseTimeout.isZero() || leaseTimeout.isNegative()) {
+            throw new IllegalArgumentException(String.format(
+                    "wrong parameter was given. Positive duration was expected but %s was given.", leaseTimeout));
+        }
+
+        this.dtoWorkQueue = dtoWorkQueue;
+        this.dtoResourceOption = dtoResourceOption;
+        this.leaseTimeout = leaseTimeout;
+        this.dtoOutputRegistry = DtoOutputRegistry.of();
+    }
+
+    /**
+     * 引数として渡された情報を基に {@link DtoQueueWorker} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param dtoWorkQueue      作業キュー
+     * @param dtoResourceOption DTOリソースオプション
+     * @param leaseTimeout      処理中のタスクの更新が途絶えたとみなす期間
+     * @return {@link DtoQueueWorker} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException 期間が正の値ではない場合
+     */
+    static DtoQueueWorker of(@NonNull DtoWorkQueue dtoWorkQueue, @NonNull DtoResourceOption dtoResourceOption,
+            @NonNull Duration leaseTimeout) {
+        return new DtoQueueWorker(dtoWorkQueue, dtoResourceOption, leaseTimeout);
+    }
+
+    /**
+     * 作業キューが空になるまでタスクを取得し、定義書を処理します。
+     *
+     * @return このワーカーが処理した全ての定義書の処理に成功した場合は {@code true} 、それ以外は {@code false}
+     */
+    boolean execute() {
+
+        final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, HEARTBEAT_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        int processed = 0;
+        int failures = 0;
+
+        try {
+            while (true) {
+                this.dtoWorkQueue.reclaimExpired(this.leaseTimeout);
+
+                final DtoWorkQueue.Lease lease = this.dtoWorkQueue.claim();
+
+                if (lease == null) {
+                    if (!this.dtoWorkQueue.hasLeased()) {
+                        break;
+                    }
+
+                    this.awaitLeases();
+                    continue;
+                }
+
+                if (!this.process(lease, heartbeatExecutor)) {
+                    failures++;
+                }
+
+                processed++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.atWarning().log("ワーカーの処理が中断されました。");
+            return false;
+        } finally {
+            heartbeatExecutor.shutdownNow();
+        }
+
+        logger.atInfo().log("ワーカーが処理した定義書の数 = (%s)、失敗した定義書の数 = (%s)", processed, failures);
+        return failures == 0;
+    }
+
+    /**
+     * 取得したタスクが示す定義書を処理し、処理結果に応じてタスクを完了します。
+     * <p>
+     * 処理中は貸出期間の3分の1の間隔でタスクの更新日時を更新します。<br>
+     * 処理中にタスクが未処理の状態へ戻された場合は処理を中止し、タスクを完了せずに {@code true} を返却します。中止したタスクは他のワーカーが改めて処理します。
+     *
+     * @param lease             取得したタスクの貸出
+     * @param heartbeatExecutor 更新日時を更新する実行者
+     * @return 処理に成功した場合、または、処理を中止した場合は {@code true} 、それ以外は {@code false}
+     */
+    private boolean process(DtoWorkQueue.Lease lease, ScheduledExecutorService heartbeatExecutor) {
+
+        final long heartbeatInterval = Math.max(1L, this.leaseTimeout.toMillis() / HEARTBEATS_PER_LEASE);
+        final Heartbeat heartbeat = new Heartbeat(lease, Thread.currentThread());
+        final ScheduledFuture<?> heartbeatFuture = heartbeatExecutor.scheduleAtFixedRate(heartbeat, heartbeatInterval,
+                heartbeatInterval, TimeUnit.MILLISECONDS);
+
+        logger.atInfo().log("タスクを取得しました。(%s)", lease.getTaskName());
+
+        boolean succeeded;
+
+        try {
+            succeeded = DtoGenerator
+                    .from(lease.getDefinitionPath(), this.dtoResourceOption, this.dtoOutputRegistry).execute();
+        } catch (RuntimeException e) {
+            logger.atSevere().withCause(e).log("定義書の処理に失敗しました。(%s)", lease.getTaskName());
+            succeeded = false;
+        } finally {
+            heartbeatFuture.cancel(false);
+        }
+
+        if (heartbeat.finish()) {
+            logger.atWarning().log("他のワーカーへ戻されたタスクの処理を中止しました。(%s)", lease.getTaskName());
+            return true;
+        }
+
+        if (succeeded) {
+            lease.acknowledge();
+        } else {
+            lease.fail();
+        }
+
+        return succeeded;
+    }
+
+    /**
+     * 他のワーカーが処理中のタスクが完了する、または、期限切れになるまで待機します。
+     * <p>
+     * 待機する時間は貸出期間の3分の1です。
+     *
+     * @throws InterruptedException 待機中に割り込みが発生した場合
+     */
+    private void awaitLeases() throws InterruptedException {
+        logger.atFine().log("他のワーカーが処理中のタスクの完了を待機します。");
+        Thread.sleep(Math.max(1L, this.leaseTimeout.toMillis() / HEARTBEATS_PER_LEASE));
+    }
+
+    /**
+     * 処理中のタスクの更新日時を更新し、タスクが未処理の状態へ戻されたことを検出した場合は処理中のスレッドへ割り込みを行うクラスです。
+     * <p>
+     * 処理の完了後に割り込みが発生しないよう、更新と完了の通知は排他的に行います。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class Heartbeat implements Runnable {
+
+        /**
+         * 処理中のタスクの貸出
+         */
+        private final DtoWorkQueue.Lease lease;
+
+        /**
+         * タスクを処理中のスレッド
+         */
+        private final Thread worker;
+
+        /**
+         * 処理が完了したか否か
+         */
+        private boolean finished;
+
+        /**
+         * タスクが未処理の状態へ戻されたか否か
+         */
+        private boolean lost;
+
+        /**
+         * コンストラクタ
+         *
+         * @param lease  処理中のタスクの貸出
+         * @param worker タスクを処理中のスレッド
+         */
+        private Heartbeat(DtoWorkQueue.Lease lease, Thread worker) {
+            this.lease = lease;
+            this.worker = worker;
+        }
+
+        @Override
+        public synchronized void run() {
+
+            if (this.finished || this.lost) {
+                return;
+            }
+
+            if (!this.lease.heartbeat()) {
+                this.lost = true;
+                this.worker.interrupt();
+            }
+        }
+
+        /**
+         * 処理の完了を通知し、以降の更新を停止します。
+         * <p>
+         * タスクが未処理の状態へ戻されていた場合は、処理中のスレッドへ行った割り込みを解除します。
+         *
+         * @return タスクが未処理の状態へ戻されていた場合は {@code true} 、それ以外は {@code false}
+         */
+        private synchronized boolean finish() {
+
+            this.finished = true;
+
+            if (this.lost) {
+                Thread.interrupted();
+            }
+
+            return this.lost;
+        }
+    }
+}
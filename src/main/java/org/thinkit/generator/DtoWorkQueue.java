@@ -0,0 +1,529 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.thinkit.generator.workbook.common.DefinitionPath;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 複数のプロセスで定義書を分担して処理するためのファイルベースの作業キューです。
+ * <p>
+ * 作業キューは以下のディレクトリで構成され、定義書1件につき1つのタスクファイルが状態に応じたディレクトリ間を移動します。
+ *
+ * <pre>
+ * pending → 未処理のタスク
+ * leased  → いずれかのワーカーが処理中のタスク (タスク名にワーカーの所有者トークンを付与)
+ * done    → 処理に成功したタスク
+ * failed  → 処理に失敗したタスク
+ * </pre>
+ *
+ * <p>
+ * タスクの取得と状態の遷移はファイルの原子的な移動で行われるため、同じファイルシステムを共有する限り、
+ * 複数のホストで動作するワーカーが同じタスクを重複して取得することはありません。<br>
+ * 処理中のタスクはワーカーが定期的に更新日時を更新し、更新が途絶えたタスクはワーカーが異常終了したものとみなして未処理の状態へ戻されます。
+ * <p>
+ * 処理中のタスクのファイル名には取得の度に生成される所有者トークンが含まれるため、未処理の状態へ戻された後に他のワーカーが取得したタスクを
+ * 元のワーカーが更新または完了することはありません。<br>
+ * 未処理の状態へ戻された回数が上限を超えたタスクは、定義書の処理がワーカーを異常終了させているものとみなして処理に失敗した状態へ移動します。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DtoQueueWorker
+ */
+@ToString
+final class DtoWorkQueue {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 未処理のタスクを格納するディレクトリ名
+     */
+    private static final String PENDING = "pending";
+
+    /**
+     * 処理中のタスクを格納するディレクトリ名
+     */
+    private static final String LEASED = "leased";
+
+    /**
+     * 処理に成功したタスクを格納するディレクトリ名
+     */
+    private static final String DONE = "done";
+
+    /**
+     * 処理に失敗したタスクを格納するディレクトリ名
+     */
+    private static final String FAILED = "failed";
+
+    /**
+     * タスクファイルの拡張子
+     */
+    private static final String TASK_EXTENSION = ".task";
+
+    /**
+     * 書き込み中のタスクファイルの拡張子
+     */
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
+    /**
+     * タスクの名前と所有者トークンの区切り文字
+     */
+    private static final String OWNER_SEPARATOR = ".";
+
+    /**
+     * タスクを未処理の状態へ戻す回数の上限
+     */
+    private static final int MAX_RECLAIMS = 3;
+
+    /**
+     * 作業キューのディレクトリ
+     */
+    private final Path queueDirectory;
+
+    /**
+     * 未処理のタスクを格納するディレクトリ
+     */
+    private final Path pendingDirectory;
+
+    /**
+     * 処理中のタスクを格納するディレクトリ
+     */
+    private final Path leasedDirectory;
+
+    /**
+     * 処理に成功したタスクを格納するディレクトリ
+     */
+    private final Path doneDirectory;
+
+    /**
+     * 処理に失敗したタスクを格納するディレクトリ
+     */
+    private final Path failedDirectory;
+
+    /**
+     * コンストラクタ
+     *
+     * @param queueDirectory 作業キューのディレクトリ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws UncheckedIOException 作業キューのディレクトリの作成に失敗した場合
+     */
+    private DtoWorkQueue(@NonNull Path queueDirectory) {
+
+        this.queueDirectory = queueDirectory;
+        this.pendingDirectory = queueDirectory.resolve(PENDING);
+        this.leasedDirectory = queueDirectory.resolve(LEASED);
+        this.doneDirectory = queueDirectory.resolve(DONE);
+        this.failedDirectory = queueDirectory.resolve(FAILED);
+
+        try {
+            Files.createDirectories(this.pendingDirectory);
+            Files.createDirectories(this.leasedDirectory);
+            Files.createDirectories(this.doneDirectory);
+            Files.createDirectories(this.failedDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 引数として渡されたディレクトリを使用する {@link DtoWorkQueue} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * 作業キューを構成するディレクトリが存在しない場合は作成します。
+     *
+     * @param queueDirectory 作業キューのディレクトリ
+     * @return {@link DtoWorkQueue} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws UncheckedIOException 作業キューのディレクトリの作成に失敗した場合
+     */
+    static DtoWorkQueue of(@NonNull Path queueDirectory) {
+        return new DtoWorkQueue(queueDirectory);
+    }
+
+    /**
+     * 引数として渡された定義書を未処理のタスクとして作業キューへ登録します。
+     * <p>
+     * タスクの名前は定義書の絶対パスから決定されるため、既に作業キューに存在する定義書は再登録されません。<br>
+     * そのため、コーディネーターを再実行した場合でも処理済みの定義書が重複して処理されることはありません。
+     *
+     * @param workbooks  定義書のパスのコレクション
+     * @param outputPath 出力先パス
+     * @return 新たに登録したタスクの数
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws UncheckedIOException タスクファイルの書き込みに失敗した場合
+     */
+    int enqueue(@NonNull Collection<Path> workbooks, @NonNull String outputPath) {
+
+        int enqueued = 0;
+
+        for (Path workbook : workbooks) {
+            final String taskName = this.createTaskName(workbook);
+
+            if (this.exists(taskName)) {
+                logger.atFine().log("登録済みの定義書のためスキップします。(%s)", workbook);
+                continue;
+            }
+
+            final Path temporaryFile = this.pendingDirectory.resolveSibling(taskName + TEMPORARY_EXTENSION);
+            final List<String> lines = List.of(workbook.toAbsolutePath().normalize().toString(), outputPath);
+
+            try {
+                Files.write(temporaryFile, lines, StandardCharsets.UTF_8);
+                Files.move(temporaryFile, this.pendingDirectory.resolve(taskName),
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            enqueued++;
+        }
+
+        logger.atInfo().log("作業キューへ登録したタスクの数 = (%s)", enqueued);
+        return enqueued;
+    }
+
+    /**
+     * 未処理のタスクを1件取得し、所有者トークンを付与した名前で処理中の状態へ移動します。
+     * <p>
+     * 他のワーカーが先に同じタスクを取得した場合は次のタスクの取得を試みます。<br>
+     * ファイルの移動では更新日時が保持されるため、取得したタスクが直ちに期限切れと判定されないよう移動前に更新日時を更新します。
+     *
+     * @return 取得したタスクの貸出、または、未処理のタスクが存在しない場合は {@code null}
+     *
+     * @throws UncheckedIOException タスクの取得に失敗した場合
+     */
+    Lease claim() {
+
+        for (Path pendingTask : this.list(this.pendingDirectory)) {
+            final String taskName = pendingTask.getFileName().toString();
+            final Path leasedTask = this.leasedDirectory
+                    .resolve(this.createLeasedTaskName(taskName, UUID.randomUUID().toString()));
+
+            try {
+                Files.setLastModifiedTime(pendingTask, FileTime.from(Instant.now()));
+                Files.move(pendingTask, leasedTask, StandardCopyOption.ATOMIC_MOVE);
+
+                final List<String> lines = Files.readAllLines(leasedTask, StandardCharsets.UTF_8);
+                return new Lease(leasedTask, taskName, DefinitionPath.of(lines.get(0), lines.get(1)));
+            } catch (NoSuchFileException | FileAlreadyExistsException e) {
+                logger.atFinest().log("他のワーカーが取得したタスクのためスキップします。(%s)", pendingTask);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 更新日時が指定された期間を超えて更新されていない処理中のタスクを未処理の状態へ戻します。
+     * <p>
+     * タスクは作業キューのディレクトリへ原子的に移動してから戻した回数を記録するため、複数のワーカーが同じタスクを同時に戻すことはありません。<br>
+     * 戻した回数が上限を超えたタスクは未処理の状態へ戻さず、処理に失敗した状態へ移動します。
+     *
+     * @param leaseTimeout 処理中のタスクの更新が途絶えたとみなす期間
+     * @return 未処理の状態へ戻したタスクの数
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws UncheckedIOException タスクの移動に失敗した場合
+     */
+    int reclaimExpired(@NonNull Duration leaseTimeout) {
+
+        final Instant expiration = Instant.now().minus(leaseTimeout);
+        int reclaimed = 0;
+
+        for (Path leasedTask : this.list(this.leasedDirectory)) {
+            final String taskName = this.getTaskName(leasedTask.getFileName().toString());
+            final Path reclaimingTask = this.queueDirectory
+                    .resolve(leasedTask.getFileName().toString() + TEMPORARY_EXTENSION);
+
+            try {
+                if (Files.getLastModifiedTime(leasedTask).toInstant().isAfter(expiration)) {
+                    continue;
+                }
+
+                Files.move(leasedTask, reclaimingTask, StandardCopyOption.ATOMIC_MOVE);
+            } catch (NoSuchFileException | FileAlreadyExistsException e) {
+                logger.atFinest().log("他のワーカーが処理したタスクのためスキップします。(%s)", leasedTask);
+                continue;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try {
+                final List<String> lines = new ArrayList<>(Files.readAllLines(reclaimingTask, StandardCharsets.UTF_8));
+                final int reclaims = lines.size() > 2 ? Integer.parseInt(lines.get(2)) + 1 : 1;
+
+                if (reclaims > MAX_RECLAIMS) {
+                    Files.move(reclaimingTask, this.failedDirectory.resolve(taskName), StandardCopyOption.ATOMIC_MOVE);
+                    logger.atSevere().log("未処理の状態へ戻した回数が上限を超えたため処理に失敗したタスクとします。(%s)", taskName);
+                    continue;
+                }
+
+                Files.write(reclaimingTask, List.of(lines.get(0), lines.get(1), String.valueOf(reclaims)),
+                        StandardCharsets.UTF_8);
+                Files.move(reclaimingTask, this.pendingDirectory.resolve(taskName), StandardCopyOption.ATOMIC_MOVE);
+                logger.atWarning().log("更新が途絶えたタスクを未処理の状態へ戻しました。(%s)、戻した回数 = (%s)", taskName, reclaims);
+                reclaimed++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return reclaimed;
+    }
+
+    /**
+     * 未処理のタスクが存在するか判定します。
+     *
+     * @return 未処理のタスクが存在する場合は {@code true} 、それ以外は {@code false}
+     *
+     * @throws UncheckedIOException ディレクトリの参照に失敗した場合
+     */
+    boolean hasPending() {
+        return !this.list(this.pendingDirectory).isEmpty();
+    }
+
+    /**
+     * 処理中のタスクが存在するか判定します。
+     *
+     * @return 処理中のタスクが存在する場合は {@code true} 、それ以外は {@code false}
+     *
+     * @throws UncheckedIOException ディレクトリの参照に失敗した場合
+     */
+    boolean hasLeased() {
+        return !this.list(this.leasedDirectory).isEmpty();
+    }
+
+    /**
+     * 処理に失敗したタスクの数を返却します。
+     *
+     * @return 処理に失敗したタスクの数
+     *
+     * @throws UncheckedIOException ディレクトリの参照に失敗した場合
+     */
+    int countFailed() {
+        return this.list(this.failedDirectory).size();
+    }
+
+    /**
+     * 引数として渡された定義書のパスからタスクの名前を生成します。
+     * <p>
+     * 同名の定義書が異なるディレクトリに存在する場合でも名前が重複しないよう、絶対パスのハッシュ値を付与します。
+     *
+     * @param workbook 定義書のパス
+     * @return タスクの名前
+     */
+    private String createTaskName(Path workbook) {
+        final Path absolutePath = workbook.toAbsolutePath().normalize();
+        return String.format("%s-%08x%s", absolutePath.getFileName(), absolutePath.toString().hashCode(),
+                TASK_EXTENSION);
+    }
+
+    /**
+     * 引数として渡されたタスクの名前と所有者トークンから処理中のタスクの名前を生成します。
+     *
+     * @param taskName タスクの名前
+     * @param owner    所有者トークン
+     * @return 処理中のタスクの名前
+     */
+    private String createLeasedTaskName(String taskName, String owner) {
+        return taskName.substring(0, taskName.length() - TASK_EXTENSION.length()) + OWNER_SEPARATOR + owner
+                + TASK_EXTENSION;
+    }
+
+    /**
+     * 引数として渡された処理中のタスクの名前から所有者トークンを除いたタスクの名前を返却します。
+     *
+     * @param leasedTaskName 処理中のタスクの名前
+     * @return タスクの名前
+     */
+    private String getTaskName(String leasedTaskName) {
+        final String stem = leasedTaskName.substring(0, leasedTaskName.length() - TASK_EXTENSION.length());
+        return stem.substring(0, stem.lastIndexOf(OWNER_SEPARATOR)) + TASK_EXTENSION;
+    }
+
+    /**
+     * 引数として渡された名前のタスクがいずれかの状態で作業キューに存在するか判定します。
+     *
+     * @param taskName タスクの名前
+     * @return タスクが存在する場合は {@code true} 、それ以外は {@code false}
+     */
+    private boolean exists(String taskName) {
+        return Files.exists(this.pendingDirectory.resolve(taskName))
+                || this.list(this.leasedDirectory).stream()
+                        .anyMatch(leasedTask -> this.getTaskName(leasedTask.getFileName().toString()).equals(taskName))
+                || Files.exists(this.doneDirectory.resolve(taskName))
+                || Files.exists(this.failedDirectory.resolve(taskName));
+    }
+
+    /**
+     * 引数として渡されたディレクトリに格納されたタスクファイルを名前の昇順で返却します。
+     *
+     * @param directory タスクファイルを格納したディレクトリ
+     * @return タスクファイルのパスのリスト
+     *
+     * @throws UncheckedIOException ディレクトリの参照に失敗した場合
+     */
+    private List<Path> list(Path directory) {
+        try (Stream<Path> tasks = Files.list(directory)) {
+            return tasks.filter(task -> task.getFileName().toString().endsWith(TASK_EXTENSION)).sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * ワーカーが取得した処理中のタスクを表すクラスです。
+     * <p>
+     * ワーカーは処理中に {@link #heartbeat()} を定期的に呼び出し、処理の完了後に {@link #acknowledge()} または
+     * {@link #fail()} を呼び出してください。<br>
+     * {@link #heartbeat()} が {@code false} を返却した場合、タスクは既に他のワーカーへ戻されているため処理を中止してください。
+     */
+    @ToString
+    final class Lease {
+
+        /**
+         * 所有者トークンを付与した処理中のタスクファイル
+         */
+        private final Path leasedTask;
+
+        /**
+         * タスクの名前
+         */
+        private final String taskName;
+
+        /**
+         * タスクが示す定義書のパス
+         */
+        private final DefinitionPath definitionPath;
+
+        /**
+         * コンストラクタ
+         *
+         * @param leasedTask     所有者トークンを付与した処理中のタスクファイル
+         * @param taskName       タスクの名前
+         * @param definitionPath タスクが示す定義書のパス
+         */
+        private Lease(Path leasedTask, String taskName, DefinitionPath definitionPath) {
+            this.leasedTask = leasedTask;
+            this.taskName = taskName;
+            this.definitionPath = definitionPath;
+        }
+
+        /**
+         * タスクが示す定義書のパスを返却します。
+         *
+         * @return 定義書のパス
+         */
+        DefinitionPath getDefinitionPath() {
+            return this.definitionPath;
+        }
+
+        /**
+         * タスクの名前を返却します。
+         *
+         * @return タスクの名前
+         */
+        String getTaskName() {
+            return this.taskName;
+        }
+
+        /**
+         * タスクの更新日時を現在日時へ更新し、タスクを処理中であることを通知します。
+         *
+         * @return 更新に成功した場合は {@code true} 、タスクが既に未処理の状態へ戻された場合は {@code false}
+         */
+        boolean heartbeat() {
+            try {
+                Files.setLastModifiedTime(this.leasedTask, FileTime.from(Instant.now()));
+                return true;
+            } catch (NoSuchFileException e) {
+                logger.atWarning().log("処理中に未処理の状態へ戻されたタスクです。(%s)", this.getTaskName());
+                return false;
+            } catch (IOException e) {
+                logger.atWarning().withCause(e).log("タスクの更新日時を更新できませんでした。(%s)", this.getTaskName());
+                return Files.exists(this.leasedTask);
+            }
+        }
+
+        /**
+         * タスクを処理に成功した状態へ移動します。
+         *
+         * @return 移動に成功した場合は {@code true} 、タスクが既に未処理の状態へ戻されていた場合は {@code false}
+         */
+        boolean acknowledge() {
+            return this.complete(doneDirectory);
+        }
+
+        /**
+         * タスクを処理に失敗した状態へ移動します。
+         *
+         * @return 移動に成功した場合は {@code true} 、タスクが既に未処理の状態へ戻されていた場合は {@code false}
+         */
+        boolean fail() {
+            return this.complete(failedDirectory);
+        }
+
+        /**
+         * タスクを引数として渡されたディレクトリへ移動します。
+         * <p>
+         * 処理中にタスクが未処理の状態へ戻された場合は、他のワーカーが改めて同じ定義書を処理するため移動を行いません。<br>
+         * 処理中のタスクファイルの名前には所有者トークンが含まれるため、他のワーカーが取得し直したタスクを移動することはありません。
+         *
+         * @param directory 移動先のディレクトリ
+         * @return 移動に成功した場合は {@code true} 、それ以外は {@code false}
+         */
+        private boolean complete(Path directory) {
+            try {
+                Files.move(this.leasedTask, directory.resolve(this.taskName), StandardCopyOption.ATOMIC_MOVE);
+                return true;
+            } catch (IOException e) {
+                logger.atWarning().withCause(e).log("処理中に未処理の状態へ戻されたタスクです。(%s)", this.getTaskName());
+                return false;
+            }
+        }
+    }
+}
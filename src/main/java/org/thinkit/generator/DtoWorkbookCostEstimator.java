@@ -0,0 +1,202 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.google.common.flogger.FluentLogger;
+
+import lombok.NonNull;
+
+/**
+ * 定義書を解析する際に必要となるヒープの大きさを推定する処理を定義したクラスです。
+ * <p>
+ * 定義書はワークブック全体がメモリへ展開されるため、必要なヒープの大きさは展開後のシートの大きさにおおむね比例します。<br>
+ * このクラスはワークブックのZIPエントリの展開後のサイズと、各シートに記録された使用範囲のセル数から必要なヒープの大きさを推定します。<br>
+ * ZIPの中央ディレクトリとシートの先頭のみを読み込むため、推定に要する時間はワークブックの大きさに依存しません。
+ * <p>
+ * 推定値は並行処理する定義書の数を調整するための目安であり、実際の使用量を保証するものではありません。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DtoMemoryBudget
+ */
+final class DtoWorkbookCostEstimator {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 推定の対象とするZIPエントリの接頭辞
+     */
+    private static final String WORKBOOK_PART_PREFIX = "xl/";
+
+    /**
+     * シートのZIPエントリの接頭辞
+     */
+    private static final String WORKSHEET_PART_PREFIX = "xl/worksheets/";
+
+    /**
+     * XMLのZIPエントリの拡張子
+     */
+    private static final String XML_EXTENSION = ".xml";
+
+    /**
+     * 展開後のXMLの1バイトあたりに必要なヒープの大きさ
+     */
+    private static final long HEAP_BYTES_PER_XML_BYTE = 4L;
+
+    /**
+     * 使用範囲の1セルあたりに必要なヒープの大きさ
+     */
+    private static final long HEAP_BYTES_PER_CELL = 200L;
+
+    /**
+     * 展開後のサイズが不明なZIPエントリの圧縮率の目安
+     */
+    private static final long ASSUMED_COMPRESSION_RATIO = 8L;
+
+    /**
+     * ZIP形式として読み込めない定義書のファイルサイズ1バイトあたりに必要なヒープの大きさ
+     */
+    private static final long HEAP_BYTES_PER_FILE_BYTE = 32L;
+
+    /**
+     * 使用範囲を探索するシートの先頭のバイト数
+     */
+    private static final int DIMENSION_SCAN_BYTES = 4096;
+
+    /**
+     * シートの使用範囲を表す要素のパターン
+     */
+    private static final Pattern DIMENSION_PATTERN = Pattern
+            .compile("<dimension\\s+ref=\"([A-Z]+)(\\d+)(?::([A-Z]+)(\\d+))?\"");
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoWorkbookCostEstimator() {
+    }
+
+    /**
+     * 引数として渡された定義書を解析する際に必要となるヒープの大きさを推定し返却します。
+     * <p>
+     * 定義書をZIP形式として読み込めない場合はファイルサイズから推定します。
+     *
+     * @param workbook 定義書のパス
+     * @return 必要なヒープの推定バイト数
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static long estimate(@NonNull Path workbook) {
+
+        try (ZipFile zipFile = new ZipFile(workbook.toFile())) {
+            long xmlBytes = 0L;
+            long cells = 0L;
+
+            for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements();) {
+                final ZipEntry entry = entries.nextElement();
+                final String name = entry.getName();
+
+                if (!name.startsWith(WORKBOOK_PART_PREFIX) || !name.endsWith(XML_EXTENSION)) {
+                    continue;
+                }
+
+                xmlBytes += entry.getSize() >= 0 ? entry.getSize()
+                        : Math.max(entry.getCompressedSize(), 0L) * ASSUMED_COMPRESSION_RATIO;
+
+                if (name.startsWith(WORKSHEET_PART_PREFIX)) {
+                    cells += countCells(zipFile, entry);
+                }
+            }
+
+            final long estimate = xmlBytes * HEAP_BYTES_PER_XML_BYTE + cells * HEAP_BYTES_PER_CELL;
+            logger.atFine().log("定義書 = (%s)、展開後のXMLのサイズ = (%s)、使用範囲のセル数 = (%s)、推定値 = (%s)", workbook,
+                    xmlBytes, cells, estimate);
+
+            return estimate;
+        } catch (IOException e) {
+            logger.atFine().log("ZIP形式として読み込めないためファイルサイズから推定します。(%s)", workbook);
+        }
+
+        try {
+            return Files.size(workbook) * HEAP_BYTES_PER_FILE_BYTE;
+        } catch (IOException e) {
+            logger.atWarning().log("定義書のサイズを取得できませんでした。(%s)", workbook);
+            return 0L;
+        }
+    }
+
+    /**
+     * 引数として渡されたシートの使用範囲のセル数を返却します。
+     * <p>
+     * 使用範囲はシートの先頭に記録された {@code dimension} 要素から取得し、要素が存在しない場合は {@code 0} を返却します。
+     *
+     * @param zipFile ワークブックのZIPファイル
+     * @param entry   シートのZIPエントリ
+     * @return 使用範囲のセル数
+     *
+     * @throws IOException シートの読み込みに失敗した場合
+     */
+    private static long countCells(ZipFile zipFile, ZipEntry entry) throws IOException {
+
+        final byte[] head;
+
+        try (InputStream inputStream = zipFile.getInputStream(entry)) {
+            head = inputStream.readNBytes(DIMENSION_SCAN_BYTES);
+        }
+
+        final Matcher matcher = DIMENSION_PATTERN.matcher(new String(head, StandardCharsets.UTF_8));
+
+        if (!matcher.find() || matcher.group(3) == null) {
+            return 0L;
+        }
+
+        final long columns = toColumnNumber(matcher.group(3)) - toColumnNumber(matcher.group(1)) + 1;
+        final long rows = Long.parseLong(matcher.group(4)) - Long.parseLong(matcher.group(2)) + 1;
+
+        return Math.max(columns, 0L) * Math.max(rows, 0L);
+    }
+
+    /**
+     * 引数として渡された列名を1から始まる列番号へ変換します。
+     *
+     * @param columnName 列名
+     * @return 列番号
+     */
+    private static long toColumnNumber(String columnName) {
+
+        long columnNumber = 0L;
+
+        for (int i = 0, length = columnName.length(); i < length; i++) {
+            columnNumber = columnNumber * 26 + (columnName.charAt(i) - 'A' + 1);
+        }
+
+        return columnNumber;
+    }
+}
@@ -14,9 +14,26 @@
 
 package org.thinkit.generator;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import com.google.common.flogger.FluentLogger;
 
 import org.apache.commons.lang3.StringUtils;
+import org.thinkit.generator.content.dto.rule.DtoContentCache;
+import org.thinkit.generator.content.dto.rule.DtoDefinitionInterner;
+import org.thinkit.generator.content.dto.rule.DtoResourceOption;
 import org.thinkit.generator.workbook.common.DefinitionPath;
 
 /**
@@ -35,6 +52,190 @@ final class EntryDtoGenerator {
      */
     private static final FluentLogger logger = FluentLogger.forEnclosingClass();
 
+    /**
+     * オプション引数の接頭辞
+     */
+    private static final String OPTION_PREFIX = "--";
+
+    /**
+     * オプション引数の名前と値の区切り文字
+     */
+    private static final String OPTION_DELIMITER = "=";
+
+    /**
+     * 一括処理の対象とする定義書の拡張子
+     */
+    private static final String WORKBOOK_EXTENSION = ".xlsx";
+
+    /**
+     * Excelが編集中に作成する一時ファイルの接頭辞
+     */
+    private static final String WORKBOOK_LOCK_PREFIX = "~$";
+
+    /**
+     * 作業キューの処理中のタスクの更新が途絶えたとみなす秒数の既定値
+     */
+    private static final int DEFAULT_LEASE_TIMEOUT_SECONDS = 300;
+
+    /**
+     * 一括処理のチェックポイントジャーナルの既定のファイル名
+     */
+    private static final String DEFAULT_CHECKPOINT_FILE = ".dto-generator.checkpoint";
+
+    /**
+     * 1メガバイトのバイト数
+     */
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+
+    /**
+     * 一括処理の進捗を出力する既定の間隔（秒）
+     */
+    private static final int DEFAULT_PROGRESS_INTERVAL = 5;
+
+    /**
+     * オプション名定数
+     */
+    private enum OptionName {
+
+        /**
+         * 解析済みDTOマトリクスのキャッシュを格納するディレクトリ
+         */
+        CACHE_DIR("cache-dir"),
+
+        /**
+         * 最上位層のクラス単位でリソースを生成し出力するストリーミングモード
+         */
+        STREAM("stream"),
+
+        /**
+         * 最上位層のクラス定義ごとに並列でDTO定義を生成するモード
+         */
+        PARALLEL_COLLECT("parallel-collect"),
+
+        /**
+         * 最上位層のクラス定義ごとに並列でリソースを生成するモード
+         */
+        PARALLEL_FORMAT("parallel-format"),
+
+        /**
+         * 定義表の終端とみなす連続した空行の数
+         */
+        TABLE_END_BLANK_ROWS("table-end-blank-rows"),
+
+        /**
+         * 定義表の終端を示す文字列
+         */
+        TABLE_END_MARKER("table-end-marker"),
+
+        /**
+         * 変更された最上位層のクラス定義のみを再生成するモード
+         */
+        INCREMENTAL("incremental"),
+
+        /**
+         * XLSX形式の定義書から定義書シートの解析に必要なパートのみを読み込むモード
+         */
+        SELECTIVE_LOAD("selective-load"),
+
+        /**
+         * 一括処理における解析段階の並列数
+         */
+        PARSE_THREADS("parse-threads"),
+
+        /**
+         * 一括処理における整形段階の並列数
+         */
+        FORMAT_THREADS("format-threads"),
+
+        /**
+         * 一括処理における書き込み段階の並列数
+         */
+        WRITE_THREADS("write-threads"),
+
+        /**
+         * 一括処理における段階間のキューの容量
+         */
+        QUEUE_CAPACITY("queue-capacity"),
+
+        /**
+         * 一括処理を仮想スレッドで実行するモード
+         */
+        VIRTUAL_THREADS("virtual-threads"),
+
+        /**
+         * 一括処理で同時に解析する定義書に割り当てるヒープの予算（メガバイト）
+         */
+        HEAP_BUDGET("heap-budget"),
+
+        /**
+         * 一括処理のチェックポイントジャーナルのファイルパス
+         */
+        CHECKPOINT("checkpoint"),
+
+        /**
+         * チェックポイントジャーナルから一括処理を再開するモード
+         */
+        RESUME("resume"),
+
+        /**
+         * 構造が同一の子クラスを定義書を跨いで共有するモード
+         */
+        SHARE_CHILDREN("share-children"),
+
+        /**
+         * 定義書を作業キューへ登録するコーディネーターモード
+         */
+        COORDINATOR("coordinator"),
+
+        /**
+         * 作業キューから定義書を取得して処理するワーカーモード
+         */
+        WORKER("worker"),
+
+        /**
+         * 作業キューの処理中のタスクの更新が途絶えたとみなす秒数
+         */
+        LEASE_TIMEOUT("lease-timeout"),
+
+        /**
+         * 一括処理の進捗と処理速度を出力するモード
+         */
+        PROGRESS("progress"),
+
+        /**
+         * 一括処理の進捗を出力する間隔の秒数
+         */
+        PROGRESS_INTERVAL("progress-interval"),
+
+        /**
+         * 同梱のコンテンツファイルに優先して読み込むコンテンツファイルを配置したディレクトリ
+         */
+        CONTENT_DIR("content-dir");
+
+        /**
+         * オプション名
+         */
+        private final String name;
+
+        /**
+         * コンストラクタ
+         *
+         * @param name オプション名
+         */
+        OptionName(String name) {
+            this.name = name;
+        }
+
+        /**
+         * オプション名を返却します。
+         *
+         * @return オプション名
+         */
+        public String getString() {
+            return this.name;
+        }
+    }
+
     /**
      * 引数として渡された定義書のパスを基にDTO生成器を実行します。
      * <p>
@@ -46,6 +247,45 @@ final class EntryDtoGenerator {
      * </pre>
      *
      * <p>
+     * ファイルパスとしてディレクトリが指定された場合は、ディレクトリ配下の全ての定義書を一括処理します。<br>
+     * 一括処理では定義書の解析、整形、書き込みの各段階が定義書を跨いで並行に実行されます。
+     *
+     * <pre>
+     * また、以下のオプション引数を任意の位置に指定することができます。
+     * --cache-dir=ディレクトリ → 解析済みの定義書をキャッシュするディレクトリです。(任意)
+     * --stream → 最上位層のクラス定義が完成する度にリソースを出力します。一括処理では使用されません。(任意)
+     * --parallel-collect → 最上位層のクラス定義ごとに並列で定義書を解析します。(任意)
+     * --parallel-format → 最上位層のクラス定義ごとに並列でリソースを生成します。(任意)
+     * --table-end-blank-rows=数値 → 定義表の終端とみなす連続した空行の数です。0を指定した場合はシートの最終行まで読み取ります。(任意)
+     * --table-end-marker=文字列 → 定義表の終端を示す文字列です。この文字列が記述された行以降は読み取りません。(任意)
+     * --incremental → 前回の生成時から変更された最上位層のクラス定義のみを再生成します。ストリーミングモードでは使用されません。(任意)
+     * --selective-load → XLSX形式の定義書から定義書シート、共有文字列、スタイルのみを読み込みます。(任意)
+     * --parse-threads=数値 → 一括処理における解析段階の並列数です。(任意)
+     * --format-threads=数値 → 一括処理における整形段階の並列数です。(任意)
+     * --write-threads=数値 → 一括処理における書き込み段階の並列数です。(任意)
+     * --queue-capacity=数値 → 一括処理における段階間のキューの容量です。(任意)
+     * --virtual-threads → 一括処理を定義書ごと、出力ファイルごとの仮想スレッドで実行します。各段階の並列数は上限として扱われます。(任意)
+     * --heap-budget=数値 → 一括処理で同時に解析する定義書に割り当てるヒープの予算(MB)です。解析段階の並列数を省略した場合はプロセッサ数を上限とします。(任意)
+     * --checkpoint=ファイル → 一括処理で処理が完了した定義書を記録するジャーナルです。既定値は対象ディレクトリ直下の .dto-generator.checkpoint です。(任意)
+     * --resume → ジャーナルに記録された定義書のうち、内容が変更されておらず出力ファイルが存在する定義書を省略して一括処理を再開します。(任意)
+     * --share-children → 構造が同一の子クラスを定義書を跨いで共有し、1度だけ出力します。(任意)
+     * --coordinator=ディレクトリ → ファイルパス配下の定義書を指定された作業キューへ登録して終了します。(任意)
+     * --worker=ディレクトリ → 指定された作業キューが空になるまで定義書を取得して処理します。ファイルパスは不要です。(任意)
+     * --lease-timeout=秒数 → 作業キューの処理中のタスクの更新が途絶えたとみなす秒数です。既定値は300秒です。(任意)
+     * --progress → 一括処理の進捗、1秒あたりの行数とクラス数、書き込んだバイト数、残り時間の見込みを一定の間隔で出力します。(任意)
+     * --progress-interval=秒数 → 一括処理の進捗を出力する間隔です。既定値は5秒です。(任意)
+     * --content-dir=ディレクトリ → 定義書の項目名を定義したコンテンツファイル(dto/*.json)を同梱のものに優先して読み込むディレクトリです。更新日時とサイズが変化したファイルのみを再読み込みします。(任意)
+     * </pre>
+     *
+     * <p>
+     * 作業キューは複数のプロセスで共有することができ、同じファイルシステムを共有する限り異なるホストのワーカーからも利用できます。
+     *
+     * <pre>
+     * java EntryDtoGenerator 定義書ディレクトリ 出力先 --coordinator=作業キュー
+     * java EntryDtoGenerator --worker=作業キュー (ワーカーの数だけ起動)
+     * </pre>
+     *
+     * <p>
      * 各生成器の実行に必要なコマンドライン引数が渡されなかった場合は当メイン処理の実行時に必ず失敗します。
      *
      * @param args コマンドライン引数
@@ -53,24 +293,300 @@ final class EntryDtoGenerator {
      */
     public static void main(String[] args) {
 
-        if (args.length < 1) {
+        final Map<String, String> options = new HashMap<>();
+        final String[] arguments = parseArguments(args, options);
+
+        final DtoResourceOption dtoResourceOption = createDtoResourceOption(options);
+
+        if (options.containsKey(OptionName.WORKER.getString())) {
+            if (!executeWorker(options.get(OptionName.WORKER.getString()), dtoResourceOption, options)) {
+                logger.atSevere().log("An unexpected error has occurred.");
+            }
+
+            return;
+        }
+
+        if (arguments.length < 1) {
             logger.atSevere().log("Necessary to pass command line arguments in order to execute the process.");
             throw new IllegalArgumentException(String.format(
                     "wrong parameter was given. 1 parameter was expected at least but %s parameters were given.",
-                    args.length));
+                    arguments.length));
         }
 
-        final String filePath = args[0];
-        final String outputPath = argumentOrDefault(args, 1);
+        final String filePath = arguments[0];
+        final String outputPath = argumentOrDefault(arguments, 1);
 
         logger.atFinest().log("The file path passed as command line argument = (%s)", filePath);
+        logger.atFinest().log("The options passed as command line argument = (%s)", options);
+
+        if (options.containsKey(OptionName.COORDINATOR.getString())) {
+            DtoWorkQueue.of(Paths.get(options.get(OptionName.COORDINATOR.getString())))
+                    .enqueue(findWorkbooks(filePath), outputPath);
+            return;
+        }
+
+        if (Files.isDirectory(Paths.get(filePath))) {
+            if (dtoResourceOption.isStreaming()) {
+                logger.atWarning().log("一括処理は解析、整形、書き込みの段階ごとに定義書を処理するため、ストリーミングモードを無効にしました。");
+                dtoResourceOption.streaming(false);
+            }
+
+            if (!executeBatch(filePath, outputPath, dtoResourceOption, createDtoBatchOption(options))) {
+                logger.atSevere().log("An unexpected error has occurred.");
+            }
+
+            return;
+        }
 
-        if (!DtoGenerator.of(DefinitionPath.of(filePath, outputPath)).execute()) {
+        if (!DtoGenerator.of(DefinitionPath.of(filePath, outputPath), dtoResourceOption).execute()) {
             logger.atSevere().log("An unexpected error has occurred.");
             return;
         }
     }
 
+    /**
+     * オプション引数を基にDTOリソースオプションを生成し返却します。
+     *
+     * @param options オプション引数
+     * @return DTOリソースオプション
+     */
+    private static DtoResourceOption createDtoResourceOption(Map<String, String> options) {
+
+        final DtoResourceOption dtoResourceOption = DtoResourceOption.of()
+                .cacheDirectory(options.getOrDefault(OptionName.CACHE_DIR.getString(), StringUtils.EMPTY))
+                .streaming(Boolean.parseBoolean(options.get(OptionName.STREAM.getString())))
+                .parallelCollecting(Boolean.parseBoolean(options.get(OptionName.PARALLEL_COLLECT.getString())))
+                .parallelFormatting(Boolean.parseBoolean(options.get(OptionName.PARALLEL_FORMAT.getString())));
+
+        dtoResourceOption
+                .tableEndBlankRows(intOptionOrDefault(options, OptionName.TABLE_END_BLANK_ROWS,
+                        dtoResourceOption.getTableEndBlankRows()))
+                .tableEndMarker(options.getOrDefault(OptionName.TABLE_END_MARKER.getString(), StringUtils.EMPTY))
+                .incremental(Boolean.parseBoolean(options.get(OptionName.INCREMENTAL.getString())))
+                .selectiveLoading(Boolean.parseBoolean(options.get(OptionName.SELECTIVE_LOAD.getString())))
+                .contentDirectory(options.getOrDefault(OptionName.CONTENT_DIR.getString(), StringUtils.EMPTY));
+
+        return dtoResourceOption;
+    }
+
+    /**
+     * 引数として指定された作業キューが空になるまで定義書を取得して処理します。
+     * <p>
+     * 定義書の解析で使用するコンテンツはワーカーの開始時に1度だけロードされ、ワーカーが処理する全ての定義書で共有されます。
+     *
+     * @param queueDirectory    作業キューのディレクトリ
+     * @param dtoResourceOption DTOリソースオプション
+     * @param options           オプション引数
+     * @return ワーカーが処理した全ての定義書の処理に成功した場合は {@code true} 、それ以外は {@code false}
+     */
+    private static boolean executeWorker(String queueDirectory, DtoResourceOption dtoResourceOption,
+            Map<String, String> options) {
+
+        dtoResourceOption.contentCache(DtoContentCache.from(dtoResourceOption).warmUp());
+
+        final Duration leaseTimeout = Duration
+                .ofSeconds(intOptionOrDefault(options, OptionName.LEASE_TIMEOUT, DEFAULT_LEASE_TIMEOUT_SECONDS));
+
+        return DtoQueueWorker.of(DtoWorkQueue.of(Paths.get(queueDirectory)), dtoResourceOption, leaseTimeout)
+                .execute();
+    }
+
+    /**
+     * 引数として指定されたディレクトリ配下の全ての定義書を一括処理します。
+     * <p>
+     * 定義書の解析で使用するコンテンツは一括処理の開始時に1度だけロードされ、全ての定義書で共有されます。<br>
+     * 処理が完了した定義書は解析を開始する直前に算出したハッシュ値とともにチェックポイントジャーナルへ記録され、再開モードでは記録が有効な定義書の処理を省略します。<br>
+     * 異なる定義書から同じ出力ファイルが生成された場合は、後から生成した定義書の処理を失敗とし、一括処理の終了時に衝突した定義書を出力します。<br>
+     * 子クラスを共有するモードでは、全ての定義書が1つの定義プールを使用します。<br>
+     * 進捗を出力するモードでは、一括処理の実行中に進捗と処理速度を一定の間隔で出力します。
+     *
+     * @param directoryPath     定義書を格納したディレクトリへのパス
+     * @param outputPath        出力先パス
+     * @param dtoResourceOption DTOリソースオプション
+     * @param dtoBatchOption    一括処理オプション
+     * @return 全ての定義書の処理に成功した場合は {@code true} 、それ以外は {@code false}
+     */
+    private static boolean executeBatch(String directoryPath, String outputPath, DtoResourceOption dtoResourceOption,
+            DtoBatchOption dtoBatchOption) {
+
+        dtoResourceOption.contentCache(DtoContentCache.from(dtoResourceOption).warmUp());
+
+        if (dtoBatchOption.isShareChildren()) {
+            dtoResourceOption.definitionInterner(DtoDefinitionInterner.of());
+        }
+
+        final Path checkpointFile = StringUtils.isBlank(dtoBatchOption.getCheckpointFile())
+                ? Paths.get(directoryPath, DEFAULT_CHECKPOINT_FILE)
+                : Paths.get(dtoBatchOption.getCheckpointFile());
+
+        final List<Path> workbooks = findWorkbooks(directoryPath);
+
+        final DtoOutputRegistry dtoOutputRegistry = DtoOutputRegistry.of();
+
+        try (DtoCheckpointJournal journal = DtoCheckpointJournal.open(checkpointFile, dtoBatchOption.isResume(),
+                outputPath, createCheckpointOptions(dtoResourceOption, dtoBatchOption))) {
+            final List<DtoGenerator> dtoGenerators = workbooks.stream().sorted()
+                    .filter(workbook -> !journal.isCompleted(workbook))
+                    .map(workbook -> DtoGenerator.from(DefinitionPath.of(workbook.toString(), outputPath),
+                            dtoResourceOption, dtoOutputRegistry))
+                    .collect(Collectors.toList());
+
+            logger.atInfo().log("一括処理の対象となる定義書の数 = (%s)、処理済みのため省略した定義書の数 = (%s)", dtoGenerators.size(),
+                    workbooks.size() - dtoGenerators.size());
+
+            final Map<String, String> workbookHashes = new ConcurrentHashMap<>();
+            final boolean succeeded;
+
+            final DtoProgressReporter dtoProgressReporter = dtoBatchOption.getProgressInterval() > 0
+                    ? DtoProgressReporter.start(dtoGenerators.size(),
+                            Duration.ofSeconds(dtoBatchOption.getProgressInterval()))
+                    : null;
+
+            try {
+                succeeded = DtoBatchPipeline.of(dtoBatchOption,
+                        dtoGenerator -> workbookHashes.put(dtoGenerator.getDefinitionFilePath(),
+                                DtoCheckpointJournal.hash(Paths.get(dtoGenerator.getDefinitionFilePath()))),
+                        dtoGenerator -> journal.record(Paths.get(dtoGenerator.getDefinitionFilePath()),
+                                workbookHashes.remove(dtoGenerator.getDefinitionFilePath()),
+                                dtoGenerator.getOutputFiles()))
+                        .execute(dtoGenerators);
+            } finally {
+                if (dtoProgressReporter != null) {
+                    dtoProgressReporter.close();
+                }
+            }
+
+            dtoOutputRegistry.getConflicts()
+                    .forEach(conflict -> logger.atSevere().log("出力ファイル = (%s)、定義書 = (%s, %s)",
+                            conflict.getOutputFile(), conflict.getRegisteredWorkbook(),
+                            conflict.getConflictingWorkbook()));
+
+            return succeeded;
+        }
+    }
+
+    /**
+     * チェックポイントジャーナルの記録を再利用できるか判定するため、生成結果に影響するオプションを表現した文字列を返却します。
+     * <p>
+     * 外部のコンテンツファイルを使用する場合は、ロードしたコンテンツの内容も含めます。<br>
+     * そのため、コンテンツファイルの項目名を変更して再開した場合は、処理済みの定義書も再生成します。
+     *
+     * @param dtoResourceOption DTOリソースオプション
+     * @param dtoBatchOption    一括処理オプション
+     * @return 生成結果に影響するオプションを表現した文字列
+     */
+    private static String createCheckpointOptions(DtoResourceOption dtoResourceOption,
+            DtoBatchOption dtoBatchOption) {
+        final String options = String.format("%s,contentDirectory=%s,shareChildren=%s",
+                dtoResourceOption.getParsingKey(), dtoResourceOption.getContentDirectory(),
+                dtoBatchOption.isShareChildren());
+
+        return dtoResourceOption.isContentDirectoryEnabled()
+                ? options + ",content=" + dtoResourceOption.getContentCache().getContentKey()
+                : options;
+    }
+
+    /**
+     * 引数として指定されたディレクトリ配下の定義書を探索し返却します。
+     * <p>
+     * Excelが編集中に作成する一時ファイルは探索結果に含みません。
+     *
+     * @param directoryPath 探索するディレクトリへのパス
+     * @return ディレクトリ配下の定義書のパスのリスト
+     *
+     * @throws UncheckedIOException ディレクトリの探索に失敗した場合
+     */
+    private static List<Path> findWorkbooks(String directoryPath) {
+        try (Stream<Path> paths = Files.walk(Paths.get(directoryPath))) {
+            return paths.filter(Files::isRegularFile).filter(path -> {
+                final String fileName = path.getFileName().toString();
+                return fileName.endsWith(WORKBOOK_EXTENSION) && !fileName.startsWith(WORKBOOK_LOCK_PREFIX);
+            }).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * オプション引数を基に一括処理オプションを生成し返却します。
+     *
+     * @param options オプション引数
+     * @return 一括処理オプション
+     */
+    private static DtoBatchOption createDtoBatchOption(Map<String, String> options) {
+
+        final DtoBatchOption dtoBatchOption = DtoBatchOption.of();
+        final long heapBudget = intOptionOrDefault(options, OptionName.HEAP_BUDGET, 0) * BYTES_PER_MEGABYTE;
+        final int defaultParseParallelism = heapBudget > 0 ? Runtime.getRuntime().availableProcessors()
+                : dtoBatchOption.getParseParallelism();
+
+        return dtoBatchOption
+                .parseParallelism(intOptionOrDefault(options, OptionName.PARSE_THREADS, defaultParseParallelism))
+                .formatParallelism(
+                        intOptionOrDefault(options, OptionName.FORMAT_THREADS, dtoBatchOption.getFormatParallelism()))
+                .writeParallelism(
+                        intOptionOrDefault(options, OptionName.WRITE_THREADS, dtoBatchOption.getWriteParallelism()))
+                .queueCapacity(
+                        intOptionOrDefault(options, OptionName.QUEUE_CAPACITY, dtoBatchOption.getQueueCapacity()))
+                .virtualThreads(Boolean.parseBoolean(options.get(OptionName.VIRTUAL_THREADS.getString())))
+                .heapBudget(heapBudget)
+                .checkpointFile(options.getOrDefault(OptionName.CHECKPOINT.getString(), StringUtils.EMPTY))
+                .resume(Boolean.parseBoolean(options.get(OptionName.RESUME.getString())))
+                .shareChildren(Boolean.parseBoolean(options.get(OptionName.SHARE_CHILDREN.getString())))
+                .progressInterval(Boolean.parseBoolean(options.get(OptionName.PROGRESS.getString()))
+                        ? intOptionOrDefault(options, OptionName.PROGRESS_INTERVAL, DEFAULT_PROGRESS_INTERVAL)
+                        : 0);
+    }
+
+    /**
+     * 指定されたオプション引数の値を数値として返却します。<br>
+     * 指定されたオプション引数が存在しない場合は {@code defaultValue} を返却します。
+     *
+     * @param options      オプション引数
+     * @param optionName   オプション名
+     * @param defaultValue オプション引数が存在しない場合の既定値
+     * @return オプション引数の値、または、オプション引数が存在しない場合は既定値
+     *
+     * @throws NumberFormatException オプション引数の値が数値ではない場合
+     */
+    private static int intOptionOrDefault(Map<String, String> options, OptionName optionName, int defaultValue) {
+        final String value = options.get(optionName.getString());
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * コマンドライン引数をオプション引数とそれ以外の引数に分割します。
+     * <p>
+     * {@code --name=value} 形式の引数はオプション引数として {@code options} へ格納されます。<br>
+     * 値を持たない {@code --name} 形式の引数は値を {@code true} として格納します。
+     *
+     * @param args    コマンドライン引数
+     * @param options オプション引数の格納先
+     * @return オプション引数を除いたコマンドライン引数
+     */
+    private static String[] parseArguments(String[] args, Map<String, String> options) {
+
+        final List<String> arguments = new ArrayList<>(args.length);
+
+        for (String arg : args) {
+            if (!arg.startsWith(OPTION_PREFIX)) {
+                arguments.add(arg);
+                continue;
+            }
+
+            final String option = arg.substring(OPTION_PREFIX.length());
+            final int delimiterIndex = option.indexOf(OPTION_DELIMITER);
+
+            if (delimiterIndex < 0) {
+                options.put(option, Boolean.TRUE.toString());
+            } else {
+                options.put(option.substring(0, delimiterIndex), option.substring(delimiterIndex + 1));
+            }
+        }
+
+        return arguments.toArray(new String[0]);
+    }
+
     /**
      * 指定されたインデックスと紐づく値が存在する場合はインデックスと紐づくコマンドライン引数の値を返却します。<br>
      * 指定されたインデックスと紐づく値が存在しない場合は必ず空文字列を返却します。
@@ -0,0 +1,468 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.thinkit.framework.content.Attribute;
+import org.thinkit.framework.content.Content;
+import org.thinkit.framework.content.annotation.ContentMapping;
+
+/**
+ * 外部ディレクトリに配置されたコンテンツファイルを読み込む処理を定義したクラスです。
+ * <p>
+ * コンテンツファイルは {@link ContentMapping#content()} に拡張子 {@code .json} を付与したパスで外部ディレクトリから解決されます。<br>
+ * 例えば {@code dto/DtoMetaItem} と紐づくコンテンツは {@code 外部ディレクトリ/dto/DtoMetaItem.json} から読み込みます。<br>
+ * コンテンツファイルの形式は同梱のコンテンツファイルと同じです。条件を持たないコンテンツのみを対象とし、全ての {@code selectionNodes} を読み込みます。<br>
+ * 空ではない {@code conditionId} を持つ選択ノード、または、空ではない {@code conditionNodes} を含むコンテンツファイルは不正な形式として扱います。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class DtoContentFile {
+
+    /**
+     * コンテンツファイルの拡張子
+     */
+    private static final String CONTENT_FILE_EXTENSION = ".json";
+
+    /**
+     * バイトオーダーマーク
+     */
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    /**
+     * 選択ノードの配列の名前
+     */
+    private static final String SELECTION_NODES = "selectionNodes";
+
+    /**
+     * 選択ノードの名前
+     */
+    private static final String NODE = "node";
+
+    /**
+     * 条件ノードの配列の名前
+     */
+    private static final String CONDITION_NODES = "conditionNodes";
+
+    /**
+     * 選択ノードに紐づく条件の名前
+     */
+    private static final String CONDITION_ID = "conditionId";
+
+    /**
+     * 解析対象のコンテンツファイルの内容
+     */
+    private final String json;
+
+    /**
+     * 解析中の位置
+     */
+    private int position;
+
+    /**
+     * コンストラクタ
+     * <p>
+     * 先頭にバイトオーダーマークが存在する場合は読み飛ばします。
+     *
+     * @param json 解析対象のコンテンツファイルの内容
+     */
+    private DtoContentFile(String json) {
+        this.json = json;
+        this.position = json.startsWith(BYTE_ORDER_MARK) ? BYTE_ORDER_MARK.length() : 0;
+    }
+
+    /**
+     * 引数として渡されたコンテンツクラスと紐づくコンテンツファイルのパスを外部ディレクトリから解決します。
+     *
+     * @param contentDirectory 外部ディレクトリ
+     * @param contentType      コンテンツクラス
+     * @return コンテンツファイルのパス
+     *
+     * @throws IllegalArgumentException コンテンツクラスに {@link ContentMapping} が付与されていない場合
+     */
+    public static Path resolve(Path contentDirectory, Class<?> contentType) {
+
+        final ContentMapping contentMapping = contentType.getAnnotation(ContentMapping.class);
+
+        if (contentMapping == null) {
+            throw new IllegalArgumentException(String.format(
+                    "wrong parameter was given. %s is not annotated with ContentMapping.", contentType.getName()));
+        }
+
+        return contentDirectory.resolve(contentMapping.content() + CONTENT_FILE_EXTENSION);
+    }
+
+    /**
+     * 外部ディレクトリに配置されたコンテンツファイルを読み込み、コンテンツ要素の名前と値の対応を選択ノードごとに返却します。
+     * <p>
+     * 外部ディレクトリが指定されていない場合、または、外部ディレクトリにコンテンツファイルが存在しない場合は {@code null} を返却します。<br>
+     * その場合は同梱のコンテンツファイルを {@link Content#loadContent(Class)} で読み込んでください。
+     *
+     * @param <R>              コンテンツのロード結果の型
+     * @param contentDirectory 外部ディレクトリ、または、外部ディレクトリを使用しない場合は {@code null}
+     * @param content          コンテンツクラスのインスタンス
+     * @return 選択ノードごとのコンテンツ要素の名前と値の対応、または、外部のコンテンツファイルが存在しない場合は {@code null}
+     *
+     * @throws UncheckedIOException     コンテンツファイルの読み込みに失敗した場合
+     * @throws IllegalArgumentException コンテンツファイルの形式が不正な場合
+     */
+    static <R> List<Map<String, String>> load(Path contentDirectory, Content<R> content) {
+
+        if (contentDirectory == null) {
+            return null;
+        }
+
+        final Path contentFile = resolve(contentDirectory, content.getClass());
+
+        if (!Files.isRegularFile(contentFile)) {
+            return null;
+        }
+
+        try {
+            final Map<String, Object> root = asMap(
+                    new DtoContentFile(Files.readString(contentFile, StandardCharsets.UTF_8)).parse());
+            final List<Map<String, String>> contents = new ArrayList<>();
+
+            if (root.containsKey(CONDITION_NODES) && !asList(root.get(CONDITION_NODES)).isEmpty()) {
+                throw new IllegalArgumentException("wrong parameter was given. Condition nodes are not supported.");
+            }
+
+            for (Object selectionNode : asList(root.get(SELECTION_NODES))) {
+                final Map<String, Object> node = asMap(asMap(selectionNode).get(NODE));
+                final Object conditionId = node.get(CONDITION_ID);
+
+                if (conditionId != null && !(conditionId instanceof String && ((String) conditionId).isEmpty())) {
+                    throw new IllegalArgumentException(String.format(
+                            "wrong parameter was given. Conditional node %s is not supported.", conditionId));
+                }
+
+                final Map<String, String> attributes = new HashMap<>();
+
+                for (Attribute attribute : content.getAttributes()) {
+                    final Object value = node.get(attribute.getString());
+
+                    if (!(value instanceof String)) {
+                        throw new IllegalArgumentException(String.format(
+                                "wrong parameter was given. Attribute %s was not found.", attribute.getString()));
+                    }
+
+                    attributes.put(attribute.getString(), (String) value);
+                }
+
+                contents.add(attributes);
+            }
+
+            return contents;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    String.format("wrong parameter was given. Content file %s is malformed.", contentFile), e);
+        }
+    }
+
+    /**
+     * 引数として渡された値をオブジェクトとして返却します。
+     *
+     * @param value 値
+     * @return オブジェクト
+     *
+     * @throws IllegalArgumentException 値がオブジェクトではない場合
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("wrong parameter was given. JSON object was expected.");
+        }
+
+        return (Map<String, Object>) value;
+    }
+
+    /**
+     * 引数として渡された値を配列として返却します。
+     *
+     * @param value 値
+     * @return 配列
+     *
+     * @throws IllegalArgumentException 値が配列ではない場合
+     */
+    private static List<?> asList(Object value) {
+
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException("wrong parameter was given. JSON array was expected.");
+        }
+
+        return (List<?>) value;
+    }
+
+    /**
+     * コンテンツファイルの内容をJSONとして解析します。
+     * <p>
+     * オブジェクトは {@link Map} 、配列は {@link List} 、文字列は {@link String} として返却します。<br>
+     * コンテンツファイルは文字列以外のスカラー値を使用しないため、数値、真偽値、{@code null} は文字列表現のまま返却します。
+     *
+     * @return 解析結果
+     *
+     * @throws IllegalArgumentException JSONの形式が不正な場合
+     */
+    private Object parse() {
+
+        final Object value = this.parseValue();
+        this.skipWhitespace();
+
+        if (this.position != this.json.length()) {
+            throw this.malformed();
+        }
+
+        return value;
+    }
+
+    /**
+     * 現在の位置の値を解析します。
+     *
+     * @return 解析結果
+     *
+     * @throws IllegalArgumentException JSONの形式が不正な場合
+     */
+    private Object parseValue() {
+
+        this.skipWhitespace();
+
+        if (this.position >= this.json.length()) {
+            throw this.malformed();
+        }
+
+        switch (this.json.charAt(this.position)) {
+            case '{':
+                return this.parseObject();
+            case '[':
+                return this.parseArray();
+            case '"':
+                return this.parseString();
+            default:
+                return this.parseScalar();
+        }
+    }
+
+    /**
+     * 現在の位置のオブジェクトを解析します。
+     *
+     * @return 解析結果
+     *
+     * @throws IllegalArgumentException JSONの形式が不正な場合
+     */
+    private Map<String, Object> parseObject() {
+
+        final Map<String, Object> object = new LinkedHashMap<>();
+        this.expect('{');
+
+        if (this.consume('}')) {
+            return object;
+        }
+
+        do {
+            this.skipWhitespace();
+            final String name = this.parseString();
+            this.expect(':');
+            object.put(name, this.parseValue());
+        } while (this.consume(','));
+
+        this.expect('}');
+        return object;
+    }
+
+    /**
+     * 現在の位置の配列を解析します。
+     *
+     * @return 解析結果
+     *
+     * @throws IllegalArgumentException JSONの形式が不正な場合
+     */
+    private List<Object> parseArray() {
+
+        final List<Object> array = new ArrayList<>();
+        this.expect('[');
+
+        if (this.consume(']')) {
+            return array;
+        }
+
+        do {
+            array.add(this.parseValue());
+        } while (this.consume(','));
+
+        this.expect(']');
+        return array;
+    }
+
+    /**
+     * 現在の位置の文字列を解析します。
+     *
+     * @return 解析結果
+     *
+     * @throws IllegalArgumentException JSONの形式が不正な場合
+     */
+    private String parseString() {
+
+        this.expect('"');
+        final StringBuilder sequence = new StringBuilder();
+
+        while (this.position < this.json.length()) {
+            final char character = this.json.charAt(this.position++);
+
+            if (character == '"') {
+                return sequence.toString();
+            }
+
+            if (character != '\\') {
+                sequence.append(character);
+                continue;
+            }
+
+            if (this.position >= this.json.length()) {
+                break;
+            }
+
+            final char escaped = this.json.charAt(this.position++);
+
+            switch (escaped) {
+                case '"':
+                case '\\':
+                case '/':
+                    sequence.append(escaped);
+                    break;
+                case 'b':
+                    sequence.append('\b');
+                    break;
+                case 'f':
+                    sequence.append('\f');
+                    break;
+                case 'n':
+                    sequence.append('\n');
+                    break;
+                case 'r':
+                    sequence.append('\r');
+                    break;
+                case 't':
+                    sequence.append('\t');
+                    break;
+                case 'u':
+                    if (this.position + 4 > this.json.length()) {
+                        throw this.malformed();
+                    }
+
+                    final String codeUnit = this.json.substring(this.position, this.position + 4);
+
+                    if (!codeUnit.chars().allMatch(digit -> Character.digit(digit, 16) >= 0)) {
+                        throw this.malformed();
+                    }
+
+                    sequence.append((char) Integer.parseInt(codeUnit, 16));
+
+                    this.position += 4;
+                    break;
+                default:
+                    throw this.malformed();
+            }
+        }
+
+        throw this.malformed();
+    }
+
+    /**
+     * 現在の位置の数値、真偽値、{@code null} を文字列表現のまま解析します。
+     *
+     * @return 解析結果
+     *
+     * @throws IllegalArgumentException JSONの形式が不正な場合
+     */
+    private String parseScalar() {
+
+        final int start = this.position;
+
+        while (this.position < this.json.length() && ",]} \t\r\n".indexOf(this.json.charAt(this.position)) < 0) {
+            this.position++;
+        }
+
+        if (start == this.position) {
+            throw this.malformed();
+        }
+
+        return this.json.substring(start, this.position);
+    }
+
+    /**
+     * 空白を読み飛ばした後の文字が指定された文字であることを検証し、次の位置へ進めます。
+     *
+     * @param expected 期待する文字
+     *
+     * @throws IllegalArgumentException 指定された文字ではない場合
+     */
+    private void expect(char expected) {
+        if (!this.consume(expected)) {
+            throw this.malformed();
+        }
+    }
+
+    /**
+     * 空白を読み飛ばした後の文字が指定された文字の場合は次の位置へ進めます。
+     *
+     * @param expected 期待する文字
+     * @return 指定された文字の場合は {@code true} 、それ以外は {@code false}
+     */
+    private boolean consume(char expected) {
+
+        this.skipWhitespace();
+
+        if (this.position < this.json.length() && this.json.charAt(this.position) == expected) {
+            this.position++;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * 空白を読み飛ばします。
+     */
+    private void skipWhitespace() {
+        while (this.position < this.json.length() && Character.isWhitespace(this.json.charAt(this.position))) {
+            this.position++;
+        }
+    }
+
+    /**
+     * 現在の位置でJSONの形式が不正であることを示す例外を生成します。
+     *
+     * @return JSONの形式が不正であることを示す例外
+     */
+    private IllegalArgumentException malformed() {
+        return new IllegalArgumentException(
+                String.format("wrong parameter was given. Malformed JSON at position %s.", this.position));
+    }
+}
@@ -14,6 +14,7 @@
 
 package org.thinkit.generator.content.dto;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +27,7 @@ import org.thinkit.generator.content.dto.entity.DtoCreatorItem;
 import org.thinkit.generator.content.dto.entity.DtoCreatorItemGroup;
 
 import lombok.EqualsAndHashCode;
+import lombok.NonNull;
 import lombok.ToString;
 
 /**
@@ -40,10 +42,29 @@ import lombok.ToString;
 @ContentMapping(content = "dto/DtoCreatorItem")
 public final class DtoCreatorItemLoader implements Content<DtoCreatorItemGroup> {
 
+    /**
+     * コンテンツファイルを配置した外部ディレクトリ
+     * <p>
+     * 同梱のコンテンツファイルを読み込む場合は {@code null} です。
+     */
+    private final Path contentDirectory;
+
     /**
      * デフォルトコンストラクタ
      */
     private DtoCreatorItemLoader() {
+        this.contentDirectory = null;
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param contentDirectory コンテンツファイルを配置した外部ディレクトリ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private DtoCreatorItemLoader(@NonNull Path contentDirectory) {
+        this.contentDirectory = contentDirectory;
     }
 
     /**
@@ -55,6 +76,22 @@ public final class DtoCreatorItemLoader implements Content<DtoCreatorItemGroup>
         return new DtoCreatorItemLoader();
     }
 
+    /**
+     * 引数として渡された外部ディレクトリからコンテンツファイルを読み込む {@link DtoCreatorItemLoader} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * 外部ディレクトリにコンテンツファイルが存在しない場合は同梱のコンテンツファイルを読み込みます。
+     *
+     * @param contentDirectory コンテンツファイルを配置した外部ディレクトリ
+     * @return {@link DtoCreatorItemLoader} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     *
+     * @see DtoContentFile
+     */
+    public static Content<DtoCreatorItemGroup> of(@NonNull Path contentDirectory) {
+        return new DtoCreatorItemLoader(contentDirectory);
+    }
+
     /**
      * コンテンツ要素定数
      */
@@ -72,7 +109,11 @@ public final class DtoCreatorItemLoader implements Content<DtoCreatorItemGroup>
 
         final DtoCreatorItemGroup dtoCreatorItemGroup = DtoCreatorItemGroup.of();
 
-        loadContent(this.getClass()).forEach(content -> {
+        final List<Map<String, String>> externalContents = DtoContentFile.load(this.contentDirectory, this);
+        final List<Map<String, String>> contents = externalContents != null ? externalContents
+                : loadContent(this.getClass());
+
+        contents.forEach(content -> {
             dtoCreatorItemGroup
                     .add(DtoCreatorItem.of(Integer.parseInt(content.get(ContentAttribute.セル項目コード.getString())),
                             content.get(ContentAttribute.セル項目名.getString())));
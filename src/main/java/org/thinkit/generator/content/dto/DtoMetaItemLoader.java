@@ -14,6 +14,7 @@
 
 package org.thinkit.generator.content.dto;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +27,7 @@ import org.thinkit.generator.content.dto.entity.DtoMetaItem;
 import org.thinkit.generator.content.dto.entity.DtoMetaItemGroup;
 
 import lombok.EqualsAndHashCode;
+import lombok.NonNull;
 import lombok.ToString;
 
 /**
@@ -40,10 +42,29 @@ import lombok.ToString;
 @ContentMapping(content = "dto/DtoMetaItem")
 public final class DtoMetaItemLoader implements Content<DtoMetaItemGroup> {
 
+    /**
+     * コンテンツファイルを配置した外部ディレクトリ
+     * <p>
+     * 同梱のコンテンツファイルを読み込む場合は {@code null} です。
+     */
+    private final Path contentDirectory;
+
     /**
      * デフォルトコンストラクタ
      */
     private DtoMetaItemLoader() {
+        this.contentDirectory = null;
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param contentDirectory コンテンツファイルを配置した外部ディレクトリ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private DtoMetaItemLoader(@NonNull Path contentDirectory) {
+        this.contentDirectory = contentDirectory;
     }
 
     /**
@@ -55,6 +76,22 @@ public final class DtoMetaItemLoader implements Content<DtoMetaItemGroup> {
         return new DtoMetaItemLoader();
     }
 
+    /**
+     * 引数として渡された外部ディレクトリからコンテンツファイルを読み込む {@link DtoMetaItemLoader} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * 外部ディレクトリにコンテンツファイルが存在しない場合は同梱のコンテンツファイルを読み込みます。
+     *
+     * @param contentDirectory コンテンツファイルを配置した外部ディレクトリ
+     * @return {@link DtoMetaItemLoader} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     *
+     * @see DtoContentFile
+     */
+    public static Content<DtoMetaItemGroup> of(@NonNull Path contentDirectory) {
+        return new DtoMetaItemLoader(contentDirectory);
+    }
+
     /**
      * コンテンツ要素定数
      */
@@ -72,7 +109,11 @@ public final class DtoMetaItemLoader implements Content<DtoMetaItemGroup> {
 
         final DtoMetaItemGroup dtoMetaItemGroup = DtoMetaItemGroup.of();
 
-        loadContent(this.getClass()).forEach(content -> {
+        final List<Map<String, String>> externalContents = DtoContentFile.load(this.contentDirectory, this);
+        final List<Map<String, String>> contents = externalContents != null ? externalContents
+                : loadContent(this.getClass());
+
+        contents.forEach(content -> {
             dtoMetaItemGroup.add(DtoMetaItem.of(Integer.parseInt(content.get(ContentAttribute.セル項目コード.getString())),
                     content.get(ContentAttribute.セル項目名.getString())));
         });
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.thinkit.framework.content.Content;
+import org.thinkit.framework.content.ContentInvoker;
+import org.thinkit.generator.content.dto.DtoContentFile;
+import org.thinkit.generator.content.dto.DtoCreatorItemLoader;
+import org.thinkit.generator.content.dto.DtoDefinitionItemLoader;
+import org.thinkit.generator.content.dto.DtoMetaItemLoader;
+import org.thinkit.generator.content.dto.entity.DtoCreatorItemGroup;
+import org.thinkit.generator.content.dto.entity.DtoDefinitionItemGroup;
+import org.thinkit.generator.content.dto.entity.DtoMetaItemGroup;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 定義書の解析で使用するコンテンツのロード結果を保持するキャッシュです。
+ * <p>
+ * コンテンツはロード元のクラスごとに1度だけロードされ、以降は同じインスタンスが返却されます。<br>
+ * 複数のスレッドから同時に参照することができます。返却されたコンテンツはキャッシュと共有されるため変更しないでください。
+ * <p>
+ * {@link DtoResourceOption} にキャッシュが設定されていない場合、コンテンツは解析の度にロードされます。
+ * <p>
+ * 外部ディレクトリを指定した場合、コンテンツは外部ディレクトリに配置されたコンテンツファイルから優先してロードされます。<br>
+ * この場合はコンテンツを参照する度にコンテンツファイルの更新日時とサイズのみを確認し、いずれかが変化した場合、
+ * または、コンテンツファイルが追加もしくは削除された場合に限りコンテンツを再ロードします。<br>
+ * そのため、常駐するプロセスを再起動することなくコンテンツファイルの変更を反映できます。
+ * 更新日時の精度の範囲内でサイズを変えずに書き換えられた場合は変更を検出できません。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DtoResourceOption#contentCache(DtoContentCache)
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class DtoContentCache {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * ロード結果を保持しないキャッシュ
+     */
+    private static final DtoContentCache UNCACHED = new DtoContentCache(false, null);
+
+    /**
+     * 同梱のコンテンツファイルからロードしたことを示すスタンプ
+     */
+    private static final ContentStamp BUNDLED = new ContentStamp(-1L, -1L);
+
+    /**
+     * ロード結果を保持するか否か
+     */
+    @ToString.Include
+    private final boolean caching;
+
+    /**
+     * コンテンツファイルを配置した外部ディレクトリ
+     * <p>
+     * 同梱のコンテンツファイルのみを使用する場合は {@code null} です。
+     */
+    @ToString.Include
+    private final Path contentDirectory;
+
+    /**
+     * ロード元のクラスとロード結果の対応
+     */
+    private final Map<Class<?>, CachedContent> contents;
+
+    /**
+     * コンストラクタ
+     *
+     * @param caching          ロード結果を保持する場合は {@code true} 、それ以外は {@code false}
+     * @param contentDirectory コンテンツファイルを配置した外部ディレクトリ
+     */
+    private DtoContentCache(boolean caching, Path contentDirectory) {
+        this.caching = caching;
+        this.contentDirectory = contentDirectory;
+        this.contents = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * ロード結果を保持する {@link DtoContentCache} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @return {@link DtoContentCache} クラスの新しいインスタンス
+     */
+    public static DtoContentCache of() {
+        return new DtoContentCache(true, null);
+    }
+
+    /**
+     * 引数として渡された外部ディレクトリのコンテンツファイルを優先してロードし、ロード結果を保持する {@link DtoContentCache}
+     * クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * 外部ディレクトリに存在しないコンテンツファイルは同梱のコンテンツファイルからロードします。
+     *
+     * @param contentDirectory コンテンツファイルを配置した外部ディレクトリ
+     * @return {@link DtoContentCache} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static DtoContentCache of(@NonNull Path contentDirectory) {
+        return new DtoContentCache(true, contentDirectory);
+    }
+
+    /**
+     * 引数として渡されたDTOリソースオプションに設定された外部ディレクトリを使用し、ロード結果を保持する {@link DtoContentCache}
+     * クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * 外部ディレクトリが設定されていない場合は同梱のコンテンツファイルのみを使用します。
+     *
+     * @param dtoResourceOption DTOリソースオプション
+     * @return {@link DtoContentCache} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static DtoContentCache from(@NonNull DtoResourceOption dtoResourceOption) {
+        return dtoResourceOption.isContentDirectoryEnabled()
+                ? of(Paths.get(dtoResourceOption.getContentDirectory()))
+                : of();
+    }
+
+    /**
+     * ロード結果を保持しないキャッシュを返却します。
+     *
+     * @return ロード結果を保持しないキャッシュ
+     */
+    static DtoContentCache uncached() {
+        return UNCACHED;
+    }
+
+    /**
+     * 引数として渡された外部ディレクトリのコンテンツファイルを優先してロードし、ロード結果を保持しないキャッシュを返却します。
+     *
+     * @param contentDirectory コンテンツファイルを配置した外部ディレクトリ
+     * @return ロード結果を保持しないキャッシュ
+     */
+    static DtoContentCache uncached(Path contentDirectory) {
+        return new DtoContentCache(false, contentDirectory);
+    }
+
+    /**
+     * 定義書の解析で使用する全てのコンテンツをロードし、キャッシュへ格納します。
+     *
+     * @return 自分自身のインスタンス
+     */
+    public DtoContentCache warmUp() {
+        this.getDtoMetaItemGroup();
+        this.getDtoCreatorItemGroup();
+        this.getDtoDefinitionItemGroup();
+
+        logger.atFine().log("コンテンツのキャッシュを初期化しました。(%s)", this.size());
+        return this;
+    }
+
+    /**
+     * キャッシュに格納されたコンテンツを全て破棄します。
+     */
+    public void clear() {
+        this.contents.clear();
+    }
+
+    /**
+     * キャッシュに格納されたコンテンツの数を返却します。
+     *
+     * @return キャッシュに格納されたコンテンツの数
+     */
+    @ToString.Include
+    public int size() {
+        return this.contents.size();
+    }
+
+    /**
+     * 定義書の解析で使用する全てのコンテンツのロード結果を表現した文字列を返却します。
+     * <p>
+     * コンテンツファイルの項目名を変更した場合は異なる文字列を返却するため、解析結果を再利用できるか判定するキーに使用できます。
+     *
+     * @return 全てのコンテンツのロード結果を表現した文字列
+     */
+    public String getContentKey() {
+        return new StringBuilder().append(this.getDtoMetaItemGroup()).append(this.getDtoCreatorItemGroup())
+                .append(this.getDtoDefinitionItemGroup()).toString();
+    }
+
+    /**
+     * コンテンツ「DTOメタ項目」のロード結果を返却します。
+     *
+     * @return DTOメタ項目グループ
+     */
+    DtoMetaItemGroup getDtoMetaItemGroup() {
+        return this.load(DtoMetaItemLoader.class, DtoMetaItemLoader::of, DtoMetaItemLoader::of);
+    }
+
+    /**
+     * コンテンツ「DTO作成者項目」のロード結果を返却します。
+     *
+     * @return DTO作成者項目グループ
+     */
+    DtoCreatorItemGroup getDtoCreatorItemGroup() {
+        return this.load(DtoCreatorItemLoader.class, DtoCreatorItemLoader::of, DtoCreatorItemLoader::of);
+    }
+
+    /**
+     * コンテンツ「DTO定義項目」のロード結果を返却します。
+     *
+     * @return DTO定義項目グループ
+     */
+    DtoDefinitionItemGroup getDtoDefinitionItemGroup() {
+        return this.load(DtoDefinitionItemLoader.class, DtoDefinitionItemLoader::of, DtoDefinitionItemLoader::of);
+    }
+
+    /**
+     * 指定されたコンテンツのロード結果を返却します。
+     * <p>
+     * ロード結果を保持しない場合は呼び出しの度にコンテンツをロードします。<br>
+     * ロード結果を保持する場合は、外部のコンテンツファイルの更新日時とサイズがロード時から変化していない限り保持したロード結果を返却します。
+     *
+     * @param <R>                   ロード結果の型
+     * @param contentType           ロード元のクラス
+     * @param bundledContentLoader  同梱のコンテンツファイルからロードするインスタンスを生成する処理
+     * @param externalContentLoader 外部ディレクトリからロードするインスタンスを生成する処理
+     * @return コンテンツのロード結果
+     */
+    @SuppressWarnings("unchecked")
+    private <R> R load(Class<? extends Content<R>> contentType, Supplier<Content<R>> bundledContentLoader,
+            Function<Path, Content<R>> externalContentLoader) {
+
+        final Supplier<Content<R>> contentLoader = this.contentDirectory == null ? bundledContentLoader
+                : () -> externalContentLoader.apply(this.contentDirectory);
+
+        if (!this.caching) {
+            return ContentInvoker.of(contentLoader.get()).invoke();
+        }
+
+        final ContentStamp contentStamp = this.stamp(contentType);
+        final CachedContent cachedContent = this.contents.get(contentType);
+
+        if (cachedContent != null && cachedContent.contentStamp.equals(contentStamp)) {
+            return (R) cachedContent.content;
+        }
+
+        return (R) this.contents.compute(contentType, (key, current) -> {
+            if (current != null && current.contentStamp.equals(contentStamp)) {
+                return current;
+            }
+
+            if (current != null) {
+                logger.atInfo().log("コンテンツファイルの変更を検出したため再ロードします。(%s)", contentType.getSimpleName());
+            }
+
+            return new CachedContent(contentStamp, ContentInvoker.of(contentLoader.get()).invoke());
+        }).content;
+    }
+
+    /**
+     * 指定されたコンテンツのロード元となるコンテンツファイルのスタンプを返却します。
+     * <p>
+     * 外部ディレクトリが指定されていない場合、または、外部ディレクトリにコンテンツファイルが存在しない場合は同梱のコンテンツファイルを示すスタンプを返却します。
+     *
+     * @param contentType ロード元のクラス
+     * @return コンテンツファイルのスタンプ
+     *
+     * @throws UncheckedIOException コンテンツファイルの属性の読み込みに失敗した場合
+     */
+    private ContentStamp stamp(Class<?> contentType) {
+
+        if (this.contentDirectory == null) {
+            return BUNDLED;
+        }
+
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(
+                    DtoContentFile.resolve(this.contentDirectory, contentType), BasicFileAttributes.class);
+            return new ContentStamp(attributes.lastModifiedTime().toMillis(), attributes.size());
+        } catch (NoSuchFileException e) {
+            return BUNDLED;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * コンテンツファイルの更新日時とサイズを保持するスタンプです。
+     */
+    @ToString
+    @EqualsAndHashCode
+    private static final class ContentStamp {
+
+        /**
+         * 更新日時（エポックミリ秒）
+         */
+        private final long lastModifiedMillis;
+
+        /**
+         * サイズ（バイト）
+         */
+        private final long size;
+
+        /**
+         * コンストラクタ
+         *
+         * @param lastModifiedMillis 更新日時（エポックミリ秒）
+         * @param size               サイズ（バイト）
+         */
+        private ContentStamp(long lastModifiedMillis, long size) {
+            this.lastModifiedMillis = lastModifiedMillis;
+            this.size = size;
+        }
+    }
+
+    /**
+     * コンテンツのロード結果とロード時のコンテンツファイルのスタンプを保持するクラスです。
+     */
+    private static final class CachedContent {
+
+        /**
+         * ロード時のコンテンツファイルのスタンプ
+         */
+        private final ContentStamp contentStamp;
+
+        /**
+         * ロード結果
+         */
+        private final Object content;
+
+        /**
+         * コンストラクタ
+         *
+         * @param contentStamp ロード時のコンテンツファイルのスタンプ
+         * @param content      ロード結果
+         */
+        private CachedContent(ContentStamp contentStamp, Object content) {
+            this.contentStamp = contentStamp;
+            this.content = content;
+        }
+    }
+}
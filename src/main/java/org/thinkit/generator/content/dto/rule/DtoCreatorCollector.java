@@ -22,11 +22,9 @@ import com.google.common.flogger.FluentLogger;
 import org.thinkit.common.catalog.Catalog;
 import org.thinkit.common.util.workbook.FluentSheet;
 import org.thinkit.common.util.workbook.Matrix;
-import org.thinkit.framework.content.ContentInvoker;
 import org.thinkit.framework.content.rule.Rule;
 import org.thinkit.generator.common.catalog.dto.DtoItem;
 import org.thinkit.generator.common.vo.dto.DtoCreator;
-import org.thinkit.generator.content.dto.DtoCreatorItemLoader;
 
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
@@ -53,6 +51,11 @@ final class DtoCreatorCollector implements Rule<DtoCreator> {
      */
     private FluentSheet sheet;
 
+    /**
+     * コンテンツのキャッシュ
+     */
+    private DtoContentCache dtoContentCache;
+
     /**
      * デフォルトコンストラクタ
      */
@@ -67,7 +70,20 @@ final class DtoCreatorCollector implements Rule<DtoCreator> {
      * @exception NullPointerException 引数として {@code null} が渡された場合
      */
     private DtoCreatorCollector(@NonNull FluentSheet sheet) {
+        this(sheet, DtoContentCache.uncached());
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param sheet           操作する対象のシートオブジェクト
+     * @param dtoContentCache コンテンツのキャッシュ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private DtoCreatorCollector(@NonNull FluentSheet sheet, @NonNull DtoContentCache dtoContentCache) {
         this.sheet = sheet;
+        this.dtoContentCache = dtoContentCache;
     }
 
     /**
@@ -84,6 +100,20 @@ final class DtoCreatorCollector implements Rule<DtoCreator> {
         return new DtoCreatorCollector(sheet);
     }
 
+    /**
+     * 引数として渡された情報を基に {@link DtoCreatorCollector} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param sheet           操作する対象のシートオブジェクト
+     * @param dtoContentCache コンテンツのキャッシュ
+     * @return {@link DtoCreatorCollector} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @see FluentSheet
+     */
+    public static Rule<DtoCreator> from(@NonNull FluentSheet sheet, @NonNull DtoContentCache dtoContentCache) {
+        return new DtoCreatorCollector(sheet, dtoContentCache);
+    }
+
     @Override
     public DtoCreator execute() {
 
@@ -103,7 +133,7 @@ final class DtoCreatorCollector implements Rule<DtoCreator> {
 
         final Map<DtoItem, String> dtoCreator = new EnumMap<>(DtoItem.class);
 
-        ContentInvoker.of(DtoCreatorItemLoader.of()).invoke().forEach(dtoCreatorItem -> {
+        this.dtoContentCache.getDtoCreatorItemGroup().forEach(dtoCreatorItem -> {
             final Matrix baseIndexes = sheet.findCellIndex(dtoCreatorItem.getCellItemName());
             final String sequence = sheet.getRegionSequence(baseIndexes.getColumn(), baseIndexes.getRow());
             dtoCreator.put(Catalog.getEnum(DtoItem.class, dtoCreatorItem.getCellItemCode()), sequence);
@@ -15,22 +15,26 @@
 package org.thinkit.generator.content.dto.rule;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import com.google.common.flogger.FluentLogger;
 
 import org.apache.commons.lang3.StringUtils;
 import org.thinkit.common.util.workbook.FluentSheet;
 import org.thinkit.common.util.workbook.Matrix;
-import org.thinkit.framework.content.ContentInvoker;
 import org.thinkit.framework.content.rule.Rule;
+import org.thinkit.framework.content.rule.RuleInvoker;
 import org.thinkit.generator.common.catalog.dto.DtoItem;
 import org.thinkit.generator.common.vo.dto.DtoDefinition;
 import org.thinkit.generator.common.vo.dto.DtoDefinitionGroup;
 import org.thinkit.generator.common.vo.dto.DtoField;
 import org.thinkit.generator.common.vo.dto.DtoFieldGroup;
-import org.thinkit.generator.content.dto.DtoDefinitionItemLoader;
 import org.thinkit.generator.content.dto.entity.DtoDefinitionItem;
 import org.thinkit.generator.content.dto.entity.DtoDefinitionItemGroup;
 
@@ -71,6 +75,32 @@ final class DtoDefinitionCollector implements Rule<DtoDefinitionGroup> {
      */
     private FluentSheet sheet;
 
+    /**
+     * DTOリソースオプション
+     */
+    private DtoResourceOption dtoResourceOption;
+
+    /**
+     * 最上位層のDTO定義が完成した時点で通知される消費者
+     * <p>
+     * ストリーミングモードでない場合は {@code null} です。
+     */
+    private Consumer<DtoDefinition> dtoDefinitionConsumer;
+
+    /**
+     * 構造が同一の子クラスを共有する定義プール
+     * <p>
+     * 定義プールが設定されていない場合、または、ストリーミングモードの場合は {@code null} です。
+     */
+    private DtoDefinitionInterner dtoDefinitionInterner;
+
+    /**
+     * 増分生成計画
+     * <p>
+     * 増分生成を行わない場合は {@code null} です。
+     */
+    private DtoRebuildPlan dtoRebuildPlan;
+
     /**
      * デフォルトコンストラクタ
      */
@@ -80,12 +110,46 @@ final class DtoDefinitionCollector implements Rule<DtoDefinitionGroup> {
     /**
      * コンストラクタ
      *
-     * @param sheet 操作する対象のシートオブジェクト
+     * @param sheet             操作する対象のシートオブジェクト
+     * @param dtoResourceOption DTOリソースオプション
      *
      * @exception NullPointerException 引数として {@code null} が渡された場合
      */
-    private DtoDefinitionCollector(@NonNull FluentSheet sheet) {
+    private DtoDefinitionCollector(@NonNull FluentSheet sheet, @NonNull DtoResourceOption dtoResourceOption) {
         this.sheet = sheet;
+        this.dtoResourceOption = dtoResourceOption;
+        this.dtoDefinitionInterner = dtoResourceOption.getDefinitionInterner();
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param sheet                 操作する対象のシートオブジェクト
+     * @param dtoResourceOption     DTOリソースオプション
+     * @param dtoDefinitionConsumer 最上位層のDTO定義が完成した時点で通知される消費者
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private DtoDefinitionCollector(@NonNull FluentSheet sheet, @NonNull DtoResourceOption dtoResourceOption,
+            @NonNull Consumer<DtoDefinition> dtoDefinitionConsumer) {
+        this(sheet, dtoResourceOption);
+        this.dtoDefinitionConsumer = dtoDefinitionConsumer;
+        this.dtoDefinitionInterner = null;
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param sheet             操作する対象のシートオブジェクト
+     * @param dtoResourceOption DTOリソースオプション
+     * @param dtoRebuildPlan    増分生成計画
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private DtoDefinitionCollector(@NonNull FluentSheet sheet, @NonNull DtoResourceOption dtoResourceOption,
+            @NonNull DtoRebuildPlan dtoRebuildPlan) {
+        this(sheet, dtoResourceOption);
+        this.dtoRebuildPlan = dtoRebuildPlan;
     }
 
     /**
@@ -99,7 +163,62 @@ final class DtoDefinitionCollector implements Rule<DtoDefinitionGroup> {
      * @see FluentSheet
      */
     public static Rule<DtoDefinitionGroup> from(@NonNull FluentSheet sheet) {
-        return new DtoDefinitionCollector(sheet);
+        return new DtoDefinitionCollector(sheet, DtoResourceOption.of());
+    }
+
+    /**
+     * 引数として渡された情報を基に {@link DtoDefinitionCollector} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param sheet             操作する対象のシートオブジェクト
+     * @param dtoResourceOption DTOリソースオプション
+     * @return {@link DtoDefinitionCollector} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @see FluentSheet
+     */
+    public static Rule<DtoDefinitionGroup> from(@NonNull FluentSheet sheet,
+            @NonNull DtoResourceOption dtoResourceOption) {
+        return new DtoDefinitionCollector(sheet, dtoResourceOption);
+    }
+
+    /**
+     * 引数として渡された情報を基にストリーミングモードで動作する {@link DtoDefinitionCollector}
+     * クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * ストリーミングモードでは最上位層のDTO定義が完成する度に {@code dtoDefinitionConsumer} へ通知し、
+     * 通知したDTO定義は戻り値のDTO定義グループに保持しません。<br>
+     * そのため、処理中に保持されるDTO定義は最大でも最上位層のクラス1件分になります。
+     *
+     * @param sheet                 操作する対象のシートオブジェクト
+     * @param dtoResourceOption     DTOリソースオプション
+     * @param dtoDefinitionConsumer 最上位層のDTO定義が完成した時点で通知される消費者
+     * @return {@link DtoDefinitionCollector} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @see FluentSheet
+     */
+    public static Rule<DtoDefinitionGroup> from(@NonNull FluentSheet sheet,
+            @NonNull DtoResourceOption dtoResourceOption, @NonNull Consumer<DtoDefinition> dtoDefinitionConsumer) {
+        return new DtoDefinitionCollector(sheet, dtoResourceOption, dtoDefinitionConsumer);
+    }
+
+    /**
+     * 引数として渡された情報を基に増分生成を行う {@link DtoDefinitionCollector} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * 増分生成ではレコードを最上位層のクラス定義の境界で分割し、増分生成計画が再利用できると判定した部分木のDTO定義を生成しません。<br>
+     * 全ての部分木が再利用された場合は空のDTO定義グループを返却します。
+     *
+     * @param sheet             操作する対象のシートオブジェクト
+     * @param dtoResourceOption DTOリソースオプション
+     * @param dtoRebuildPlan    増分生成計画
+     * @return {@link DtoDefinitionCollector} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @see FluentSheet
+     */
+    public static Rule<DtoDefinitionGroup> from(@NonNull FluentSheet sheet,
+            @NonNull DtoResourceOption dtoResourceOption, @NonNull DtoRebuildPlan dtoRebuildPlan) {
+        return new DtoDefinitionCollector(sheet, dtoResourceOption, dtoRebuildPlan);
     }
 
     @Override
@@ -107,7 +226,11 @@ final class DtoDefinitionCollector implements Rule<DtoDefinitionGroup> {
 
         final DtoDefinitionGroup dtoDefinitionGroup = this.getDtoDefinitionList(this.sheet);
 
-        if (dtoDefinitionGroup.isEmpty()) {
+        if (this.dtoDefinitionConsumer != null) {
+            return dtoDefinitionGroup;
+        }
+
+        if (dtoDefinitionGroup.isEmpty() && (this.dtoRebuildPlan == null || !this.dtoRebuildPlan.hasReused())) {
             logger.atSevere().log("DTO定義グループを取得できませんでした。");
             return null;
         }
@@ -117,6 +240,8 @@ final class DtoDefinitionCollector implements Rule<DtoDefinitionGroup> {
 
     /**
      * Excelに定義されたマトリクステーブルからDTO定義情報群を取得し返却します。
+     * <p>
+     * 解析した行数は進捗の表示のため {@link DtoRunMetrics} へ集計します。
      *
      * @param sheet Sheetオブジェクト
      * @return DTO定義情報群
@@ -125,26 +250,161 @@ final class DtoDefinitionCollector implements Rule<DtoDefinitionGroup> {
      */
     private DtoDefinitionGroup getDtoDefinitionList(@NonNull FluentSheet sheet) {
 
-        final DtoDefinitionItemGroup dtoDefinitionItemGroup = ContentInvoker.of(DtoDefinitionItemLoader.of()).invoke();
+        final DtoDefinitionItemGroup dtoDefinitionItemGroup = this.dtoResourceOption.getContentCache()
+                .getDtoDefinitionItemGroup();
 
         final String baseCellItem = this.getItemName(dtoDefinitionItemGroup, DtoItem.LOGICAL_DELETE);
         final Matrix baseIndexes = sheet.findCellIndex(baseCellItem);
 
-        final List<Map<String, String>> matrixList = sheet.getMatrixList(baseIndexes.getColumn(), baseIndexes.getRow());
+        final List<String> cellItemNames = dtoDefinitionItemGroup.stream().map(DtoDefinitionItem::getCellItemName)
+                .collect(Collectors.toList());
+
+        final DtoStringPool dtoStringPool = DtoStringPool.of();
+        final List<Map<String, String>> matrixList = RuleInvoker.of(DtoMatrixListExtractor.from(sheet,
+                baseIndexes.getColumn(), baseIndexes.getRow(), cellItemNames,
+                this.dtoResourceOption.getTableEndBlankRows(), this.dtoResourceOption.getTableEndMarker(),
+                dtoStringPool)).invoke();
         logger.atFinest().log("マトリクスリスト = (%s)", matrixList);
 
+        DtoRunMetrics.addDeduplication(dtoStringPool);
+        logger.atFine().log("文字列プール = (%s)、プール登録数 = (%s)", dtoStringPool, dtoStringPool.size());
+
         final DtoDefinitionGroup dtoDefinitionGroup = DtoDefinitionGroup.of();
 
-        this.craeteDtoDefinitionRecursively(RecursiveRequiredParameters.of(matrixList, dtoDefinitionItemGroup,
-                dtoDefinitionGroup, RECURSIVE_START_INDEX, RECURSIVE_BASE_LAYER));
+        if (this.dtoRebuildPlan != null) {
+            this.createDtoDefinitionIncrementally(matrixList, cellItemNames, dtoDefinitionItemGroup,
+                    dtoDefinitionGroup);
+        } else if (this.dtoResourceOption.isParallelCollecting() && this.dtoDefinitionConsumer == null) {
+            this.createDtoDefinitionInParallel(matrixList, dtoDefinitionItemGroup, dtoDefinitionGroup);
+        } else {
+            this.craeteDtoDefinitionRecursively(RecursiveRequiredParameters.of(matrixList, dtoDefinitionItemGroup,
+                    dtoDefinitionGroup, RECURSIVE_START_INDEX, RECURSIVE_BASE_LAYER));
+        }
+
+        DtoRunMetrics.addCollectedRows(matrixList.size());
 
+        logger.atFine().log("定義プール = (%s)", this.dtoDefinitionInterner);
         logger.atFinest().log("DTO定義グループ = (%s)", dtoDefinitionGroup);
         return dtoDefinitionGroup;
     }
 
+    /**
+     * 引数として指定されたマトリクスリストを最上位層のクラス定義の境界で分割し、分割した部分木ごとに並列でDTO定義情報を生成します。
+     * <p>
+     * 最上位層のクラス定義はそれぞれ独立しているため、部分木ごとの生成結果は逐次処理の結果と同じです。<br>
+     * 生成したDTO定義情報はマトリクスリストに定義された順序で {@code dtoDefinitionGroup} へ追加されます。
+     *
+     * @param matrixList             マトリクスリスト
+     * @param dtoDefinitionItemGroup DTO定義項目グループ
+     * @param dtoDefinitionGroup     生成したDTO定義情報の格納先
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private void createDtoDefinitionInParallel(@NonNull List<Map<String, String>> matrixList,
+            @NonNull DtoDefinitionItemGroup dtoDefinitionItemGroup, @NonNull DtoDefinitionGroup dtoDefinitionGroup) {
+
+        final List<List<Map<String, String>>> subtrees = this.splitByTopLevel(matrixList, dtoDefinitionItemGroup);
+        logger.atFine().log("並列処理する部分木の数 = (%s)", subtrees.size());
+
+        final List<DtoDefinitionGroup> subtreeDefinitionGroups = ForkJoinPool.commonPool()
+                .invoke(new SubtreeTask(subtrees, dtoDefinitionItemGroup, 0, subtrees.size()));
+
+        subtreeDefinitionGroups
+                .forEach(subtreeDefinitionGroup -> subtreeDefinitionGroup.forEach(dtoDefinitionGroup::add));
+    }
+
+    /**
+     * 引数として指定されたマトリクスリストを最上位層のクラス定義の境界で分割し、前回から変更された部分木のみDTO定義情報を生成します。
+     * <p>
+     * 部分木ごとにレコードの内容からハッシュ値を算出し、増分生成計画が再利用できると判定した部分木は生成を省略します。<br>
+     * 並列モードが有効な場合、変更された部分木は {@link ForkJoinPool} 上で並列に生成されます。<br>
+     * 生成したDTO定義情報はマトリクスリストに定義された順序で {@code dtoDefinitionGroup} へ追加されます。
+     *
+     * @param matrixList             マトリクスリスト
+     * @param cellItemNames          定義表の項目名
+     * @param dtoDefinitionItemGroup DTO定義項目グループ
+     * @param dtoDefinitionGroup     生成したDTO定義情報の格納先
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private void createDtoDefinitionIncrementally(@NonNull List<Map<String, String>> matrixList,
+            @NonNull List<String> cellItemNames, @NonNull DtoDefinitionItemGroup dtoDefinitionItemGroup,
+            @NonNull DtoDefinitionGroup dtoDefinitionGroup) {
+
+        final List<List<Map<String, String>>> changedSubtrees = new ArrayList<>();
+        final List<String> changedSubtreeHashes = new ArrayList<>();
+
+        for (List<Map<String, String>> subtree : this.splitByTopLevel(matrixList, dtoDefinitionItemGroup)) {
+            final String subtreeHash = DtoRebuildPlan.hash(subtree, cellItemNames);
+
+            if (!this.dtoRebuildPlan.reuse(subtreeHash)) {
+                changedSubtrees.add(subtree);
+                changedSubtreeHashes.add(subtreeHash);
+            }
+        }
+
+        logger.atFine().log("再生成する部分木の数 = (%s)", changedSubtrees.size());
+
+        final List<DtoDefinitionGroup> subtreeDefinitionGroups = this.dtoResourceOption.isParallelCollecting()
+                ? ForkJoinPool.commonPool()
+                        .invoke(new SubtreeTask(changedSubtrees, dtoDefinitionItemGroup, 0, changedSubtrees.size()))
+                : new SubtreeTask(changedSubtrees, dtoDefinitionItemGroup, 0, changedSubtrees.size())
+                        .computeSequentially();
+
+        for (int i = 0, size = subtreeDefinitionGroups.size(); i < size; i++) {
+            this.dtoRebuildPlan.rebuild(changedSubtreeHashes.get(i), subtreeDefinitionGroups.get(i));
+            subtreeDefinitionGroups.get(i).forEach(dtoDefinitionGroup::add);
+        }
+    }
+
+    /**
+     * 引数として指定されたマトリクスリストを論理削除されていない最上位層のレコードの位置で分割します。
+     * <p>
+     * 最初の最上位層のレコードより前にレコードが存在する場合は、逐次処理と同じ検証が行われるように1つの部分木として分割結果に含めます。
+     *
+     * @param matrixList             マトリクスリスト
+     * @param dtoDefinitionItemGroup DTO定義項目グループ
+     * @return 最上位層のクラス定義ごとに分割したマトリクスリスト
+     */
+    private List<List<Map<String, String>>> splitByTopLevel(final List<Map<String, String>> matrixList,
+            final DtoDefinitionItemGroup dtoDefinitionItemGroup) {
+
+        final String logicalDeleteItemName = this.getItemName(dtoDefinitionItemGroup, DtoItem.LOGICAL_DELETE);
+        final String layerItemName = this.getItemName(dtoDefinitionItemGroup, DtoItem.LAYER);
+
+        final List<List<Map<String, String>>> subtrees = new ArrayList<>();
+        int subtreeStartIndex = 0;
+
+        for (int i = 0, size = matrixList.size(); i < size; i++) {
+            final Map<String, String> record = matrixList.get(i);
+
+            if (this.convertStringToBoolean(record.get(logicalDeleteItemName))) {
+                continue;
+            }
+
+            if (Integer.parseInt(record.get(layerItemName)) != RECURSIVE_BASE_LAYER - 1) {
+                continue;
+            }
+
+            if (subtreeStartIndex < i) {
+                subtrees.add(matrixList.subList(subtreeStartIndex, i));
+            }
+
+            subtreeStartIndex = i;
+        }
+
+        if (subtreeStartIndex < matrixList.size()) {
+            subtrees.add(matrixList.subList(subtreeStartIndex, matrixList.size()));
+        }
+
+        return subtrees;
+    }
+
     /**
      * 引数として指定されたマトリクスリストから再帰的にDTO定義情報群を生成します。<br>
      * 再帰処理は各レコードが子クラスを持っている場合に実行されます。
+     * <p>
+     * 生成した子クラスのDTO定義グループは定義プールで正規化され、構造が同一の子クラスが既に生成されている場合はそのインスタンスを共有します。
      *
      * @param recursiveRequiredParameters 再帰処理時に必須となる情報を格納したデータクラス
      * @return 子クラスを生成する際に使用したレコード数
@@ -167,6 +427,9 @@ final class DtoDefinitionCollector implements Rule<DtoDefinitionGroup> {
         DtoDefinition parentDtoDefinition = new DtoDefinition();
         DtoFieldGroup dtoFieldGroup = DtoFieldGroup.of();
 
+        final boolean streaming = this.dtoDefinitionConsumer != null && baseItemLayer == RECURSIVE_BASE_LAYER;
+        DtoDefinition streamingDtoDefinition = null;
+
         int recordCounter = 0;
         for (int i = startIndex, size = matrixList.size(); i < size; i++) {
             final Map<String, String> record = matrixList.get(i);
@@ -191,11 +454,20 @@ final class DtoDefinitionCollector implements Rule<DtoDefinitionGroup> {
             }
 
             if (layer == baseItemLayer - 1 && layer % 2 == 0) {
+                if (streaming) {
+                    this.streamDtoDefinition(streamingDtoDefinition);
+                }
+
                 parentDtoDefinition = new DtoDefinition();
                 dtoFieldGroup = DtoFieldGroup.of();
 
                 parentDtoDefinition.setDtoFieldGroup(dtoFieldGroup);
-                dtoDefinitionGroup.add(parentDtoDefinition);
+
+                if (streaming) {
+                    streamingDtoDefinition = parentDtoDefinition;
+                } else {
+                    dtoDefinitionGroup.add(parentDtoDefinition);
+                }
 
                 this.createDtoDefinition(dtoDefinitionItemGroup, record, parentDtoDefinition);
             } else {
@@ -206,7 +478,10 @@ final class DtoDefinitionCollector implements Rule<DtoDefinitionGroup> {
                     final int skipCounter = this.craeteDtoDefinitionRecursively(RecursiveRequiredParameters
                             .of(matrixList, dtoDefinitionItemGroup, childDtoDefinitionGroup, i, baseItemLayer + 2));
 
-                    dtoFieldGroup.get(dtoFieldGroup.size() - 1).setChildDtoDefinitionGroup(childDtoDefinitionGroup);
+                    dtoFieldGroup.get(dtoFieldGroup.size() - 1)
+                            .setChildDtoDefinitionGroup(this.dtoDefinitionInterner != null
+                                    ? this.dtoDefinitionInterner.intern(childDtoDefinitionGroup)
+                                    : childDtoDefinitionGroup);
 
                     logger.atFinest().log("レコード番号 = (%s)", i);
                     logger.atFinest().log("スキップ数 = (%s)", skipCounter);
@@ -219,10 +494,31 @@ final class DtoDefinitionCollector implements Rule<DtoDefinitionGroup> {
             recordCounter++;
         }
 
+        if (streaming) {
+            this.streamDtoDefinition(streamingDtoDefinition);
+        }
+
         logger.atFinest().log("DTO定義グループ（途中経過） = (%s)", dtoDefinitionGroup);
         return recordCounter;
     }
 
+    /**
+     * 完成した最上位層のDTO定義を消費者へ通知します。
+     * <p>
+     * 引数として {@code null} が渡された場合は何もしません。
+     *
+     * @param dtoDefinition 完成した最上位層のDTO定義
+     */
+    private void streamDtoDefinition(final DtoDefinition dtoDefinition) {
+
+        if (dtoDefinition == null) {
+            return;
+        }
+
+        logger.atFinest().log("完成したDTO定義を通知します。(%s)", dtoDefinition.getClassName());
+        this.dtoDefinitionConsumer.accept(dtoDefinition);
+    }
+
     /**
      * マトリクスから取得したレコードを基にDTO定義情報を生成します。
      *
@@ -300,6 +596,100 @@ final class DtoDefinitionCollector implements Rule<DtoDefinitionGroup> {
                 .map(DtoDefinitionItem::getCellItemName).findFirst().orElse(StringUtils.EMPTY);
     }
 
+    /**
+     * 最上位層のクラス定義ごとに分割された部分木からDTO定義情報を生成する分割統治タスクです。
+     * <p>
+     * 担当する部分木の範囲が1件になるまで二分し、分割したタスクを {@link ForkJoinPool} 上で並列に実行します。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private final class SubtreeTask extends RecursiveTask<List<DtoDefinitionGroup>> {
+
+        /**
+         * シリアルバージョンUID
+         */
+        private static final long serialVersionUID = -1946370361834513617L;
+
+        /**
+         * 最上位層のクラス定義ごとに分割されたマトリクスリスト
+         */
+        private final List<List<Map<String, String>>> subtrees;
+
+        /**
+         * DTO定義項目グループ
+         */
+        private final DtoDefinitionItemGroup dtoDefinitionItemGroup;
+
+        /**
+         * 担当する範囲の開始位置（この位置を含む）
+         */
+        private final int fromIndex;
+
+        /**
+         * 担当する範囲の終了位置（この位置を含まない）
+         */
+        private final int toIndex;
+
+        /**
+         * コンストラクタ
+         *
+         * @param subtrees               最上位層のクラス定義ごとに分割されたマトリクスリスト
+         * @param dtoDefinitionItemGroup DTO定義項目グループ
+         * @param fromIndex              担当する範囲の開始位置（この位置を含む）
+         * @param toIndex                担当する範囲の終了位置（この位置を含まない）
+         */
+        private SubtreeTask(List<List<Map<String, String>>> subtrees, DtoDefinitionItemGroup dtoDefinitionItemGroup,
+                int fromIndex, int toIndex) {
+            this.subtrees = subtrees;
+            this.dtoDefinitionItemGroup = dtoDefinitionItemGroup;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        @Override
+        protected List<DtoDefinitionGroup> compute() {
+
+            if (this.toIndex - this.fromIndex <= 1) {
+                return this.computeSequentially();
+            }
+
+            final int middleIndex = (this.fromIndex + this.toIndex) >>> 1;
+            final SubtreeTask leftTask = new SubtreeTask(this.subtrees, this.dtoDefinitionItemGroup, this.fromIndex,
+                    middleIndex);
+            final SubtreeTask rightTask = new SubtreeTask(this.subtrees, this.dtoDefinitionItemGroup, middleIndex,
+                    this.toIndex);
+
+            leftTask.fork();
+            final List<DtoDefinitionGroup> rightResult = rightTask.compute();
+            final List<DtoDefinitionGroup> subtreeDefinitionGroups = new ArrayList<>(leftTask.join());
+            subtreeDefinitionGroups.addAll(rightResult);
+
+            return subtreeDefinitionGroups;
+        }
+
+        /**
+         * 担当する範囲の部分木からDTO定義情報を呼び出し元のスレッドで順に生成します。
+         *
+         * @return 部分木ごとに生成したDTO定義グループのリスト
+         */
+        private List<DtoDefinitionGroup> computeSequentially() {
+
+            final List<DtoDefinitionGroup> subtreeDefinitionGroups = new ArrayList<>(this.toIndex - this.fromIndex);
+
+            for (int i = this.fromIndex; i < this.toIndex; i++) {
+                final DtoDefinitionGroup subtreeDefinitionGroup = DtoDefinitionGroup.of();
+                craeteDtoDefinitionRecursively(RecursiveRequiredParameters.of(this.subtrees.get(i),
+                        this.dtoDefinitionItemGroup, subtreeDefinitionGroup, RECURSIVE_START_INDEX,
+                        RECURSIVE_BASE_LAYER));
+                subtreeDefinitionGroups.add(subtreeDefinitionGroup);
+            }
+
+            return subtreeDefinitionGroups;
+        }
+    }
+
     /**
      * DTO定義情報を取得する際の再帰処理で必要となるパラメータ情報を管理するデータクラスです。
      *
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.thinkit.generator.common.command.dto.DtoResourceFormatter;
+import org.thinkit.generator.common.vo.dto.DtoDefinition;
+import org.thinkit.generator.common.vo.dto.DtoDefinitionGroup;
+import org.thinkit.generator.common.vo.dto.DtoField;
+import org.thinkit.generator.common.vo.dto.DtoFieldGroup;
+import org.thinkit.generator.common.vo.dto.DtoMatrix;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 定義プールで共有された子クラスのDTO定義グループが1度だけ整形されるように、整形用のDTOマトリクスを生成する処理を定義したクラスです。
+ * <p>
+ * {@link DtoResourceFormatter} は子クラスのDTO定義グループが空でないフィールドを見つける度に子クラスのリソースを生成します。<br>
+ * 親クラスのリソースは子クラスのDTO定義グループの内容に依存しないため、このクラスは2回目以降に出現した共有済みの子クラスを空のDTO定義グループへ置き換えた複製を生成します。<br>
+ * 複製の生成は元のDTOマトリクスを変更しないため、キャッシュされたDTOマトリクスや定義書を跨いで共有された子クラスにも適用できます。
+ * <p>
+ * 整形済みの子クラスは {@link #deduplicate(DtoMatrix)} の呼び出しを跨いで記録されます。<br>
+ * そのため、最上位層のクラス定義ごとに整形する場合でも同じインスタンスを使用することで、子クラスは最初に出現した位置で1度だけ整形されます。
+ * <p>
+ * このクラスのメソッドは複数のスレッドから同時に呼び出すことはできません。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DtoDefinitionInterner
+ */
+@ToString(onlyExplicitlyIncluded = true)
+final class DtoDefinitionDeduplicator {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 整形済みの子クラスのDTO定義グループ
+     */
+    private final Set<DtoDefinitionGroup> formattedGroups;
+
+    /**
+     * 整形を省略した子クラスのDTO定義グループの数
+     */
+    @ToString.Include
+    private int omittedCount;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoDefinitionDeduplicator() {
+        this.formattedGroups = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * {@link DtoDefinitionDeduplicator} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @return {@link DtoDefinitionDeduplicator} クラスの新しいインスタンス
+     */
+    static DtoDefinitionDeduplicator of() {
+        return new DtoDefinitionDeduplicator();
+    }
+
+    /**
+     * 引数として渡されたDTOマトリクスから、整形済みの子クラスを空のDTO定義グループへ置き換えた整形用のDTOマトリクスを生成し返却します。
+     * <p>
+     * 置き換える子クラスが存在しない場合、または、DTO定義グループが存在しない場合は引数として渡されたDTOマトリクスをそのまま返却します。
+     *
+     * @param dtoMatrix DTOマトリクス
+     * @return 整形用のDTOマトリクス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    DtoMatrix deduplicate(@NonNull DtoMatrix dtoMatrix) {
+
+        if (dtoMatrix.getDtoDefinitionGroup() == null) {
+            return dtoMatrix;
+        }
+
+        final int omittedCount = this.omittedCount;
+        final DtoDefinitionGroup dtoDefinitionGroup = this.copyDtoDefinitionGroup(dtoMatrix.getDtoDefinitionGroup());
+
+        if (omittedCount == this.omittedCount) {
+            return dtoMatrix;
+        }
+
+        logger.atFine().log("整形を省略した子クラスの数 = (%s)", this.omittedCount - omittedCount);
+        return DtoMatrix.of(dtoMatrix.getDtoMeta(), dtoMatrix.getDtoCreator(), dtoDefinitionGroup);
+    }
+
+    /**
+     * 引数として渡されたDTO定義グループを複製し、整形済みの子クラスを空のDTO定義グループへ置き換えます。
+     *
+     * @param dtoDefinitionGroup 複製するDTO定義グループ
+     * @return 複製したDTO定義グループ
+     */
+    private DtoDefinitionGroup copyDtoDefinitionGroup(DtoDefinitionGroup dtoDefinitionGroup) {
+
+        final DtoDefinitionGroup copiedDtoDefinitionGroup = DtoDefinitionGroup.of();
+
+        for (DtoDefinition dtoDefinition : dtoDefinitionGroup) {
+            final DtoDefinition copiedDtoDefinition = new DtoDefinition();
+            copiedDtoDefinition.setClassName(dtoDefinition.getClassName());
+            copiedDtoDefinition.setDescription(dtoDefinition.getDescription());
+            copiedDtoDefinition.setDtoFieldGroup(this.copyDtoFieldGroup(dtoDefinition.getDtoFieldGroup()));
+
+            copiedDtoDefinitionGroup.add(copiedDtoDefinition);
+        }
+
+        return copiedDtoDefinitionGroup;
+    }
+
+    /**
+     * 引数として渡されたDTOフィールドグループを複製し、整形済みの子クラスを空のDTO定義グループへ置き換えます。
+     *
+     * @param dtoFieldGroup 複製するDTOフィールドグループ
+     * @return 複製したDTOフィールドグループ
+     */
+    private DtoFieldGroup copyDtoFieldGroup(DtoFieldGroup dtoFieldGroup) {
+
+        final DtoFieldGroup copiedDtoFieldGroup = DtoFieldGroup.of();
+
+        for (DtoField dtoField : dtoFieldGroup) {
+            final DtoField copiedDtoField = DtoField.of(dtoField.getVariableName(), dtoField.getDataType(),
+                    dtoField.getInitialValue(), dtoField.isInvariant(), dtoField.getDescription());
+            final DtoDefinitionGroup childDtoDefinitionGroup = dtoField.getChildDtoDefinitionGroup();
+
+            if (!childDtoDefinitionGroup.isEmpty()) {
+                if (this.formattedGroups.add(childDtoDefinitionGroup)) {
+                    copiedDtoField.setChildDtoDefinitionGroup(this.copyDtoDefinitionGroup(childDtoDefinitionGroup));
+                } else {
+                    this.omittedCount++;
+                }
+            }
+
+            copiedDtoFieldGroup.add(copiedDtoField);
+        }
+
+        return copiedDtoFieldGroup;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.thinkit.generator.common.vo.dto.DtoDefinitionGroup;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 構造が同一の子クラスのDTO定義グループを正規化し、1つのインスタンスで共有するための定義プールです。
+ * <p>
+ * 住所や監査情報のように同じ構造の子クラスが多数の親クラスに定義されている場合、子クラスのDTO定義グループは出現する度に生成されます。<br>
+ * このプールを通すことで、クラス名、説明、フィールド、孫クラスを含めて構造が同一の子クラスは最初に出現したインスタンスを共有するようになります。<br>
+ * 共有されたインスタンスは {@link DtoResourceFacade} がリソースを生成する際に1度だけ整形されます。
+ * <p>
+ * {@link DtoResourceOption} にプールが設定されていない場合、またはストリーミングモードで解析する場合、子クラスは共有されません。<br>
+ * 同じプールを設定したオプションで解析される定義書は、定義書を跨いで子クラスのインスタンスを共有します。<br>
+ * 複数のスレッドから同時に参照することができます。登録されたDTO定義グループは共有されるため変更しないでください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DtoResourceOption#definitionInterner(DtoDefinitionInterner)
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class DtoDefinitionInterner {
+
+    /**
+     * 正規化されたDTO定義グループ
+     */
+    private final Map<DtoDefinitionGroup, DtoDefinitionGroup> pool;
+
+    /**
+     * 共有されたDTO定義グループの数
+     */
+    @ToString.Include
+    private final LongAdder sharedCount;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoDefinitionInterner() {
+        this.pool = new ConcurrentHashMap<>();
+        this.sharedCount = new LongAdder();
+    }
+
+    /**
+     * {@link DtoDefinitionInterner} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @return {@link DtoDefinitionInterner} クラスの新しいインスタンス
+     */
+    public static DtoDefinitionInterner of() {
+        return new DtoDefinitionInterner();
+    }
+
+    /**
+     * 引数として渡されたDTO定義グループと構造が同一の正規化されたDTO定義グループを返却します。
+     * <p>
+     * 構造が同一のDTO定義グループがプールに存在しない場合は引数として渡されたDTO定義グループをプールへ登録し、そのまま返却します。<br>
+     * 孫クラスのDTO定義グループは子クラスより先に正規化されるため、構造の比較は登録済みのインスタンスの同一性の比較で早期に終了します。
+     *
+     * @param dtoDefinitionGroup 正規化するDTO定義グループ
+     * @return 正規化されたDTO定義グループ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    DtoDefinitionGroup intern(@NonNull DtoDefinitionGroup dtoDefinitionGroup) {
+
+        final DtoDefinitionGroup canonical = this.pool.putIfAbsent(dtoDefinitionGroup, dtoDefinitionGroup);
+
+        if (canonical == null) {
+            return dtoDefinitionGroup;
+        }
+
+        if (canonical != dtoDefinitionGroup) {
+            this.sharedCount.increment();
+        }
+
+        return canonical;
+    }
+
+    /**
+     * プールに登録されたDTO定義グループの数を返却します。
+     *
+     * @return プールに登録されたDTO定義グループの数
+     */
+    @ToString.Include
+    public int size() {
+        return this.pool.size();
+    }
+
+    /**
+     * 登録済みのインスタンスを共有したDTO定義グループの数を返却します。
+     *
+     * @return 登録済みのインスタンスを共有したDTO定義グループの数
+     */
+    public long getSharedCount() {
+        return this.sharedCount.sum();
+    }
+
+    /**
+     * プールに登録されたDTO定義グループを全て破棄します。
+     */
+    public void clear() {
+        this.pool.clear();
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.thinkit.framework.content.rule.Rule;
+import org.thinkit.framework.content.rule.RuleInvoker;
+import org.thinkit.generator.common.vo.dto.DtoMatrix;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 解析済みのDTOマトリクスをディスク上のキャッシュから取得する処理を定義したルールクラスです。
+ * <p>
+ * キャッシュのキーはワークブックの内容から算出したハッシュ値、解析結果に影響するオプション、生成器のバージョンです。<br>
+ * マニフェストを持たない開発環境では、生成器のクラスファイルから算出したハッシュ値をバージョンとして扱います。<br>
+ * キャッシュが存在しない場合は {@link DtoMatrixCollector} でワークブックを解析し、その結果をキャッシュへ格納します。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+@EqualsAndHashCode
+final class DtoMatrixCacheCollector implements Rule<DtoMatrix> {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * ハッシュ値の算出に使用するアルゴリズム
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * キャッシュファイルの拡張子
+     */
+    private static final String CACHE_EXTENSION = ".dtomatrix";
+
+    /**
+     * バージョン情報を取得できない場合の生成器バージョンの接頭辞
+     */
+    private static final String DEVELOPMENT_VERSION_PREFIX = "development-";
+
+    /**
+     * クラスファイルの拡張子
+     */
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    /**
+     * 入出力時のバッファサイズ
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * ファイルパス
+     */
+    private String filePath;
+
+    /**
+     * DTOリソースオプション
+     */
+    private DtoResourceOption dtoResourceOption;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoMatrixCacheCollector() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param filePath          DTO定義書のファイルパス
+     * @param dtoResourceOption DTOリソースオプション
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException ファイルパスまたはキャッシュディレクトリが空文字列の場合
+     */
+    private DtoMatrixCacheCollector(@NonNull String filePath, @NonNull DtoResourceOption dtoResourceOption) {
+
+        if (StringUtils.isBlank(filePath)) {
+            throw new IllegalArgumentException("wrong parameter was given. File path is required.");
+        }
+
+        if (!dtoResourceOption.isCacheEnabled()) {
+            throw new IllegalArgumentException("wrong parameter was given. Cache directory is required.");
+        }
+
+        this.filePath = filePath;
+        this.dtoResourceOption = dtoResourceOption;
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link DtoMatrixCacheCollector} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param filePath          DTO定義書へのパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @return {@link DtoMatrixCacheCollector} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException ファイルパスまたはキャッシュディレクトリが空文字列の場合
+     */
+    public static Rule<DtoMatrix> from(@NonNull String filePath, @NonNull DtoResourceOption dtoResourceOption) {
+        return new DtoMatrixCacheCollector(filePath, dtoResourceOption);
+    }
+
+    @Override
+    public DtoMatrix execute() {
+
+        final Path cacheFile = Paths.get(this.dtoResourceOption.getCacheDirectory(), this.createCacheKey() + CACHE_EXTENSION);
+        logger.atFinest().log("キャッシュファイル = (%s)", cacheFile);
+
+        if (Files.isRegularFile(cacheFile)) {
+            final DtoMatrix dtoMatrix = this.read(cacheFile);
+
+            if (dtoMatrix != null) {
+                logger.atFine().log("キャッシュからDTOマトリクスを取得しました。(%s)", this.filePath);
+                return dtoMatrix;
+            }
+        }
+
+        final DtoMatrix dtoMatrix = RuleInvoker.of(DtoMatrixCollector.from(this.filePath, this.dtoResourceOption)).invoke();
+        this.write(cacheFile, dtoMatrix);
+
+        return dtoMatrix;
+    }
+
+    /**
+     * ワークブックの内容と生成器のバージョンからキャッシュキーを算出し返却します。
+     * <p>
+     * 定義表の終端の判定のように解析結果に影響するオプションもキャッシュキーに含めるため、オプションを変更した場合は再解析します。<br>
+     * 外部のコンテンツファイルを使用する場合は、ロードしたコンテンツの内容もキャッシュキーに含めます。<br>
+     * そのため、定義書の項目名を変更した場合に変更前の項目名で解析したDTOマトリクスが使用されることはありません。
+     *
+     * @return 16進数で表現されたキャッシュキー
+     *
+     * @throws UncheckedIOException ワークブックの読み込みに失敗した場合
+     */
+    private String createCacheKey() {
+
+        final MessageDigest messageDigest = this.getMessageDigest();
+        messageDigest.update(getGeneratorVersion().getBytes(StandardCharsets.UTF_8));
+        messageDigest.update(this.dtoResourceOption.getParsingKey().getBytes(StandardCharsets.UTF_8));
+
+        if (this.dtoResourceOption.isContentDirectoryEnabled()) {
+            messageDigest.update(
+                    this.dtoResourceOption.getContentCache().getContentKey().getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (InputStream inputStream = Files.newInputStream(Paths.get(this.filePath))) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+
+            for (int length; (length = inputStream.read(buffer)) != -1;) {
+                messageDigest.update(buffer, 0, length);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final StringBuilder cacheKey = new StringBuilder();
+
+        for (byte digest : messageDigest.digest()) {
+            cacheKey.append(String.format("%02x", digest));
+        }
+
+        return cacheKey.toString();
+    }
+
+    /**
+     * キャッシュファイルからDTOマトリクスを読み込みます。
+     * <p>
+     * キャッシュファイルが破損している場合や互換性のない形式で保存されている場合は {@code null} を返却します。
+     *
+     * @param cacheFile キャッシュファイル
+     * @return キャッシュされたDTOマトリクス、または、読み込みに失敗した場合は {@code null}
+     */
+    private DtoMatrix read(@NonNull Path cacheFile) {
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new InflaterInputStream(
+                new BufferedInputStream(Files.newInputStream(cacheFile), BUFFER_SIZE)))) {
+            return (DtoMatrix) objectInputStream.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            logger.atWarning().withCause(e).log("キャッシュファイルを読み込めなかったため再解析します。(%s)", cacheFile);
+            return null;
+        }
+    }
+
+    /**
+     * DTOマトリクスをキャッシュファイルへ書き込みます。
+     * <p>
+     * 書き込み途中のキャッシュファイルが読み込まれないように、一時ファイルへ書き込んだ後にキャッシュファイルへ移動します。<br>
+     * キャッシュの書き込みに失敗した場合でも生成処理は継続します。
+     *
+     * @param cacheFile キャッシュファイル
+     * @param dtoMatrix DTOマトリクス
+     */
+    private void write(@NonNull Path cacheFile, DtoMatrix dtoMatrix) {
+
+        if (dtoMatrix == null) {
+            return;
+        }
+
+        Path temporaryFile = null;
+
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            temporaryFile = Files.createTempFile(cacheFile.getParent(), null, CACHE_EXTENSION);
+
+            try (OutputStream outputStream = new DeflaterOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryFile), BUFFER_SIZE),
+                    new Deflater(Deflater.BEST_SPEED), BUFFER_SIZE);
+                    ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
+                objectOutputStream.writeObject(dtoMatrix);
+            }
+
+            Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.atWarning().withCause(e).log("キャッシュファイルを書き込めませんでした。(%s)", cacheFile);
+            this.deleteQuietly(temporaryFile);
+        }
+    }
+
+    /**
+     * 書き込みに失敗した一時ファイルを削除します。
+     *
+     * @param temporaryFile 一時ファイル
+     */
+    private void deleteQuietly(Path temporaryFile) {
+
+        if (temporaryFile == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(temporaryFile);
+        } catch (IOException e) {
+            logger.atFinest().log("一時ファイルを削除できませんでした。(%s)", temporaryFile);
+        }
+    }
+
+    /**
+     * ハッシュ値の算出に使用する {@link MessageDigest} を返却します。
+     *
+     * @return {@link MessageDigest} オブジェクト
+     */
+    private MessageDigest getMessageDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 生成器のバージョンを返却します。
+     * <p>
+     * マニフェストからバージョンを取得できない場合は、開発環境での実行として生成器のクラスファイルから算出したハッシュ値をバージョンとします。<br>
+     * そのため、IDEや {@code gradle run} で実行した場合でも、解析処理のコードを変更した後に変更前のキャッシュが使用されることはありません。
+     *
+     * @return 生成器のバージョン
+     */
+    static String getGeneratorVersion() {
+        return GeneratorVersionHolder.GENERATOR_VERSION;
+    }
+
+    /**
+     * マニフェストまたは生成器のクラスファイルから生成器のバージョンを算出します。
+     * <p>
+     * クラスファイルを読み込めない場合はプロセスごとに異なる値を返却し、プロセスを跨いだキャッシュを使用しません。
+     *
+     * @return 生成器のバージョン
+     */
+    private static String resolveGeneratorVersion() {
+
+        final String version = DtoMatrixCacheCollector.class.getPackage().getImplementationVersion();
+
+        if (!StringUtils.isBlank(version)) {
+            return version;
+        }
+
+        try {
+            final Path codeSource = Paths
+                    .get(DtoMatrixCacheCollector.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            final MessageDigest messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+
+            if (Files.isDirectory(codeSource)) {
+                try (Stream<Path> classFiles = Files.walk(codeSource)) {
+                    for (Path classFile : (Iterable<Path>) classFiles
+                            .filter(path -> path.toString().endsWith(CLASS_FILE_EXTENSION)).sorted()::iterator) {
+                        messageDigest.update(codeSource.relativize(classFile).toString().getBytes(StandardCharsets.UTF_8));
+                        messageDigest.update(Files.readAllBytes(classFile));
+                    }
+                }
+            } else {
+                messageDigest.update(Files.readAllBytes(codeSource));
+            }
+
+            final StringBuilder fingerprint = new StringBuilder(DEVELOPMENT_VERSION_PREFIX);
+
+            for (byte digest : messageDigest.digest()) {
+                fingerprint.append(String.format("%02x", digest));
+            }
+
+            return fingerprint.toString();
+        } catch (IOException | URISyntaxException | NoSuchAlgorithmException | RuntimeException e) {
+            logger.atWarning().withCause(e).log("生成器のバージョンを特定できないため、解析済みDTOマトリクスのキャッシュはこのプロセスの中でのみ有効です。");
+            return DEVELOPMENT_VERSION_PREFIX + UUID.randomUUID();
+        }
+    }
+
+    /**
+     * 生成器のバージョンを初回の参照時に1度だけ算出して保持するクラスです。
+     */
+    private static final class GeneratorVersionHolder {
+
+        /**
+         * 生成器のバージョン
+         */
+        private static final String GENERATOR_VERSION = resolveGeneratorVersion();
+    }
+}
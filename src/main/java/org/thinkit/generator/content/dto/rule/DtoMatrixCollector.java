@@ -14,14 +14,23 @@
 
 package org.thinkit.generator.content.dto.rule;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+
 import com.google.common.flogger.FluentLogger;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.Workbook;
 import org.thinkit.common.util.workbook.FluentSheet;
 import org.thinkit.common.util.workbook.FluentWorkbook;
 import org.thinkit.framework.content.rule.Rule;
 import org.thinkit.framework.content.rule.RuleInvoker;
+import org.thinkit.generator.common.vo.dto.DtoCreator;
+import org.thinkit.generator.common.vo.dto.DtoDefinitionGroup;
 import org.thinkit.generator.common.vo.dto.DtoMatrix;
+import org.thinkit.generator.common.vo.dto.DtoMeta;
 import org.thinkit.generator.workbook.common.Sheet;
 
 import lombok.EqualsAndHashCode;
@@ -49,6 +58,32 @@ final class DtoMatrixCollector implements Rule<DtoMatrix> {
      */
     private String filePath;
 
+    /**
+     * 読み込み済みのDTO定義書
+     * <p>
+     * ファイルパスから定義書を読み込む場合は {@code null} です。
+     */
+    private Workbook workbook;
+
+    /**
+     * DTOリソースオプション
+     */
+    private DtoResourceOption dtoResourceOption;
+
+    /**
+     * 最上位層のDTO定義が完成した時点で通知される消費者
+     * <p>
+     * ストリーミングモードでない場合は {@code null} です。
+     */
+    private Consumer<DtoMatrix> dtoMatrixConsumer;
+
+    /**
+     * 増分生成計画
+     * <p>
+     * 増分生成を行わない場合は {@code null} です。
+     */
+    private DtoRebuildPlan dtoRebuildPlan;
+
     /**
      * デフォルトコンストラクタ
      */
@@ -58,18 +93,65 @@ final class DtoMatrixCollector implements Rule<DtoMatrix> {
     /**
      * コンストラクタ
      *
-     * @param filePath DTO定義書のファイルパス
+     * @param filePath          DTO定義書のファイルパス
+     * @param dtoResourceOption DTOリソースオプション
      *
      * @exception NullPointerException 引数として {@code null} が渡された場合
      * @throws IllegalArgumentException ファイルパスが空文字列の場合
      */
-    private DtoMatrixCollector(@NonNull String filePath) {
+    private DtoMatrixCollector(@NonNull String filePath, @NonNull DtoResourceOption dtoResourceOption) {
 
         if (StringUtils.isBlank(filePath)) {
             throw new IllegalArgumentException("wrong parameter was given. File path is required.");
         }
 
         this.filePath = filePath;
+        this.dtoResourceOption = dtoResourceOption;
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param filePath          DTO定義書のファイルパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @param dtoMatrixConsumer 最上位層のDTO定義が完成した時点で通知される消費者
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException ファイルパスが空文字列の場合
+     */
+    private DtoMatrixCollector(@NonNull String filePath, @NonNull DtoResourceOption dtoResourceOption,
+            @NonNull Consumer<DtoMatrix> dtoMatrixConsumer) {
+        this(filePath, dtoResourceOption);
+        this.dtoMatrixConsumer = dtoMatrixConsumer;
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param filePath          DTO定義書のファイルパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @param dtoRebuildPlan    増分生成計画
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException ファイルパスが空文字列の場合
+     */
+    private DtoMatrixCollector(@NonNull String filePath, @NonNull DtoResourceOption dtoResourceOption,
+            @NonNull DtoRebuildPlan dtoRebuildPlan) {
+        this(filePath, dtoResourceOption);
+        this.dtoRebuildPlan = dtoRebuildPlan;
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param workbook          読み込み済みのDTO定義書
+     * @param dtoResourceOption DTOリソースオプション
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private DtoMatrixCollector(@NonNull Workbook workbook, @NonNull DtoResourceOption dtoResourceOption) {
+        this.workbook = workbook;
+        this.dtoResourceOption = dtoResourceOption;
     }
 
     /**
@@ -82,7 +164,75 @@ final class DtoMatrixCollector implements Rule<DtoMatrix> {
      * @throws IllegalArgumentException ファイルパスが空文字列の場合
      */
     public static Rule<DtoMatrix> from(@NonNull String filePath) {
-        return new DtoMatrixCollector(filePath);
+        return new DtoMatrixCollector(filePath, DtoResourceOption.of());
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link DtoMatrixCollector} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param filePath          DTO定義書へのパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @return {@link DtoMatrixCollector} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException ファイルパスが空文字列の場合
+     */
+    public static Rule<DtoMatrix> from(@NonNull String filePath, @NonNull DtoResourceOption dtoResourceOption) {
+        return new DtoMatrixCollector(filePath, dtoResourceOption);
+    }
+
+    /**
+     * 引数として指定された情報を基にストリーミングモードで動作する {@link DtoMatrixCollector}
+     * クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * ストリーミングモードでは最上位層のDTO定義が完成する度に、そのDTO定義のみを含むDTOマトリクスを
+     * {@code dtoMatrixConsumer} へ通知します。<br>
+     * 通知済みのDTO定義は戻り値のDTOマトリクスに含まれません。
+     *
+     * @param filePath          DTO定義書へのパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @param dtoMatrixConsumer 最上位層のDTO定義が完成した時点で通知される消費者
+     * @return {@link DtoMatrixCollector} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException ファイルパスが空文字列の場合
+     */
+    public static Rule<DtoMatrix> from(@NonNull String filePath, @NonNull DtoResourceOption dtoResourceOption,
+            @NonNull Consumer<DtoMatrix> dtoMatrixConsumer) {
+        return new DtoMatrixCollector(filePath, dtoResourceOption, dtoMatrixConsumer);
+    }
+
+    /**
+     * 引数として指定された情報を基に増分生成を行う {@link DtoMatrixCollector} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * 増分生成では前回から変更されていない最上位層のクラス定義のDTO定義を生成せず、戻り値のDTOマトリクスに含めません。
+     *
+     * @param filePath          DTO定義書へのパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @param dtoRebuildPlan    増分生成計画
+     * @return {@link DtoMatrixCollector} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException ファイルパスが空文字列の場合
+     */
+    public static Rule<DtoMatrix> from(@NonNull String filePath, @NonNull DtoResourceOption dtoResourceOption,
+            @NonNull DtoRebuildPlan dtoRebuildPlan) {
+        return new DtoMatrixCollector(filePath, dtoResourceOption, dtoRebuildPlan);
+    }
+
+    /**
+     * 引数として指定された読み込み済みの定義書を基に {@link DtoMatrixCollector} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * 定義書はファイルシステムを介さずに解析されます。引数として渡された定義書はこのルールでは閉じられません。
+     *
+     * @param workbook          読み込み済みのDTO定義書
+     * @param dtoResourceOption DTOリソースオプション
+     * @return {@link DtoMatrixCollector} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static Rule<DtoMatrix> from(@NonNull Workbook workbook, @NonNull DtoResourceOption dtoResourceOption) {
+        return new DtoMatrixCollector(workbook, dtoResourceOption);
     }
 
     /**
@@ -100,14 +250,81 @@ final class DtoMatrixCollector implements Rule<DtoMatrix> {
     @Override
     public DtoMatrix execute() {
 
-        final FluentWorkbook workbook = FluentWorkbook.builder().fromFile(this.filePath).build();
+        if (this.workbook != null || !this.dtoResourceOption.isSelectiveLoading()) {
+            return this.collect(this.createFluentWorkbook());
+        }
+
+        try (Workbook selectedWorkbook = DtoWorkbookPartLoader.load(Paths.get(this.filePath),
+                SheetName.定義書.name())) {
+
+            if (selectedWorkbook == null) {
+                logger.atFine().log("定義書の全てのパートを読み込みます。(%s)", this.filePath);
+                return this.collect(this.createFluentWorkbook());
+            }
+
+            return this.collect(FluentWorkbook.builder().fromBook(selectedWorkbook).build());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 引数として渡されたワークブックオブジェクトの定義書シートからDTOマトリクスを生成し返却します。
+     *
+     * @param workbook ワークブックオブジェクト
+     * @return DTOマトリクス
+     */
+    private DtoMatrix collect(@NonNull FluentWorkbook workbook) {
+
         final FluentSheet sheet = workbook.sheet(SheetName.定義書.name());
 
-        final DtoMatrix dtoMatrix = DtoMatrix.of(RuleInvoker.of(DtoMetaCollector.from(sheet)).invoke(),
-                RuleInvoker.of(DtoCreatorCollector.from(sheet)).invoke(),
-                RuleInvoker.of(DtoDefinitionCollector.from(sheet)).invoke());
+        final DtoMeta dtoMeta = RuleInvoker
+                .of(DtoMetaCollector.from(sheet, this.dtoResourceOption.getContentCache())).invoke();
+        final DtoCreator dtoCreator = RuleInvoker
+                .of(DtoCreatorCollector.from(sheet, this.dtoResourceOption.getContentCache())).invoke();
+
+        final DtoMatrix dtoMatrix = DtoMatrix.of(dtoMeta, dtoCreator,
+                RuleInvoker.of(this.createDefinitionCollector(sheet, dtoMeta, dtoCreator)).invoke());
 
         logger.atFinest().log("DTOマトリクス = (%s)", dtoMatrix);
         return dtoMatrix;
     }
-}
+
+    /**
+     * 定義書の読み込み元に応じたワークブックオブジェクトを生成し返却します。
+     *
+     * @return ワークブックオブジェクト
+     */
+    private FluentWorkbook createFluentWorkbook() {
+
+        if (this.workbook != null) {
+            return FluentWorkbook.builder().fromBook(this.workbook).build();
+        }
+
+        return FluentWorkbook.builder().fromFile(this.filePath).build();
+    }
+
+    /**
+     * 動作モードに応じたDTO定義情報を取得するルールを生成し返却します。
+     *
+     * @param sheet      操作する対象のシートオブジェクト
+     * @param dtoMeta    DTOメタ
+     * @param dtoCreator DTO作成者
+     * @return DTO定義情報を取得するルール
+     */
+    private Rule<DtoDefinitionGroup> createDefinitionCollector(@NonNull FluentSheet sheet, DtoMeta dtoMeta,
+            DtoCreator dtoCreator) {
+
+        if (this.dtoRebuildPlan != null) {
+            this.dtoRebuildPlan.begin(dtoMeta, dtoCreator);
+            return DtoDefinitionCollector.from(sheet, this.dtoResourceOption, this.dtoRebuildPlan);
+        }
+
+        if (this.dtoMatrixConsumer == null) {
+            return DtoDefinitionCollector.from(sheet, this.dtoResourceOption);
+        }
+
+        return DtoDefinitionCollector.from(sheet, this.dtoResourceOption, dtoDefinition -> this.dtoMatrixConsumer
+                .accept(DtoMatrix.of(dtoMeta, dtoCreator, DtoDefinitionGroup.of().add(dtoDefinition))));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.thinkit.common.util.workbook.FluentSheet;
+import org.thinkit.framework.content.rule.Rule;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Excelに記述されたマトリクステーブルから指定された見出しの列のみを読み取る処理を定義したルールクラスです。
+ * <p>
+ * {@link FluentSheet#getMatrixList(int, int)} と同じ規則でセルと見出しを対応付けますが、
+ * 指定されていない見出しの列のセルは値を読み取らず、戻り値のマップにも保持しません。<br>
+ * そのため、レビュー欄や備考欄のように解析に使用しない列が多い定義書でも、読み取る値の数は指定された見出しの数に比例します。
+ * <p>
+ * 読み取った値は引数として渡された文字列プールで正規化されます。
+ * <p>
+ * 指定された見出しの列が全て空白の行は空行として扱い、戻り値のリストに含みません。<br>
+ * 空行が指定された数だけ連続した行、または、指定された終端文字列が記述された行を定義表の終端とみなし、以降の行は読み取りません。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see FluentSheet#getMatrixList(int, int)
+ */
+@ToString
+@EqualsAndHashCode
+final class DtoMatrixListExtractor implements Rule<List<Map<String, String>>> {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 操作対象のシートオブジェクト
+     */
+    private FluentSheet sheet;
+
+    /**
+     * 見出し行の列インデックス
+     * <p>
+     * {@link FluentSheet#getMatrixList(int, int)} と同様に、見出しと値は行の先頭のセルから対応付けられます。
+     */
+    private int column;
+
+    /**
+     * 見出し行の行インデックス
+     */
+    private int row;
+
+    /**
+     * 読み取る列の見出し
+     */
+    private Set<String> projectedHeaders;
+
+    /**
+     * 定義表の終端とみなす連続した空行の数
+     */
+    private int tableEndBlankRows;
+
+    /**
+     * 定義表の終端を示す文字列
+     */
+    private String tableEndMarker;
+
+    /**
+     * 読み取った値を正規化する文字列プール
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private DtoStringPool dtoStringPool;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoMatrixListExtractor() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param sheet             操作する対象のシートオブジェクト
+     * @param column            見出し行の列インデックス
+     * @param row               見出し行の行インデックス
+     * @param projectedHeaders  読み取る列の見出し
+     * @param tableEndBlankRows 定義表の終端とみなす連続した空行の数、終端を判定しない場合は {@code 0}
+     * @param tableEndMarker    定義表の終端を示す文字列、終端を判定しない場合は空文字列
+     * @param dtoStringPool     読み取った値を正規化する文字列プール
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException 列インデックスまたは行インデックスが負数の場合
+     */
+    private DtoMatrixListExtractor(@NonNull FluentSheet sheet, int column, int row,
+            @NonNull Collection<String> projectedHeaders, int tableEndBlankRows, @NonNull String tableEndMarker,
+            @NonNull DtoStringPool dtoStringPool) {
+
+        if (column < 0) {
+            throw new IllegalArgumentException("wrong parameter was given. Column Index must be positive.");
+        }
+
+        if (row < 0) {
+            throw new IllegalArgumentException("wrong parameter was given. Row index must be positive.");
+        }
+
+        this.sheet = sheet;
+        this.column = column;
+        this.row = row;
+        this.projectedHeaders = new HashSet<>(projectedHeaders);
+        this.tableEndBlankRows = tableEndBlankRows;
+        this.tableEndMarker = tableEndMarker;
+        this.dtoStringPool = dtoStringPool;
+    }
+
+    /**
+     * 引数として渡された情報を基に {@link DtoMatrixListExtractor} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param sheet             操作する対象のシートオブジェクト
+     * @param column            見出し行の列インデックス
+     * @param row               見出し行の行インデックス
+     * @param projectedHeaders  読み取る列の見出し
+     * @param tableEndBlankRows 定義表の終端とみなす連続した空行の数、終端を判定しない場合は {@code 0}
+     * @param tableEndMarker    定義表の終端を示す文字列、終端を判定しない場合は空文字列
+     * @param dtoStringPool     読み取った値を正規化する文字列プール
+     * @return {@link DtoMatrixListExtractor} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException 列インデックスまたは行インデックスが負数の場合
+     */
+    static Rule<List<Map<String, String>>> from(@NonNull FluentSheet sheet, int column, int row,
+            @NonNull Collection<String> projectedHeaders, int tableEndBlankRows, @NonNull String tableEndMarker,
+            @NonNull DtoStringPool dtoStringPool) {
+        return new DtoMatrixListExtractor(sheet, column, row, projectedHeaders, tableEndBlankRows, tableEndMarker,
+                dtoStringPool);
+    }
+
+    @Override
+    public List<Map<String, String>> execute() {
+
+        final Sheet poiSheet = this.sheet.getSheet();
+        final String[] header = this.getProjectedHeader(poiSheet.getRow(this.row));
+        final int projectedSize = this.countProjected(header);
+
+        logger.atFine().log("見出しの数 = (%s)、読み取る列の数 = (%s)", header.length, projectedSize);
+
+        final List<Map<String, String>> matrixList = new ArrayList<>();
+        final int lastRowIndex = poiSheet.getLastRowNum();
+        int blankRows = 0;
+
+        for (int rowIndex = this.row + 1; rowIndex <= lastRowIndex; rowIndex++) {
+            final Row record = poiSheet.getRow(rowIndex);
+            final Map<String, String> matrix = record == null ? Map.of()
+                    : this.extractRecord(record, header, projectedSize);
+
+            if (matrix.isEmpty()) {
+                if (this.tableEndBlankRows > 0 && ++blankRows >= this.tableEndBlankRows) {
+                    logger.atFine().log("空行が連続したため定義表の読み取りを終了します。行インデックス = (%s)", rowIndex);
+                    break;
+                }
+
+                continue;
+            }
+
+            if (this.isTableEnd(matrix)) {
+                logger.atFine().log("終端文字列を検出したため定義表の読み取りを終了します。行インデックス = (%s)", rowIndex);
+                break;
+            }
+
+            blankRows = 0;
+            matrixList.add(matrix);
+        }
+
+        return matrixList;
+    }
+
+    /**
+     * 引数として渡された行からレコードを読み取ります。
+     * <p>
+     * セルと見出しの対応付けは {@link FluentSheet#getMatrixList(int, int)} と同じ規則に従います。<br>
+     * 値が入力されたセルは次の見出しへ進み、空白のセルは右罫線を持ち、かつ、直前のセルに値が入力されていない場合に限り次の見出しへ進みます。
+     *
+     * @param record        読み取る行
+     * @param header        読み取る列の見出し、読み取らない列は {@code null}
+     * @param projectedSize 読み取る列の数
+     * @return 見出しと値の対応
+     */
+    private Map<String, String> extractRecord(Row record, String[] header, int projectedSize) {
+
+        final Map<String, String> matrix = new HashMap<>(projectedSize * 4 / 3 + 1);
+        boolean previousHasValue = false;
+        int headerIndex = 0;
+
+        for (Cell cell : record) {
+            if (!isBlank(cell)) {
+                if (headerIndex < header.length && header[headerIndex] != null) {
+                    matrix.put(header[headerIndex], this.dtoStringPool.intern(this.getCellValue(cell)));
+                }
+
+                previousHasValue = true;
+                headerIndex++;
+            } else if (isBorderedRight(cell)) {
+                if (previousHasValue) {
+                    previousHasValue = false;
+                } else {
+                    headerIndex++;
+                }
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * 引数として渡されたレコードが定義表の終端を示すか判定します。
+     *
+     * @param matrix 見出しと値の対応
+     * @return レコードのいずれかの値が終端文字列と一致する場合は {@code true} 、それ以外は {@code false}
+     */
+    private boolean isTableEnd(Map<String, String> matrix) {
+        return !this.tableEndMarker.isEmpty() && matrix.containsValue(this.tableEndMarker);
+    }
+
+    /**
+     * 見出し行から見出しを読み取り、読み取る列以外の見出しを {@code null} に置き換えた配列を返却します。
+     *
+     * @param headerRow 見出し行
+     * @return 読み取る列の見出し、読み取らない列は {@code null}
+     */
+    private String[] getProjectedHeader(Row headerRow) {
+
+        final List<String> header = new ArrayList<>();
+
+        for (Cell cell : headerRow) {
+            if (!isBlank(cell)) {
+                final String headerName = this.getCellValue(cell);
+                header.add(this.projectedHeaders.contains(headerName) ? headerName : null);
+            }
+        }
+
+        return header.toArray(new String[header.size()]);
+    }
+
+    /**
+     * 読み取る列の数を返却します。
+     *
+     * @param header 読み取る列の見出し、読み取らない列は {@code null}
+     * @return 読み取る列の数
+     */
+    private int countProjected(String[] header) {
+
+        int projectedSize = 0;
+
+        for (String headerName : header) {
+            if (headerName != null) {
+                projectedSize++;
+            }
+        }
+
+        return projectedSize;
+    }
+
+    /**
+     * 引数として渡されたセルの値を文字列として返却します。
+     *
+     * @param cell セル
+     * @return セルの値
+     */
+    private String getCellValue(Cell cell) {
+
+        if (cell.getCellType() == CellType.NUMERIC) {
+            return String.valueOf(cell.getNumericCellValue());
+        }
+
+        return cell.getRichStringCellValue().getString().trim();
+    }
+
+    /**
+     * 引数として渡されたセルが空白セルか判定します。
+     *
+     * @param cell セル
+     * @return 空白セルの場合は {@code true} 、それ以外は {@code false}
+     */
+    private static boolean isBlank(Cell cell) {
+        return cell.getCellType() == CellType.BLANK;
+    }
+
+    /**
+     * 引数として渡されたセルが右罫線を持つか判定します。
+     *
+     * @param cell セル
+     * @return 右罫線を持つ場合は {@code true} 、それ以外は {@code false}
+     */
+    private static boolean isBorderedRight(Cell cell) {
+        return cell.getCellStyle().getBorderRight() != BorderStyle.NONE;
+    }
+}
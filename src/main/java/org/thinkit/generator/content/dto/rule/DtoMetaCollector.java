@@ -22,11 +22,9 @@ import com.google.common.flogger.FluentLogger;
 import org.thinkit.common.catalog.Catalog;
 import org.thinkit.common.util.workbook.FluentSheet;
 import org.thinkit.common.util.workbook.Matrix;
-import org.thinkit.framework.content.ContentInvoker;
 import org.thinkit.framework.content.rule.Rule;
 import org.thinkit.generator.common.catalog.dto.DtoItem;
 import org.thinkit.generator.common.vo.dto.DtoMeta;
-import org.thinkit.generator.content.dto.DtoMetaItemLoader;
 
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
@@ -53,6 +51,11 @@ final class DtoMetaCollector implements Rule<DtoMeta> {
      */
     private FluentSheet sheet;
 
+    /**
+     * コンテンツのキャッシュ
+     */
+    private DtoContentCache dtoContentCache;
+
     /**
      * デフォルトコンストラクタ
      */
@@ -67,7 +70,20 @@ final class DtoMetaCollector implements Rule<DtoMeta> {
      * @exception NullPointerException 引数として {@code null} が渡された場合
      */
     private DtoMetaCollector(@NonNull FluentSheet sheet) {
+        this(sheet, DtoContentCache.uncached());
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param sheet           操作する対象のシートオブジェクト
+     * @param dtoContentCache コンテンツのキャッシュ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private DtoMetaCollector(@NonNull FluentSheet sheet, @NonNull DtoContentCache dtoContentCache) {
         this.sheet = sheet;
+        this.dtoContentCache = dtoContentCache;
     }
 
     /**
@@ -84,6 +100,20 @@ final class DtoMetaCollector implements Rule<DtoMeta> {
         return new DtoMetaCollector(sheet);
     }
 
+    /**
+     * 引数として渡された情報を基に {@link DtoMetaCollector} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param sheet           操作する対象のシートオブジェクト
+     * @param dtoContentCache コンテンツのキャッシュ
+     * @return {@link DtoMetaCollector} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @see FluentSheet
+     */
+    public static Rule<DtoMeta> from(@NonNull FluentSheet sheet, @NonNull DtoContentCache dtoContentCache) {
+        return new DtoMetaCollector(sheet, dtoContentCache);
+    }
+
     @Override
     public DtoMeta execute() {
 
@@ -106,7 +136,7 @@ final class DtoMetaCollector implements Rule<DtoMeta> {
 
         final Map<DtoItem, String> dtoMeta = new EnumMap<>(DtoItem.class);
 
-        ContentInvoker.of(DtoMetaItemLoader.of()).invoke().forEach(dtoMetaItem -> {
+        this.dtoContentCache.getDtoMetaItemGroup().forEach(dtoMetaItem -> {
             final Matrix baseIndexes = sheet.findCellIndex(dtoMetaItem.getCellItemName());
             final String sequence = sheet.getRegionSequence(baseIndexes.getColumn(), baseIndexes.getRow());
             dtoMeta.put(Catalog.getEnum(DtoItem.class, dtoMetaItem.getCellItemCode()), sequence);
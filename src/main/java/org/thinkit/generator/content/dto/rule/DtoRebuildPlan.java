@@ -0,0 +1,486 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.thinkit.generator.common.vo.dto.DtoCreator;
+import org.thinkit.generator.common.vo.dto.DtoDefinition;
+import org.thinkit.generator.common.vo.dto.DtoDefinitionGroup;
+import org.thinkit.generator.common.vo.dto.DtoField;
+import org.thinkit.generator.common.vo.dto.DtoMeta;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 定義書の変更された最上位層のクラス定義のみを再生成するための増分生成計画です。
+ * <p>
+ * 定義表のレコードを最上位層のクラス定義の境界で分割した部分木ごとに、部分木に含まれるレコードの内容からハッシュ値を算出します。<br>
+ * 前回の生成時に記録したハッシュ値と一致し、かつ、前回の出力ファイルが全て存在する部分木はDTO定義の生成、整形、書き込みを省略し、前回の出力ファイルを再利用します。<br>
+ * DTOメタ、DTO作成者、生成器のバージョンのいずれかが前回と異なる場合は、全ての出力ファイルに影響するため全ての部分木を再生成します。
+ * <p>
+ * 記録はマニフェストファイルへ保存され、マニフェストファイルの各行は以下の形式で、項目はタブ文字で区切られます。1行目はヘッダのハッシュ値です。
+ *
+ * <pre>
+ * 部分木のハッシュ値	出力ファイルのパス...
+ * </pre>
+ *
+ * <p>
+ * 計画は定義書1件の生成処理の間だけ有効です。このクラスのメソッドは複数のスレッドから同時に呼び出すことはできません。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DtoResourceFacade#collectMatrix(String, DtoResourceOption, DtoRebuildPlan)
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class DtoRebuildPlan {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * ハッシュ値の算出に使用するアルゴリズム
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * マニフェストファイルの拡張子
+     */
+    private static final String MANIFEST_EXTENSION = ".slices";
+
+    /**
+     * 記録の項目の区切り文字
+     */
+    private static final String FIELD_DELIMITER = "\t";
+
+    /**
+     * ハッシュ値を算出する際のセルの区切り文字
+     */
+    private static final char CELL_SEPARATOR = '\u001f';
+
+    /**
+     * ハッシュ値を算出する際のレコードの区切り文字
+     */
+    private static final char RECORD_SEPARATOR = '\u001e';
+
+    /**
+     * ハッシュ値を算出する際の {@code null} を表す文字
+     */
+    private static final char NULL_MARKER = '\u0000';
+
+    /**
+     * マニフェストファイル
+     */
+    @ToString.Include
+    private final Path manifestFile;
+
+    /**
+     * 前回の生成時のヘッダのハッシュ値
+     */
+    private final String previousHeaderHash;
+
+    /**
+     * 前回の生成時の部分木のハッシュ値と出力ファイルの対応
+     */
+    private final Map<String, List<Path>> previousSlices;
+
+    /**
+     * 今回の生成処理の部分木のハッシュ値と部分木の対応
+     */
+    private final Map<String, Slice> currentSlices;
+
+    /**
+     * 今回の生成処理のヘッダのハッシュ値
+     */
+    private String headerHash;
+
+    /**
+     * 今回の生成処理のパッケージ名
+     */
+    private String packageName;
+
+    /**
+     * 再利用した部分木の数
+     */
+    @ToString.Include
+    private int reusedCount;
+
+    /**
+     * 再生成した部分木の数
+     */
+    @ToString.Include
+    private int rebuiltCount;
+
+    /**
+     * コンストラクタ
+     *
+     * @param manifestFile       マニフェストファイル
+     * @param previousHeaderHash 前回の生成時のヘッダのハッシュ値
+     * @param previousSlices     前回の生成時の部分木のハッシュ値と出力ファイルの対応
+     */
+    private DtoRebuildPlan(Path manifestFile, String previousHeaderHash, Map<String, List<Path>> previousSlices) {
+        this.manifestFile = manifestFile;
+        this.previousHeaderHash = previousHeaderHash;
+        this.previousSlices = previousSlices;
+        this.currentSlices = new LinkedHashMap<>();
+        this.headerHash = StringUtils.EMPTY;
+        this.packageName = StringUtils.EMPTY;
+    }
+
+    /**
+     * 引数として渡されたマニフェストファイルから前回の記録を読み込み、増分生成計画を生成し返却します。
+     * <p>
+     * マニフェストファイルが存在しない場合、または、読み込めない場合は全ての部分木を再生成する計画を返却します。
+     *
+     * @param manifestFile マニフェストファイル
+     * @return {@link DtoRebuildPlan} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static DtoRebuildPlan load(@NonNull Path manifestFile) {
+
+        if (!Files.isRegularFile(manifestFile)) {
+            return new DtoRebuildPlan(manifestFile, StringUtils.EMPTY, Collections.emptyMap());
+        }
+
+        final List<String> lines;
+
+        try {
+            lines = Files.readAllLines(manifestFile, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.atWarning().withCause(e).log("マニフェストファイルを読み込めなかったため全て再生成します。(%s)", manifestFile);
+            return new DtoRebuildPlan(manifestFile, StringUtils.EMPTY, Collections.emptyMap());
+        }
+
+        if (lines.isEmpty()) {
+            return new DtoRebuildPlan(manifestFile, StringUtils.EMPTY, Collections.emptyMap());
+        }
+
+        final Map<String, List<Path>> previousSlices = new HashMap<>(lines.size() * 4 / 3 + 1);
+
+        for (String line : lines.subList(1, lines.size())) {
+            final String[] fields = line.split(FIELD_DELIMITER);
+            final List<Path> outputFiles = new ArrayList<>(fields.length - 1);
+
+            for (int i = 1; i < fields.length; i++) {
+                outputFiles.add(Paths.get(fields[i]));
+            }
+
+            previousSlices.put(fields[0], outputFiles);
+        }
+
+        return new DtoRebuildPlan(manifestFile, lines.get(0), previousSlices);
+    }
+
+    /**
+     * 引数として渡された出力先ディレクトリと定義書を基に、定義書の記録を保存するマニフェストファイルのパスを返却します。
+     * <p>
+     * マニフェストファイルは出力先ディレクトリ配下の {@code directoryName} ディレクトリへ、定義書ごとに作成されます。
+     *
+     * @param outputDirectory 出力先ディレクトリ
+     * @param directoryName   マニフェストファイルを格納するディレクトリの名前
+     * @param workbook        定義書のパス
+     * @return マニフェストファイルのパス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static Path resolveManifestFile(@NonNull Path outputDirectory, @NonNull String directoryName,
+            @NonNull Path workbook) {
+        return outputDirectory.resolve(directoryName).resolve(String.format("%s-%08x%s", workbook.getFileName(),
+                workbook.toAbsolutePath().normalize().toString().hashCode(), MANIFEST_EXTENSION));
+    }
+
+    /**
+     * 今回の生成処理のDTOメタとDTO作成者を基にヘッダのハッシュ値を算出します。
+     * <p>
+     * ヘッダのハッシュ値が前回と異なる場合は前回の記録を使用しません。
+     *
+     * @param dtoMeta    DTOメタ
+     * @param dtoCreator DTO作成者
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    void begin(@NonNull DtoMeta dtoMeta, @NonNull DtoCreator dtoCreator) {
+
+        final MessageDigest messageDigest = getMessageDigest();
+        messageDigest.update(DtoMatrixCacheCollector.getGeneratorVersion().getBytes(StandardCharsets.UTF_8));
+        messageDigest.update((byte) RECORD_SEPARATOR);
+        messageDigest.update(dtoMeta.toString().getBytes(StandardCharsets.UTF_8));
+        messageDigest.update((byte) RECORD_SEPARATOR);
+        messageDigest.update(dtoCreator.toString().getBytes(StandardCharsets.UTF_8));
+
+        this.headerHash = toHex(messageDigest.digest());
+        this.packageName = dtoMeta.getPackageName();
+
+        if (!this.previousSlices.isEmpty() && !this.headerHash.equals(this.previousHeaderHash)) {
+            logger.atInfo().log("DTOメタまたはDTO作成者が変更されたため全て再生成します。(%s)", this.manifestFile);
+            this.previousSlices.clear();
+        }
+    }
+
+    /**
+     * 引数として渡された部分木のハッシュ値が前回と一致し、かつ、前回の出力ファイルが全て存在する場合に前回の出力ファイルを再利用します。
+     *
+     * @param sliceHash 部分木のハッシュ値
+     * @return 前回の出力ファイルを再利用した場合は {@code true} 、部分木を再生成する必要がある場合は {@code false}
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    boolean reuse(@NonNull String sliceHash) {
+
+        final List<Path> outputFiles = this.previousSlices.get(sliceHash);
+
+        if (outputFiles == null || !outputFiles.stream().allMatch(Files::isRegularFile)) {
+            return false;
+        }
+
+        this.currentSlices.put(sliceHash, new Slice(outputFiles, Collections.emptyList()));
+        this.reusedCount++;
+
+        return true;
+    }
+
+    /**
+     * 再生成した部分木のDTO定義グループを記録します。
+     *
+     * @param sliceHash          部分木のハッシュ値
+     * @param dtoDefinitionGroup 再生成した部分木のDTO定義グループ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    void rebuild(@NonNull String sliceHash, @NonNull DtoDefinitionGroup dtoDefinitionGroup) {
+
+        final List<String> classNames = new ArrayList<>();
+        collectClassNames(dtoDefinitionGroup, classNames);
+
+        this.currentSlices.put(sliceHash, new Slice(Collections.emptyList(), classNames));
+        this.rebuiltCount++;
+    }
+
+    /**
+     * 前回の出力ファイルを再利用した部分木が存在するか判定します。
+     *
+     * @return 再利用した部分木が存在する場合は {@code true} 、それ以外は {@code false}
+     */
+    boolean hasReused() {
+        return this.reusedCount > 0;
+    }
+
+    /**
+     * 再利用した前回の出力ファイルのパスを返却します。
+     *
+     * @return 再利用した出力ファイルのパスのリスト
+     */
+    public List<Path> getReusedFiles() {
+
+        final List<Path> reusedFiles = new ArrayList<>();
+        this.currentSlices.values().forEach(slice -> reusedFiles.addAll(slice.outputFiles));
+
+        return reusedFiles;
+    }
+
+    /**
+     * 今回の生成処理のパッケージ名を返却します。
+     *
+     * @return パッケージ名
+     */
+    public String getPackageName() {
+        return this.packageName;
+    }
+
+    /**
+     * 今回の生成処理の記録をマニフェストファイルへ保存します。
+     * <p>
+     * 再生成した部分木の出力ファイルのパスは、部分木に含まれるクラス名を {@code outputFileResolver} で変換して記録します。<br>
+     * 書き込み途中のマニフェストファイルが読み込まれないように、一時ファイルへ書き込んだ後にマニフェストファイルへ移動します。
+     *
+     * @param outputFileResolver クラス名を出力ファイルのパスへ変換する関数
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws UncheckedIOException マニフェストファイルの書き込みに失敗した場合
+     */
+    public void save(@NonNull Function<String, Path> outputFileResolver) {
+
+        final StringBuilder manifest = new StringBuilder(this.headerHash).append(System.lineSeparator());
+
+        this.currentSlices.forEach((sliceHash, slice) -> {
+            manifest.append(sliceHash);
+            slice.outputFiles.forEach(outputFile -> manifest.append(FIELD_DELIMITER).append(outputFile));
+            slice.classNames.forEach(className -> manifest.append(FIELD_DELIMITER)
+                    .append(outputFileResolver.apply(className)));
+            manifest.append(System.lineSeparator());
+        });
+
+        Path temporaryFile = null;
+
+        try {
+            final Path parent = this.manifestFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+
+            temporaryFile = Files.createTempFile(parent, null, MANIFEST_EXTENSION);
+            Files.writeString(temporaryFile, manifest, StandardCharsets.UTF_8);
+            Files.move(temporaryFile, this.manifestFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temporaryFile);
+            throw new UncheckedIOException(e);
+        }
+
+        logger.atInfo().log("増分生成計画 = (%s)", this);
+    }
+
+    /**
+     * 引数として渡された部分木のレコードの内容からハッシュ値を算出し返却します。
+     * <p>
+     * レコードの値は {@code cellItemNames} の順序で連結されるため、マップの反復順序に依存しません。
+     *
+     * @param subtree       部分木のレコード
+     * @param cellItemNames 定義表の項目名
+     * @return 16進数で表現された部分木のハッシュ値
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static String hash(@NonNull List<Map<String, String>> subtree, @NonNull List<String> cellItemNames) {
+
+        final StringBuilder content = new StringBuilder();
+
+        for (Map<String, String> record : subtree) {
+            for (String cellItemName : cellItemNames) {
+                final String value = record.get(cellItemName);
+                content.append(value == null ? String.valueOf(NULL_MARKER) : value).append(CELL_SEPARATOR);
+            }
+
+            content.append(RECORD_SEPARATOR);
+        }
+
+        return toHex(getMessageDigest().digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 引数として渡されたDTO定義グループと子クラスに含まれるクラス名を再帰的に収集します。
+     *
+     * @param dtoDefinitionGroup DTO定義グループ
+     * @param classNames         クラス名の格納先
+     */
+    private static void collectClassNames(DtoDefinitionGroup dtoDefinitionGroup, List<String> classNames) {
+        for (DtoDefinition dtoDefinition : dtoDefinitionGroup) {
+            classNames.add(dtoDefinition.getClassName());
+
+            for (DtoField dtoField : dtoDefinition.getDtoFieldGroup()) {
+                collectClassNames(dtoField.getChildDtoDefinitionGroup(), classNames);
+            }
+        }
+    }
+
+    /**
+     * 書き込みに失敗した一時ファイルを削除します。
+     *
+     * @param temporaryFile 一時ファイル
+     */
+    private static void deleteQuietly(Path temporaryFile) {
+
+        if (temporaryFile == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(temporaryFile);
+        } catch (IOException e) {
+            logger.atFinest().log("一時ファイルを削除できませんでした。(%s)", temporaryFile);
+        }
+    }
+
+    /**
+     * ハッシュ値の算出に使用する {@link MessageDigest} を返却します。
+     *
+     * @return {@link MessageDigest} オブジェクト
+     */
+    private static MessageDigest getMessageDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 引数として渡されたバイト配列を16進数の文字列へ変換します。
+     *
+     * @param digest バイト配列
+     * @return 16進数の文字列
+     */
+    private static String toHex(byte[] digest) {
+
+        final StringBuilder hex = new StringBuilder(digest.length * 2);
+
+        for (byte b : digest) {
+            hex.append(String.format("%02x", b));
+        }
+
+        return hex.toString();
+    }
+
+    /**
+     * 今回の生成処理の部分木1件分の記録を管理するデータクラスです。
+     * <p>
+     * 再利用した部分木は前回の出力ファイルのパスを、再生成した部分木は出力ファイルに対応するクラス名を保持します。
+     */
+    private static final class Slice {
+
+        /**
+         * 再利用した前回の出力ファイルのパス
+         */
+        private final List<Path> outputFiles;
+
+        /**
+         * 再生成したクラス名
+         */
+        private final List<String> classNames;
+
+        /**
+         * コンストラクタ
+         *
+         * @param outputFiles 再利用した前回の出力ファイルのパス
+         * @param classNames  再生成したクラス名
+         */
+        private Slice(List<Path> outputFiles, List<String> classNames) {
+            this.outputFiles = outputFiles;
+            this.classNames = classNames;
+        }
+    }
+}
@@ -14,9 +14,26 @@
 
 package org.thinkit.generator.content.dto.rule;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.thinkit.framework.content.rule.Rule;
 import org.thinkit.framework.content.rule.RuleInvoker;
 import org.thinkit.generator.common.command.dto.DtoResourceFormatter;
 import org.thinkit.generator.common.vo.dto.DtoMatrix;
+import org.thinkit.generator.common.vo.dto.DtoResource;
 import org.thinkit.generator.common.vo.dto.DtoResourceGroup;
 
 import lombok.NonNull;
@@ -36,6 +53,11 @@ import lombok.NonNull;
  */
 public final class DtoResourceFacade {
 
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
     /**
      * デフォルトコンストラクタ
      */
@@ -51,7 +73,268 @@ public final class DtoResourceFacade {
      * @exception NullPointerException 引数として {@code null} が渡された場合
      */
     public static DtoResourceGroup createResource(@NonNull String filePath) {
-        final DtoMatrix dtoMatrix = RuleInvoker.of(DtoMatrixCollector.from(filePath)).invoke();
-        return DtoResourceFormatter.of(dtoMatrix).execute();
+        return createResource(filePath, DtoResourceOption.of());
+    }
+
+    /**
+     * 引数として指定された {@code filePath} の値に紐づくワークブックに定義された情報からDTO定義グループを取得し返却します。
+     * <p>
+     * 引数として指定された {@code dtoResourceOption} でキャッシュが有効化されている場合は、
+     * ワークブックの内容が変更されていない限り前回の解析結果を再利用します。
+     *
+     * @param filePath          DTO定義書へのファイルパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @return DTO定義書から取得したDTO定義グループ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static DtoResourceGroup createResource(@NonNull String filePath,
+            @NonNull DtoResourceOption dtoResourceOption) {
+        return formatResource(collectMatrix(filePath, dtoResourceOption), dtoResourceOption);
+    }
+
+    /**
+     * 引数として指定された {@code filePath} の値に紐づくワークブックに定義された情報からDTOマトリクスを取得し返却します。
+     * <p>
+     * このメソッドはリソース生成処理のうちワークブックの解析段階のみを実行します。<br>
+     * 解析段階と整形段階を別々に実行する必要がない場合は {@link #createResource(String, DtoResourceOption)}
+     * を使用してください。
+     *
+     * @param filePath          DTO定義書へのファイルパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @return DTO定義書から取得したDTOマトリクス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     *
+     * @see #formatResource(DtoMatrix)
+     */
+    public static DtoMatrix collectMatrix(@NonNull String filePath, @NonNull DtoResourceOption dtoResourceOption) {
+        return RuleInvoker.of(createMatrixCollector(filePath, dtoResourceOption)).invoke();
+    }
+
+    /**
+     * 引数として指定された {@code filePath} の値に紐づくワークブックに定義された情報から、前回の生成から変更された最上位層のクラス定義のみを含むDTOマトリクスを取得し返却します。
+     * <p>
+     * 変更されていない最上位層のクラス定義は {@code dtoRebuildPlan} に再利用する出力ファイルとして記録され、DTOマトリクスには含まれません。<br>
+     * 変更の有無はワークブックのレコードの内容から判定するため、解析済みDTOマトリクスのキャッシュは使用しません。
+     *
+     * @param filePath          DTO定義書へのファイルパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @param dtoRebuildPlan    増分生成計画
+     * @return 変更された最上位層のクラス定義のみを含むDTOマトリクス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     *
+     * @see DtoRebuildPlan
+     */
+    public static DtoMatrix collectMatrix(@NonNull String filePath, @NonNull DtoResourceOption dtoResourceOption,
+            @NonNull DtoRebuildPlan dtoRebuildPlan) {
+        return RuleInvoker.of(DtoMatrixCollector.from(filePath, dtoResourceOption, dtoRebuildPlan)).invoke();
+    }
+
+    /**
+     * 引数として指定されたDTOマトリクスを基にDTOリソースグループを生成し返却します。
+     * <p>
+     * このメソッドはリソース生成処理のうち整形段階のみを実行します。
+     *
+     * @param dtoMatrix DTOマトリクス
+     * @return DTOリソースグループ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     *
+     * @see #collectMatrix(String, DtoResourceOption)
+     */
+    public static DtoResourceGroup formatResource(@NonNull DtoMatrix dtoMatrix) {
+        return formatResource(dtoMatrix, DtoResourceOption.of());
+    }
+
+    /**
+     * 引数として指定されたDTOマトリクスを基にDTOリソースグループを生成し返却します。
+     * <p>
+     * このメソッドはリソース生成処理のうち整形段階のみを実行します。<br>
+     * 引数として指定された {@code dtoResourceOption} で並列整形が有効化されている場合は、
+     * 最上位層のクラス定義ごとに並列でリソースを生成します。生成されるDTOリソースグループは逐次処理の結果と同一です。
+     * <p>
+     * 定義プールで共有された子クラスは最初に出現した位置で1度だけ整形され、2回目以降の出現ではリソースを生成しません。
+     *
+     * @param dtoMatrix         DTOマトリクス
+     * @param dtoResourceOption DTOリソースオプション
+     * @return DTOリソースグループ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     *
+     * @see #collectMatrix(String, DtoResourceOption)
+     */
+    public static DtoResourceGroup formatResource(@NonNull DtoMatrix dtoMatrix,
+            @NonNull DtoResourceOption dtoResourceOption) {
+
+        final DtoMatrix deduplicatedDtoMatrix = DtoDefinitionDeduplicator.of().deduplicate(dtoMatrix);
+
+        if (dtoResourceOption.isParallelFormatting()) {
+            return DtoResourceParallelFormatter.of(deduplicatedDtoMatrix).execute();
+        }
+
+        return DtoResourceFormatter.of(deduplicatedDtoMatrix).execute();
+    }
+
+    /**
+     * 引数として指定された {@code filePath} の値に紐づくワークブックに定義された情報からDTOリソースを生成し、
+     * 生成したDTOリソースを順次 {@code dtoResourceConsumer} へ通知します。
+     * <p>
+     * 最上位層のDTO定義が完成する度に、そのDTO定義と子クラスのリソースを生成して通知します。<br>
+     * そのため、ワークブック全体の定義情報と生成されたリソースを同時に保持することはありません。<br>
+     * 定義プールで共有された子クラスは、最初に出現した最上位層のDTO定義と共に1度だけ通知されます。
+     * <p>
+     * 引数として指定された {@code dtoResourceOption} でキャッシュが有効化されている場合は、
+     * キャッシュから取得したDTOマトリクスを基にリソースを生成し順次通知します。
+     *
+     * @param filePath            DTO定義書へのファイルパス
+     * @param dtoResourceOption   DTOリソースオプション
+     * @param dtoResourceConsumer 生成されたDTOリソースを受け取る消費者
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static void createResource(@NonNull String filePath, @NonNull DtoResourceOption dtoResourceOption,
+            @NonNull Consumer<DtoResource> dtoResourceConsumer) {
+
+        if (dtoResourceOption.isCacheEnabled()) {
+            createResource(filePath, dtoResourceOption).forEach(dtoResourceConsumer);
+            return;
+        }
+
+        final DtoDefinitionDeduplicator dtoDefinitionDeduplicator = DtoDefinitionDeduplicator.of();
+
+        RuleInvoker.of(DtoMatrixCollector.from(filePath, dtoResourceOption,
+                dtoMatrix -> DtoResourceFormatter.of(dtoDefinitionDeduplicator.deduplicate(dtoMatrix)).execute()
+                        .forEach(dtoResourceConsumer))).invoke();
+    }
+
+    /**
+     * 引数として指定された {@code filePath} の値に紐づくワークブックに定義された情報から生成したDTOリソースを、
+     * 生成された順に発行するパブリッシャーを返却します。
+     * <p>
+     * 定義書の解析は購読者が登録された時点で開始され、購読者が要求した数に応じて進行します。<br>
+     * そのため、呼び出し元は後続のクラスが生成されている間に先に発行されたクラスを処理できます。
+     *
+     * @param filePath          DTO定義書へのファイルパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @return DTOリソースを発行するパブリッシャー
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     *
+     * @see DtoResourcePublisher
+     */
+    public static Flow.Publisher<DtoResource> publishResource(@NonNull String filePath,
+            @NonNull DtoResourceOption dtoResourceOption) {
+        return DtoResourcePublisher.of(filePath, dtoResourceOption);
+    }
+
+    /**
+     * 引数として指定された入力ストリームから読み込んだワークブックに定義された情報からDTOリソースを生成し、
+     * 完全修飾クラス名とソースコードの対応を返却します。
+     * <p>
+     * 定義書の読み込みからリソースの生成までメモリ上で行われ、一時ファイルや出力ファイルは作成されません。<br>
+     * 戻り値のマップは {@link #createResource(String, DtoResourceOption)} が生成する順序で要素を保持します。<br>
+     * 定義書のファイルパスが存在しないため、 {@code dtoResourceOption} で指定されたキャッシュは使用されません。
+     * <p>
+     * このメソッドは入力ストリームを閉じません。
+     *
+     * @param inputStream       DTO定義書の入力ストリーム
+     * @param dtoResourceOption DTOリソースオプション
+     * @return 完全修飾クラス名とソースコードの対応
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws UncheckedIOException 定義書の読み込みに失敗した場合
+     */
+    public static Map<String, String> createResource(@NonNull InputStream inputStream,
+            @NonNull DtoResourceOption dtoResourceOption) {
+
+        final DtoMatrix dtoMatrix;
+
+        try (Workbook workbook = WorkbookFactory.create(inputStream)) {
+            dtoMatrix = RuleInvoker.of(DtoMatrixCollector.from(workbook, dtoResourceOption)).invoke();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final DtoResourceGroup dtoResourceGroup = formatResource(dtoMatrix, dtoResourceOption);
+        final Map<String, String> sources = new LinkedHashMap<>(dtoResourceGroup.size() * 4 / 3 + 1);
+
+        for (DtoResource dtoResource : dtoResourceGroup) {
+            final String qualifiedName = toQualifiedName(dtoResource);
+
+            if (sources.put(qualifiedName, dtoResource.getResource()) != null) {
+                logger.atWarning().log("同じ完全修飾クラス名のリソースが生成されたため上書きしました。(%s)", qualifiedName);
+            }
+        }
+
+        return sources;
+    }
+
+    /**
+     * 引数として指定されたバッファに格納されたワークブックに定義された情報からDTOリソースを生成し、
+     * 完全修飾クラス名とソースコードの対応を返却します。
+     * <p>
+     * バッファの現在位置から上限までをワークブックとして読み込みます。バッファの位置は変更されません。<br>
+     * バッファが配列を基にしている場合、ワークブックの内容は複製されません。
+     *
+     * @param byteBuffer        DTO定義書を格納したバッファ
+     * @param dtoResourceOption DTOリソースオプション
+     * @return 完全修飾クラス名とソースコードの対応
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws UncheckedIOException 定義書の読み込みに失敗した場合
+     *
+     * @see #createResource(InputStream, DtoResourceOption)
+     */
+    public static Map<String, String> createResource(@NonNull ByteBuffer byteBuffer,
+            @NonNull DtoResourceOption dtoResourceOption) {
+
+        final ByteBuffer workbookBuffer = byteBuffer.duplicate();
+
+        if (workbookBuffer.hasArray()) {
+            return createResource(new ByteArrayInputStream(workbookBuffer.array(),
+                    workbookBuffer.arrayOffset() + workbookBuffer.position(), workbookBuffer.remaining()),
+                    dtoResourceOption);
+        }
+
+        final byte[] workbookBytes = new byte[workbookBuffer.remaining()];
+        workbookBuffer.get(workbookBytes);
+
+        return createResource(new ByteArrayInputStream(workbookBytes), dtoResourceOption);
+    }
+
+    /**
+     * DTOリソースオプションに応じてDTOマトリクスを取得するルールを生成し返却します。
+     *
+     * @param filePath          DTO定義書へのファイルパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @return DTOマトリクスを取得するルール
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private static Rule<DtoMatrix> createMatrixCollector(@NonNull String filePath,
+            @NonNull DtoResourceOption dtoResourceOption) {
+
+        if (dtoResourceOption.isCacheEnabled()) {
+            return DtoMatrixCacheCollector.from(filePath, dtoResourceOption);
+        }
+
+        return DtoMatrixCollector.from(filePath, dtoResourceOption);
+    }
+
+    /**
+     * 引数として指定されたDTOリソースの完全修飾クラス名を返却します。
+     *
+     * @param dtoResource DTOリソース
+     * @return 完全修飾クラス名
+     */
+    private static String toQualifiedName(@NonNull DtoResource dtoResource) {
+
+        if (StringUtils.isEmpty(dtoResource.getPackageName())) {
+            return dtoResource.getResourceName();
+        }
+
+        return dtoResource.getPackageName() + "." + dtoResource.getResourceName();
     }
 }
\ No newline at end of file
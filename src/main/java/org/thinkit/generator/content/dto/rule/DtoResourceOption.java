@@ -0,0 +1,404 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import java.io.Serializable;
+import java.nio.file.Paths;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * DTOクラスのリソースを生成する際の動作オプションを管理するデータクラスです。
+ * <p>
+ * このクラスはFluentインターフェースの概念を応用し設計されています。<br>
+ * そのため、以下のようなメソッドチェーンでの操作が可能です。
+ *
+ * <pre>
+ * <code>
+ * DtoResourceOption dtoResourceOption = DtoResourceOption.of()
+ *                                  .cacheDirectory(cacheDirectory);
+ * </code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class DtoResourceOption implements Serializable {
+
+    /**
+     * シリアルバージョンUID
+     */
+    private static final long serialVersionUID = -4046253517398412785L;
+
+    /**
+     * 定義表の終端とみなす連続した空行の数の既定値
+     */
+    private static final int DEFAULT_TABLE_END_BLANK_ROWS = 10;
+
+    /**
+     * 解析済みDTOマトリクスのキャッシュを格納するディレクトリ
+     */
+    private String cacheDirectory;
+
+    /**
+     * 最上位層のクラス単位でリソースを生成し出力するストリーミングモード
+     */
+    private boolean streaming;
+
+    /**
+     * 最上位層のクラス定義ごとに並列でDTO定義を生成するモード
+     */
+    private boolean parallelCollecting;
+
+    /**
+     * 最上位層のクラス定義ごとに並列でリソースを生成するモード
+     */
+    private boolean parallelFormatting;
+
+    /**
+     * 定義表の終端とみなす連続した空行の数
+     */
+    private int tableEndBlankRows;
+
+    /**
+     * 定義表の終端を示す文字列
+     */
+    private String tableEndMarker;
+
+    /**
+     * 変更された最上位層のクラス定義のみを再生成するモード
+     */
+    private boolean incremental;
+
+    /**
+     * XLSX形式の定義書から定義書シートの解析に必要なパートのみを読み込むモード
+     */
+    private boolean selectiveLoading;
+
+    /**
+     * 同梱のコンテンツファイルに優先して読み込むコンテンツファイルを配置したディレクトリ
+     */
+    private String contentDirectory;
+
+    /**
+     * コンテンツのキャッシュ
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient DtoContentCache contentCache;
+
+    /**
+     * 子クラスのDTO定義の定義プール
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient DtoDefinitionInterner definitionInterner;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoResourceOption() {
+        this.cacheDirectory = StringUtils.EMPTY;
+        this.streaming = false;
+        this.parallelCollecting = false;
+        this.parallelFormatting = false;
+        this.tableEndBlankRows = DEFAULT_TABLE_END_BLANK_ROWS;
+        this.tableEndMarker = StringUtils.EMPTY;
+        this.incremental = false;
+        this.selectiveLoading = false;
+        this.contentDirectory = StringUtils.EMPTY;
+    }
+
+    /**
+     * 既定値で初期化された {@link DtoResourceOption} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @return {@link DtoResourceOption} クラスの新しいインスタンス
+     */
+    public static DtoResourceOption of() {
+        return new DtoResourceOption();
+    }
+
+    /**
+     * 引数として渡されたオプションと同じ設定を持つ {@link DtoResourceOption} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * コンテンツのキャッシュと定義プールは複製せず、引数として渡されたオプションと同じインスタンスを参照します。<br>
+     * 返却されたオプションを変更しても、引数として渡されたオプションは変更されません。
+     *
+     * @param dtoResourceOption 複製するオプション
+     * @return {@link DtoResourceOption} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static DtoResourceOption copyOf(@NonNull DtoResourceOption dtoResourceOption) {
+
+        final DtoResourceOption copy = new DtoResourceOption();
+        copy.cacheDirectory = dtoResourceOption.cacheDirectory;
+        copy.streaming = dtoResourceOption.streaming;
+        copy.parallelCollecting = dtoResourceOption.parallelCollecting;
+        copy.parallelFormatting = dtoResourceOption.parallelFormatting;
+        copy.tableEndBlankRows = dtoResourceOption.tableEndBlankRows;
+        copy.tableEndMarker = dtoResourceOption.tableEndMarker;
+        copy.incremental = dtoResourceOption.incremental;
+        copy.selectiveLoading = dtoResourceOption.selectiveLoading;
+        copy.contentDirectory = dtoResourceOption.contentDirectory;
+        copy.contentCache = dtoResourceOption.contentCache;
+        copy.definitionInterner = dtoResourceOption.definitionInterner;
+
+        return copy;
+    }
+
+    /**
+     * 解析済みDTOマトリクスのキャッシュを格納するディレクトリを設定します。
+     * <p>
+     * 空文字列が渡された場合はキャッシュを使用しません。
+     *
+     * @param cacheDirectory キャッシュを格納するディレクトリ
+     * @return 自分自身のインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public DtoResourceOption cacheDirectory(@NonNull String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+        return this;
+    }
+
+    /**
+     * ストリーミングモードを設定します。
+     * <p>
+     * ストリーミングモードでは最上位層のクラス定義が完成する度にリソースを生成し出力します。<br>
+     * そのため、処理中のメモリ使用量はワークブック全体ではなく最大のクラス1件分に比例します。
+     *
+     * @param streaming ストリーミングモードで動作する場合は {@code true} 、それ以外は {@code false}
+     * @return 自分自身のインスタンス
+     */
+    public DtoResourceOption streaming(boolean streaming) {
+        this.streaming = streaming;
+        return this;
+    }
+
+    /**
+     * 最上位層のクラス定義ごとに並列でDTO定義を生成するモードを設定します。
+     * <p>
+     * このモードでは定義書のレコードを最上位層のクラス定義の境界で分割し、分割した部分木を
+     * {@link java.util.concurrent.ForkJoinPool} 上で並列に処理します。<br>
+     * ストリーミングモードが有効な場合、このモードは使用されません。
+     *
+     * @param parallelCollecting 並列でDTO定義を生成する場合は {@code true} 、それ以外は {@code false}
+     * @return 自分自身のインスタンス
+     */
+    public DtoResourceOption parallelCollecting(boolean parallelCollecting) {
+        this.parallelCollecting = parallelCollecting;
+        return this;
+    }
+
+    /**
+     * 最上位層のクラス定義ごとに並列でリソースを生成するモードを設定します。
+     * <p>
+     * このモードで生成されるDTOリソースグループは逐次処理で生成した結果と同一です。
+     *
+     * @param parallelFormatting 並列でリソースを生成する場合は {@code true} 、それ以外は {@code false}
+     * @return 自分自身のインスタンス
+     */
+    public DtoResourceOption parallelFormatting(boolean parallelFormatting) {
+        this.parallelFormatting = parallelFormatting;
+        return this;
+    }
+
+    /**
+     * 定義表の終端とみなす連続した空行の数を設定します。
+     * <p>
+     * 定義表の全ての項目が空白の行が指定された数だけ連続した場合、以降の行は読み取りません。<br>
+     * 長期間編集された定義書のように書式だけが設定された空行が大量に続く場合でも、読み取る行の数は実際の定義の数に比例します。<br>
+     * {@code 0} が指定された場合はシートの最終行まで読み取ります。いずれの場合も空行はDTO定義の生成に使用されません。
+     *
+     * @param tableEndBlankRows 定義表の終端とみなす連続した空行の数
+     * @return 自分自身のインスタンス
+     *
+     * @throws IllegalArgumentException 負数が渡された場合
+     */
+    public DtoResourceOption tableEndBlankRows(int tableEndBlankRows) {
+
+        if (tableEndBlankRows < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "wrong parameter was given. Zero or positive number was expected but %s was given.",
+                    tableEndBlankRows));
+        }
+
+        this.tableEndBlankRows = tableEndBlankRows;
+        return this;
+    }
+
+    /**
+     * 定義表の終端を示す文字列を設定します。
+     * <p>
+     * 定義表のいずれかの項目に指定された文字列が記述された行を終端とみなし、その行と以降の行は読み取りません。<br>
+     * 空文字列が渡された場合は終端を示す文字列による判定を行いません。
+     *
+     * @param tableEndMarker 定義表の終端を示す文字列
+     * @return 自分自身のインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public DtoResourceOption tableEndMarker(@NonNull String tableEndMarker) {
+        this.tableEndMarker = tableEndMarker;
+        return this;
+    }
+
+    /**
+     * 変更された最上位層のクラス定義のみを再生成するモードを設定します。
+     * <p>
+     * このモードでは最上位層のクラス定義ごとのレコードのハッシュ値を出力先へ記録し、次回の生成時にハッシュ値が一致するクラス定義の生成、整形、書き込みを省略します。<br>
+     * ストリーミングモードが有効な場合、このモードは使用されません。
+     *
+     * @param incremental 変更されたクラス定義のみを再生成する場合は {@code true} 、それ以外は {@code false}
+     * @return 自分自身のインスタンス
+     */
+    public DtoResourceOption incremental(boolean incremental) {
+        this.incremental = incremental;
+        return this;
+    }
+
+    /**
+     * XLSX形式の定義書から定義書シートの解析に必要なパートのみを読み込むモードを設定します。
+     * <p>
+     * このモードでは定義書シート、共有文字列テーブル、スタイルのみを含むパッケージを再構成して読み込むため、他のシートや画像の解析を省略します。<br>
+     * XLSX形式ではない定義書、または、定義書シートが存在しない定義書は全てのパートを読み込みます。
+     *
+     * @param selectiveLoading 必要なパートのみを読み込む場合は {@code true} 、それ以外は {@code false}
+     * @return 自分自身のインスタンス
+     */
+    public DtoResourceOption selectiveLoading(boolean selectiveLoading) {
+        this.selectiveLoading = selectiveLoading;
+        return this;
+    }
+
+    /**
+     * 同梱のコンテンツファイルに優先して読み込むコンテンツファイルを配置したディレクトリを設定します。
+     * <p>
+     * ディレクトリには同梱のコンテンツファイルと同じ相対パスでコンテンツファイルを配置します。ディレクトリに存在しないコンテンツファイルは同梱のものを使用します。<br>
+     * 空文字列が渡された場合は同梱のコンテンツファイルのみを使用します。
+     *
+     * @param contentDirectory コンテンツファイルを配置したディレクトリ
+     * @return 自分自身のインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     *
+     * @see DtoContentCache#from(DtoResourceOption)
+     */
+    public DtoResourceOption contentDirectory(@NonNull String contentDirectory) {
+        this.contentDirectory = contentDirectory;
+        return this;
+    }
+
+    /**
+     * 定義書の解析で使用するコンテンツのキャッシュを設定します。
+     * <p>
+     * 同じキャッシュを設定したオプションで解析される定義書は、コンテンツのロード結果を共有します。
+     *
+     * @param contentCache コンテンツのキャッシュ
+     * @return 自分自身のインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public DtoResourceOption contentCache(@NonNull DtoContentCache contentCache) {
+        this.contentCache = contentCache;
+        return this;
+    }
+
+    /**
+     * 定義書の解析で構造が同一の子クラスを共有する定義プールを設定します。
+     * <p>
+     * 同じプールを設定したオプションで解析される定義書は、定義書を跨いで子クラスのDTO定義を共有します。<br>
+     * プールが設定されていない場合、または、ストリーミングモードで解析する場合は子クラスのDTO定義を共有しません。
+     *
+     * @param definitionInterner 子クラスのDTO定義の定義プール
+     * @return 自分自身のインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public DtoResourceOption definitionInterner(@NonNull DtoDefinitionInterner definitionInterner) {
+        this.definitionInterner = definitionInterner;
+        return this;
+    }
+
+    /**
+     * 定義書の解析で使用する子クラスのDTO定義の定義プールを返却します。
+     * <p>
+     * プールが設定されていない場合は {@code null} を返却します。
+     *
+     * @return 子クラスのDTO定義の定義プール、または、プールが設定されていない場合は {@code null}
+     */
+    public DtoDefinitionInterner getDefinitionInterner() {
+        return this.definitionInterner;
+    }
+
+    /**
+     * 定義書の解析で使用するコンテンツのキャッシュを返却します。
+     * <p>
+     * キャッシュが設定されていない場合は、ロード結果を保持しないキャッシュを返却します。<br>
+     * コンテンツファイルを配置したディレクトリが設定されている場合、ロード結果を保持しないキャッシュもそのディレクトリからロードします。
+     *
+     * @return コンテンツのキャッシュ
+     */
+    public DtoContentCache getContentCache() {
+
+        if (this.contentCache != null) {
+            return this.contentCache;
+        }
+
+        return this.isContentDirectoryEnabled() ? DtoContentCache.uncached(Paths.get(this.contentDirectory))
+                : DtoContentCache.uncached();
+    }
+
+    /**
+     * 解析済みDTOマトリクスのキャッシュが有効か判定します。
+     *
+     * @return キャッシュが有効な場合は {@code true} 、それ以外は {@code false}
+     */
+    public boolean isCacheEnabled() {
+        return !StringUtils.isBlank(this.cacheDirectory);
+    }
+
+    /**
+     * 定義書の解析結果に影響するオプションを表現した文字列を返却します。
+     * <p>
+     * 解析済みDTOマトリクスのキャッシュのように解析結果を再利用する処理は、この文字列が一致する場合のみ解析結果を再利用してください。<br>
+     * 解析結果に影響するオプションを追加した場合は、この文字列にも含めてください。
+     *
+     * @return 定義書の解析結果に影響するオプションを表現した文字列
+     */
+    public String getParsingKey() {
+        return String.format("tableEndBlankRows=%s,tableEndMarker=%s,selectiveLoading=%s", this.tableEndBlankRows,
+                this.tableEndMarker, this.selectiveLoading);
+    }
+
+    /**
+     * 同梱のコンテンツファイルに優先して読み込むコンテンツファイルを配置したディレクトリが設定されているか判定します。
+     *
+     * @return ディレクトリが設定されている場合は {@code true} 、それ以外は {@code false}
+     */
+    public boolean isContentDirectoryEnabled() {
+        return !StringUtils.isBlank(this.contentDirectory);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.thinkit.common.command.Command;
+import org.thinkit.generator.common.command.dto.DtoResourceFormatter;
+import org.thinkit.generator.common.vo.dto.DtoDefinition;
+import org.thinkit.generator.common.vo.dto.DtoDefinitionGroup;
+import org.thinkit.generator.common.vo.dto.DtoMatrix;
+import org.thinkit.generator.common.vo.dto.DtoResourceGroup;
+
+import lombok.NonNull;
+
+/**
+ * DTOマトリクスを最上位層のクラス定義ごとに分割し、分割したクラス定義のリソースを並列で生成する処理を定義したクラスです。
+ * <p>
+ * 最上位層のクラス定義ごとのリソースは {@link DtoResourceFormatter} で生成し、マトリクスに定義された順序で連結します。<br>
+ * {@link DtoResourceFormatter}
+ * は最上位層のクラス定義とその子クラスのリソースを連続して生成するため、このクラスが生成するDTOリソースグループは
+ * {@link DtoResourceFormatter} で逐次生成した結果と同一です。
+ * <p>
+ * いずれかのクラス定義のリソース生成に失敗した場合は {@link DtoResourceFormatter} と同様に {@code null} を返却します。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DtoResourceFormatter
+ */
+final class DtoResourceParallelFormatter implements Command<DtoResourceGroup> {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * DTOマトリクス
+     */
+    private DtoMatrix dtoMatrix;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoResourceParallelFormatter() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param dtoMatrix DTOマトリクス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private DtoResourceParallelFormatter(@NonNull DtoMatrix dtoMatrix) {
+        this.dtoMatrix = dtoMatrix;
+    }
+
+    /**
+     * 引数として渡されたDTOマトリクスを基に {@link DtoResourceParallelFormatter} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param dtoMatrix DTOマトリクス
+     * @return {@link DtoResourceParallelFormatter} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static Command<DtoResourceGroup> of(@NonNull DtoMatrix dtoMatrix) {
+        return new DtoResourceParallelFormatter(dtoMatrix);
+    }
+
+    @Override
+    public DtoResourceGroup execute() {
+
+        final List<DtoDefinition> dtoDefinitionList = new ArrayList<>();
+        this.dtoMatrix.getDtoDefinitionGroup().forEach(dtoDefinitionList::add);
+
+        logger.atFine().log("並列処理するクラス定義の数 = (%s)", dtoDefinitionList.size());
+
+        final List<DtoResourceGroup> dtoResourceGroupList = dtoDefinitionList.parallelStream()
+                .map(this::formatDtoDefinition).collect(Collectors.toList());
+
+        final DtoResourceGroup dtoResourceGroup = DtoResourceGroup.of();
+
+        for (DtoResourceGroup formattedDtoResourceGroup : dtoResourceGroupList) {
+            if (formattedDtoResourceGroup == null) {
+                logger.atSevere().log("DTOリソースの生成処理が異常終了しました。");
+                return null;
+            }
+
+            formattedDtoResourceGroup.forEach(dtoResourceGroup::add);
+        }
+
+        logger.atFinest().log("DTOリソースグループ = (%s)", dtoResourceGroup);
+        return dtoResourceGroup;
+    }
+
+    /**
+     * 引数として渡された最上位層のクラス定義とその子クラスのリソースを生成し返却します。
+     *
+     * @param dtoDefinition 最上位層のクラス定義
+     * @return クラス定義から生成したDTOリソースグループ
+     */
+    private DtoResourceGroup formatDtoDefinition(final DtoDefinition dtoDefinition) {
+        return DtoResourceFormatter.of(DtoMatrix.of(this.dtoMatrix.getDtoMeta(), this.dtoMatrix.getDtoCreator(),
+                DtoDefinitionGroup.of().add(dtoDefinition))).execute();
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.thinkit.generator.common.vo.dto.DtoResource;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * DTO定義書から生成したDTOリソースを生成された順に購読者へ発行するパブリッシャーです。
+ * <p>
+ * 購読者が登録される度に定義書の解析を開始し、最上位層のクラス定義が完成する度にそのクラスと子クラスのリソースを発行します。<br>
+ * そのため、購読者は後続のクラスが生成されている間に先に発行されたクラスのコンパイルやアップロードを開始できます。
+ * <p>
+ * 発行は {@link SubmissionPublisher} を介して行われ、購読者が要求した数を超えたリソースはバッファに保持されます。<br>
+ * バッファが満杯になった場合は購読者が次のリソースを要求するまで定義書の解析を停止するため、処理中に保持されるリソースの数はバッファの容量で制限されます。
+ * <p>
+ * 購読者が購読を取り消した場合は、次のリソースが完成した時点で定義書の解析を中断します。
+ *
+ * <pre>
+ * <code>
+ * DtoResourceFacade.publishResource(filePath, DtoResourceOption.of()).subscribe(subscriber);
+ * </code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DtoResourceFacade#publishResource(String, DtoResourceOption)
+ */
+@ToString
+public final class DtoResourcePublisher implements Flow.Publisher<DtoResource> {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * DTO定義書のファイルパス
+     */
+    private String filePath;
+
+    /**
+     * DTOリソースオプション
+     */
+    private DtoResourceOption dtoResourceOption;
+
+    /**
+     * 定義書の解析と購読者へのリソースの通知に使用する実行者
+     */
+    private Executor executor;
+
+    /**
+     * 購読者ごとのバッファの容量
+     */
+    private int maxBufferCapacity;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoResourcePublisher() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param filePath          DTO定義書のファイルパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @param executor          定義書の解析と購読者へのリソースの通知に使用する実行者
+     * @param maxBufferCapacity 購読者ごとのバッファの容量
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException ファイルパスが空文字列の場合、または、バッファの容量が1未満の場合
+     */
+    private DtoResourcePublisher(@NonNull String filePath, @NonNull DtoResourceOption dtoResourceOption,
+            @NonNull Executor executor, int maxBufferCapacity) {
+
+        if (StringUtils.isBlank(filePath)) {
+            throw new IllegalArgumentException("wrong parameter was given. File path is required.");
+        }
+
+        if (maxBufferCapacity < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "wrong parameter was given. Positive number was expected but %s was given.", maxBufferCapacity));
+        }
+
+        this.filePath = filePath;
+        this.dtoResourceOption = dtoResourceOption;
+        this.executor = executor;
+        this.maxBufferCapacity = maxBufferCapacity;
+    }
+
+    /**
+     * 引数として渡された情報を基に {@link DtoResourcePublisher} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * 定義書の解析と購読者へのリソースの通知には {@link ForkJoinPool#commonPool()} を使用し、バッファの容量は
+     * {@link Flow#defaultBufferSize()} を使用します。
+     *
+     * @param filePath          DTO定義書のファイルパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @return {@link DtoResourcePublisher} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException ファイルパスが空文字列の場合
+     */
+    public static Flow.Publisher<DtoResource> of(@NonNull String filePath,
+            @NonNull DtoResourceOption dtoResourceOption) {
+        return new DtoResourcePublisher(filePath, dtoResourceOption, ForkJoinPool.commonPool(),
+                Flow.defaultBufferSize());
+    }
+
+    /**
+     * 引数として渡された情報を基に {@link DtoResourcePublisher} クラスの新しいインスタンスを生成し返却します。
+     * <p>
+     * 定義書の解析はバッファが満杯の間は実行者のスレッドを占有したまま待機するため、
+     * 実行者には解析と購読者への通知を同時に実行できるだけのスレッドを用意してください。
+     *
+     * @param filePath          DTO定義書のファイルパス
+     * @param dtoResourceOption DTOリソースオプション
+     * @param executor          定義書の解析と購読者へのリソースの通知に使用する実行者
+     * @param maxBufferCapacity 購読者ごとのバッファの容量
+     * @return {@link DtoResourcePublisher} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException ファイルパスが空文字列の場合、または、バッファの容量が1未満の場合
+     */
+    public static Flow.Publisher<DtoResource> of(@NonNull String filePath,
+            @NonNull DtoResourceOption dtoResourceOption, @NonNull Executor executor, int maxBufferCapacity) {
+        return new DtoResourcePublisher(filePath, dtoResourceOption, executor, maxBufferCapacity);
+    }
+
+    /**
+     * 引数として渡された購読者を登録し、定義書の解析を開始します。
+     * <p>
+     * 定義書の解析は購読者ごとに実行者へ投入されるため、このメソッドは解析の完了を待機しません。<br>
+     * 全てのリソースを発行した時点で {@link Flow.Subscriber#onComplete()} が呼び出され、
+     * 解析に失敗した場合、または、実行者が解析の投入を拒否した場合は {@link Flow.Subscriber#onError(Throwable)} が呼び出されます。
+     *
+     * @param subscriber 購読者
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    @Override
+    public void subscribe(@NonNull Flow.Subscriber<? super DtoResource> subscriber) {
+
+        final SubmissionPublisher<DtoResource> submissionPublisher = new SubmissionPublisher<>(this.executor,
+                this.maxBufferCapacity);
+        submissionPublisher.subscribe(subscriber);
+
+        try {
+            this.executor.execute(() -> this.produce(submissionPublisher));
+        } catch (RejectedExecutionException e) {
+            logger.atSevere().withCause(e).log("定義書の解析を開始できませんでした。定義書 = (%s)", this.filePath);
+            submissionPublisher.closeExceptionally(e);
+        }
+    }
+
+    /**
+     * 定義書を解析し、生成したリソースを順次発行します。
+     * <p>
+     * {@link Error} を含めて解析に失敗した場合は、購読者へ失敗を通知します。
+     *
+     * @param submissionPublisher 購読者へリソースを発行するパブリッシャー
+     */
+    private void produce(SubmissionPublisher<DtoResource> submissionPublisher) {
+
+        try {
+            DtoResourceFacade.createResource(this.filePath, this.dtoResourceOption, dtoResource -> {
+                if (!submissionPublisher.hasSubscribers()) {
+                    throw new CancellationException("subscription was cancelled.");
+                }
+
+                submissionPublisher.submit(dtoResource);
+            });
+
+            submissionPublisher.close();
+        } catch (CancellationException e) {
+            logger.atFine().log("購読が取り消されたため定義書の解析を中断しました。定義書 = (%s)", this.filePath);
+            submissionPublisher.close();
+        } catch (Throwable e) {
+            logger.atSevere().withCause(e).log("DTOリソースの発行に失敗しました。定義書 = (%s)", this.filePath);
+            submissionPublisher.closeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.thinkit.generator.common.vo.dto.DtoResource;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * DTOリソースを出力先へ直接書き込む処理を定義したクラスです。
+ * <p>
+ * DTOリソースの内容をバイト配列へ変換してから書き込むのではなく、プールから貸し出すバッファを介して
+ * UTF-8へ1度だけ符号化しながら出力先へ書き込みます。<br>
+ * そのため、大きなクラスを出力する場合でもリソース全体のバイト配列や中間バッファは生成されません。
+ * <p>
+ * ヒープ外のバッファはプロセッサ数に比例した数のみ生成し、書き込みの度にプールへ返却して再利用します。<br>
+ * 仮想スレッドのように多数のスレッドが同時に書き込む場合、プールの上限を超えた分はヒープ上のバッファで符号化するため、
+ * スレッドの数だけヒープ外のバッファが確保されることはありません。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class DtoResourceWriter {
+
+    /**
+     * 符号化に使用するバッファのサイズ
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * ヒープ外のバッファを持つ符号化器の上限数
+     */
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    /**
+     * 再利用する符号化器のプール
+     */
+    private static final BlockingQueue<Coder> POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    /**
+     * 生成したヒープ外のバッファを持つ符号化器の数
+     */
+    private static final AtomicInteger DIRECT_CODERS = new AtomicInteger();
+
+    /**
+     * 書き込み中の一時ファイルの接頭辞
+     */
+    private static final String TEMPORARY_FILE_PREFIX = ".";
+
+    /**
+     * 書き込み中の一時ファイルの接尾辞
+     */
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoResourceWriter() {
+    }
+
+    /**
+     * 引数として渡されたDTOリソースを指定されたファイルへ書き込みます。
+     * <p>
+     * 親ディレクトリが存在しない場合は作成します。既にファイルが存在する場合は上書きします。<br>
+     * DTOリソースは同じディレクトリに作成した一時ファイルへ書き込んでから出力先へ移動するため、
+     * 書き込みの途中で割り込みや例外により中断された場合でも、出力先のファイルが途中まで書き込まれた状態になることはありません。
+     *
+     * @param dtoResource DTOリソース
+     * @param filePath    出力先のファイルパス
+     * @return 書き込んだバイト数
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public static long write(@NonNull DtoResource dtoResource, @NonNull Path filePath) throws IOException {
+
+        final Path parent = filePath.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+
+        final Path temporaryFile = Files.createTempFile(parent, TEMPORARY_FILE_PREFIX + filePath.getFileName(),
+                TEMPORARY_FILE_SUFFIX);
+
+        try {
+            final long writtenBytes;
+
+            try (FileChannel fileChannel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                writtenBytes = write(dtoResource, fileChannel);
+            }
+
+            Files.move(temporaryFile, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            return writtenBytes;
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * 引数として渡されたDTOリソースをUTF-8で符号化しながらチャネルへ書き込みます。
+     * <p>
+     * このメソッドはチャネルを閉じません。
+     *
+     * @param dtoResource DTOリソース
+     * @param channel     出力先のチャネル
+     * @return 書き込んだバイト数
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public static long write(@NonNull DtoResource dtoResource, @NonNull WritableByteChannel channel)
+            throws IOException {
+
+        final Coder coder = acquire();
+
+        try {
+            return encode(dtoResource, channel, coder.getEncoder().reset(), coder.getBuffer());
+        } finally {
+            if (coder.getBuffer().isDirect()) {
+                POOL.offer(coder);
+            }
+        }
+    }
+
+    /**
+     * 引数として渡されたDTOリソースを符号化器とバッファを使用して符号化しながらチャネルへ書き込みます。
+     *
+     * @param dtoResource DTOリソース
+     * @param channel     出力先のチャネル
+     * @param encoder     UTF-8の符号化器
+     * @param buffer      符号化済みのバイトを保持するバッファ
+     * @return 書き込んだバイト数
+     *
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private static long encode(DtoResource dtoResource, WritableByteChannel channel, CharsetEncoder encoder,
+            ByteBuffer buffer) throws IOException {
+
+        final CharBuffer source = CharBuffer.wrap(dtoResource.getResource());
+
+        buffer.clear();
+        long writtenBytes = 0L;
+
+        while (true) {
+            final CoderResult coderResult = encoder.encode(source, buffer, true);
+
+            if (coderResult.isError()) {
+                coderResult.throwException();
+            }
+
+            writtenBytes += drain(buffer, channel);
+
+            if (coderResult.isUnderflow()) {
+                break;
+            }
+        }
+
+        while (encoder.flush(buffer).isOverflow()) {
+            writtenBytes += drain(buffer, channel);
+        }
+
+        writtenBytes += drain(buffer, channel);
+
+        return writtenBytes;
+    }
+
+    /**
+     * 引数として渡されたDTOリソースを文字ストリームへ書き込みます。
+     * <p>
+     * このメソッドは文字ストリームを閉じません。
+     *
+     * @param dtoResource DTOリソース
+     * @param writer      出力先の文字ストリーム
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public static void write(@NonNull DtoResource dtoResource, @NonNull Writer writer) throws IOException {
+        writer.write(dtoResource.getResource());
+    }
+
+    /**
+     * プールから符号化器を貸し出します。
+     * <p>
+     * プールが空の場合、ヒープ外のバッファを持つ符号化器の数が上限に達するまではヒープ外のバッファを持つ符号化器を生成し、
+     * 上限に達した後はヒープ上のバッファを持つ符号化器を生成します。
+     *
+     * @return 符号化器
+     */
+    private static Coder acquire() {
+
+        final Coder coder = POOL.poll();
+
+        if (coder != null) {
+            return coder;
+        }
+
+        if (DIRECT_CODERS.incrementAndGet() <= POOL_SIZE) {
+            return Coder.of(ByteBuffer.allocateDirect(BUFFER_SIZE));
+        }
+
+        DIRECT_CODERS.decrementAndGet();
+        return Coder.of(ByteBuffer.allocate(BUFFER_SIZE));
+    }
+
+    /**
+     * バッファに蓄積された符号化済みのバイトをチャネルへ書き出し、バッファを再利用可能な状態に戻します。
+     *
+     * @param buffer  符号化済みのバイトを保持するバッファ
+     * @param channel 出力先のチャネル
+     * @return 書き出したバイト数
+     *
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private static long drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+
+        buffer.flip();
+        final long remaining = buffer.remaining();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+
+        return remaining;
+    }
+
+    /**
+     * UTF-8の符号化器と符号化済みのバイトを保持するバッファの組を保持するクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Getter
+    private static final class Coder {
+
+        /**
+         * UTF-8の符号化器
+         */
+        private final CharsetEncoder encoder;
+
+        /**
+         * 符号化済みのバイトを保持するバッファ
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * コンストラクタ
+         *
+         * @param buffer 符号化済みのバイトを保持するバッファ
+         */
+        private Coder(ByteBuffer buffer) {
+            this.encoder = StandardCharsets.UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.buffer = buffer;
+        }
+
+        /**
+         * 引数として渡されたバッファを基に {@link Coder} クラスの新しいインスタンスを生成し返却します。
+         *
+         * @param buffer 符号化済みのバイトを保持するバッファ
+         * @return {@link Coder} クラスの新しいインスタンス
+         */
+        private static Coder of(ByteBuffer buffer) {
+            return new Coder(buffer);
+        }
+    }
+}
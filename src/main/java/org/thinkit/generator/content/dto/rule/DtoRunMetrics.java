@@ -0,0 +1,179 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DTO生成器の実行中に計測した値を集計するクラスです。
+ * <p>
+ * 各カウンタは {@link LongAdder} で実装されているため、複数のスレッドから同時に加算しても競合しません。<br>
+ * 集計値はプロセス全体で共有されます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class DtoRunMetrics {
+
+    /**
+     * 文字列の重複排除により削減したヒープの推定サイズ（バイト）
+     */
+    private static final LongAdder deduplicatedBytes = new LongAdder();
+
+    /**
+     * 重複を排除した文字列の数
+     */
+    private static final LongAdder deduplicatedStrings = new LongAdder();
+
+    /**
+     * 解析した定義表の行数
+     */
+    private static final LongAdder collectedRows = new LongAdder();
+
+    /**
+     * 生成したクラスの数
+     */
+    private static final LongAdder generatedClasses = new LongAdder();
+
+    /**
+     * 出力ファイルへ書き込んだバイト数
+     */
+    private static final LongAdder writtenBytes = new LongAdder();
+
+    /**
+     * 処理が完了した定義書の数
+     */
+    private static final LongAdder completedWorkbooks = new LongAdder();
+
+    /**
+     * 処理に失敗した定義書の数
+     */
+    private static final LongAdder failedWorkbooks = new LongAdder();
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoRunMetrics() {
+    }
+
+    /**
+     * 文字列の重複排除の結果を加算します。
+     *
+     * @param dtoStringPool 解析処理で使用した文字列プール
+     */
+    static void addDeduplication(DtoStringPool dtoStringPool) {
+        deduplicatedBytes.add(dtoStringPool.getSavedBytes());
+        deduplicatedStrings.add(dtoStringPool.getDeduplicatedCount());
+    }
+
+    /**
+     * 文字列の重複排除により削減したヒープの推定サイズを返却します。
+     *
+     * @return 削減したヒープの推定サイズ（バイト）
+     */
+    public static long getDeduplicatedBytes() {
+        return deduplicatedBytes.sum();
+    }
+
+    /**
+     * 重複を排除した文字列の数を返却します。
+     *
+     * @return 重複を排除した文字列の数
+     */
+    public static long getDeduplicatedStrings() {
+        return deduplicatedStrings.sum();
+    }
+
+    /**
+     * 解析した定義表の行数を加算します。
+     *
+     * @param rows 解析した行数
+     */
+    static void addCollectedRows(long rows) {
+        collectedRows.add(rows);
+    }
+
+    /**
+     * 解析した定義表の行数の合計を返却します。
+     *
+     * @return 行数の合計
+     */
+    public static long getCollectedRows() {
+        return collectedRows.sum();
+    }
+
+    /**
+     * 生成したクラスを出力ファイルへ書き込んだバイト数とともに加算します。
+     * <p>
+     * 別の定義書が同じ内容で書き込み済みのため書き込みを省略した場合は {@code bytes} に {@code 0} を指定します。
+     *
+     * @param bytes 書き込んだバイト数
+     */
+    public static void addGeneratedClass(long bytes) {
+        generatedClasses.increment();
+        writtenBytes.add(bytes);
+    }
+
+    /**
+     * 生成したクラスの数の合計を返却します。
+     *
+     * @return クラスの数の合計
+     */
+    public static long getGeneratedClasses() {
+        return generatedClasses.sum();
+    }
+
+    /**
+     * 出力ファイルへ書き込んだバイト数の合計を返却します。
+     *
+     * @return 書き込んだバイト数の合計
+     */
+    public static long getWrittenBytes() {
+        return writtenBytes.sum();
+    }
+
+    /**
+     * 処理が完了した定義書の数を加算します。
+     */
+    public static void addCompletedWorkbook() {
+        completedWorkbooks.increment();
+    }
+
+    /**
+     * 処理が完了した定義書の数の合計を返却します。
+     *
+     * @return 定義書の数の合計
+     */
+    public static long getCompletedWorkbooks() {
+        return completedWorkbooks.sum();
+    }
+
+    /**
+     * 処理に失敗した定義書の数を加算します。
+     */
+    public static void addFailedWorkbook() {
+        failedWorkbooks.increment();
+    }
+
+    /**
+     * 処理に失敗した定義書の数の合計を返却します。
+     *
+     * @return 定義書の数の合計
+     */
+    public static long getFailedWorkbooks() {
+        return failedWorkbooks.sum();
+    }
+}
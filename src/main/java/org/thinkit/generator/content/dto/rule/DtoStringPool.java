@@ -0,0 +1,176 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.ToString;
+
+/**
+ * 定義書の解析中に出現する文字列を正規化し、同じ内容の文字列を1つのインスタンスで共有するための文字列プールです。
+ * <p>
+ * データ型や初期値、説明などの同じ文字列は大きな定義書では数千回出現します。<br>
+ * このプールを通すことで、それらの文字列は最初に出現したインスタンスを共有するようになります。
+ * <p>
+ * {@link String#intern()} とは異なり、このプールは1回の解析処理の間だけ有効です。<br>
+ * 解析処理の終了後はプールへの参照を破棄してください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString(onlyExplicitlyIncluded = true)
+final class DtoStringPool {
+
+    /**
+     * 文字列オブジェクトのヘッダと配列への参照を合わせた推定サイズ（バイト）
+     */
+    private static final int STRING_OVERHEAD_BYTES = 24;
+
+    /**
+     * 配列オブジェクトのヘッダの推定サイズ（バイト）
+     */
+    private static final int ARRAY_OVERHEAD_BYTES = 16;
+
+    /**
+     * オブジェクトの境界整列のサイズ（バイト）
+     */
+    private static final int OBJECT_ALIGNMENT_BYTES = 8;
+
+    /**
+     * 正規化された文字列
+     */
+    private final Map<String, String> pool;
+
+    /**
+     * 重複を排除した文字列の数
+     */
+    @ToString.Include
+    private final LongAdder deduplicatedCount;
+
+    /**
+     * 重複の排除により削減したヒープの推定サイズ（バイト）
+     */
+    @ToString.Include
+    private final LongAdder savedBytes;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoStringPool() {
+        this.pool = new ConcurrentHashMap<>();
+        this.deduplicatedCount = new LongAdder();
+        this.savedBytes = new LongAdder();
+    }
+
+    /**
+     * {@link DtoStringPool} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @return {@link DtoStringPool} クラスの新しいインスタンス
+     */
+    static DtoStringPool of() {
+        return new DtoStringPool();
+    }
+
+    /**
+     * 引数として渡された文字列と同じ内容の正規化された文字列を返却します。
+     * <p>
+     * 同じ内容の文字列がプールに存在しない場合は引数として渡された文字列をプールへ登録し、そのまま返却します。<br>
+     * 引数として {@code null} が渡された場合は {@code null} を返却します。
+     *
+     * @param sequence 正規化する文字列
+     * @return 正規化された文字列
+     */
+    String intern(String sequence) {
+
+        if (sequence == null) {
+            return null;
+        }
+
+        final String canonical = this.pool.putIfAbsent(sequence, sequence);
+
+        if (canonical == null) {
+            return sequence;
+        }
+
+        if (canonical != sequence) {
+            this.deduplicatedCount.increment();
+            this.savedBytes.add(estimateSize(sequence));
+        }
+
+        return canonical;
+    }
+
+    /**
+     * プールに登録された文字列の数を返却します。
+     *
+     * @return プールに登録された文字列の数
+     */
+    int size() {
+        return this.pool.size();
+    }
+
+    /**
+     * 重複を排除した文字列の数を返却します。
+     *
+     * @return 重複を排除した文字列の数
+     */
+    long getDeduplicatedCount() {
+        return this.deduplicatedCount.sum();
+    }
+
+    /**
+     * 重複の排除により削減したヒープの推定サイズを返却します。
+     *
+     * @return 削減したヒープの推定サイズ（バイト）
+     */
+    long getSavedBytes() {
+        return this.savedBytes.sum();
+    }
+
+    /**
+     * 引数として渡された文字列がヒープ上で占める推定サイズを返却します。
+     * <p>
+     * 全ての文字がLatin-1で表現できる場合は1文字1バイト、それ以外の場合は1文字2バイトとして計算します。
+     *
+     * @param sequence 文字列
+     * @return ヒープ上で占める推定サイズ（バイト）
+     */
+    private static long estimateSize(String sequence) {
+
+        int bytesPerChar = 1;
+
+        for (int i = 0, length = sequence.length(); i < length; i++) {
+            if (sequence.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+
+        return STRING_OVERHEAD_BYTES + align(ARRAY_OVERHEAD_BYTES + (long) sequence.length() * bytesPerChar);
+    }
+
+    /**
+     * 引数として渡されたサイズをオブジェクトの境界整列のサイズへ切り上げます。
+     *
+     * @param size サイズ（バイト）
+     * @return 境界整列後のサイズ（バイト）
+     */
+    private static long align(long size) {
+        return (size + OBJECT_ALIGNMENT_BYTES - 1) / OBJECT_ALIGNMENT_BYTES * OBJECT_ALIGNMENT_BYTES;
+    }
+}
@@ -0,0 +1,523 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+
+import lombok.NonNull;
+
+/**
+ * XLSX形式の定義書から、定義書の解析に必要なパートのみを読み込んでワークブックを生成する処理を定義したクラスです。
+ * <p>
+ * 定義書のテンプレートには変更履歴や記載方法のシート、画像、図形などが含まれますが、定義書の解析で参照するのは1つのシートのみです。<br>
+ * このクラスはZIPの中央ディレクトリからパートの位置を取得し、以下のパートのみを展開して新しいパッケージを構成します。
+ *
+ * <pre>
+ * [Content_Types].xml、パッケージとワークブックのリレーションシップ
+ * ワークブック（対象のシート以外のシート、名前定義、外部参照、ピボットキャッシュを除去したもの）
+ * 対象のシート（外部ハイパーリンク以外のリレーションシップを除去したもの）
+ * 共有文字列
+ * スタイル（定義表の終端を罫線で判定するために必要）
+ * </pre>
+ *
+ * <p>
+ * 他のシート、図形、画像、コメント、テーマ、計算チェーン、文書プロパティなどのパートは展開されません。<br>
+ * 定義書がXLSX形式ではない場合、または、対象のシートが存在しない場合は {@code null} を返却するため、呼び出し元は通常の方法で定義書を読み込んでください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoWorkbookPartLoader {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * コンテンツタイプのパート名
+     */
+    private static final String CONTENT_TYPES_PART = "[Content_Types].xml";
+
+    /**
+     * パッケージのリレーションシップのパート名
+     */
+    private static final String PACKAGE_RELATIONSHIPS_PART = "_rels/.rels";
+
+    /**
+     * リレーションシップのパートを格納するディレクトリ
+     */
+    private static final String RELATIONSHIPS_DIRECTORY = "_rels/";
+
+    /**
+     * リレーションシップのパートの拡張子
+     */
+    private static final String RELATIONSHIPS_EXTENSION = ".rels";
+
+    /**
+     * ワークブックを示すリレーションシップの種類の接尾辞
+     */
+    private static final String OFFICE_DOCUMENT_TYPE = "/officeDocument";
+
+    /**
+     * 共有文字列を示すリレーションシップの種類の接尾辞
+     */
+    private static final String SHARED_STRINGS_TYPE = "/sharedStrings";
+
+    /**
+     * スタイルを示すリレーションシップの種類の接尾辞
+     */
+    private static final String STYLES_TYPE = "/styles";
+
+    /**
+     * 外部を参照するリレーションシップの対象の種類
+     */
+    private static final String EXTERNAL_TARGET_MODE = "External";
+
+    /**
+     * リレーションシップの要素のパターン
+     */
+    private static final Pattern RELATIONSHIP_PATTERN = Pattern.compile("<(?:\\w+:)?Relationship\\b[^>]*?/>");
+
+    /**
+     * ワークブックのシートの要素のパターン
+     */
+    private static final Pattern SHEET_PATTERN = Pattern.compile("<(?:\\w+:)?sheet\\b[^>]*?/>");
+
+    /**
+     * ワークブックのシートの一覧の要素のパターン
+     */
+    private static final Pattern SHEETS_PATTERN = Pattern.compile("(<(?:\\w+:)?sheets\\b[^>]*>).*?(</(?:\\w+:)?sheets>)",
+            Pattern.DOTALL);
+
+    /**
+     * ワークブックから除去する要素のパターン
+     */
+    private static final Pattern REMOVED_ELEMENTS_PATTERN = Pattern.compile(
+            "<((?:\\w+:)?(?:definedNames|externalReferences|pivotCaches))\\b[^>]*?(?:/>|>.*?</\\1>)", Pattern.DOTALL);
+
+    /**
+     * ワークブックから除去するシートの番号を示す属性のパターン
+     */
+    private static final Pattern SHEET_INDEX_ATTRIBUTE_PATTERN = Pattern.compile("\\s(?:activeTab|firstSheet)=\"\\d+\"");
+
+    /**
+     * シートの要素のリレーションシップIDの属性のパターン
+     */
+    private static final Pattern RELATIONSHIP_ID_ATTRIBUTE_PATTERN = Pattern.compile("\\s\\w+:id=\"([^\"]*)\"");
+
+    /**
+     * 要素の属性のパターン
+     */
+    private static final Pattern ATTRIBUTE_PATTERN = Pattern.compile("\\s([\\w:]+)=\"([^\"]*)\"");
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoWorkbookPartLoader() {
+    }
+
+    /**
+     * 引数として渡された定義書から、指定されたシートの解析に必要なパートのみを読み込んだワークブックを返却します。
+     * <p>
+     * 定義書がXLSX形式ではない場合、または、指定されたシートが存在しない場合は {@code null} を返却します。<br>
+     * 返却されたワークブックは呼び出し元で閉じてください。
+     *
+     * @param workbookFile 定義書のパス
+     * @param sheetName    読み込むシートの名前
+     * @return 必要なパートのみを読み込んだワークブック、または、必要なパートのみを読み込めない場合は {@code null}
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IOException 定義書の読み込みに失敗した場合
+     */
+    static Workbook load(@NonNull Path workbookFile, @NonNull String sheetName) throws IOException {
+
+        final byte[] selectedPackage;
+
+        try (ZipFile zipFile = new ZipFile(workbookFile.toFile())) {
+            selectedPackage = select(zipFile, sheetName);
+        } catch (ZipException e) {
+            logger.atFine().log("XLSX形式ではないため定義書全体を読み込みます。(%s)", workbookFile);
+            return null;
+        }
+
+        if (selectedPackage == null) {
+            logger.atFine().log("シートが見つからないため定義書全体を読み込みます。定義書 = (%s)、シート = (%s)", workbookFile, sheetName);
+            return null;
+        }
+
+        logger.atFine().log("定義書 = (%s)、読み込んだパッケージのサイズ = (%s)", workbookFile, selectedPackage.length);
+        return WorkbookFactory.create(new ByteArrayInputStream(selectedPackage));
+    }
+
+    /**
+     * 引数として渡されたZIPファイルから指定されたシートの解析に必要なパートを選択し、新しいパッケージを構成します。
+     *
+     * @param zipFile   定義書のZIPファイル
+     * @param sheetName 読み込むシートの名前
+     * @return 構成したパッケージのバイト配列、または、必要なパートが見つからない場合は {@code null}
+     *
+     * @throws IOException パートの読み込みに失敗した場合
+     */
+    private static byte[] select(ZipFile zipFile, String sheetName) throws IOException {
+
+        final String packageRelationships = readPart(zipFile, PACKAGE_RELATIONSHIPS_PART);
+
+        if (packageRelationships == null || zipFile.getEntry(CONTENT_TYPES_PART) == null) {
+            return null;
+        }
+
+        final List<Map<String, String>> documentRelationships = filterRelationships(packageRelationships, "",
+                relationship -> relationship.get("Type").endsWith(OFFICE_DOCUMENT_TYPE));
+
+        if (documentRelationships.isEmpty()) {
+            return null;
+        }
+
+        final String workbookPart = resolveTarget("", documentRelationships.get(0).get("Target"));
+        final String workbookRelationshipsPart = toRelationshipsPart(workbookPart);
+        final String workbook = readPart(zipFile, workbookPart);
+        final String workbookRelationships = readPart(zipFile, workbookRelationshipsPart);
+
+        if (workbook == null || workbookRelationships == null) {
+            return null;
+        }
+
+        final String sheetElement = findSheetElement(workbook, sheetName);
+
+        if (sheetElement == null) {
+            return null;
+        }
+
+        final Matcher relationshipId = RELATIONSHIP_ID_ATTRIBUTE_PATTERN.matcher(sheetElement);
+
+        if (!relationshipId.find()) {
+            return null;
+        }
+
+        final String sheetRelationshipId = relationshipId.group(1);
+        final String workbookDirectory = toDirectory(workbookPart);
+        final List<Map<String, String>> keptRelationships = filterRelationships(workbookRelationships,
+                workbookDirectory,
+                relationship -> sheetRelationshipId.equals(relationship.get("Id"))
+                        || relationship.get("Type").endsWith(SHARED_STRINGS_TYPE)
+                        || relationship.get("Type").endsWith(STYLES_TYPE));
+
+        final String sheetPart = keptRelationships.stream()
+                .filter(relationship -> sheetRelationshipId.equals(relationship.get("Id")))
+                .map(relationship -> relationship.get("ResolvedTarget")).findFirst().orElse(null);
+
+        if (sheetPart == null || zipFile.getEntry(sheetPart) == null) {
+            return null;
+        }
+
+        final Map<String, byte[]> parts = new LinkedHashMap<>();
+        parts.put(CONTENT_TYPES_PART, readBytes(zipFile, CONTENT_TYPES_PART));
+        parts.put(PACKAGE_RELATIONSHIPS_PART,
+                toRelationshipsXml(packageRelationships, documentRelationships.subList(0, 1)));
+        parts.put(workbookPart, rewriteWorkbook(workbook, sheetElement).getBytes(StandardCharsets.UTF_8));
+        parts.put(workbookRelationshipsPart, toRelationshipsXml(workbookRelationships, keptRelationships));
+
+        for (Map<String, String> relationship : keptRelationships) {
+            final String part = relationship.get("ResolvedTarget");
+
+            if (part != null && zipFile.getEntry(part) != null) {
+                parts.put(part, readBytes(zipFile, part));
+            }
+        }
+
+        final String sheetRelationshipsPart = toRelationshipsPart(sheetPart);
+        final String sheetRelationships = readPart(zipFile, sheetRelationshipsPart);
+
+        if (sheetRelationships != null) {
+            parts.put(sheetRelationshipsPart, toRelationshipsXml(sheetRelationships, filterRelationships(
+                    sheetRelationships, toDirectory(sheetPart),
+                    relationship -> EXTERNAL_TARGET_MODE.equals(relationship.get("TargetMode")))));
+        }
+
+        return writePackage(parts);
+    }
+
+    /**
+     * 引数として渡されたワークブックのパートから指定された名前のシートの要素を検索し返却します。
+     *
+     * @param workbook  ワークブックのパートの内容
+     * @param sheetName シートの名前
+     * @return シートの要素、または、シートが存在しない場合は {@code null}
+     */
+    private static String findSheetElement(String workbook, String sheetName) {
+
+        final String nameAttribute = "name=\"" + escapeXml(sheetName) + "\"";
+
+        for (Matcher matcher = SHEET_PATTERN.matcher(workbook); matcher.find();) {
+            if (matcher.group().contains(nameAttribute)) {
+                return matcher.group();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 引数として渡されたワークブックのパートから、指定されたシート以外のシートとシートを参照する要素を除去します。
+     *
+     * @param workbook     ワークブックのパートの内容
+     * @param sheetElement 残すシートの要素
+     * @return 書き換えたワークブックのパートの内容
+     */
+    private static String rewriteWorkbook(String workbook, String sheetElement) {
+
+        final Matcher sheets = SHEETS_PATTERN.matcher(workbook);
+
+        if (!sheets.find()) {
+            return workbook;
+        }
+
+        final String rewritten = workbook.substring(0, sheets.start()) + sheets.group(1) + sheetElement
+                + sheets.group(2) + workbook.substring(sheets.end());
+
+        return SHEET_INDEX_ATTRIBUTE_PATTERN
+                .matcher(REMOVED_ELEMENTS_PATTERN.matcher(rewritten).replaceAll(""))
+                .replaceAll("");
+    }
+
+    /**
+     * 引数として渡されたリレーションシップのパートから条件に一致するリレーションシップを抽出します。
+     * <p>
+     * 抽出したリレーションシップは属性名と属性値の対応として返却し、パッケージ内の対象は {@code ResolvedTarget} に絶対パスとして格納します。
+     *
+     * @param relationships リレーションシップのパートの内容
+     * @param baseDirectory リレーションシップの参照元のパートのディレクトリ
+     * @param condition     抽出する条件
+     * @return 条件に一致したリレーションシップのリスト
+     */
+    private static List<Map<String, String>> filterRelationships(String relationships, String baseDirectory,
+            Predicate<Map<String, String>> condition) {
+
+        final List<Map<String, String>> filtered = new ArrayList<>();
+
+        for (Matcher matcher = RELATIONSHIP_PATTERN.matcher(relationships); matcher.find();) {
+            final Map<String, String> relationship = parseAttributes(matcher.group());
+            relationship.putIfAbsent("Type", "");
+            relationship.putIfAbsent("Target", "");
+            relationship.put("Element", matcher.group());
+
+            if (!EXTERNAL_TARGET_MODE.equals(relationship.get("TargetMode"))) {
+                relationship.put("ResolvedTarget", resolveTarget(baseDirectory, relationship.get("Target")));
+            }
+
+            if (condition.test(relationship)) {
+                filtered.add(relationship);
+            }
+        }
+
+        return filtered;
+    }
+
+    /**
+     * 引数として渡されたリレーションシップのパートを、指定されたリレーションシップのみを含む内容へ書き換えます。
+     *
+     * @param relationships     元のリレーションシップのパートの内容
+     * @param keptRelationships 残すリレーションシップ
+     * @return 書き換えたリレーションシップのパートのバイト配列
+     */
+    private static byte[] toRelationshipsXml(String relationships, List<Map<String, String>> keptRelationships) {
+
+        final Matcher matcher = RELATIONSHIP_PATTERN.matcher(relationships);
+
+        if (!matcher.find()) {
+            return relationships.getBytes(StandardCharsets.UTF_8);
+        }
+
+        final int start = matcher.start();
+        int end = matcher.end();
+
+        while (matcher.find()) {
+            end = matcher.end();
+        }
+
+        final StringBuilder rewritten = new StringBuilder(relationships.substring(0, start));
+        keptRelationships.forEach(relationship -> rewritten.append(relationship.get("Element")));
+        rewritten.append(relationships.substring(end));
+
+        return rewritten.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 引数として渡された要素の属性を属性名と属性値の対応として返却します。
+     *
+     * @param element 要素
+     * @return 属性名と属性値の対応
+     */
+    private static Map<String, String> parseAttributes(String element) {
+
+        final Map<String, String> attributes = new LinkedHashMap<>();
+        final Matcher matcher = ATTRIBUTE_PATTERN.matcher(element);
+
+        while (matcher.find()) {
+            attributes.put(matcher.group(1), matcher.group(2));
+        }
+
+        return attributes;
+    }
+
+    /**
+     * 引数として渡された参照元のディレクトリを基準に、リレーションシップの対象をパッケージ内の絶対パスへ変換します。
+     *
+     * @param baseDirectory 参照元のパートのディレクトリ
+     * @param target        リレーションシップの対象
+     * @return パッケージ内の絶対パス（先頭のスラッシュを含まない）
+     */
+    private static String resolveTarget(String baseDirectory, String target) {
+
+        final String path = target.startsWith("/") ? target.substring(1) : baseDirectory + target;
+        final List<String> segments = new ArrayList<>();
+
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || ".".equals(segment)) {
+                continue;
+            }
+
+            if ("..".equals(segment)) {
+                if (!segments.isEmpty()) {
+                    segments.remove(segments.size() - 1);
+                }
+                continue;
+            }
+
+            segments.add(segment);
+        }
+
+        return String.join("/", segments);
+    }
+
+    /**
+     * 引数として渡されたパートのディレクトリを返却します。
+     *
+     * @param part パート名
+     * @return パートのディレクトリ（末尾のスラッシュを含む）
+     */
+    private static String toDirectory(String part) {
+        return part.substring(0, part.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * 引数として渡されたパートのリレーションシップのパート名を返却します。
+     *
+     * @param part パート名
+     * @return リレーションシップのパート名
+     */
+    private static String toRelationshipsPart(String part) {
+        return toDirectory(part) + RELATIONSHIPS_DIRECTORY + part.substring(part.lastIndexOf('/') + 1)
+                + RELATIONSHIPS_EXTENSION;
+    }
+
+    /**
+     * 引数として渡された文字列をXMLの属性値として表現した文字列へ変換します。
+     *
+     * @param sequence 文字列
+     * @return XMLの属性値として表現した文字列
+     */
+    private static String escapeXml(String sequence) {
+        return sequence.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    /**
+     * 引数として渡されたパートをUTF-8の文字列として読み込みます。
+     *
+     * @param zipFile ZIPファイル
+     * @param part    パート名
+     * @return パートの内容、または、パートが存在しない場合は {@code null}
+     *
+     * @throws IOException パートの読み込みに失敗した場合
+     */
+    private static String readPart(ZipFile zipFile, String part) throws IOException {
+        final byte[] bytes = readBytes(zipFile, part);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 引数として渡されたパートをバイト配列として読み込みます。
+     *
+     * @param zipFile ZIPファイル
+     * @param part    パート名
+     * @return パートの内容、または、パートが存在しない場合は {@code null}
+     *
+     * @throws IOException パートの読み込みに失敗した場合
+     */
+    private static byte[] readBytes(ZipFile zipFile, String part) throws IOException {
+
+        final ZipEntry entry = zipFile.getEntry(part);
+
+        if (entry == null) {
+            return null;
+        }
+
+        try (InputStream inputStream = zipFile.getInputStream(entry)) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    /**
+     * 引数として渡されたパートから新しいパッケージを構成します。
+     * <p>
+     * 構成したパッケージは直後に展開されるため、圧縮は行いません。
+     *
+     * @param parts パート名とパートの内容の対応
+     * @return 構成したパッケージのバイト配列
+     *
+     * @throws IOException パッケージの構成に失敗した場合
+     */
+    private static byte[] writePackage(Map<String, byte[]> parts) throws IOException {
+
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(
+                parts.values().stream().mapToInt(bytes -> bytes.length + 128).sum());
+
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(byteArrayOutputStream)) {
+            zipOutputStream.setLevel(Deflater.NO_COMPRESSION);
+
+            for (Map.Entry<String, byte[]> part : parts.entrySet()) {
+                zipOutputStream.putNextEntry(new ZipEntry(part.getKey()));
+                zipOutputStream.write(part.getValue());
+                zipOutputStream.closeEntry();
+            }
+        }
+
+        return byteArrayOutputStream.toByteArray();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thinkit.generator.content.dto.rule.DtoResourceOption;
+import org.thinkit.generator.content.dto.rule.DtoRunMetrics;
+import org.thinkit.generator.workbook.common.DefinitionPath;
+
+/**
+ * {@link DtoBatchPipeline} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoBatchPipelineTest {
+
+    /**
+     * 定義書のテンプレート
+     */
+    private static final Path TEMPLATE = Paths.get("template", "dto-definition-version-project-function.xlsx");
+
+    /**
+     * 一括処理が終了するまでの上限時間
+     */
+    private static final Duration TIMEOUT = Duration.ofMinutes(1);
+
+    /**
+     * 処理対象の定義書の数
+     */
+    private static final int WORKBOOKS = 4;
+
+    /**
+     * 作業ディレクトリ
+     */
+    private Path workDirectory;
+
+    /**
+     * テストごとに作業ディレクトリを作成します。
+     *
+     * @throws IOException 作業ディレクトリの作成に失敗した場合
+     */
+    @BeforeEach
+    void createWorkDirectory() throws IOException {
+        this.workDirectory = Files.createTempDirectory("dto-batch-pipeline-test");
+    }
+
+    /**
+     * テストごとに作業ディレクトリを削除します。
+     *
+     * @throws IOException 作業ディレクトリの削除に失敗した場合
+     */
+    @AfterEach
+    void deleteWorkDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.workDirectory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * 書き込み段階で {@link Error} が発生した場合でも一括処理が終了し、全ての定義書が失敗として扱われることを検証します。
+     *
+     * @throws IOException 定義書の作成に失敗した場合
+     */
+    @Test
+    void testErrorInLastStageDoesNotHang() throws IOException {
+
+        final List<DtoGenerator> dtoGenerators = this.createGenerators();
+        final AtomicInteger notified = new AtomicInteger();
+        final long baseFailedWorkbooks = DtoRunMetrics.getFailedWorkbooks();
+        final DtoBatchPipeline dtoBatchPipeline = DtoBatchPipeline.of(
+                DtoBatchOption.of().parseParallelism(1).formatParallelism(1).writeParallelism(1).queueCapacity(1),
+                dtoGenerator -> {
+                    notified.incrementAndGet();
+                    throw new AssertionError("completion failed");
+                });
+
+        assertFalse(assertTimeoutPreemptively(TIMEOUT, () -> dtoBatchPipeline.execute(dtoGenerators)));
+        assertEquals(WORKBOOKS, notified.get());
+        assertEquals(WORKBOOKS, DtoRunMetrics.getFailedWorkbooks() - baseFailedWorkbooks);
+    }
+
+    /**
+     * 解析前の通知が定義書ごとに書き込み完了の通知より前に呼び出されることを検証します。
+     *
+     * @throws IOException 定義書の作成に失敗した場合
+     */
+    @Test
+    void testParseListenerRunsBeforeCompletion() throws IOException {
+
+        final List<DtoGenerator> dtoGenerators = this.createGenerators();
+        final Set<String> parsed = ConcurrentHashMap.newKeySet();
+        final Set<String> completed = ConcurrentHashMap.newKeySet();
+        final DtoBatchPipeline dtoBatchPipeline = DtoBatchPipeline.of(DtoBatchOption.of(),
+                dtoGenerator -> parsed.add(dtoGenerator.getDefinitionFilePath()), dtoGenerator -> {
+                    if (parsed.contains(dtoGenerator.getDefinitionFilePath())) {
+                        completed.add(dtoGenerator.getDefinitionFilePath());
+                    }
+                });
+
+        assertTrue(assertTimeoutPreemptively(TIMEOUT, () -> dtoBatchPipeline.execute(dtoGenerators)));
+        assertEquals(WORKBOOKS, completed.size());
+    }
+
+    /**
+     * テンプレートを複製した定義書ごとに、個別の出力先を持つ生成器を作成します。
+     *
+     * @return 生成器のリスト
+     *
+     * @throws IOException 定義書の複製に失敗した場合
+     */
+    private List<DtoGenerator> createGenerators() throws IOException {
+
+        final List<DtoGenerator> dtoGenerators = new ArrayList<>(WORKBOOKS);
+
+        for (int i = 0; i < WORKBOOKS; i++) {
+            final Path workbook = Files.copy(TEMPLATE, this.workDirectory.resolve("definition" + i + ".xlsx"));
+            dtoGenerators.add(DtoGenerator.from(
+                    DefinitionPath.of(workbook.toString(), this.workDirectory.resolve("out" + i).toString()),
+                    DtoResourceOption.of()));
+        }
+
+        return dtoGenerators;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link DtoCheckpointJournal} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoCheckpointJournalTest {
+
+    /**
+     * 生成結果に影響するオプションを表現した文字列
+     */
+    private static final String OPTIONS = "tableEndBlankRows=1";
+
+    /**
+     * 作業ディレクトリ
+     */
+    private Path workDirectory;
+
+    /**
+     * ジャーナルファイル
+     */
+    private Path journalFile;
+
+    /**
+     * 定義書
+     */
+    private Path workbook;
+
+    /**
+     * 出力ファイル
+     */
+    private Path outputFile;
+
+    /**
+     * テストごとに作業ディレクトリと定義書、出力ファイルを作成します。
+     *
+     * @throws IOException 作業ディレクトリの作成に失敗した場合
+     */
+    @BeforeEach
+    void createWorkDirectory() throws IOException {
+        this.workDirectory = Files.createTempDirectory("dto-checkpoint-journal-test");
+        this.journalFile = this.workDirectory.resolve("checkpoint.journal");
+        this.workbook = Files.writeString(this.workDirectory.resolve("definition.xlsx"), "workbook");
+        this.outputFile = Files.writeString(this.workDirectory.resolve("TestDto.java"), "class TestDto {}");
+    }
+
+    /**
+     * テストごとに作業ディレクトリを削除します。
+     *
+     * @throws IOException 作業ディレクトリの削除に失敗した場合
+     */
+    @AfterEach
+    void deleteWorkDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.workDirectory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * 同じ出力先とオプションで再開した場合のみ記録が処理済みとみなされることを検証します。
+     */
+    @Test
+    void testCheckpointRequiresSameOutputRootAndOptions() {
+
+        try (DtoCheckpointJournal journal = DtoCheckpointJournal.open(this.journalFile, false, "out", OPTIONS)) {
+            journal.record(this.workbook, DtoCheckpointJournal.hash(this.workbook), List.of(this.outputFile));
+        }
+
+        try (DtoCheckpointJournal journal = DtoCheckpointJournal.open(this.journalFile, true, "out", OPTIONS)) {
+            assertTrue(journal.isCompleted(this.workbook));
+        }
+
+        try (DtoCheckpointJournal journal = DtoCheckpointJournal.open(this.journalFile, true, "other", OPTIONS)) {
+            assertFalse(journal.isCompleted(this.workbook));
+        }
+
+        try (DtoCheckpointJournal journal = DtoCheckpointJournal.open(this.journalFile, true, "out",
+                "tableEndBlankRows=2")) {
+            assertFalse(journal.isCompleted(this.workbook));
+        }
+    }
+
+    /**
+     * 書き込み途中の記録が再開時に切り詰められ、続けて追記した記録が読み込めることを検証します。
+     *
+     * @throws IOException ジャーナルファイルの操作に失敗した場合
+     */
+    @Test
+    void testTornTailIsTruncatedBeforeAppending() throws IOException {
+
+        Files.writeString(this.journalFile, "torn-record\tpartial", StandardOpenOption.CREATE_NEW);
+
+        try (DtoCheckpointJournal journal = DtoCheckpointJournal.open(this.journalFile, true, "out", OPTIONS)) {
+            assertFalse(journal.isCompleted(this.workbook));
+            journal.record(this.workbook, DtoCheckpointJournal.hash(this.workbook), List.of(this.outputFile));
+        }
+
+        final List<String> lines = Files.readAllLines(this.journalFile, StandardCharsets.UTF_8);
+
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains(this.workbook.toAbsolutePath().normalize().toString()));
+
+        try (DtoCheckpointJournal journal = DtoCheckpointJournal.open(this.journalFile, true, "out", OPTIONS)) {
+            assertTrue(journal.isCompleted(this.workbook));
+        }
+    }
+
+    /**
+     * 記録した後に定義書が変更された場合は処理済みとみなされないことを検証します。
+     *
+     * @throws IOException 定義書の変更に失敗した場合
+     */
+    @Test
+    void testModifiedWorkbookIsNotCompleted() throws IOException {
+
+        try (DtoCheckpointJournal journal = DtoCheckpointJournal.open(this.journalFile, false, "out", OPTIONS)) {
+            journal.record(this.workbook, DtoCheckpointJournal.hash(this.workbook), List.of(this.outputFile));
+        }
+
+        Files.writeString(this.workbook, "modified");
+
+        try (DtoCheckpointJournal journal = DtoCheckpointJournal.open(this.journalFile, true, "out", OPTIONS)) {
+            assertFalse(journal.isCompleted(this.workbook));
+        }
+    }
+
+    /**
+     * 解析を開始した後に定義書が変更された場合は、記録した後でも処理済みとみなされないことを検証します。
+     *
+     * @throws IOException 定義書の変更に失敗した場合
+     */
+    @Test
+    void testWorkbookModifiedDuringProcessingIsNotCompleted() throws IOException {
+
+        final String hashBeforeParsing = DtoCheckpointJournal.hash(this.workbook);
+
+        Files.writeString(this.workbook, "modified");
+
+        try (DtoCheckpointJournal journal = DtoCheckpointJournal.open(this.journalFile, false, "out", OPTIONS)) {
+            journal.record(this.workbook, hashBeforeParsing, List.of(this.outputFile));
+        }
+
+        try (DtoCheckpointJournal journal = DtoCheckpointJournal.open(this.journalFile, true, "out", OPTIONS)) {
+            assertFalse(journal.isCompleted(this.workbook));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.thinkit.generator.content.dto.rule.DtoResourceOption;
+
+/**
+ * {@link DtoGeneratorSession} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoGeneratorSessionTest {
+
+    /**
+     * セッションが引数として渡されたオプションへコンテンツのキャッシュを設定しないことを検証します。
+     */
+    @Test
+    void testSessionDoesNotModifyOption() {
+
+        final DtoResourceOption dtoResourceOption = DtoResourceOption.of().tableEndBlankRows(3);
+
+        try (DtoGeneratorSession dtoGeneratorSession = DtoGeneratorSession.of(dtoResourceOption, 1)) {
+            assertEquals(0, dtoResourceOption.getContentCache().size());
+            assertTrue(dtoGeneratorSession.toString().contains("tableEndBlankRows=3"));
+        }
+    }
+}
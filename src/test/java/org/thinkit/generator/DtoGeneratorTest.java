@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thinkit.generator.content.dto.rule.DtoDefinitionInterner;
+import org.thinkit.generator.content.dto.rule.DtoResourceOption;
+import org.thinkit.generator.workbook.common.DefinitionPath;
+
+/**
+ * {@link DtoGenerator} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoGeneratorTest {
+
+    /**
+     * 定義書のテンプレート
+     */
+    private static final Path TEMPLATE = Paths.get("template", "dto-definition-version-project-function.xlsx");
+
+    /**
+     * 処理対象の定義書の数
+     */
+    private static final int WORKBOOKS = 2;
+
+    /**
+     * 作業ディレクトリ
+     */
+    private Path workDirectory;
+
+    /**
+     * テストごとに作業ディレクトリを作成します。
+     *
+     * @throws IOException 作業ディレクトリの作成に失敗した場合
+     */
+    @BeforeEach
+    void createWorkDirectory() throws IOException {
+        this.workDirectory = Files.createTempDirectory("dto-generator-test");
+    }
+
+    /**
+     * テストごとに作業ディレクトリを削除します。
+     *
+     * @throws IOException 作業ディレクトリの削除に失敗した場合
+     */
+    @AfterEach
+    void deleteWorkDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.workDirectory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * 子クラスを定義書を跨いで共有した場合でも、共有しない場合と同じ出力ファイルが同じ内容で書き込まれることを検証します。
+     *
+     * @throws IOException 定義書の複製または出力ファイルの読み込みに失敗した場合
+     */
+    @Test
+    void testSharedChildrenWriteSameFiles() throws IOException {
+
+        final DtoDefinitionInterner dtoDefinitionInterner = DtoDefinitionInterner.of();
+
+        final Map<String, String> unsharedFiles = this.generate("unshared", DtoResourceOption.of());
+        final Map<String, String> sharedFiles = this.generate("shared",
+                DtoResourceOption.of().definitionInterner(dtoDefinitionInterner));
+
+        assertFalse(unsharedFiles.isEmpty());
+        assertEquals(unsharedFiles, sharedFiles);
+        assertTrue(dtoDefinitionInterner.getSharedCount() > 0);
+    }
+
+    /**
+     * テンプレートを複製した定義書ごとに個別の出力先へ生成し、書き込まれた出力ファイルの内容を返却します。
+     *
+     * @param name              作業ディレクトリ内の名前
+     * @param dtoResourceOption DTOリソースオプション
+     * @return 作業ディレクトリからの相対パスをキーとした出力ファイルの内容
+     *
+     * @throws IOException 定義書の複製または出力ファイルの読み込みに失敗した場合
+     */
+    private Map<String, String> generate(String name, DtoResourceOption dtoResourceOption) throws IOException {
+
+        final Path directory = Files.createDirectories(this.workDirectory.resolve(name));
+
+        for (int i = 0; i < WORKBOOKS; i++) {
+            final Path workbook = Files.copy(TEMPLATE, directory.resolve("definition" + i + ".xlsx"));
+            final Path outputDirectory = directory.resolve("out" + i);
+            assertTrue(DtoGenerator.from(DefinitionPath.of(workbook.toString(), outputDirectory.toString()),
+                    dtoResourceOption).execute());
+        }
+
+        final Map<String, String> files = new TreeMap<>();
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.filter(path -> path.toString().endsWith(".java"))::iterator) {
+                files.put(directory.relativize(path).toString(), Files.readString(path));
+            }
+        }
+
+        return files;
+    }
+}
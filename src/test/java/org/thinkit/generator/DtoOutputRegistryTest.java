@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+import org.thinkit.generator.common.vo.dto.DtoResource;
+
+/**
+ * {@link DtoOutputRegistry} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoOutputRegistryTest {
+
+    /**
+     * 出力ファイルのパス
+     */
+    private static final Path OUTPUT_FILE = Paths.get("out", "TestDto.java");
+
+    /**
+     * 別の定義書が同じ内容を登録した場合は書き込みを省略することを検証します。
+     */
+    @Test
+    void testSameContentFromOtherWorkbookIsShared() {
+
+        final DtoOutputRegistry dtoOutputRegistry = DtoOutputRegistry.of();
+
+        assertTrue(dtoOutputRegistry.claim(OUTPUT_FILE, "first.xlsx", resource("class TestDto {}")));
+        assertTrue(dtoOutputRegistry.claim(OUTPUT_FILE, "first.xlsx", resource("class TestDto {}")));
+        assertFalse(dtoOutputRegistry.claim(OUTPUT_FILE, "second.xlsx", resource("class TestDto {}")));
+        assertTrue(dtoOutputRegistry.getConflicts().isEmpty());
+    }
+
+    /**
+     * {@link String#hashCode()} と長さが一致する異なる内容を衝突として検出することを検証します。
+     */
+    @Test
+    void testCollidingStringHashIsConflict() {
+
+        final DtoOutputRegistry dtoOutputRegistry = DtoOutputRegistry.of();
+
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertTrue(dtoOutputRegistry.claim(OUTPUT_FILE, "first.xlsx", resource("Aa")));
+        assertThrows(IllegalStateException.class,
+                () -> dtoOutputRegistry.claim(OUTPUT_FILE, "second.xlsx", resource("BB")));
+        assertEquals(1, dtoOutputRegistry.getConflicts().size());
+    }
+
+    /**
+     * 前回の出力ファイルを再利用した定義書の登録が、別の定義書による同じ内容の登録を省略させ、異なる内容の登録を衝突させることを検証します。
+     *
+     * @throws IOException 出力ファイルの作成に失敗した場合
+     */
+    @Test
+    void testReusedFileIsClaimedWithItsContent() throws IOException {
+
+        final Path reusedFile = Files.createTempFile("TestDto", ".java");
+
+        try {
+            Files.writeString(reusedFile, "class TestDto {}", StandardCharsets.UTF_8);
+
+            final DtoOutputRegistry dtoOutputRegistry = DtoOutputRegistry.of();
+            dtoOutputRegistry.claimExisting(reusedFile, "first.xlsx");
+
+            assertFalse(dtoOutputRegistry.claim(reusedFile, "second.xlsx", resource("class TestDto {}")));
+            assertThrows(IllegalStateException.class,
+                    () -> dtoOutputRegistry.claim(reusedFile, "third.xlsx", resource("class TestDto { int id; }")));
+            assertEquals(1, dtoOutputRegistry.getConflicts().size());
+        } finally {
+            Files.delete(reusedFile);
+        }
+    }
+
+    /**
+     * 引数として渡された内容を持つDTOリソースを返却します。
+     *
+     * @param content 内容
+     * @return DTOリソース
+     */
+    private static DtoResource resource(String content) {
+        return DtoResource.of("org.thinkit.test", "TestDto", content);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@link DtoWorkQueueTest} が別のプロセスとして起動するワーカーです。
+ * <p>
+ * 定義書の処理の代わりに、取得したタスクの名前を記録ファイルへ追記してからタスクを完了します。
+ *
+ * <pre>
+ * 1. 作業キューのディレクトリ
+ * 2. 記録ファイル
+ * 3. 処理中のタスクの更新が途絶えたとみなす期間（ミリ秒）
+ * 4. crash を指定した場合はタスクを1件取得した後に完了せず終了します。(任意)
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoWorkQueueProcess {
+
+    /**
+     * タスクを取得した後に完了せず終了するモード
+     */
+    static final String CRASH = "crash";
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DtoWorkQueueProcess() {
+    }
+
+    /**
+     * 作業キューが空になるまでタスクを取得して完了します。
+     *
+     * @param args コマンドライン引数
+     * @throws IOException          記録ファイルへの書き込みに失敗した場合
+     * @throws InterruptedException 待機中に割り込みが発生した場合
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+
+        final DtoWorkQueue dtoWorkQueue = DtoWorkQueue.of(Paths.get(args[0]));
+        final Path logFile = Paths.get(args[1]);
+        final Duration leaseTimeout = Duration.ofMillis(Long.parseLong(args[2]));
+        final boolean crash = args.length > 3 && CRASH.equals(args[3]);
+
+        while (true) {
+            dtoWorkQueue.reclaimExpired(leaseTimeout);
+
+            final DtoWorkQueue.Lease lease = dtoWorkQueue.claim();
+
+            if (lease == null) {
+                if (!dtoWorkQueue.hasLeased()) {
+                    return;
+                }
+
+                Thread.sleep(leaseTimeout.toMillis() / 3);
+                continue;
+            }
+
+            if (crash) {
+                Runtime.getRuntime().halt(1);
+            }
+
+            Thread.sleep(5L);
+
+            if (lease.heartbeat() && lease.acknowledge()) {
+                Files.write(logFile, List.of(lease.getTaskName()), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link DtoWorkQueue} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoWorkQueueTest {
+
+    /**
+     * 作業キューの処理中のタスクの更新が途絶えたとみなす期間
+     */
+    private static final Duration LEASE_TIMEOUT = Duration.ofMillis(1);
+
+    /**
+     * 作業ディレクトリ
+     */
+    private Path workDirectory;
+
+    /**
+     * テストごとに作業ディレクトリを作成します。
+     *
+     * @throws IOException 作業ディレクトリの作成に失敗した場合
+     */
+    @BeforeEach
+    void createWorkDirectory() throws IOException {
+        this.workDirectory = Files.createTempDirectory("dto-work-queue-test");
+    }
+
+    /**
+     * テストごとに作業ディレクトリを削除します。
+     *
+     * @throws IOException 作業ディレクトリの削除に失敗した場合
+     */
+    @AfterEach
+    void deleteWorkDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.workDirectory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * 未処理の状態へ戻されたタスクは元のワーカーから更新および完了できず、取得し直したワーカーのみが完了できることを検証します。
+     *
+     * @throws InterruptedException 待機中に割り込みが発生した場合
+     */
+    @Test
+    void testLostLeaseCannotBeCompleted() throws InterruptedException {
+
+        final Path queueDirectory = this.workDirectory;
+        final DtoWorkQueue dtoWorkQueue = DtoWorkQueue.of(queueDirectory);
+        dtoWorkQueue.enqueue(List.of(queueDirectory.resolve("workbook.xlsx")), "output");
+
+        final DtoWorkQueue.Lease expiredLease = dtoWorkQueue.claim();
+        assertNotNull(expiredLease);
+
+        this.expire(dtoWorkQueue);
+
+        final DtoWorkQueue.Lease currentLease = dtoWorkQueue.claim();
+        assertNotNull(currentLease);
+        assertEquals(expiredLease.getTaskName(), currentLease.getTaskName());
+
+        assertFalse(expiredLease.heartbeat());
+        assertFalse(expiredLease.acknowledge());
+        assertTrue(currentLease.heartbeat());
+        assertTrue(currentLease.acknowledge());
+
+        assertFalse(dtoWorkQueue.hasPending());
+        assertFalse(dtoWorkQueue.hasLeased());
+        assertEquals(0, dtoWorkQueue.countFailed());
+    }
+
+    /**
+     * 未処理の状態へ戻した回数が上限を超えたタスクが処理に失敗した状態へ移動することを検証します。
+     *
+     * @throws InterruptedException 待機中に割り込みが発生した場合
+     */
+    @Test
+    void testReclaimIsCapped() throws InterruptedException {
+
+        final Path queueDirectory = this.workDirectory;
+        final DtoWorkQueue dtoWorkQueue = DtoWorkQueue.of(queueDirectory);
+        dtoWorkQueue.enqueue(List.of(queueDirectory.resolve("workbook.xlsx")), "output");
+
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(dtoWorkQueue.claim());
+            assertEquals(1, this.expire(dtoWorkQueue));
+        }
+
+        assertNotNull(dtoWorkQueue.claim());
+        assertEquals(0, this.expire(dtoWorkQueue));
+
+        assertNull(dtoWorkQueue.claim());
+        assertFalse(dtoWorkQueue.hasLeased());
+        assertEquals(1, dtoWorkQueue.countFailed());
+    }
+
+    /**
+     * 同じ作業キューを共有する複数のプロセスが、異常終了したプロセスのタスクを含む全てのタスクを1度ずつ完了することを検証します。
+     *
+     * @throws IOException          プロセスの起動または記録ファイルの読み込みに失敗した場合
+     * @throws InterruptedException 待機中に割り込みが発生した場合
+     */
+    @Test
+    void testWorkersInSeparateProcessesCompleteEachTaskOnce() throws IOException, InterruptedException {
+
+        final Path queueDirectory = this.workDirectory.resolve("queue");
+        final Path logFile = this.workDirectory.resolve("acknowledged.log");
+        final List<Path> workbooks = IntStream.range(0, 40)
+                .mapToObj(i -> this.workDirectory.resolve(String.format("workbook%02d.xlsx", i)))
+                .collect(Collectors.toList());
+
+        final DtoWorkQueue dtoWorkQueue = DtoWorkQueue.of(queueDirectory);
+        assertEquals(workbooks.size(), dtoWorkQueue.enqueue(workbooks, "output"));
+
+        assertEquals(1, this.start(queueDirectory, logFile, DtoWorkQueueProcess.CRASH).waitFor());
+
+        final List<Process> workers = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            workers.add(this.start(queueDirectory, logFile, ""));
+        }
+
+        for (Process worker : workers) {
+            assertTrue(worker.waitFor(2, TimeUnit.MINUTES));
+            assertEquals(0, worker.exitValue());
+        }
+
+        final List<String> acknowledged = Files.readAllLines(logFile, StandardCharsets.UTF_8);
+
+        assertEquals(workbooks.size(), acknowledged.size());
+        assertEquals(workbooks.size(), new HashSet<>(acknowledged).size());
+        assertFalse(dtoWorkQueue.hasPending());
+        assertFalse(dtoWorkQueue.hasLeased());
+        assertEquals(0, dtoWorkQueue.countFailed());
+
+        try (Stream<Path> done = Files.list(queueDirectory.resolve("done"))) {
+            assertEquals(workbooks.size(), done.count());
+        }
+    }
+
+    /**
+     * 処理中のタスクの更新日時が期限切れになるまで待機してから未処理の状態へ戻します。
+     *
+     * @param dtoWorkQueue 作業キュー
+     * @return 未処理の状態へ戻したタスクの数
+     * @throws InterruptedException 待機中に割り込みが発生した場合
+     */
+    private int expire(DtoWorkQueue dtoWorkQueue) throws InterruptedException {
+        Thread.sleep(20L);
+        return dtoWorkQueue.reclaimExpired(LEASE_TIMEOUT);
+    }
+
+    /**
+     * 作業キューのワーカーを別のプロセスとして起動します。
+     *
+     * @param queueDirectory 作業キューのディレクトリ
+     * @param logFile        記録ファイル
+     * @param mode           ワーカーの動作モード
+     * @return 起動したプロセス
+     * @throws IOException プロセスの起動に失敗した場合
+     */
+    private Process start(Path queueDirectory, Path logFile, String mode) throws IOException {
+        return new ProcessBuilder(Paths.get(System.getProperty("java.home"), "bin", "java").toString(), "-cp",
+                System.getProperty("java.class.path"), DtoWorkQueueProcess.class.getName(), queueDirectory.toString(),
+                logFile.toString(), "500", mode).inheritIO().start();
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thinkit.framework.content.ContentInvoker;
+import org.thinkit.generator.content.dto.entity.DtoMetaItemGroup;
+import org.thinkit.generator.content.dto.rule.DtoContentCache;
+
+/**
+ * {@link DtoContentFile} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoContentFileTest {
+
+    /**
+     * 外部ディレクトリ
+     */
+    private Path contentDirectory;
+
+    /**
+     * テストごとに外部ディレクトリを作成します。
+     *
+     * @throws IOException 外部ディレクトリの作成に失敗した場合
+     */
+    @BeforeEach
+    void createContentDirectory() throws IOException {
+        this.contentDirectory = Files.createTempDirectory("dto-content-file-test");
+    }
+
+    /**
+     * テストごとに外部ディレクトリを削除します。
+     *
+     * @throws IOException 外部ディレクトリの削除に失敗した場合
+     */
+    @AfterEach
+    void deleteContentDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.contentDirectory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * 外部のコンテンツファイルが存在しない場合は {@code null} を返却することを検証します。
+     */
+    @Test
+    void testMissingContentFileReturnsNull() {
+        assertNull(DtoContentFile.load(this.contentDirectory, DtoMetaItemLoader.of(this.contentDirectory)));
+        assertNull(DtoContentFile.load(null, DtoMetaItemLoader.of()));
+    }
+
+    /**
+     * 文字列のエスケープシーケンスを復号することを検証します。
+     *
+     * @throws IOException コンテンツファイルの書き込みに失敗した場合
+     */
+    @Test
+    void testEscapesAreDecoded() throws IOException {
+
+        this.writeContent(content(node("", "7", "\\\"\\\\\\/\\b\\f\\n\\r\\t\\u30c6\\u30B9\\u30c8")));
+
+        final List<Map<String, String>> contents = this.load();
+
+        assertEquals(1, contents.size());
+        assertEquals("7", contents.get(0).get("セル項目コード"));
+        assertEquals("\"\\/\b\f\n\r\tテスト", contents.get(0).get("セル項目名"));
+    }
+
+    /**
+     * 先頭のバイトオーダーマークを読み飛ばし、ローダーから読み込めることを検証します。
+     *
+     * @throws IOException コンテンツファイルの書き込みに失敗した場合
+     */
+    @Test
+    void testByteOrderMarkIsSkipped() throws IOException {
+
+        this.writeContent("\uFEFF" + content(node("", "14", "バージョン") + "," + node("", "0", "物理名")));
+
+        final DtoMetaItemGroup dtoMetaItemGroup = ContentInvoker.of(DtoMetaItemLoader.of(this.contentDirectory))
+                .invoke();
+
+        assertEquals(2, dtoMetaItemGroup.size());
+        assertEquals("バージョン", dtoMetaItemGroup.nodes().get(0).getCellItemName());
+        assertEquals(0, dtoMetaItemGroup.nodes().get(1).getCellItemCode());
+    }
+
+    /**
+     * 不正な形式のコンテンツファイルを拒否することを検証します。
+     *
+     * @throws IOException コンテンツファイルの書き込みに失敗した場合
+     */
+    @Test
+    void testMalformedContentFileIsRejected() throws IOException {
+
+        final String valid = content(node("", "14", "バージョン"));
+        final List<String> malformedContents = List.of(valid.substring(0, valid.length() - 2), valid + "}",
+                content(node("", "14", "\\x")), content(node("", "14", "\\u30g0")), content(node("", "14", "\\u+30c")),
+                content(node("", "14", "バージョン") + ","), "{\"selectionNodes\": {}}", "[]", "",
+                content("{\"node\": {\"conditionId\": \"\", \"セル項目コード\": \"14\"}}"));
+
+        for (String malformedContent : malformedContents) {
+            this.writeContent(malformedContent);
+            assertThrows(IllegalArgumentException.class, this::load, malformedContent);
+        }
+    }
+
+    /**
+     * 条件を持つコンテンツファイルを拒否することを検証します。
+     *
+     * @throws IOException コンテンツファイルの書き込みに失敗した場合
+     */
+    @Test
+    void testConditionalContentIsRejected() throws IOException {
+
+        this.writeContent(content(node("1", "14", "バージョン")));
+        assertThrows(IllegalArgumentException.class, this::load);
+
+        this.writeContent(content(node("", "14", "バージョン")).replace("\"conditionNodes\": []",
+                "\"conditionNodes\": [{\"node\": {\"conditionId\": \"1\", \"conditions\": []}}]"));
+        assertThrows(IllegalArgumentException.class, this::load);
+    }
+
+    /**
+     * コンテンツファイルの項目名を変更した場合は、ロード結果を表現した文字列も変更されることを検証します。
+     *
+     * @throws IOException コンテンツファイルの書き込みに失敗した場合
+     */
+    @Test
+    void testContentKeyReflectsContentFile() throws IOException {
+
+        this.writeContent(content(node("", "14", "バージョン")));
+        final String contentKey = DtoContentCache.of(this.contentDirectory).getContentKey();
+
+        assertEquals(contentKey, DtoContentCache.of(this.contentDirectory).getContentKey());
+
+        this.writeContent(content(node("", "14", "版")));
+        assertNotEquals(contentKey, DtoContentCache.of(this.contentDirectory).getContentKey());
+    }
+
+    /**
+     * 外部ディレクトリからDTOメタ項目のコンテンツファイルを読み込みます。
+     *
+     * @return 選択ノードごとのコンテンツ要素の名前と値の対応
+     */
+    private List<Map<String, String>> load() {
+        return DtoContentFile.load(this.contentDirectory, DtoMetaItemLoader.of(this.contentDirectory));
+    }
+
+    /**
+     * 引数として渡された内容をDTOメタ項目のコンテンツファイルとして外部ディレクトリへ書き込みます。
+     *
+     * @param content コンテンツファイルの内容
+     * @throws IOException コンテンツファイルの書き込みに失敗した場合
+     */
+    private void writeContent(String content) throws IOException {
+
+        final Path contentFile = DtoContentFile.resolve(this.contentDirectory, DtoMetaItemLoader.class);
+
+        Files.createDirectories(contentFile.getParent());
+        Files.writeString(contentFile, content, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 引数として渡された選択ノードを持つコンテンツファイルの内容を返却します。
+     *
+     * @param nodes カンマで区切られた選択ノード
+     * @return コンテンツファイルの内容
+     */
+    private static String content(String nodes) {
+        return String.format("{\"metadata\": {\"version\": \"1.0\"}, \"selectionNodes\": [%s], \"conditionNodes\": []}",
+                nodes);
+    }
+
+    /**
+     * 引数として渡された値を持つ選択ノードを返却します。
+     *
+     * @param conditionId  条件番号
+     * @param cellItemCode セル項目コード
+     * @param cellItemName エスケープ済みのセル項目名
+     * @return 選択ノード
+     */
+    private static String node(String conditionId, String cellItemCode, String cellItemName) {
+        return String.format("{\"node\": {\"conditionId\": \"%s\", \"セル項目コード\": \"%s\", \"セル項目名\": \"%s\"}}",
+                conditionId, cellItemCode, cellItemName);
+    }
+}
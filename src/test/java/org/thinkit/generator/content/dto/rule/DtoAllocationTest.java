@@ -0,0 +1,202 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.IntSupplier;
+
+import com.sun.management.ThreadMXBean;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.thinkit.common.util.workbook.FluentSheet;
+import org.thinkit.framework.content.ContentInvoker;
+import org.thinkit.framework.content.rule.RuleInvoker;
+import org.thinkit.generator.content.dto.DtoCreatorItemLoader;
+import org.thinkit.generator.content.dto.DtoDefinitionItemLoader;
+import org.thinkit.generator.content.dto.DtoMetaItemLoader;
+
+/**
+ * 解析処理の1行あたりのヒープの割り当て量が予算を超えないことを検証するテストです。
+ * <p>
+ * 割り当て量は {@link ThreadMXBean#getThreadAllocatedBytes(long)} で計測します。<br>
+ * JITコンパイルとクラスの初期化による割り当てを除外するため、計測の前に同じ処理を繰り返し実行します。<br>
+ * 予算は計測値に対して十分な余裕を持たせた値であり、1行あたりの割り当て量が桁違いに増加する変更を検出することを目的とします。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoAllocationTest {
+
+    /**
+     * 計測の前に実行する回数
+     */
+    private static final int WARMUP_ITERATIONS = 200;
+
+    /**
+     * 計測する回数
+     */
+    private static final int MEASURED_ITERATIONS = 100;
+
+    /**
+     * DTOメタ解析の1行あたりの予算（バイト）
+     */
+    private static final long META_COLLECTOR_BUDGET = 16_000L;
+
+    /**
+     * DTO作成者解析の1行あたりの予算（バイト）
+     */
+    private static final long CREATOR_COLLECTOR_BUDGET = 8_000L;
+
+    /**
+     * DTO定義解析の1行あたりの予算（バイト）
+     */
+    private static final long DEFINITION_COLLECTOR_BUDGET = 8_000L;
+
+    /**
+     * DTOメタ項目のロードの1項目あたりの予算（バイト）
+     */
+    private static final long META_ITEM_LOADER_BUDGET = 20_000L;
+
+    /**
+     * DTO作成者項目のロードの1項目あたりの予算（バイト）
+     */
+    private static final long CREATOR_ITEM_LOADER_BUDGET = 30_000L;
+
+    /**
+     * DTO定義項目のロードの1項目あたりの予算（バイト）
+     */
+    private static final long DEFINITION_ITEM_LOADER_BUDGET = 20_000L;
+
+    /**
+     * スレッドの情報を取得するオブジェクト
+     */
+    private static final ThreadMXBean THREAD_MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * 全てのテストの前にスレッドごとの割り当て量を計測できることを確認します。
+     */
+    @BeforeAll
+    static void enableAllocationMeasurement() {
+        assumeTrue(THREAD_MX_BEAN.isThreadAllocatedMemorySupported());
+        THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    /**
+     * {@link DtoMetaCollector} の1行あたりの割り当て量を検証します。
+     */
+    @Test
+    void testMetaCollectorAllocation() {
+
+        final FluentSheet sheet = DtoSyntheticSheet.of().metaSheet();
+        final DtoContentCache dtoContentCache = DtoContentCache.of().warmUp();
+
+        assertWithinBudget("DtoMetaCollector", META_COLLECTOR_BUDGET, () -> {
+            RuleInvoker.of(DtoMetaCollector.from(sheet, dtoContentCache)).invoke();
+            return dtoContentCache.getDtoMetaItemGroup().size();
+        });
+    }
+
+    /**
+     * {@link DtoCreatorCollector} の1行あたりの割り当て量を検証します。
+     */
+    @Test
+    void testCreatorCollectorAllocation() {
+
+        final FluentSheet sheet = DtoSyntheticSheet.of().creatorSheet();
+        final DtoContentCache dtoContentCache = DtoContentCache.of().warmUp();
+
+        assertWithinBudget("DtoCreatorCollector", CREATOR_COLLECTOR_BUDGET, () -> {
+            RuleInvoker.of(DtoCreatorCollector.from(sheet, dtoContentCache)).invoke();
+            return dtoContentCache.getDtoCreatorItemGroup().size();
+        });
+    }
+
+    /**
+     * {@link DtoDefinitionCollector} の1行あたりの割り当て量を検証します。
+     */
+    @Test
+    void testDefinitionCollectorAllocation() {
+
+        final FluentSheet sheet = DtoSyntheticSheet.of().definitionSheet(16, 8);
+        final DtoResourceOption dtoResourceOption = DtoResourceOption.of()
+                .contentCache(DtoContentCache.of().warmUp());
+
+        assertWithinBudget("DtoDefinitionCollector", DEFINITION_COLLECTOR_BUDGET, () -> {
+            final long collectedRows = DtoRunMetrics.getCollectedRows();
+            RuleInvoker.of(DtoDefinitionCollector.from(sheet, dtoResourceOption)).invoke();
+            return (int) (DtoRunMetrics.getCollectedRows() - collectedRows);
+        });
+    }
+
+    /**
+     * {@link DtoMetaItemLoader} の1項目あたりの割り当て量を検証します。
+     */
+    @Test
+    void testMetaItemLoaderAllocation() {
+        assertWithinBudget("DtoMetaItemLoader", META_ITEM_LOADER_BUDGET,
+                () -> ContentInvoker.of(DtoMetaItemLoader.of()).invoke().size());
+    }
+
+    /**
+     * {@link DtoCreatorItemLoader} の1項目あたりの割り当て量を検証します。
+     */
+    @Test
+    void testCreatorItemLoaderAllocation() {
+        assertWithinBudget("DtoCreatorItemLoader", CREATOR_ITEM_LOADER_BUDGET,
+                () -> ContentInvoker.of(DtoCreatorItemLoader.of()).invoke().size());
+    }
+
+    /**
+     * {@link DtoDefinitionItemLoader} の1項目あたりの割り当て量を検証します。
+     */
+    @Test
+    void testDefinitionItemLoaderAllocation() {
+        assertWithinBudget("DtoDefinitionItemLoader", DEFINITION_ITEM_LOADER_BUDGET,
+                () -> ContentInvoker.of(DtoDefinitionItemLoader.of()).invoke().size());
+    }
+
+    /**
+     * 引数として渡された処理を繰り返し実行し、1行あたりの割り当て量が予算以下であることを検証します。
+     *
+     * @param target 計測対象の名前
+     * @param budget 1行あたりの予算（バイト）
+     * @param action 計測する処理、処理した行数を返却します
+     */
+    private static void assertWithinBudget(String target, long budget, IntSupplier action) {
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            action.getAsInt();
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBytes = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        long rows = 0L;
+
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            rows += action.getAsInt();
+        }
+
+        final long bytesPerRow = (THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - allocatedBytes) / rows;
+
+        assertTrue(bytesPerRow <= budget,
+                String.format("%s allocated %s bytes per row but the budget is %s bytes.", target, bytesPerRow,
+                        budget));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.thinkit.common.util.workbook.FluentSheet;
+import org.thinkit.framework.content.rule.RuleInvoker;
+import org.thinkit.generator.common.vo.dto.DtoDefinition;
+import org.thinkit.generator.common.vo.dto.DtoDefinitionGroup;
+
+/**
+ * {@link DtoDefinitionCollector} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoDefinitionCollectorTest {
+
+    /**
+     * 並列で解析したDTO定義グループが逐次処理で解析した結果と同一であることを検証します。
+     */
+    @Test
+    void testParallelCollectingMatchesSequential() {
+
+        final FluentSheet sheet = DtoSyntheticSheet.of().definitionSheet(32, 6);
+
+        final DtoDefinitionGroup sequential = RuleInvoker
+                .of(DtoDefinitionCollector.from(sheet, DtoResourceOption.of())).invoke();
+        final DtoDefinitionGroup parallel = RuleInvoker
+                .of(DtoDefinitionCollector.from(sheet, DtoResourceOption.of().parallelCollecting(true))).invoke();
+
+        assertEquals(32, sequential.size());
+        assertEquals(sequential, parallel);
+        assertEquals(sequential.toString(), parallel.toString());
+    }
+
+    /**
+     * 逐次処理で解析したDTO定義グループが子クラスを含み、論理削除されたレコードを含まないことを検証します。
+     */
+    @Test
+    void testSequentialCollectingBuildsChildren() {
+
+        final DtoDefinitionGroup dtoDefinitionGroup = RuleInvoker
+                .of(DtoDefinitionCollector.from(DtoSyntheticSheet.of().definitionSheet(2, 3), DtoResourceOption.of()))
+                .invoke();
+
+        final DtoDefinition parent = dtoDefinitionGroup.get(1);
+
+        assertEquals(2, dtoDefinitionGroup.size());
+        assertEquals("Class1", parent.getClassName());
+        assertEquals(5, parent.getDtoFieldGroup().size());
+        assertTrue(parent.getDtoFieldGroup().get(0).getChildDtoDefinitionGroup().isEmpty());
+
+        final DtoDefinitionGroup children = parent.getDtoFieldGroup().get(3).getChildDtoDefinitionGroup();
+
+        assertNotNull(children);
+        assertEquals("Child1", children.get(0).getClassName());
+        assertEquals(3, children.get(0).getDtoFieldGroup().size());
+        assertEquals("SecondChild1",
+                parent.getDtoFieldGroup().get(4).getChildDtoDefinitionGroup().get(0).getClassName());
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thinkit.common.util.workbook.FluentSheet;
+import org.thinkit.framework.content.rule.RuleInvoker;
+import org.thinkit.generator.common.vo.dto.DtoCreator;
+import org.thinkit.generator.common.vo.dto.DtoDefinition;
+import org.thinkit.generator.common.vo.dto.DtoDefinitionGroup;
+import org.thinkit.generator.common.vo.dto.DtoField;
+import org.thinkit.generator.common.vo.dto.DtoMeta;
+
+/**
+ * {@link DtoRebuildPlan} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoRebuildPlanTest {
+
+    /**
+     * 最上位層のクラスの数
+     */
+    private static final int CLASSES = 4;
+
+    /**
+     * クラスごとのフィールドの数
+     */
+    private static final int FIELDS_PER_CLASS = 3;
+
+    /**
+     * DTOメタ
+     */
+    private static final DtoMeta DTO_META = DtoMeta.of("1.0", "project", "org.thinkit.test", "TestDto", "テストDTO",
+            "テスト用のDTOです。");
+
+    /**
+     * DTO作成者
+     */
+    private static final DtoCreator DTO_CREATOR = DtoCreator.of("Kato Shinya", "2020/08/15", "2020/08/15");
+
+    /**
+     * 作業ディレクトリ
+     */
+    private Path workDirectory;
+
+    /**
+     * マニフェストファイル
+     */
+    private Path manifestFile;
+
+    /**
+     * テストごとに作業ディレクトリを作成します。
+     *
+     * @throws IOException 作業ディレクトリの作成に失敗した場合
+     */
+    @BeforeEach
+    void createWorkDirectory() throws IOException {
+        this.workDirectory = Files.createTempDirectory("dto-rebuild-plan-test");
+        this.manifestFile = this.workDirectory.resolve("definition.xlsx.slices");
+    }
+
+    /**
+     * テストごとに作業ディレクトリを削除します。
+     *
+     * @throws IOException 作業ディレクトリの削除に失敗した場合
+     */
+    @AfterEach
+    void deleteWorkDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.workDirectory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * 定義書が変更されていない場合は全ての部分木を再利用し、前回の全ての出力ファイルを再利用することを検証します。
+     *
+     * @throws IOException 出力ファイルの書き込みに失敗した場合
+     */
+    @Test
+    void testUnchangedWorkbookReusesAllSlices() throws IOException {
+
+        final List<Path> generatedFiles = this.generate(this.definitionSheet(), DTO_META, new ArrayList<>());
+        final List<Path> reusedFiles = new ArrayList<>();
+
+        assertTrue(this.generate(this.definitionSheet(), DTO_META, reusedFiles).isEmpty());
+        assertEquals(sorted(generatedFiles), sorted(reusedFiles));
+    }
+
+    /**
+     * 1行のみ変更された場合は、その行を含む最上位層の部分木のみを再生成することを検証します。
+     *
+     * @throws IOException 出力ファイルの書き込みに失敗した場合
+     */
+    @Test
+    void testEditedRowRebuildsOnlyItsSlice() throws IOException {
+
+        final List<Path> generatedFiles = this.generate(this.definitionSheet(), DTO_META, new ArrayList<>());
+
+        final FluentSheet editedSheet = this.definitionSheet();
+        this.editCell(editedSheet, "子フィールド1", "変更した子フィールド");
+
+        final List<Path> reusedFiles = new ArrayList<>();
+        final List<Path> rebuiltFiles = this.generate(editedSheet, DTO_META, reusedFiles);
+
+        assertEquals(List.of(this.outputFile("Class0"), this.outputFile("Child0")), rebuiltFiles);
+        assertEquals(generatedFiles.size() - rebuiltFiles.size(), reusedFiles.size());
+        assertTrue(reusedFiles.stream().noneMatch(rebuiltFiles::contains));
+    }
+
+    /**
+     * DTOメタが変更された場合は全ての部分木を再生成することを検証します。
+     *
+     * @throws IOException 出力ファイルの書き込みに失敗した場合
+     */
+    @Test
+    void testMetaChangeRebuildsAllSlices() throws IOException {
+
+        final List<Path> generatedFiles = this.generate(this.definitionSheet(), DTO_META, new ArrayList<>());
+        final List<Path> reusedFiles = new ArrayList<>();
+        final List<Path> rebuiltFiles = this.generate(this.definitionSheet(),
+                DtoMeta.of("1.1", "project", "org.thinkit.test", "TestDto", "テストDTO", "テスト用のDTOです。"), reusedFiles);
+
+        assertEquals(sorted(generatedFiles), sorted(rebuiltFiles));
+        assertTrue(reusedFiles.isEmpty());
+    }
+
+    /**
+     * 増分生成計画を読み込んで定義書を解析し、再生成したクラスの出力ファイルを書き込んでから計画を保存します。
+     *
+     * @param sheet       クラス定義の定義表を記述したシート
+     * @param dtoMeta     DTOメタ
+     * @param reusedFiles 再利用した出力ファイルの格納先
+     * @return 再生成したクラスの出力ファイル
+     *
+     * @throws IOException 出力ファイルの書き込みに失敗した場合
+     */
+    private List<Path> generate(FluentSheet sheet, DtoMeta dtoMeta, List<Path> reusedFiles) throws IOException {
+
+        final DtoRebuildPlan dtoRebuildPlan = DtoRebuildPlan.load(this.manifestFile);
+        dtoRebuildPlan.begin(dtoMeta, DTO_CREATOR);
+
+        final DtoDefinitionGroup dtoDefinitionGroup = RuleInvoker
+                .of(DtoDefinitionCollector.from(sheet, DtoResourceOption.of(), dtoRebuildPlan)).invoke();
+
+        final List<Path> rebuiltFiles = new ArrayList<>();
+        this.writeOutputFiles(dtoDefinitionGroup, rebuiltFiles);
+
+        dtoRebuildPlan.save(this::outputFile);
+        reusedFiles.addAll(dtoRebuildPlan.getReusedFiles());
+
+        return rebuiltFiles;
+    }
+
+    /**
+     * 引数として渡されたDTO定義グループと子クラスの出力ファイルを再帰的に書き込みます。
+     *
+     * @param dtoDefinitionGroup DTO定義グループ
+     * @param outputFiles        書き込んだ出力ファイルの格納先
+     *
+     * @throws IOException 出力ファイルの書き込みに失敗した場合
+     */
+    private void writeOutputFiles(DtoDefinitionGroup dtoDefinitionGroup, List<Path> outputFiles) throws IOException {
+        for (DtoDefinition dtoDefinition : dtoDefinitionGroup) {
+            final Path outputFile = this.outputFile(dtoDefinition.getClassName());
+            Files.writeString(outputFile, dtoDefinition.getClassName());
+            outputFiles.add(outputFile);
+
+            for (DtoField dtoField : dtoDefinition.getDtoFieldGroup()) {
+                this.writeOutputFiles(dtoField.getChildDtoDefinitionGroup(), outputFiles);
+            }
+        }
+    }
+
+    /**
+     * 最上位層のクラスの数とクラスごとのフィールドの数を固定したクラス定義の定義表を生成します。
+     *
+     * @return クラス定義の定義表を記述したシート
+     */
+    private FluentSheet definitionSheet() {
+        return DtoSyntheticSheet.of().definitionSheet(CLASSES, FIELDS_PER_CLASS);
+    }
+
+    /**
+     * 引数として渡された値を持つ最初のセルの値を変更します。
+     *
+     * @param sheet    シート
+     * @param value    変更するセルの値
+     * @param newValue 変更後の値
+     */
+    private void editCell(FluentSheet sheet, String value, String newValue) {
+        for (Row row : sheet.getSheet()) {
+            for (Cell cell : row) {
+                if (value.equals(cell.getStringCellValue())) {
+                    cell.setCellValue(newValue);
+                    return;
+                }
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("wrong parameter was given. %s was not found.", value));
+    }
+
+    /**
+     * 引数として渡されたクラス名の出力ファイルのパスを返却します。
+     *
+     * @param className クラス名
+     * @return 出力ファイルのパス
+     */
+    private Path outputFile(String className) {
+        return this.workDirectory.resolve(className + ".java");
+    }
+
+    /**
+     * 引数として渡されたパスのリストを並べ替えたリストを返却します。
+     *
+     * @param paths パスのリスト
+     * @return 並べ替えたパスのリスト
+     */
+    private static List<Path> sorted(List<Path> paths) {
+        final List<Path> sortedPaths = new ArrayList<>(paths);
+        sortedPaths.sort(Comparator.naturalOrder());
+        return sortedPaths;
+    }
+}
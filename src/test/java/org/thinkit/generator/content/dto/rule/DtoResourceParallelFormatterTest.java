@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.junit.jupiter.api.Test;
+import org.thinkit.framework.content.rule.RuleInvoker;
+import org.thinkit.generator.common.command.dto.DtoResourceFormatter;
+import org.thinkit.generator.common.vo.dto.DtoCreator;
+import org.thinkit.generator.common.vo.dto.DtoDefinitionGroup;
+import org.thinkit.generator.common.vo.dto.DtoMatrix;
+import org.thinkit.generator.common.vo.dto.DtoMeta;
+import org.thinkit.generator.common.vo.dto.DtoResourceGroup;
+
+/**
+ * {@link DtoResourceParallelFormatter} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoResourceParallelFormatterTest {
+
+    /**
+     * 子クラスを含む複数のクラス定義から並列で生成したDTOリソースグループが {@link DtoResourceFormatter}
+     * で逐次生成した結果と同一であることを検証します。
+     */
+    @Test
+    void testParallelFormattingMatchesSequential() {
+
+        final DtoDefinitionGroup dtoDefinitionGroup = RuleInvoker
+                .of(DtoDefinitionCollector.from(DtoSyntheticSheet.of().definitionSheet(24, 5), DtoResourceOption.of()))
+                .invoke();
+        final DtoMatrix dtoMatrix = DtoMatrix.of(
+                DtoMeta.of("1.0", "project", "org.thinkit.test", "TestDto", "テストDTO", "テスト用のDTOです。"),
+                DtoCreator.of("Kato Shinya", "2020/08/15", "2020/08/15"), dtoDefinitionGroup);
+
+        final DtoResourceGroup sequential = DtoResourceFormatter.of(dtoMatrix).execute();
+        final DtoResourceGroup parallel = DtoResourceParallelFormatter.of(dtoMatrix).execute();
+
+        assertNotNull(sequential);
+        assertEquals(24 + 24 + 12, sequential.size());
+        assertEquals(sequential, parallel);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thinkit.generator.common.vo.dto.DtoResource;
+
+/**
+ * {@link DtoResourcePublisher} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoResourcePublisherTest {
+
+    /**
+     * 定義書のテンプレート
+     */
+    private static final String TEMPLATE = "template/dto-definition-version-project-function.xlsx";
+
+    /**
+     * 購読が終了するまでの上限時間（秒）
+     */
+    private static final long TIMEOUT_SECONDS = 60L;
+
+    /**
+     * 定義書の解析と購読者への通知に使用する実行者
+     */
+    private ExecutorService executorService;
+
+    /**
+     * テストごとに実行者を生成します。
+     */
+    @BeforeEach
+    void createExecutor() {
+        this.executorService = Executors.newFixedThreadPool(2);
+    }
+
+    /**
+     * テストごとに実行者を終了します。
+     */
+    @AfterEach
+    void shutdownExecutor() {
+        this.executorService.shutdownNow();
+    }
+
+    /**
+     * 引数として渡された実行者で定義書を解析し、全てのリソースを発行した後に完了が通知されることを検証します。
+     *
+     * @throws Exception 購読の終了を待機中に失敗した場合
+     */
+    @Test
+    void testResourcesArePublishedOnSuppliedExecutor() throws Exception {
+
+        final List<DtoResource> dtoResources = new CopyOnWriteArrayList<>();
+        final Throwable failure = this.subscribe(TEMPLATE, dtoResources);
+
+        assertNull(failure);
+        assertFalse(dtoResources.isEmpty());
+    }
+
+    /**
+     * 定義書の解析に失敗した場合は購読者へ失敗が通知されることを検証します。
+     *
+     * @throws Exception 購読の終了を待機中に失敗した場合
+     */
+    @Test
+    void testParseFailureIsSignalledToSubscriber() throws Exception {
+
+        final List<DtoResource> dtoResources = new CopyOnWriteArrayList<>();
+        final Throwable failure = this.subscribe("template/missing.xlsx", dtoResources);
+
+        assertNotNull(failure);
+        assertEquals(0, dtoResources.size());
+    }
+
+    /**
+     * 引数として渡された定義書のリソースを購読し、購読が終了するまで待機します。
+     *
+     * @param filePath     定義書のファイルパス
+     * @param dtoResources 受信したリソースの格納先
+     * @return 購読者へ通知された失敗、または、完了が通知された場合は {@code null}
+     *
+     * @throws InterruptedException 待機中に割り込みを受けた場合
+     * @throws ExecutionException   購読の終了の待機に失敗した場合
+     * @throws TimeoutException     購読が上限時間内に終了しなかった場合
+     */
+    private Throwable subscribe(String filePath, List<DtoResource> dtoResources)
+            throws InterruptedException, ExecutionException, TimeoutException {
+
+        final CompletableFuture<Throwable> terminated = new CompletableFuture<>();
+
+        final Flow.Subscriber<DtoResource> subscriber = new Flow.Subscriber<>() {
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(DtoResource dtoResource) {
+                dtoResources.add(dtoResource);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                terminated.complete(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                terminated.complete(null);
+            }
+        };
+
+        DtoResourcePublisher.of(filePath, DtoResourceOption.of(), this.executorService, Flow.defaultBufferSize())
+                .subscribe(subscriber);
+
+        return terminated.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thinkit.generator.common.vo.dto.DtoResource;
+
+/**
+ * {@link DtoResourceWriter} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoResourceWriterTest {
+
+    /**
+     * 書き込み済みの内容
+     */
+    private static final String PREVIOUS_CONTENT = "class TestDto { int previous; }";
+
+    /**
+     * 作業ディレクトリ
+     */
+    private Path workDirectory;
+
+    /**
+     * 出力ファイル
+     */
+    private Path outputFile;
+
+    /**
+     * 作業ディレクトリを作成し、書き込み済みの出力ファイルを用意します。
+     *
+     * @throws IOException 作業ディレクトリの作成に失敗した場合
+     */
+    @BeforeEach
+    void createWorkDirectory() throws IOException {
+        this.workDirectory = Files.createTempDirectory("dto-resource-writer");
+        this.outputFile = this.workDirectory.resolve("TestDto.java");
+        Files.writeString(this.outputFile, PREVIOUS_CONTENT, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 作業ディレクトリを削除します。
+     *
+     * @throws IOException 作業ディレクトリの削除に失敗した場合
+     */
+    @AfterEach
+    void deleteWorkDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.workDirectory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * 書き込みが完了した場合は出力ファイルの内容が置き換えられ、一時ファイルが残らないことを検証します。
+     *
+     * @throws IOException 書き込みに失敗した場合
+     */
+    @Test
+    void testWriteReplacesOutputFile() throws IOException {
+
+        final String content = "class TestDto { String 変数; }";
+
+        assertEquals(content.getBytes(StandardCharsets.UTF_8).length,
+                DtoResourceWriter.write(resource(content), this.outputFile));
+        assertEquals(content, Files.readString(this.outputFile, StandardCharsets.UTF_8));
+        assertEquals(List.of(this.outputFile), this.listWorkDirectory());
+    }
+
+    /**
+     * 書き込みの途中で割り込みを受けた場合は既存の出力ファイルが切り詰められず、一時ファイルが残らないことを検証します。
+     *
+     * @throws IOException 出力ファイルの読み込みに失敗した場合
+     */
+    @Test
+    void testInterruptedWriteKeepsOutputFile() throws IOException {
+
+        Thread.currentThread().interrupt();
+
+        try {
+            assertThrows(ClosedByInterruptException.class,
+                    () -> DtoResourceWriter.write(resource("class TestDto {}"), this.outputFile));
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertEquals(PREVIOUS_CONTENT, Files.readString(this.outputFile, StandardCharsets.UTF_8));
+        assertEquals(List.of(this.outputFile), this.listWorkDirectory());
+    }
+
+    /**
+     * 作業ディレクトリ内のファイルを返却します。
+     *
+     * @return 作業ディレクトリ内のファイル
+     *
+     * @throws IOException 一覧の取得に失敗した場合
+     */
+    private List<Path> listWorkDirectory() throws IOException {
+        try (Stream<Path> paths = Files.list(this.workDirectory)) {
+            return paths.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 引数として渡された内容を持つDTOリソースを返却します。
+     *
+     * @param content 内容
+     * @return DTOリソース
+     */
+    private static DtoResource resource(String content) {
+        return DtoResource.of("org.thinkit.test", "TestDto", content);
+    }
+}
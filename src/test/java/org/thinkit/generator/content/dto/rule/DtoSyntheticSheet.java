@@ -0,0 +1,221 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.thinkit.common.util.workbook.FluentSheet;
+
+/**
+ * テストで使用する定義書シートを生成するクラスです。
+ * <p>
+ * 定義表の1項目は値を記述するセルと右罫線を持つ空白のセルの2セルで表現します。<br>
+ * これは定義書のテンプレートで結合されたセルを読み取った場合と同じ並びです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoSyntheticSheet {
+
+    /**
+     * クラス定義の定義表の項目名
+     */
+    private static final List<String> DEFINITION_HEADER = List.of("論理削除", "階層", "変数名", "データ型", "初期値", "不変", "補足");
+
+    /**
+     * クラス名称情報の項目名と値
+     */
+    private static final Map<String, String> META_ITEMS = Map.of("バージョン", "1.0", "プロジェクト名", "project", "パッケージ名",
+            "org.thinkit.test", "物理名", "TestDto", "論理名", "テストDTO", "補足", "テスト用のDTOです。");
+
+    /**
+     * クラス作成者情報の項目名と値
+     */
+    private static final Map<String, String> CREATOR_ITEMS = Map.of("作成者", "Kato Shinya", "作成日付", "2020/08/15",
+            "更新日付", "2020/08/16");
+
+    /**
+     * ワークブック
+     */
+    private final Workbook workbook;
+
+    /**
+     * 右罫線を持つセルのスタイル
+     */
+    private final CellStyle borderedStyle;
+
+    /**
+     * 左罫線を持つセルのスタイル
+     */
+    private final CellStyle leftBorderedStyle;
+
+    /**
+     * コンストラクタ
+     */
+    private DtoSyntheticSheet() {
+        this.workbook = new XSSFWorkbook();
+        this.borderedStyle = this.workbook.createCellStyle();
+        this.borderedStyle.setBorderRight(BorderStyle.THIN);
+        this.leftBorderedStyle = this.workbook.createCellStyle();
+        this.leftBorderedStyle.setBorderLeft(BorderStyle.THIN);
+    }
+
+    /**
+     * 新しいワークブックを基に {@link DtoSyntheticSheet} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @return {@link DtoSyntheticSheet} クラスの新しいインスタンス
+     */
+    static DtoSyntheticSheet of() {
+        return new DtoSyntheticSheet();
+    }
+
+    /**
+     * クラス名称情報を記述したシートを生成し返却します。
+     *
+     * @return クラス名称情報を記述したシート
+     */
+    FluentSheet metaSheet() {
+        return this.itemSheet("クラス名称", META_ITEMS);
+    }
+
+    /**
+     * クラス作成者情報を記述したシートを生成し返却します。
+     *
+     * @return クラス作成者情報を記述したシート
+     */
+    FluentSheet creatorSheet() {
+        return this.itemSheet("クラス作成者", CREATOR_ITEMS);
+    }
+
+    /**
+     * クラス定義の定義表を記述したシートを生成し返却します。
+     * <p>
+     * 最上位層のクラスはそれぞれ子クラスを1件持ち、奇数番目のクラスはさらに2件目の子クラスを持ちます。<br>
+     * また、各クラスの先頭のフィールドの次に論理削除されたレコードを1件含みます。
+     *
+     * @param classes        最上位層のクラスの数
+     * @param fieldsPerClass クラスごとのフィールドの数
+     * @return クラス定義の定義表を記述したシート
+     */
+    FluentSheet definitionSheet(int classes, int fieldsPerClass) {
+
+        final Sheet sheet = this.workbook.createSheet("クラス定義" + this.workbook.getNumberOfSheets());
+        int rowIndex = 1;
+
+        this.writeRow(sheet, rowIndex++, DEFINITION_HEADER.toArray(new String[0]));
+
+        for (int i = 0; i < classes; i++) {
+            this.writeRow(sheet, rowIndex++, "", "0", "Class" + i, "", "", "", "クラス" + i);
+
+            for (int j = 0; j < fieldsPerClass; j++) {
+                this.writeRow(sheet, rowIndex++, "", "1", "field" + j, j % 2 == 0 ? "String" : "int",
+                        j % 2 == 0 ? "\"\"" : "0", j % 3 == 0 ? "○" : "", "フィールド" + j);
+
+                if (j == 0) {
+                    this.writeRow(sheet, rowIndex++, "○", "1", "deleted", "String", "", "", "削除済み");
+                }
+            }
+
+            rowIndex = this.writeChild(sheet, rowIndex, "Child" + i, fieldsPerClass);
+
+            if (i % 2 == 1) {
+                rowIndex = this.writeChild(sheet, rowIndex, "SecondChild" + i, 1);
+            }
+        }
+
+        return new FluentSheet(sheet);
+    }
+
+    /**
+     * 項目名と値の組を1行ずつ記述したシートを生成し返却します。
+     * <p>
+     * 値は左罫線を持つセルから右罫線を持つセルまでの領域に記述します。<br>
+     * 領域の探索は物理的な行数を上限とするため、先頭の行から空行を挟まずに記述します。
+     *
+     * @param sheetName シート名
+     * @param items     項目名と値
+     * @return 項目名と値を記述したシート
+     */
+    private FluentSheet itemSheet(String sheetName, Map<String, String> items) {
+
+        final Sheet sheet = this.workbook.createSheet(sheetName + this.workbook.getNumberOfSheets());
+        int rowIndex = 0;
+
+        for (Map.Entry<String, String> item : items.entrySet()) {
+            final Row row = sheet.createRow(rowIndex++);
+            row.createCell(0).setCellValue(item.getKey());
+            row.getCell(0).setCellStyle(this.borderedStyle);
+
+            final Cell value = row.createCell(1);
+            value.setCellValue(item.getValue());
+            value.setCellStyle(this.leftBorderedStyle);
+            row.createCell(2).setCellStyle(this.borderedStyle);
+        }
+
+        return new FluentSheet(sheet);
+    }
+
+    /**
+     * 子クラスを型とするフィールドと子クラスの定義を記述します。
+     *
+     * @param sheet          シート
+     * @param rowIndex       記述を開始する行インデックス
+     * @param className      子クラスのクラス名
+     * @param fieldsPerClass 子クラスのフィールドの数
+     * @return 記述した最終行の次の行インデックス
+     */
+    private int writeChild(Sheet sheet, int rowIndex, String className, int fieldsPerClass) {
+
+        this.writeRow(sheet, rowIndex++, "", "1", "child" + className, className, "null", "", "子クラス");
+        this.writeRow(sheet, rowIndex++, "", "2", className, "", "", "", "子クラス" + className);
+
+        for (int j = 0; j < fieldsPerClass; j++) {
+            this.writeRow(sheet, rowIndex++, "", "3", "childField" + j, "String", "\"\"", "", "子フィールド" + j);
+        }
+
+        return rowIndex;
+    }
+
+    /**
+     * 引数として渡された値を1行に記述します。
+     * <p>
+     * 空文字列の値は空白のセルとして記述します。
+     *
+     * @param sheet    シート
+     * @param rowIndex 行インデックス
+     * @param values   項目ごとの値
+     */
+    private void writeRow(Sheet sheet, int rowIndex, String... values) {
+
+        final Row row = sheet.createRow(rowIndex);
+
+        for (int i = 0; i < values.length; i++) {
+            if (!values[i].isEmpty()) {
+                row.createCell(i * 2).setCellValue(values[i]);
+            }
+
+            row.createCell(i * 2 + 1).setCellStyle(this.borderedStyle);
+        }
+    }
+}
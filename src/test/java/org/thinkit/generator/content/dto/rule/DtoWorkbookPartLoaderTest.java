@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.content.dto.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link DtoWorkbookPartLoader} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DtoWorkbookPartLoaderTest {
+
+    /**
+     * 定義書のテンプレート
+     */
+    private static final Path TEMPLATE = Paths.get("template", "dto-definition-version-project-function.xlsx");
+
+    /**
+     * 読み込むシートの名前
+     */
+    private static final String SHEET_NAME = "定義書";
+
+    /**
+     * 必要なパートのみを読み込んだシートのセルの値と罫線が、定義書全体を読み込んだシートと一致することを検証します。
+     *
+     * @throws IOException 定義書の読み込みに失敗した場合
+     */
+    @Test
+    void testSelectedSheetMatchesFullLoad() throws IOException {
+
+        final Map<String, String> expected;
+        final Map<String, String> actual;
+
+        try (Workbook fullWorkbook = WorkbookFactory.create(TEMPLATE.toFile(), null, true)) {
+            expected = describeCells(fullWorkbook.getSheet(SHEET_NAME));
+        }
+
+        try (Workbook selectedWorkbook = DtoWorkbookPartLoader.load(TEMPLATE, SHEET_NAME)) {
+            assertNotNull(selectedWorkbook);
+            assertEquals(1, selectedWorkbook.getNumberOfSheets());
+            actual = describeCells(selectedWorkbook.getSheet(SHEET_NAME));
+        }
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * 指定されたシートが存在しない場合は {@code null} を返却することを検証します。
+     *
+     * @throws IOException 定義書の読み込みに失敗した場合
+     */
+    @Test
+    void testMissingSheetFallsBack() throws IOException {
+        assertNull(DtoWorkbookPartLoader.load(TEMPLATE, "存在しないシート"));
+    }
+
+    /**
+     * 定義書がXLSX形式ではない場合は {@code null} を返却することを検証します。
+     *
+     * @throws IOException 定義書の作成または読み込みに失敗した場合
+     */
+    @Test
+    void testNonZipWorkbookFallsBack() throws IOException {
+
+        final Path workbook = Files.createTempFile("definition", ".xls");
+
+        try {
+            Files.write(workbook, new byte[] { (byte) 0xd0, (byte) 0xcf, 0x11, (byte) 0xe0, 0x00, 0x00 });
+            assertNull(DtoWorkbookPartLoader.load(workbook, SHEET_NAME));
+        } finally {
+            Files.delete(workbook);
+        }
+    }
+
+    /**
+     * 引数として渡されたシートの全てのセルについて、表示される値と4方向の罫線をセルの位置ごとに返却します。
+     *
+     * @param sheet シート
+     * @return セルの位置をキーとしたセルの値と罫線
+     */
+    private static Map<String, String> describeCells(Sheet sheet) {
+
+        final DataFormatter dataFormatter = new DataFormatter();
+        final Map<String, String> cells = new TreeMap<>();
+
+        for (Row row : sheet) {
+            for (Cell cell : row) {
+                final CellStyle cellStyle = cell.getCellStyle();
+                cells.put(cell.getAddress().formatAsString(),
+                        String.join(",", dataFormatter.formatCellValue(cell), cellStyle.getBorderTop().name(),
+                                cellStyle.getBorderBottom().name(), cellStyle.getBorderLeft().name(),
+                                cellStyle.getBorderRight().name()));
+            }
+        }
+
+        return cells;
+    }
+}